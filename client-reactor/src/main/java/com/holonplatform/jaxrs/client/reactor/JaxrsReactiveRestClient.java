@@ -21,6 +21,9 @@ import jakarta.ws.rs.client.ClientBuilder;
 import com.holonplatform.jaxrs.client.reactor.internal.JaxrsClientReactiveRestClient;
 import com.holonplatform.reactor.http.ReactiveRestClient;
 
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * An {@link ReactiveRestClient} using a JAX-RS {@link Client} to perform invocations.
  *
@@ -43,6 +46,22 @@ public interface JaxrsReactiveRestClient extends ReactiveRestClient {
 		return new JaxrsClientReactiveRestClient(client);
 	}
 
+	/**
+	 * Create a {@link ReactiveRestClient} using given JAX-RS <code>client</code> and given <code>scheduler</code> to
+	 * signal the invocation results and to decode the response entities.
+	 * <p>
+	 * By default, the {@link Schedulers#boundedElastic()} scheduler is used, so that the downstream operators and the
+	 * blocking entity read operations are never performed by the JAX-RS implementation I/O threads.
+	 * </p>
+	 * @param client JAX-RS {@link Client} to perform invocations (not null)
+	 * @param scheduler The {@link Scheduler} to use to decode the response entities (not null)
+	 * @return A new {@link ReactiveRestClient} instance
+	 * @since 6.0.1
+	 */
+	static ReactiveRestClient create(Client client, Scheduler scheduler) {
+		return new JaxrsClientReactiveRestClient(client, scheduler);
+	}
+
 	/**
 	 * Create a {@link ReactiveRestClient} using the default client builder implementation class provided by the JAX-RS
 	 * implementation provider.
@@ -15,13 +15,17 @@
  */
 package com.holonplatform.jaxrs.client.reactor.internal;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
 
-import jakarta.ws.rs.client.AsyncInvoker;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation.Builder;
 import jakarta.ws.rs.client.InvocationCallback;
+import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.Response;
 
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -30,8 +34,13 @@ import com.holonplatform.http.HttpStatus;
 import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.jaxrs.client.RateLimitFeature;
+import com.holonplatform.jaxrs.client.ResilienceFeature;
+import com.holonplatform.jaxrs.client.internal.InvocationMetrics;
 import com.holonplatform.jaxrs.client.internal.JaxrsRawResponseEntity;
 import com.holonplatform.jaxrs.client.internal.JaxrsRestClientOperations;
+import com.holonplatform.jaxrs.client.internal.RateLimiter;
+import com.holonplatform.jaxrs.client.internal.ResilienceExecutor;
 import com.holonplatform.jaxrs.client.reactor.JaxrsReactiveRestClient;
 import com.holonplatform.reactor.http.ReactiveResponseEntity;
 import com.holonplatform.reactor.http.ReactiveRestClient;
@@ -40,6 +49,8 @@ import com.holonplatform.reactor.http.internal.DefaultReactiveRequestDefinition;
 
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Default JAX-RS {@link ReactiveRestClient} implementation.
@@ -53,14 +64,50 @@ public class JaxrsClientReactiveRestClient extends AbstractReactiveRestClient im
 	 */
 	private final Client client;
 
+	/**
+	 * Scheduler to use to signal the invocation results and to decode the response entities
+	 */
+	private final Scheduler scheduler;
+
+	/**
+	 * Resilience policies, if registered
+	 */
+	private final ResilienceFeature resilience;
+
+	/**
+	 * Rate limits, if registered
+	 */
+	private final RateLimitFeature rateLimit;
+
+	/**
+	 * Invocation metrics, if registered
+	 */
+	private final InvocationMetrics metrics;
+
 	/**
 	 * Constructor
 	 * @param client Jax-rs client
 	 */
 	public JaxrsClientReactiveRestClient(Client client) {
+		this(client, Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Constructor
+	 * @param client Jax-rs client
+	 * @param scheduler Scheduler to use to signal the invocation results and to decode the response entities (not
+	 *        null)
+	 * @since 6.0.1
+	 */
+	public JaxrsClientReactiveRestClient(Client client, Scheduler scheduler) {
 		super();
 		ObjectUtils.argumentNotNull(client, "Client must be not null");
-		this.client = client;
+		ObjectUtils.argumentNotNull(scheduler, "Scheduler must be not null");
+		this.client = JaxrsRestClientOperations.setup(client);
+		this.scheduler = scheduler;
+		this.resilience = JaxrsRestClientOperations.getResilienceFeature(client);
+		this.rateLimit = JaxrsRestClientOperations.getRateLimitFeature(client);
+		this.metrics = JaxrsRestClientOperations.getInvocationMetrics(client);
 	}
 
 	/*
@@ -92,25 +139,50 @@ public class JaxrsClientReactiveRestClient extends AbstractReactiveRestClient im
 	public <T, R> Mono<ReactiveResponseEntity<T>> invoke(ReactiveRequestDefinition requestDefinition, HttpMethod method,
 			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
 
-		// invocation builder
-		final Builder builder = JaxrsRestClientOperations.configure(getClient(), requestDefinition).request();
-
-		// headers
-		requestDefinition.getHeaders().forEach((n, v) -> builder.header(n, v));
-
-		// invoker
-		final AsyncInvoker invoker = builder.async();
-
+		// the invocation is assembled and performed at subscription time
 		return Mono.<ReactiveResponseEntity<T>>create(sink -> {
-			Optional<Entity<?>> entity = JaxrsRestClientOperations.buildRequestEntity(requestEntity);
-			if (entity.isPresent()) {
-				invoker.method(method.getMethodName(), entity.get(),
-						new ResponseInvocationCallback<>(sink, responseType, onlySuccessfulStatusCode));
-			} else {
-				invoker.method(method.getMethodName(),
-						new ResponseInvocationCallback<>(sink, responseType, onlySuccessfulStatusCode));
-			}
-		});
+			// invocation builder
+			final WebTarget target = JaxrsRestClientOperations.configure(getClient(), requestDefinition);
+			final Builder builder = JaxrsRestClientOperations
+					.headers(JaxrsRestClientOperations.request(target, requestDefinition), requestDefinition);
+			final Entity<?> entity = JaxrsRestClientOperations.buildRequestEntity(requestEntity).orElse(null);
+
+			// invoke
+			final String uri = (metrics != null) ? InvocationMetrics.getUriTemplate(requestDefinition) : null;
+			final ResponseInvocationCallback<T> callback = new ResponseInvocationCallback<>(sink, responseType,
+					onlySuccessfulStatusCode, (metrics != null) ? metrics.readListener(method, uri) : null);
+			final long start = System.nanoTime();
+			final ResilienceExecutor resilienceExecutor = JaxrsRestClientOperations.getResilienceExecutor(resilience,
+					requestDefinition);
+			final List<RateLimiter> limiters = JaxrsRestClientOperations.getRateLimiters(rateLimit, target.getUri());
+			final Supplier<CompletableFuture<Response>> attempt = () -> JaxrsRestClientOperations
+					.invokeAsync(limiters, () -> JaxrsRestClientOperations.invokeAsync(builder, method, entity), true);
+			final CompletableFuture<Response> invocation = (resilienceExecutor != null)
+					? resilienceExecutor.execute(method, target.getUri(), attempt)
+					: attempt.get();
+			invocation.whenComplete((response, error) -> {
+				if (metrics != null) {
+					metrics.recordInvocation(method, uri,
+							(response != null) ? response.getStatus() : InvocationMetrics.NO_STATUS, error,
+							System.nanoTime() - start);
+				}
+				if (error != null) {
+					callback.failed(error);
+				} else {
+					callback.completed(response);
+				}
+			});
+
+			// abort the in-flight request on cancellation
+			sink.onCancel(() -> {
+				callback.cancel();
+				invocation.cancel(true);
+			});
+		})
+				// signal the result on the client scheduler rather than on the JAX-RS callback thread
+				.publishOn(scheduler)
+				// release the connection of a response discarded after cancellation
+				.doOnDiscard(JaxrsReactiveResponseEntity.class, e -> e.close());
 	}
 
 	private final class ResponseInvocationCallback<T> implements InvocationCallback<Response> {
@@ -118,13 +190,17 @@ public class JaxrsClientReactiveRestClient extends AbstractReactiveRestClient im
 		private final MonoSink<ReactiveResponseEntity<T>> sink;
 		private final ResponseType<T> responseType;
 		private final boolean onlySuccessfulStatusCode;
+		private final ObjLongConsumer<Throwable> readListener;
+
+		private final AtomicBoolean cancelled = new AtomicBoolean(false);
 
 		public ResponseInvocationCallback(MonoSink<ReactiveResponseEntity<T>> stage, ResponseType<T> responseType,
-				boolean onlySuccessfulStatusCode) {
+				boolean onlySuccessfulStatusCode, ObjLongConsumer<Throwable> readListener) {
 			super();
 			this.sink = stage;
 			this.responseType = responseType;
 			this.onlySuccessfulStatusCode = onlySuccessfulStatusCode;
+			this.readListener = readListener;
 		}
 
 		/*
@@ -133,11 +209,19 @@ public class JaxrsClientReactiveRestClient extends AbstractReactiveRestClient im
 		 */
 		@Override
 		public void completed(Response response) {
+			// the subscriber is gone: release the connection
+			if (cancelled.get()) {
+				response.close();
+				return;
+			}
 			// check error status code
 			if (onlySuccessfulStatusCode && !HttpStatus.isSuccessStatusCode(response.getStatus())) {
 				sink.error(new UnsuccessfulResponseException(new JaxrsRawResponseEntity(response)));
 			} else {
-				sink.success(new JaxrsReactiveResponseEntity<>(response, responseType));
+				final JaxrsReactiveResponseEntity<T> responseEntity = new JaxrsReactiveResponseEntity<>(response,
+						responseType, JaxrsRestClientOperations.isEntityBuffering(getClient()), scheduler);
+				responseEntity.setReadListener(readListener);
+				sink.success(responseEntity);
 			}
 		}
 
@@ -147,7 +231,16 @@ public class JaxrsClientReactiveRestClient extends AbstractReactiveRestClient im
 		 */
 		@Override
 		public void failed(Throwable throwable) {
-			sink.error(throwable);
+			if (!cancelled.get()) {
+				sink.error(throwable);
+			}
+		}
+
+		/**
+		 * Mark the invocation as cancelled: any response received after cancellation is closed and discarded.
+		 */
+		void cancel() {
+			cancelled.set(true);
 		}
 
 	}
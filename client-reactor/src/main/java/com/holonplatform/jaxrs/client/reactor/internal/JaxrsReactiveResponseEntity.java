@@ -16,19 +16,27 @@
 package com.holonplatform.jaxrs.client.reactor.internal;
 
 import java.io.InputStream;
-import java.util.List;
+import java.util.stream.Stream;
 
 import jakarta.ws.rs.core.Response;
 
+import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.http.rest.ResponseType;
 import com.holonplatform.jaxrs.client.internal.JaxrsResponseEntity;
 import com.holonplatform.reactor.http.ReactiveResponseEntity;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * JAX-RS {@link ReactiveResponseEntity} implementation.
+ * <p>
+ * The response entity decoding is performed using a {@link Scheduler}, which defaults to
+ * {@link Schedulers#boundedElastic()}, so that the blocking entity read operations are never performed by the JAX-RS
+ * implementation I/O threads.
+ * </p>
  * 
  * @param <T> Response entity type
  *
@@ -36,8 +44,46 @@ import reactor.core.publisher.Mono;
  */
 public class JaxrsReactiveResponseEntity<T> extends JaxrsResponseEntity<T> implements ReactiveResponseEntity<T> {
 
+	/**
+	 * Scheduler to use to decode the response entity
+	 */
+	private final Scheduler scheduler;
+
 	public JaxrsReactiveResponseEntity(Response response, ResponseType<T> type) {
-		super(response, type);
+		this(response, type, true);
+	}
+
+	/**
+	 * Constructor
+	 * @param response JAX-RS Response (not null)
+	 * @param type Response type (not null)
+	 * @param buffered Whether to buffer the response entity to allow multiple reads
+	 */
+	public JaxrsReactiveResponseEntity(Response response, ResponseType<T> type, boolean buffered) {
+		this(response, type, buffered, Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Constructor
+	 * @param response JAX-RS Response (not null)
+	 * @param type Response type (not null)
+	 * @param buffered Whether to buffer the response entity to allow multiple reads
+	 * @param scheduler The {@link Scheduler} to use to decode the response entity (not null)
+	 * @since 6.0.1
+	 */
+	public JaxrsReactiveResponseEntity(Response response, ResponseType<T> type, boolean buffered,
+			Scheduler scheduler) {
+		super(response, type, buffered);
+		ObjectUtils.argumentNotNull(scheduler, "Scheduler must be not null");
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Get the {@link Scheduler} used to decode the response entity.
+	 * @return the entity decoding {@link Scheduler}
+	 */
+	protected Scheduler getScheduler() {
+		return scheduler;
 	}
 
 	/*
@@ -46,7 +92,7 @@ public class JaxrsReactiveResponseEntity<T> extends JaxrsResponseEntity<T> imple
 	 */
 	@Override
 	public Mono<T> asMono() {
-		return Mono.justOrEmpty(getPayload());
+		return Mono.defer(() -> Mono.justOrEmpty(getPayload())).subscribeOn(scheduler);
 	}
 
 	/*
@@ -55,7 +101,7 @@ public class JaxrsReactiveResponseEntity<T> extends JaxrsResponseEntity<T> imple
 	 */
 	@Override
 	public <E> Mono<E> asMono(Class<E> entityType) {
-		return Mono.justOrEmpty(as(entityType));
+		return Mono.defer(() -> Mono.justOrEmpty(as(entityType))).subscribeOn(scheduler);
 	}
 
 	/*
@@ -64,7 +110,7 @@ public class JaxrsReactiveResponseEntity<T> extends JaxrsResponseEntity<T> imple
 	 */
 	@Override
 	public <E> Mono<E> asMono(ResponseType<E> entityType) {
-		return Mono.justOrEmpty(as(entityType));
+		return Mono.defer(() -> Mono.justOrEmpty(as(entityType))).subscribeOn(scheduler);
 	}
 
 	/*
@@ -73,8 +119,9 @@ public class JaxrsReactiveResponseEntity<T> extends JaxrsResponseEntity<T> imple
 	 */
 	@Override
 	public <E> Flux<E> asFlux(Class<E> entityType) {
-		final ResponseType<List<E>> rt = ResponseType.of(entityType, List.class);
-		return as(rt).map(r -> Flux.fromIterable(r)).orElse(Flux.empty());
+		// elements are decoded from the response stream as they are requested, when supported by the media type
+		final ResponseType<Stream<E>> rt = ResponseType.of(entityType, Stream.class);
+		return Flux.defer(() -> as(rt).map(s -> Flux.fromStream(s)).orElse(Flux.empty())).subscribeOn(scheduler);
 	}
 
 	/*
@@ -83,7 +130,7 @@ public class JaxrsReactiveResponseEntity<T> extends JaxrsResponseEntity<T> imple
 	 */
 	@Override
 	public Mono<InputStream> asInputStream() {
-		return Mono.justOrEmpty(getResponse().readEntity(InputStream.class));
+		return Mono.defer(() -> Mono.justOrEmpty(getResponse().readEntity(InputStream.class))).subscribeOn(scheduler);
 	}
 
 }
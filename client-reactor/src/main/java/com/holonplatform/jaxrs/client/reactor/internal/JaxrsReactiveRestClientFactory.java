@@ -16,10 +16,10 @@
 package com.holonplatform.jaxrs.client.reactor.internal;
 
 import jakarta.annotation.Priority;
-import jakarta.ws.rs.client.ClientBuilder;
 
 import com.holonplatform.async.http.AsyncRestClientFactory;
 import com.holonplatform.http.exceptions.RestClientCreationException;
+import com.holonplatform.jaxrs.client.internal.SharedClientRegistry;
 import com.holonplatform.jaxrs.client.reactor.JaxrsReactiveRestClient;
 import com.holonplatform.reactor.http.ReactiveRestClient;
 import com.holonplatform.reactor.http.ReactiveRestClientFactory;
@@ -27,6 +27,9 @@ import com.holonplatform.reactor.http.ReactiveRestClientFactory;
 /**
  * A {@link ReactiveRestClientFactory} to provide JAX-RS {@link ReactiveRestClient} implementations using
  * {@link ReactiveRestClientFactory}.
+ * <p>
+ * The JAX-RS Client instances are shared and provided by the {@link SharedClientRegistry}.
+ * </p>
  * 
  * @since 5.2.0
  */
@@ -45,7 +48,7 @@ public class JaxrsReactiveRestClientFactory implements ReactiveRestClientFactory
 	@Override
 	public ReactiveRestClient create(ClassLoader classLoader) throws RestClientCreationException {
 		try {
-			return new JaxrsClientReactiveRestClient(ClientBuilder.newClient());
+			return new JaxrsClientReactiveRestClient(SharedClientRegistry.getClient(classLoader));
 		} catch (Exception e) {
 			throw new RestClientCreationException("Failed to create a Jaxrs ReactiveRestClient", e);
 		}
@@ -17,17 +17,26 @@ package com.holonplatform.jaxrs.client.reactor.test;
 
 import static com.holonplatform.core.property.PathProperty.create;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.glassfish.jersey.client.ClientConfig;
@@ -60,6 +69,9 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.ClientResponseFilter;
 import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Application;
@@ -67,6 +79,12 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.ReaderInterceptor;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 public class TestReactiveJaxrsClient extends JerseyTest5 {
 
@@ -77,6 +95,12 @@ public class TestReactiveJaxrsClient extends JerseyTest5 {
 
 	public static final PropertySet<?> PROPERTIES = PropertySet.of(CODE, VALUE);
 
+	private static final AtomicInteger HITS = new AtomicInteger(0);
+
+	private static volatile CountDownLatch SLOW_STARTED = new CountDownLatch(1);
+	private static volatile CountDownLatch SLOW_RELEASE = new CountDownLatch(1);
+	private static volatile CountDownLatch NDJSON_RELEASE = new CountDownLatch(0);
+
 	public TestReactiveJaxrsClient() {
 		super();
 		SLF4JBridgeHandler.removeHandlersForRootLogger();
@@ -217,6 +241,49 @@ public class TestReactiveJaxrsClient extends JerseyTest5 {
 			ar.resume(Response.accepted().build());
 		}
 
+		@GET
+		@Path("counted")
+		@Produces(MediaType.TEXT_PLAIN)
+		public void getCounted(@Suspended AsyncResponse ar) {
+			executorService.submit(() -> {
+				ar.resume(Response.ok("hit" + HITS.incrementAndGet()).build());
+			});
+		}
+
+		@GET
+		@Path("slow")
+		@Produces(MediaType.TEXT_PLAIN)
+		public String getSlow() throws InterruptedException {
+			SLOW_STARTED.countDown();
+			SLOW_RELEASE.await(5, TimeUnit.SECONDS);
+			return "slow";
+		}
+
+		@GET
+		@Path("ndjson")
+		@Produces("application/x-ndjson")
+		public StreamingOutput getNdjson() {
+			return new StreamingOutput() {
+				@Override
+				public void write(OutputStream output) throws IOException, WebApplicationException {
+					for (int i = 1; i <= 3; i++) {
+						output.write(("{\"code\":" + i + ",\"value\":\"value" + i + "\"}\n")
+								.getBytes(StandardCharsets.UTF_8));
+						output.flush();
+						if (i == 1) {
+							try {
+								// the next elements are written only when released
+								NDJSON_RELEASE.await(5, TimeUnit.SECONDS);
+							} catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+								return;
+							}
+						}
+					}
+				}
+			};
+		}
+
 		@GET
 		@Path("status/400")
 		public void get400(@Suspended AsyncResponse ar) {
@@ -491,6 +558,125 @@ public class TestReactiveJaxrsClient extends JerseyTest5 {
 
 	}
 
+	@Test
+	public void testDeferredInvocation() throws InterruptedException {
+		final ReactiveRestClient client = JaxrsReactiveRestClient.create(getClient()).defaultTarget(getBaseUri());
+
+		HITS.set(0);
+		final Mono<String> mono = client.request().path("test").path("counted")
+				.getForEntity(String.class);
+
+		// nothing is sent before subscription
+		Thread.sleep(200);
+		assertEquals(0, HITS.get());
+
+		// each subscription performs a new invocation
+		assertEquals("hit1", mono.block());
+		assertEquals("hit2", mono.block());
+		assertEquals(2, HITS.get());
+	}
+
+	@Test
+	public void testCancel() throws InterruptedException {
+		final AtomicInteger responses = new AtomicInteger(0);
+		final AtomicInteger closed = new AtomicInteger(0);
+		final Client jaxrsClient = ClientBuilder.newClient()
+				.register((ClientResponseFilter) (requestContext, responseContext) -> {
+					responses.incrementAndGet();
+					responseContext.setEntityStream(new FilterInputStream(responseContext.getEntityStream()) {
+
+						@Override
+						public void close() throws IOException {
+							closed.incrementAndGet();
+							super.close();
+						}
+
+					});
+				});
+		try {
+			final ReactiveRestClient client = JaxrsReactiveRestClient.create(jaxrsClient)
+					.defaultTarget(getBaseUri());
+
+			SLOW_STARTED = new CountDownLatch(1);
+			SLOW_RELEASE = new CountDownLatch(1);
+			final AtomicBoolean signaled = new AtomicBoolean(false);
+			final Disposable disposable = client.request().path("test").path("slow").get(String.class)
+					.subscribe(r -> signaled.set(true), e -> signaled.set(true));
+
+			assertTrue(SLOW_STARTED.await(5, TimeUnit.SECONDS));
+			disposable.dispose();
+			SLOW_RELEASE.countDown();
+
+			// the subscriber is not signaled and a response received after cancellation is closed
+			Thread.sleep(500);
+			assertFalse(signaled.get());
+			assertEquals(responses.get(), closed.get());
+		} finally {
+			SLOW_RELEASE.countDown();
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testLazyFlux() {
+		final ReactiveRestClient client = JaxrsReactiveRestClient.create(getClient()).defaultTarget(getBaseUri());
+
+		NDJSON_RELEASE = new CountDownLatch(1);
+		try {
+			// the first element is available before the server writes the next ones
+			final TestData first = client.request().path("test").path("ndjson").get(Void.class)
+					.flatMapMany(r -> r.asFlux(TestData.class)).blockFirst(Duration.ofSeconds(3));
+			assertNotNull(first);
+			assertEquals(1, first.getCode());
+			assertEquals(1, NDJSON_RELEASE.getCount());
+		} finally {
+			NDJSON_RELEASE.countDown();
+		}
+
+		final List<TestData> all = client.request().path("test").path("ndjson").get(Void.class)
+				.flatMapMany(r -> r.asFlux(TestData.class)).collectList().block();
+		assertNotNull(all);
+		assertEquals(3, all.size());
+		assertEquals(3, all.get(2).getCode());
+	}
+
+	@Test
+	public void testScheduler() {
+		final List<String> readers = new CopyOnWriteArrayList<>();
+		final Client jaxrsClient = ClientBuilder.newClient().register((ReaderInterceptor) context -> {
+			readers.add(Thread.currentThread().getName());
+			return context.proceed();
+		});
+		final Scheduler scheduler = Schedulers.newSingle("test-decoder");
+		try {
+			final ReactiveRestClient client = JaxrsReactiveRestClient.create(jaxrsClient, scheduler)
+					.defaultTarget(getBaseUri());
+
+			// results are signaled on the scheduler
+			final String signalThread = client.request().path("test").path("data/{id}").resolve("id", 1)
+					.get(TestData.class).map(r -> Thread.currentThread().getName()).block();
+			assertNotNull(signalThread);
+			assertTrue(signalThread.startsWith("test-decoder"));
+
+			// entities are decoded on the scheduler
+			final TestData data = client.request().path("test").path("data/{id}").resolve("id", 2)
+					.get(TestData.class).flatMap(r -> r.asMono()).block();
+			assertNotNull(data);
+			assertEquals(2, data.getCode());
+
+			final List<TestData> elements = client.request().path("test").path("ndjson").get(Void.class)
+					.flatMapMany(r -> r.asFlux(TestData.class)).collectList().block();
+			assertNotNull(elements);
+			assertEquals(3, elements.size());
+
+			assertFalse(readers.isEmpty());
+			readers.forEach(name -> assertTrue(name.startsWith("test-decoder"), name));
+		} finally {
+			jaxrsClient.close();
+			scheduler.dispose();
+		}
+	}
+
 	public static class TestData {
 
 		private int code;
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client;
+
+import jakarta.ws.rs.RuntimeType;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.core.Feature;
+import jakarta.ws.rs.core.FeatureContext;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jaxrs.client.internal.ContentEncodingInterceptor;
+import com.holonplatform.jaxrs.internal.JaxrsLogger;
+
+/**
+ * JAX-RS client feature to enable the HTTP content compression.
+ * <p>
+ * The <code>Accept-Encoding: gzip, deflate</code> header is added to each request which does not declare it, and the
+ * <code>gzip</code> and <code>deflate</code> encoded response entities are transparently decompressed while they are
+ * read.
+ * </p>
+ * <p>
+ * Optionally, the request entities which exceed a size threshold are compressed using <code>gzip</code>. The threshold
+ * can be configured using the {@link #REQUEST_THRESHOLD} client property or the feature constructor, and the request
+ * compression is disabled by default.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class CompressionFeature implements Feature {
+
+	private final static Logger LOGGER = JaxrsLogger.create();
+
+	/**
+	 * JAX-RS {@link Client} configuration property name which can be used to configure the size threshold, in bytes,
+	 * above which the request entities are compressed. A missing or negative value disables the request compression.
+	 */
+	public static final String REQUEST_THRESHOLD = "holon.jaxrs.client.compression.request-threshold";
+
+	/**
+	 * Request compression threshold, <code>null</code> to use the configuration property
+	 */
+	private final Long requestThreshold;
+
+	/**
+	 * Constructor, using the {@link #REQUEST_THRESHOLD} client property value to configure the request compression.
+	 */
+	public CompressionFeature() {
+		super();
+		this.requestThreshold = null;
+	}
+
+	/**
+	 * Constructor
+	 * @param requestThreshold The size threshold, in bytes, above which the request entities are compressed. A negative
+	 *        value disables the request compression
+	 */
+	public CompressionFeature(long requestThreshold) {
+		super();
+		this.requestThreshold = requestThreshold;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Feature#configure(jakarta.ws.rs.core.FeatureContext)
+	 */
+	@Override
+	public boolean configure(FeatureContext context) {
+		if (RuntimeType.CLIENT != context.getConfiguration().getRuntimeType()) {
+			return false;
+		}
+		if (!context.getConfiguration().isRegistered(ContentEncodingInterceptor.class)) {
+			final long threshold = (requestThreshold != null) ? requestThreshold
+					: getThreshold(context.getConfiguration().getProperty(REQUEST_THRESHOLD));
+			LOGGER.debug(() -> "Registering the client content compression, request compression threshold: ["
+					+ threshold + "]");
+			context.register(new ContentEncodingInterceptor(threshold));
+		}
+		return true;
+	}
+
+	/**
+	 * Get the request compression threshold from given configuration property value.
+	 * @param value The configuration property value
+	 * @return The threshold, <code>-1</code> if not available
+	 */
+	private static long getThreshold(Object value) {
+		if (value instanceof Number) {
+			return ((Number) value).longValue();
+		}
+		if (value != null) {
+			try {
+				return Long.parseLong(value.toString().trim());
+			} catch (NumberFormatException e) {
+				LOGGER.warn("Invalid " + REQUEST_THRESHOLD + " property value: [" + value
+						+ "], request compression is disabled");
+			}
+		}
+		return -1;
+	}
+
+}
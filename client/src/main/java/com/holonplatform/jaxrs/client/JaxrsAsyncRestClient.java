@@ -15,11 +15,16 @@
  */
 package com.holonplatform.jaxrs.client;
 
+import java.net.URI;
+import java.util.concurrent.Executor;
+
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
 
 import com.holonplatform.async.http.AsyncRestClient;
 import com.holonplatform.jaxrs.client.internal.JaxrsClientAsyncRestClient;
+import com.holonplatform.jaxrs.client.internal.JaxrsClientLoadBalancedAsyncRestClient;
+import com.holonplatform.jaxrs.client.internal.JaxrsClientVirtualThreadAsyncRestClient;
 
 /**
  * An {@link AsyncRestClient} using a JAX-RS {@link Client} to perform invocations.
@@ -28,8 +33,35 @@ import com.holonplatform.jaxrs.client.internal.JaxrsClientAsyncRestClient;
  */
 public interface JaxrsAsyncRestClient extends AsyncRestClient {
 
+	/**
+	 * JAX-RS {@link Client} configuration property name which can be used to enable the requests coalescing
+	 * (<code>true</code> value). When enabled, concurrent identical <code>GET</code>, <code>HEAD</code> and
+	 * <code>OPTIONS</code> requests are folded into a single in-flight invocation and all the callers share the same
+	 * buffered response. Two requests are identical when they have the same method, URI, query parameters, property set
+	 * and values of the <code>Accept</code>, <code>Accept-Language</code>, <code>Accept-Encoding</code>,
+	 * <code>Authorization</code> and <code>Cookie</code> headers. Disabled by default.
+	 */
+	public static final String REQUEST_COALESCING = "holon.jaxrs.client.request-coalescing";
+
+	/**
+	 * JAX-RS {@link Client} configuration property name which can be used to provide a comma separated list of
+	 * additional header names which must have the same values for two requests to be coalesced.
+	 * @see #REQUEST_COALESCING
+	 */
+	public static final String REQUEST_COALESCING_HEADERS = "holon.jaxrs.client.request-coalescing-headers";
+
 	/**
 	 * Get the JAX-RS Client bound to this {@link AsyncRestClient}.
+	 * <p>
+	 * When the AsyncRestClient was obtained using the {@link AsyncRestClient} factory methods, the JAX-RS Client is
+	 * shared with other clients: in this case the {@link Client#close()}, <code>property</code> and
+	 * <code>register</code> methods of the returned client throw an {@link UnsupportedOperationException}.
+	 * </p>
+	 * <p>
+	 * <b>Breaking change since 6.0.1</b>: in the previous versions each AsyncRestClient obtained from the factory
+	 * methods had its own configurable JAX-RS Client. The previous behavior can be restored setting the
+	 * {@link JaxrsRestClient#SHARED_CLIENT} system property to <code>false</code>.
+	 * </p>
 	 * @return the JAX-RS Client
 	 */
 	Client getClient();
@@ -43,6 +75,57 @@ public interface JaxrsAsyncRestClient extends AsyncRestClient {
 		return new JaxrsClientAsyncRestClient(client);
 	}
 
+	/**
+	 * Create a {@link AsyncRestClient} using given JAX-RS <code>client</code>, completing the invocation results
+	 * using given <code>executor</code>.
+	 * <p>
+	 * By default, the invocation results are completed by the JAX-RS implementation callback thread, which then
+	 * executes any dependent stage. Using a completion {@link Executor}, the response entities and the dependent stages
+	 * are processed by the executor threads instead, for example using virtual threads.
+	 * </p>
+	 * @param client JAX-RS {@link Client} to perform invocations (not null)
+	 * @param executor The {@link Executor} to use to complete the invocation results (not null)
+	 * @return A new {@link AsyncRestClient} instance
+	 * @since 6.0.1
+	 */
+	static AsyncRestClient create(Client client, Executor executor) {
+		return new JaxrsClientAsyncRestClient(client, executor);
+	}
+
+	/**
+	 * Create a {@link AsyncRestClient} using given JAX-RS <code>client</code>, which performs each invocation as a
+	 * blocking call in a new virtual thread, instead of using the JAX-RS implementation asynchronous invoker.
+	 * <p>
+	 * At most <code>maxConcurrentInvocations</code> invocations are performed concurrently: any further invocation
+	 * waits for a running one to complete, without blocking the caller thread.
+	 * </p>
+	 * @param client JAX-RS {@link Client} to perform invocations (not null)
+	 * @param maxConcurrentInvocations Max number of concurrent invocations (greater than 0)
+	 * @return A new {@link AsyncRestClient} instance
+	 * @since 6.0.1
+	 */
+	static AsyncRestClient createWithVirtualThreads(Client client, int maxConcurrentInvocations) {
+		return new JaxrsClientVirtualThreadAsyncRestClient(client, maxConcurrentInvocations);
+	}
+
+	/**
+	 * Create a {@link AsyncRestClient} using given JAX-RS <code>client</code>, which balances the invocations among a
+	 * pool of base URIs of the same service.
+	 * <p>
+	 * The endpoint is selected once for each invocation, so the retries and the hedged requests of a
+	 * <code>ResiliencePolicy</code> are sent to the same endpoint.
+	 * </p>
+	 * @param client JAX-RS {@link Client} to perform invocations (not null)
+	 * @param strategy The load balancing strategy (not null)
+	 * @param endpoints The endpoints base URIs (not empty)
+	 * @return A new {@link AsyncRestClient} instance
+	 * @since 6.0.1
+	 * @see JaxrsRestClient#createLoadBalanced(Client, LoadBalancingStrategy, URI...)
+	 */
+	static AsyncRestClient createLoadBalanced(Client client, LoadBalancingStrategy strategy, URI... endpoints) {
+		return new JaxrsClientLoadBalancedAsyncRestClient(client, strategy, endpoints);
+	}
+
 	/**
 	 * Create a {@link AsyncRestClient} using the default client builder implementation class provided by the JAX-RS
 	 * implementation provider.
@@ -15,11 +15,15 @@
  */
 package com.holonplatform.jaxrs.client;
 
+import java.net.URI;
+
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
 
 import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.jaxrs.client.internal.JaxrsClientLoadBalancedRestClient;
 import com.holonplatform.jaxrs.client.internal.JaxrsClientRestClient;
+import com.holonplatform.jaxrs.client.internal.SharedClientRegistry;
 
 /**
  * A {@link RestClient} using a JAX-RS {@link Client} to perform invocations.
@@ -28,8 +32,59 @@ import com.holonplatform.jaxrs.client.internal.JaxrsClientRestClient;
  */
 public interface JaxrsRestClient extends RestClient {
 
+	/**
+	 * System property name which can be used to configure the number of JAX-RS {@link Client} instances shared, for
+	 * each ClassLoader, by the {@link RestClient}s obtained using the {@link RestClient} factory methods (for example,
+	 * {@link RestClient#create()} or {@link RestClient#forTarget(String)}). Defaults to <code>1</code>.
+	 */
+	public static final String SHARED_CLIENT_POOL_SIZE = "holon.jaxrs.client.shared-client-pool-size";
+
+	/**
+	 * System property name which can be used to disable the JAX-RS {@link Client} sharing among the {@link RestClient}s
+	 * obtained using the {@link RestClient} factory methods. When set to <code>false</code>, a new JAX-RS Client is
+	 * built for each RestClient, which can be configured and closed through {@link #getClient()}, as in the versions
+	 * before 6.0.1. Defaults to <code>true</code>.
+	 * @since 6.0.1
+	 */
+	public static final String SHARED_CLIENT = "holon.jaxrs.client.shared-client";
+
+	/**
+	 * JAX-RS {@link Client} configuration property name which can be used to enable or disable the response entity
+	 * buffering. When buffering is enabled (the default), the response entity is buffered in memory before being read,
+	 * so it can be read more than once, for example as different types. When disabled (<code>false</code> value), the
+	 * response entity is deserialized directly from the response stream and it can be read only once: any subsequent
+	 * read of the same type returns the entity which was already read.
+	 */
+	public static final String ENTITY_BUFFERING = "holon.jaxrs.client.entity-buffering";
+
+	/**
+	 * JAX-RS {@link Client} configuration property name which can be used to configure the number of consecutive
+	 * failed invocations after which an endpoint of a load balanced client is temporarily ejected from the pool.
+	 * Defaults to <code>3</code>.
+	 * @since 6.0.1
+	 */
+	public static final String LOAD_BALANCER_EJECTION_FAILURES = "holon.jaxrs.client.load-balancer.ejection-failures";
+
+	/**
+	 * JAX-RS {@link Client} configuration property name which can be used to configure the time, in milliseconds, for
+	 * which an endpoint of a load balanced client is ejected from the pool. Defaults to <code>30000</code>.
+	 * @since 6.0.1
+	 */
+	public static final String LOAD_BALANCER_EJECTION_TIME = "holon.jaxrs.client.load-balancer.ejection-time";
+
 	/**
 	 * Get the JAX-RS Client bound to this RestClient.
+	 * <p>
+	 * When the RestClient was obtained using the {@link RestClient} factory methods, the JAX-RS Client is shared with
+	 * other RestClients: in this case the {@link Client#close()}, <code>property</code> and <code>register</code>
+	 * methods of the returned client throw an {@link UnsupportedOperationException}. To customize the JAX-RS Client,
+	 * use the {@link #create(Client)} method with a dedicated client instance.
+	 * </p>
+	 * <p>
+	 * <b>Breaking change since 6.0.1</b>: in the previous versions each RestClient obtained from the factory methods
+	 * had its own configurable JAX-RS Client. The previous behavior can be restored setting the
+	 * {@link #SHARED_CLIENT} system property to <code>false</code>.
+	 * </p>
 	 * @return the JAX-RS Client
 	 */
 	Client getClient();
@@ -43,6 +98,30 @@ public interface JaxrsRestClient extends RestClient {
 		return new JaxrsClientRestClient(client);
 	}
 
+	/**
+	 * Create a {@link RestClient} using given JAX-RS <code>client</code>, which balances the invocations among a pool
+	 * of base URIs of the same service.
+	 * <p>
+	 * The first endpoint is used as default target. Each request whose base URI is one of the pool endpoints is sent
+	 * to the endpoint selected using given <code>strategy</code>. The endpoints which fail the number of consecutive
+	 * invocations configured by the {@link #LOAD_BALANCER_EJECTION_FAILURES} property (a request error or a server
+	 * error response status) are ejected from the pool for the time configured by the
+	 * {@link #LOAD_BALANCER_EJECTION_TIME} property.
+	 * </p>
+	 * <p>
+	 * The endpoint is selected once for each invocation, so the retries and the hedged requests of a
+	 * {@link ResiliencePolicy} are sent to the same endpoint.
+	 * </p>
+	 * @param client JAX-RS {@link Client} to perform invocations (not null)
+	 * @param strategy The load balancing strategy (not null)
+	 * @param endpoints The endpoints base URIs (not empty)
+	 * @return A new RestClient instance
+	 * @since 6.0.1
+	 */
+	static RestClient createLoadBalanced(Client client, LoadBalancingStrategy strategy, URI... endpoints) {
+		return new JaxrsClientLoadBalancedRestClient(client, strategy, endpoints);
+	}
+
 	/**
 	 * Create a {@link RestClient} using the default client builder implementation class provided by the JAX-RS
 	 * implementation provider.
@@ -52,4 +131,26 @@ public interface JaxrsRestClient extends RestClient {
 		return new JaxrsClientRestClient(ClientBuilder.newClient());
 	}
 
+	/**
+	 * Close the JAX-RS {@link Client} instances shared by the {@link RestClient}s obtained using the
+	 * {@link RestClient} factory methods. The shared clients are closed automatically when the JVM shuts down: this
+	 * method can be used to release them earlier, for example when an application is undeployed. Any
+	 * {@link RestClient} obtained before this method is invoked must not be used anymore.
+	 */
+	static void closeSharedClients() {
+		SharedClientRegistry.closeAll();
+	}
+
+	/**
+	 * Close the JAX-RS {@link Client} instances shared by the {@link RestClient}s obtained using the
+	 * {@link RestClient} factory methods for given <code>classLoader</code>, for example when the application bound to
+	 * the ClassLoader is undeployed. Any {@link RestClient} obtained for the ClassLoader before this method is invoked
+	 * must not be used anymore.
+	 * @param classLoader The ClassLoader (if null, the default ClassLoader is used)
+	 * @since 6.0.1
+	 */
+	static void closeSharedClients(ClassLoader classLoader) {
+		SharedClientRegistry.close(classLoader);
+	}
+
 }
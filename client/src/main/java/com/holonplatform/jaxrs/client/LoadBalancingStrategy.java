@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client;
+
+/**
+ * Strategy to select the target endpoint of a load balanced client invocation.
+ *
+ * @since 6.0.1
+ * @see JaxrsRestClient#createLoadBalanced(jakarta.ws.rs.client.Client, LoadBalancingStrategy, java.net.URI...)
+ */
+public enum LoadBalancingStrategy {
+
+	/**
+	 * Select the endpoint with the least outstanding requests, using the lowest latency to break the ties.
+	 */
+	LEAST_OUTSTANDING_REQUESTS,
+
+	/**
+	 * Pick two random endpoints and select the one with the lowest cost, computed from the latency and the number of
+	 * outstanding requests.
+	 */
+	POWER_OF_TWO_CHOICES;
+
+}
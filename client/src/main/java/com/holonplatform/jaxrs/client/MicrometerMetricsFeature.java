@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client;
+
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.RuntimeType;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.core.Feature;
+import jakarta.ws.rs.core.FeatureContext;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.jaxrs.client.internal.InvocationMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * JAX-RS client feature to record the <code>RestClient</code>, <code>AsyncRestClient</code> and
+ * <code>ReactiveRestClient</code> invocation metrics using a Micrometer {@link MeterRegistry}.
+ * <p>
+ * The following meters are registered:
+ * <ul>
+ * <li>{@link #REQUESTS_METRIC}: a timer of the invocations, measured until the response status and headers are
+ * received.</li>
+ * <li>{@link #ERRORS_METRIC}: a counter of the invocations which failed without a response.</li>
+ * <li>{@link #ENTITY_READ_METRIC}: a timer of the response entity reads, i.e. of the entity deserialization.</li>
+ * </ul>
+ * The meters are tagged by request <code>method</code>, <code>uri</code> template (for example
+ * <code>/users/{id}</code>), response <code>status</code> class (for example <code>2xx</code>) and
+ * <code>outcome</code>. The meters are registered once for each tag combination and then reused.
+ * </p>
+ * <p>
+ * The feature must be registered as an instance, before the <code>RestClient</code> is created. For example:
+ * <code>client.register(new MicrometerMetricsFeature(meterRegistry))</code>.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class MicrometerMetricsFeature implements Feature, InvocationMetrics {
+
+	/**
+	 * Invocations timer name
+	 */
+	public static final String REQUESTS_METRIC = "holon.jaxrs.client.requests";
+
+	/**
+	 * Failed invocations counter name
+	 */
+	public static final String ERRORS_METRIC = "holon.jaxrs.client.errors";
+
+	/**
+	 * Response entity reads timer name
+	 */
+	public static final String ENTITY_READ_METRIC = "holon.jaxrs.client.entity.read";
+
+	private static final String TAG_METHOD = "method";
+	private static final String TAG_URI = "uri";
+	private static final String TAG_STATUS = "status";
+	private static final String TAG_OUTCOME = "outcome";
+	private static final String TAG_EXCEPTION = "exception";
+
+	private static final String NONE = "NONE";
+	private static final String SUCCESS = "SUCCESS";
+	private static final String ERROR = "ERROR";
+
+	/**
+	 * Meter registry
+	 */
+	private final MeterRegistry registry;
+
+	/**
+	 * Registered meters, by meter id
+	 */
+	private final Map<Meter.Id, Meter> meters = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor
+	 * @param registry The meter registry to use (not null)
+	 */
+	public MicrometerMetricsFeature(MeterRegistry registry) {
+		super();
+		ObjectUtils.argumentNotNull(registry, "MeterRegistry must be not null");
+		this.registry = registry;
+		// the meter id may have been changed by the registry filters
+		registry.config().onMeterRemoved(meter -> meters.values().remove(meter));
+	}
+
+	/**
+	 * Get the meter registry.
+	 * @return The meter registry
+	 */
+	public MeterRegistry getRegistry() {
+		return registry;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Feature#configure(jakarta.ws.rs.core.FeatureContext)
+	 */
+	@Override
+	public boolean configure(FeatureContext context) {
+		// the metrics are recorded by the RestClient implementations
+		return RuntimeType.CLIENT == context.getConfiguration().getRuntimeType();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.internal.InvocationMetrics#recordInvocation(com.holonplatform.http.
+	 * HttpMethod, java.lang.String, int, java.lang.Throwable, long)
+	 */
+	@Override
+	public void recordInvocation(HttpMethod method, String uri, int status, Throwable error, long duration) {
+		final Tags tags = Tags.of(TAG_METHOD, method.getMethodName(), TAG_URI, uri, TAG_STATUS, getStatusClass(status),
+				TAG_OUTCOME, getOutcome(status));
+		timer(REQUESTS_METRIC, "JAX-RS client invocations", tags).record(duration, TimeUnit.NANOSECONDS);
+		if (status == NO_STATUS) {
+			final Meter.Id id = new Meter.Id(ERRORS_METRIC, Tags.of(TAG_METHOD, method.getMethodName(), TAG_URI, uri,
+					TAG_EXCEPTION, getExceptionName(error)), null, null, Meter.Type.COUNTER);
+			((Counter) meters.computeIfAbsent(id,
+					i -> Counter.builder(i.getName()).description("JAX-RS client invocations failed without a response")
+							.tags(i.getTags()).register(registry))).increment();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.internal.InvocationMetrics#recordEntityRead(com.holonplatform.http.
+	 * HttpMethod, java.lang.String, java.lang.Throwable, long)
+	 */
+	@Override
+	public void recordEntityRead(HttpMethod method, String uri, Throwable error, long duration) {
+		timer(ENTITY_READ_METRIC, "JAX-RS client response entity reads", Tags.of(TAG_METHOD, method.getMethodName(),
+				TAG_URI, uri, TAG_OUTCOME, (error != null) ? ERROR : SUCCESS)).record(duration, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Get the timer with given name and tags, registering it at first use.
+	 * @param name Timer name
+	 * @param description Timer description
+	 * @param tags Timer tags
+	 * @return The timer
+	 */
+	private Timer timer(String name, String description, Tags tags) {
+		final Meter.Id id = new Meter.Id(name, tags, null, null, Meter.Type.TIMER);
+		return (Timer) meters.computeIfAbsent(id,
+				i -> Timer.builder(i.getName()).description(description).tags(i.getTags()).register(registry));
+	}
+
+	/**
+	 * Get the status class tag value of given status code, for example <code>2xx</code>.
+	 * @param status The status code
+	 * @return The status class
+	 */
+	private static String getStatusClass(int status) {
+		if (status < 100 || status > 599) {
+			return NONE;
+		}
+		return (status / 100) + "xx";
+	}
+
+	/**
+	 * Get the outcome tag value of given status code.
+	 * @param status The status code
+	 * @return The outcome
+	 */
+	private static String getOutcome(int status) {
+		if (status == NO_STATUS) {
+			return ERROR;
+		}
+		if (status >= 100 && status < 200) {
+			return "INFORMATIONAL";
+		}
+		if (status >= 200 && status < 300) {
+			return SUCCESS;
+		}
+		if (status >= 300 && status < 400) {
+			return "REDIRECTION";
+		}
+		if (status >= 400 && status < 500) {
+			return "CLIENT_ERROR";
+		}
+		if (status >= 500 && status < 600) {
+			return "SERVER_ERROR";
+		}
+		return "UNKNOWN";
+	}
+
+	/**
+	 * Get the exception tag value of given invocation error.
+	 * @param error The invocation error
+	 * @return The exception class simple name
+	 */
+	private static String getExceptionName(Throwable error) {
+		Throwable cause = error;
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException
+				|| cause instanceof HttpClientInvocationException || cause instanceof ProcessingException)
+				&& cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return (cause != null) ? cause.getClass().getSimpleName() : NONE;
+	}
+
+}
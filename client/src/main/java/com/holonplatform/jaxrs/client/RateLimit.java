@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client;
+
+import com.holonplatform.jaxrs.client.internal.DefaultRateLimit;
+
+/**
+ * Rate limit for the JAX-RS <code>RestClient</code> invocations, which can be registered in a JAX-RS client, for the
+ * whole client or for each host, using the {@link RateLimitFeature}.
+ * <p>
+ * A rate limit can provide:
+ * <ul>
+ * <li>A token-bucket rate limiter: at most {@link #getRequestsPerSecond()} invocations per second are performed, with
+ * bursts of up to {@link #getBurst()} invocations.</li>
+ * <li>A concurrency bulkhead: at most {@link #getMaxConcurrentRequests()} invocations are in flight at the same
+ * time. An invocation is in flight until its response entity is read or the response is closed.</li>
+ * </ul>
+ * <p>
+ * When an invocation exceeds the limit, the synchronous <code>RestClient</code> fails fast with a
+ * {@link RateLimitExceededException}, while the asynchronous and reactive clients queue the invocation, without
+ * blocking, up to {@link #getMaxQueueSize()} invocations.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public interface RateLimit {
+
+	/**
+	 * Get the max number of invocations per second.
+	 * @return The max number of invocations per second, <code>0</code> if the rate is not limited
+	 */
+	double getRequestsPerSecond();
+
+	/**
+	 * Get the max number of invocations which can be performed in a burst, i.e. the token bucket capacity.
+	 * @return The burst size
+	 */
+	int getBurst();
+
+	/**
+	 * Get the max number of concurrent invocations.
+	 * @return The max number of concurrent invocations, <code>0</code> if the concurrency is not limited
+	 */
+	int getMaxConcurrentRequests();
+
+	/**
+	 * Get the max number of invocations which can wait for the limit to allow them, for the asynchronous clients.
+	 * @return The max queue size, <code>0</code> to reject any invocation which exceeds the limit
+	 */
+	int getMaxQueueSize();
+
+	// ------- builder
+
+	/**
+	 * Get a builder to create a {@link RateLimit}.
+	 * @return A new {@link Builder}
+	 */
+	static Builder builder() {
+		return new DefaultRateLimit.DefaultBuilder();
+	}
+
+	/**
+	 * {@link RateLimit} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Limit the invocations rate, using a burst size equal to the rate, rounded up.
+		 * @param requestsPerSecond The max number of invocations per second (greater than 0)
+		 * @return this
+		 */
+		Builder rate(double requestsPerSecond);
+
+		/**
+		 * Limit the invocations rate.
+		 * @param requestsPerSecond The max number of invocations per second (greater than 0)
+		 * @param burst The max number of invocations which can be performed in a burst (at least <code>1</code>)
+		 * @return this
+		 */
+		Builder rate(double requestsPerSecond, int burst);
+
+		/**
+		 * Limit the number of concurrent invocations.
+		 * @param maxConcurrentRequests The max number of concurrent invocations (at least <code>1</code>)
+		 * @return this
+		 */
+		Builder maxConcurrentRequests(int maxConcurrentRequests);
+
+		/**
+		 * Set the max number of invocations which can wait for the limit to allow them, for the asynchronous clients.
+		 * Default is <code>1000</code>.
+		 * @param maxQueueSize The max queue size (not negative)
+		 * @return this
+		 */
+		Builder maxQueueSize(int maxQueueSize);
+
+		/**
+		 * Build the {@link RateLimit}.
+		 * @return A new {@link RateLimit} instance
+		 */
+		RateLimit build();
+
+	}
+
+}
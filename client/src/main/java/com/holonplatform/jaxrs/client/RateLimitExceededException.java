@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client;
+
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+
+/**
+ * Exception thrown when an invocation is rejected by a {@link RateLimit}, without being sent.
+ * <p>
+ * A rejection is not a failure of the invoked host: it is neither retried nor counted by the circuit breaker of a
+ * {@link ResiliencePolicy} or by the endpoint ejection of a load balanced client.
+ * </p>
+ *
+ * @since 6.0.1
+ * @see RateLimitFeature
+ */
+public class RateLimitExceededException extends HttpClientInvocationException {
+
+	private static final long serialVersionUID = 2940851737815347046L;
+
+	/**
+	 * Constructor
+	 * @param message Error message
+	 */
+	public RateLimitExceededException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.ws.rs.RuntimeType;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.core.Feature;
+import jakarta.ws.rs.core.FeatureContext;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jaxrs.client.internal.RateLimiter;
+
+/**
+ * JAX-RS client feature to register the {@link RateLimit}s to apply to the <code>RestClient</code>,
+ * <code>AsyncRestClient</code> and <code>ReactiveRestClient</code> invocations performed using the JAX-RS
+ * {@link Client}.
+ * <p>
+ * A client limit applies to all the invocations, while a host limit applies separately to the invocations to each
+ * host. A limit can be registered for a specific host name, replacing the default host limit for that host. When both
+ * a client and a host limit are registered, an invocation must be allowed by both.
+ * </p>
+ * <p>
+ * The feature must be registered as an instance, before the <code>RestClient</code> is created. For example:
+ * <code>client.register(new RateLimitFeature(clientLimit).withHostLimit(hostLimit))</code>. The feature instance
+ * provides the {@link RateLimitMetrics} of each limit.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class RateLimitFeature implements Feature {
+
+	/**
+	 * Client limiter
+	 */
+	private final RateLimiter clientLimiter;
+
+	/**
+	 * Default host limit
+	 */
+	private RateLimit defaultHostLimit;
+
+	/**
+	 * Host limits, by host name
+	 */
+	private final Map<String, RateLimit> hostLimits = new HashMap<>();
+
+	/**
+	 * Host limiters, by host name
+	 */
+	private final Map<String, RateLimiter> hostLimiters = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor without a client limit.
+	 */
+	public RateLimitFeature() {
+		super();
+		this.clientLimiter = null;
+	}
+
+	/**
+	 * Constructor
+	 * @param clientLimit The limit to apply to all the client invocations (not null)
+	 */
+	public RateLimitFeature(RateLimit clientLimit) {
+		super();
+		ObjectUtils.argumentNotNull(clientLimit, "RateLimit must be not null");
+		this.clientLimiter = new RateLimiter("client", clientLimit);
+	}
+
+	/**
+	 * Register the default host limit, which applies separately to the invocations to each host.
+	 * @param limit The limit (not null)
+	 * @return this
+	 */
+	public RateLimitFeature withHostLimit(RateLimit limit) {
+		ObjectUtils.argumentNotNull(limit, "RateLimit must be not null");
+		this.defaultHostLimit = limit;
+		return this;
+	}
+
+	/**
+	 * Register the limit to apply to the invocations to given host.
+	 * @param host The host name (not null)
+	 * @param limit The limit (not null)
+	 * @return this
+	 */
+	public RateLimitFeature withHostLimit(String host, RateLimit limit) {
+		ObjectUtils.argumentNotNull(host, "Host must be not null");
+		ObjectUtils.argumentNotNull(limit, "RateLimit must be not null");
+		hostLimits.put(host.toLowerCase(Locale.ROOT), limit);
+		return this;
+	}
+
+	/**
+	 * Get the metrics of the client limit.
+	 * @return Optional client limit metrics, empty if no client limit is registered
+	 */
+	public Optional<RateLimitMetrics> getClientMetrics() {
+		return Optional.ofNullable(clientLimiter);
+	}
+
+	/**
+	 * Get the metrics of the limit which applies to given host.
+	 * @param host The host name (not null)
+	 * @return Optional host limit metrics, empty if no limit applies to given host
+	 */
+	public Optional<RateLimitMetrics> getHostMetrics(String host) {
+		ObjectUtils.argumentNotNull(host, "Host must be not null");
+		final String name = host.toLowerCase(Locale.ROOT);
+		final RateLimit limit = hostLimits.getOrDefault(name, defaultHostLimit);
+		if (limit == null) {
+			return Optional.empty();
+		}
+		return Optional.of(hostLimiters.computeIfAbsent(name, h -> new RateLimiter(h, limit)));
+	}
+
+	/**
+	 * Get the metrics of the limit which applies to the host of given URI.
+	 * @param uri The request URI (not null)
+	 * @return Optional host limit metrics, empty if no limit applies to the URI host
+	 */
+	public Optional<RateLimitMetrics> getHostMetrics(URI uri) {
+		ObjectUtils.argumentNotNull(uri, "URI must be not null");
+		return (uri.getHost() != null) ? getHostMetrics(uri.getHost()) : Optional.empty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Feature#configure(jakarta.ws.rs.core.FeatureContext)
+	 */
+	@Override
+	public boolean configure(FeatureContext context) {
+		// the limits are looked up by the RestClient implementations
+		return RuntimeType.CLIENT == context.getConfiguration().getRuntimeType();
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client;
+
+/**
+ * Metrics of a {@link RateLimit} applied to the JAX-RS <code>RestClient</code> invocations.
+ *
+ * @since 6.0.1
+ * @see RateLimitFeature
+ */
+public interface RateLimitMetrics {
+
+	/**
+	 * Get the number of invocations which are waiting for the limit to allow them.
+	 * @return The queue depth
+	 */
+	int getQueueDepth();
+
+	/**
+	 * Get the number of invocations in flight, i.e. whose response entity is not yet read nor the response closed.
+	 * @return The number of active invocations
+	 */
+	int getActiveRequests();
+
+	/**
+	 * Get the number of invocations rejected since the client was created, because the limit was exceeded and the
+	 * invocation could not be queued.
+	 * @return The number of rejected invocations
+	 */
+	long getRejectedRequests();
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import jakarta.ws.rs.RuntimeType;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.core.Feature;
+import jakarta.ws.rs.core.FeatureContext;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jaxrs.client.internal.DefaultResiliencePolicy;
+
+/**
+ * JAX-RS client feature to register the {@link ResiliencePolicy}s to use for the <code>RestClient</code> and
+ * <code>AsyncRestClient</code> invocations performed using the JAX-RS {@link Client}.
+ * <p>
+ * The default policy, if any, is used for each request which does not select a named policy using the
+ * {@link ResiliencePolicy#POLICY_HEADER} request header.
+ * </p>
+ * <p>
+ * The feature must be registered as an instance, before the <code>RestClient</code> is created. For example:
+ * <code>client.register(new ResilienceFeature(defaultPolicy).withPolicy("fast", fastPolicy))</code>.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class ResilienceFeature implements Feature {
+
+	/**
+	 * Default policy
+	 */
+	private final ResiliencePolicy defaultPolicy;
+
+	/**
+	 * Named policies
+	 */
+	private final Map<String, ResiliencePolicy> policies = new HashMap<>();
+
+	/**
+	 * Constructor without a default policy.
+	 */
+	public ResilienceFeature() {
+		super();
+		this.defaultPolicy = null;
+	}
+
+	/**
+	 * Constructor
+	 * @param defaultPolicy The default policy (not null)
+	 */
+	public ResilienceFeature(ResiliencePolicy defaultPolicy) {
+		super();
+		this.defaultPolicy = DefaultResiliencePolicy.of(defaultPolicy);
+	}
+
+	/**
+	 * Register a named policy, which can be selected using the {@link ResiliencePolicy#POLICY_HEADER} request header.
+	 * @param name The policy name (not null)
+	 * @param policy The policy (not null)
+	 * @return this
+	 */
+	public ResilienceFeature withPolicy(String name, ResiliencePolicy policy) {
+		ObjectUtils.argumentNotNull(name, "Policy name must be not null");
+		policies.put(name, DefaultResiliencePolicy.of(policy));
+		return this;
+	}
+
+	/**
+	 * Get the default policy.
+	 * @return Optional default policy
+	 */
+	public Optional<ResiliencePolicy> getDefaultPolicy() {
+		return Optional.ofNullable(defaultPolicy);
+	}
+
+	/**
+	 * Get the policy with given name.
+	 * @param name The policy name
+	 * @return Optional policy with given name
+	 */
+	public Optional<ResiliencePolicy> getPolicy(String name) {
+		return Optional.ofNullable(policies.get(name));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Feature#configure(jakarta.ws.rs.core.FeatureContext)
+	 */
+	@Override
+	public boolean configure(FeatureContext context) {
+		// the policies are looked up by the RestClient implementations
+		return RuntimeType.CLIENT == context.getConfiguration().getRuntimeType();
+	}
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client;
+
+import java.time.Duration;
+import java.util.Set;
+
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.rest.RestClient.RequestDefinition;
+import com.holonplatform.jaxrs.client.internal.DefaultResiliencePolicy;
+
+/**
+ * Resilience policy for the JAX-RS <code>RestClient</code> invocations, which can be registered in a JAX-RS client
+ * using the {@link ResilienceFeature}.
+ * <p>
+ * A policy can provide:
+ * <ul>
+ * <li>Retries with an exponential and jittered backoff, for the idempotent request methods (<code>GET</code>,
+ * <code>HEAD</code>, <code>OPTIONS</code>, <code>PUT</code>, <code>DELETE</code> and <code>TRACE</code>) unless
+ * {@link #isRetryNonIdempotent()}. An invocation is retried when it fails or when the response status code is one of
+ * the {@link #getRetryStatuses()}.</li>
+ * <li>Hedged requests for the idempotent request methods: when a response is not received within the configured
+ * latency percentile of the recent invocations to the same host, a second request is sent and the first received
+ * response is used.</li>
+ * <li>A per-host circuit breaker: when the failure rate of the recent invocations to a host reaches the configured
+ * threshold, the invocations fail fast for the configured open duration, after which a limited number of probe
+ * invocations are allowed to check whether the host is available again.</li>
+ * </ul>
+ * <p>
+ * The policy to use can be selected for each request using the {@link #POLICY_HEADER} request header, which is not sent
+ * to the server.
+ * </p>
+ * <p>
+ * The per-host circuit breaker state and latency statistics are bound to the policy instance.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public interface ResiliencePolicy {
+
+	/**
+	 * Request header which can be used to select the {@link ResiliencePolicy} to use for a request, by name. See
+	 * {@link ResilienceFeature#withPolicy(String, ResiliencePolicy)}. The {@link #NONE} value disables any policy.
+	 * <p>
+	 * For example: <code>client.request().header(ResiliencePolicy.POLICY_HEADER, "myPolicy")</code>.
+	 * </p>
+	 * @see RequestDefinition#header(String, String...)
+	 */
+	public static final String POLICY_HEADER = "X-Holon-Resilience-Policy";
+
+	/**
+	 * {@link #POLICY_HEADER} value to disable the resilience policies for a request.
+	 */
+	public static final String NONE = "none";
+
+	/**
+	 * Get the max number of attempts for an invocation, including the first one.
+	 * @return The max number of attempts, <code>1</code> if retries are disabled
+	 */
+	int getMaxAttempts();
+
+	/**
+	 * Get the backoff before the first retry. The backoff is multiplied by {@link #getBackoffMultiplier()} for each
+	 * subsequent retry, up to {@link #getMaxBackoff()}.
+	 * @return The initial backoff
+	 */
+	Duration getInitialBackoff();
+
+	/**
+	 * Get the max backoff between two retries.
+	 * @return The max backoff
+	 */
+	Duration getMaxBackoff();
+
+	/**
+	 * Get the backoff multiplier.
+	 * @return The backoff multiplier
+	 */
+	double getBackoffMultiplier();
+
+	/**
+	 * Get the backoff jitter, from <code>0</code> to <code>1</code>: each backoff is randomly reduced by up to this
+	 * fraction.
+	 * @return The backoff jitter
+	 */
+	double getBackoffJitter();
+
+	/**
+	 * Get the response status codes for which an invocation is retried.
+	 * @return The retry status codes
+	 */
+	Set<Integer> getRetryStatuses();
+
+	/**
+	 * Get whether the invocations which use a non idempotent request method are retried and hedged too.
+	 * @return <code>true</code> to retry and hedge the non idempotent requests
+	 */
+	boolean isRetryNonIdempotent();
+
+	/**
+	 * Get the latency percentile, from <code>0</code> to <code>1</code>, of the recent invocations to the same host
+	 * after which a hedged request is sent.
+	 * @return The hedging latency percentile, <code>0</code> if hedging is disabled
+	 */
+	double getHedgingPercentile();
+
+	/**
+	 * Get the min delay before a hedged request is sent.
+	 * @return The hedging min delay
+	 */
+	Duration getHedgingMinDelay();
+
+	/**
+	 * Get the failure rate, from <code>0</code> to <code>1</code>, which opens the circuit breaker of a host.
+	 * @return The circuit breaker failure rate threshold, <code>0</code> if the circuit breaker is disabled
+	 */
+	double getCircuitBreakerFailureRate();
+
+	/**
+	 * Get the number of recent invocations to a host used to compute the failure rate.
+	 * @return The circuit breaker window size
+	 */
+	int getCircuitBreakerWindowSize();
+
+	/**
+	 * Get how long the circuit breaker of a host stays open before the probe invocations are allowed.
+	 * @return The circuit breaker open duration
+	 */
+	Duration getCircuitBreakerOpenDuration();
+
+	/**
+	 * Get the number of successful probe invocations which close a half-open circuit breaker.
+	 * @return The number of half-open probe invocations
+	 */
+	int getCircuitBreakerHalfOpenProbes();
+
+	/**
+	 * Checks whether given request method is idempotent.
+	 * @param method The request method
+	 * @return <code>true</code> if the request method is idempotent
+	 */
+	static boolean isIdempotent(HttpMethod method) {
+		return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS
+				|| method == HttpMethod.PUT || method == HttpMethod.DELETE || method == HttpMethod.TRACE;
+	}
+
+	// ------- builder
+
+	/**
+	 * Get a builder to create a {@link ResiliencePolicy}.
+	 * @return A new {@link Builder}
+	 */
+	static Builder builder() {
+		return new DefaultResiliencePolicy.DefaultBuilder();
+	}
+
+	/**
+	 * {@link ResiliencePolicy} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the max number of attempts for an invocation, including the first one. Default is <code>1</code>, i.e.
+		 * no retries.
+		 * @param maxAttempts The max number of attempts (at least <code>1</code>)
+		 * @return this
+		 */
+		Builder maxAttempts(int maxAttempts);
+
+		/**
+		 * Set the retry backoff. Default is <code>100</code> milliseconds, up to <code>2</code> seconds.
+		 * @param initialBackoff The backoff before the first retry (not null)
+		 * @param maxBackoff The max backoff between two retries (not null)
+		 * @return this
+		 */
+		Builder backoff(Duration initialBackoff, Duration maxBackoff);
+
+		/**
+		 * Set the backoff multiplier. Default is <code>2</code>.
+		 * @param multiplier The backoff multiplier (at least <code>1</code>)
+		 * @return this
+		 */
+		Builder backoffMultiplier(double multiplier);
+
+		/**
+		 * Set the backoff jitter. Default is <code>0.5</code>.
+		 * @param jitter The backoff jitter, from <code>0</code> to <code>1</code>
+		 * @return this
+		 */
+		Builder backoffJitter(double jitter);
+
+		/**
+		 * Set the response status codes for which an invocation is retried. Default is <code>502</code>,
+		 * <code>503</code> and <code>504</code>.
+		 * @param statuses The retry status codes
+		 * @return this
+		 */
+		Builder retryStatuses(int... statuses);
+
+		/**
+		 * Set whether the invocations which use a non idempotent request method are retried and hedged too. Default
+		 * is <code>false</code>.
+		 * @param retryNonIdempotent <code>true</code> to retry and hedge the non idempotent requests
+		 * @return this
+		 */
+		Builder retryNonIdempotent(boolean retryNonIdempotent);
+
+		/**
+		 * Enable hedged requests.
+		 * @param percentile The latency percentile, from <code>0</code> to <code>1</code> (for example
+		 *        <code>0.95</code>), after which a hedged request is sent. <code>0</code> disables hedging
+		 * @param minDelay The min delay before a hedged request is sent (not null)
+		 * @return this
+		 */
+		Builder hedging(double percentile, Duration minDelay);
+
+		/**
+		 * Enable the per-host circuit breaker.
+		 * @param failureRate The failure rate, from <code>0</code> to <code>1</code>, which opens the circuit breaker.
+		 *        <code>0</code> disables the circuit breaker
+		 * @param windowSize The number of recent invocations used to compute the failure rate (at least
+		 *        <code>1</code>)
+		 * @param openDuration How long the circuit breaker stays open (not null)
+		 * @return this
+		 */
+		Builder circuitBreaker(double failureRate, int windowSize, Duration openDuration);
+
+		/**
+		 * Set the number of successful probe invocations which close a half-open circuit breaker. Default is
+		 * <code>1</code>.
+		 * @param probes The number of probe invocations (at least <code>1</code>)
+		 * @return this
+		 */
+		Builder halfOpenProbes(int probes);
+
+		/**
+		 * Build the {@link ResiliencePolicy}.
+		 * @return A new {@link ResiliencePolicy} instance
+		 */
+		ResiliencePolicy build();
+
+	}
+
+}
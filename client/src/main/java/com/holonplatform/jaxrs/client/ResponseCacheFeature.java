@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client;
+
+import jakarta.ws.rs.RuntimeType;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.core.Feature;
+import jakarta.ws.rs.core.FeatureContext;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jaxrs.client.internal.ResponseCacheFilter;
+import com.holonplatform.jaxrs.internal.JaxrsLogger;
+
+/**
+ * JAX-RS client feature to enable a client-side HTTP response cache.
+ * <p>
+ * The <code>GET</code> responses are cached according to the <code>Cache-Control</code>, <code>Expires</code>,
+ * <code>ETag</code>, <code>Last-Modified</code> and <code>Vary</code> response headers: fresh responses are served
+ * without contacting the server, while stale responses with a validator are revalidated using the
+ * <code>If-None-Match</code> and <code>If-Modified-Since</code> conditional request headers. Responses to requests
+ * with an <code>Authorization</code> header are cached only when explicitly marked as shareable, responses marked as
+ * <code>private</code> are never cached, and requests which carry their own conditional headers bypass the cache. The
+ * <code>max-age</code> freshness lifetime is reduced by the response <code>Age</code> header.
+ * </p>
+ * <p>
+ * The cache is bound to the JAX-RS {@link Client} for which the feature is registered. It is a LRU cache, limited by
+ * the total size of the cached response entities, which can be configured using the {@link #MAX_SIZE} client property
+ * or the feature constructor.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class ResponseCacheFeature implements Feature {
+
+	private final static Logger LOGGER = JaxrsLogger.create();
+
+	/**
+	 * JAX-RS {@link Client} configuration property name which can be used to configure the max size, in bytes, of the
+	 * cached response entities. Defaults to {@link #DEFAULT_MAX_SIZE}.
+	 */
+	public static final String MAX_SIZE = "holon.jaxrs.client.response-cache.max-size";
+
+	/**
+	 * Default cache max size, in bytes: 10 MB.
+	 */
+	public static final long DEFAULT_MAX_SIZE = 10 * 1024 * 1024;
+
+	/**
+	 * Max size, <code>-1</code> to use the configuration property
+	 */
+	private final long maxSize;
+
+	/**
+	 * Constructor, using the {@link #MAX_SIZE} client property value, if available, or the {@link #DEFAULT_MAX_SIZE}.
+	 */
+	public ResponseCacheFeature() {
+		this(-1);
+	}
+
+	/**
+	 * Constructor
+	 * @param maxSize The max size, in bytes, of the cached response entities. If negative, the {@link #MAX_SIZE}
+	 *        client property value is used, if available, or the {@link #DEFAULT_MAX_SIZE}
+	 */
+	public ResponseCacheFeature(long maxSize) {
+		super();
+		this.maxSize = maxSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Feature#configure(jakarta.ws.rs.core.FeatureContext)
+	 */
+	@Override
+	public boolean configure(FeatureContext context) {
+		if (RuntimeType.CLIENT != context.getConfiguration().getRuntimeType()) {
+			return false;
+		}
+		if (!context.getConfiguration().isRegistered(ResponseCacheFilter.class)) {
+			final long size = (maxSize >= 0) ? maxSize : getMaxSize(context.getConfiguration().getProperty(MAX_SIZE));
+			LOGGER.debug(() -> "Registering a client response cache with max size [" + size + "] bytes");
+			context.register(new ResponseCacheFilter(size));
+		}
+		return true;
+	}
+
+	/**
+	 * Get the max size from given configuration property value.
+	 * @param value The configuration property value
+	 * @return The max size
+	 */
+	private static long getMaxSize(Object value) {
+		if (value instanceof Number) {
+			return ((Number) value).longValue();
+		}
+		if (value != null) {
+			try {
+				return Long.parseLong(value.toString().trim());
+			} catch (NumberFormatException e) {
+				LOGGER.warn("Invalid " + MAX_SIZE + " property value: [" + value + "], using the default max size");
+			}
+		}
+		return DEFAULT_MAX_SIZE;
+	}
+
+}
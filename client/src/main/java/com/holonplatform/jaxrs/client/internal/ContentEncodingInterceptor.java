@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.ReaderInterceptor;
+import jakarta.ws.rs.ext.ReaderInterceptorContext;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import com.holonplatform.jaxrs.client.CompressionFeature;
+
+/**
+ * Client filter and interceptor which implements the {@link CompressionFeature} content encoding negotiation.
+ * <p>
+ * The response entities are decompressed while they are read, without buffering. The request entities are buffered
+ * only up to the compression threshold: as soon as the threshold is exceeded, the <code>Content-Encoding</code> header
+ * is set and the entity is compressed while it is written.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+@Priority(Priorities.ENTITY_CODER)
+public class ContentEncodingInterceptor implements ClientRequestFilter, ReaderInterceptor, WriterInterceptor {
+
+	private static final String GZIP = "gzip";
+	private static final String X_GZIP = "x-gzip";
+	private static final String DEFLATE = "deflate";
+
+	private static final String ACCEPT_ENCODING = GZIP + ", " + DEFLATE;
+
+	/**
+	 * Request compression threshold
+	 */
+	private final long requestThreshold;
+
+	/**
+	 * Constructor
+	 * @param requestThreshold The size threshold, in bytes, above which the request entities are compressed. A negative
+	 *        value disables the request compression
+	 */
+	public ContentEncodingInterceptor(long requestThreshold) {
+		super();
+		this.requestThreshold = requestThreshold;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.ClientRequestFilter#filter(jakarta.ws.rs.client.ClientRequestContext)
+	 */
+	@Override
+	public void filter(ClientRequestContext requestContext) throws IOException {
+		if (!requestContext.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+			requestContext.getHeaders().putSingle(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.ext.ReaderInterceptor#aroundReadFrom(jakarta.ws.rs.ext.ReaderInterceptorContext)
+	 */
+	@Override
+	public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException {
+		final String encoding = context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+		if (encoding != null) {
+			final String coding = encoding.trim().toLowerCase(Locale.ROOT);
+			if (GZIP.equals(coding) || X_GZIP.equals(coding)) {
+				context.setInputStream(new GZIPInputStream(context.getInputStream()));
+				context.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+			} else if (DEFLATE.equals(coding)) {
+				context.setInputStream(new InflaterInputStream(context.getInputStream()));
+				context.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+			}
+		}
+		return context.proceed();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.ext.WriterInterceptor#aroundWriteTo(jakarta.ws.rs.ext.WriterInterceptorContext)
+	 */
+	@Override
+	public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+		if (requestThreshold < 0 || context.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+			context.proceed();
+			return;
+		}
+		final ThresholdCompressionOutputStream stream = new ThresholdCompressionOutputStream(context.getOutputStream(),
+				context.getHeaders(), requestThreshold);
+		context.setOutputStream(stream);
+		context.proceed();
+		stream.finish();
+	}
+
+	/**
+	 * An {@link OutputStream} which buffers the written bytes up to a threshold and switches to <code>gzip</code>
+	 * compression when the threshold is exceeded.
+	 */
+	private static final class ThresholdCompressionOutputStream extends OutputStream {
+
+		private final OutputStream target;
+		private final MultivaluedMap<String, Object> headers;
+		private final long threshold;
+
+		private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		private GZIPOutputStream compressed;
+
+		ThresholdCompressionOutputStream(OutputStream target, MultivaluedMap<String, Object> headers,
+				long threshold) {
+			super();
+			this.target = target;
+			this.headers = headers;
+			this.threshold = threshold;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (compressed != null) {
+				compressed.write(b, off, len);
+				return;
+			}
+			buffer.write(b, off, len);
+			if (buffer.size() > threshold) {
+				// switch to compression, before anything is written to the target stream
+				headers.remove(HttpHeaders.CONTENT_LENGTH);
+				headers.putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+				compressed = new GZIPOutputStream(target, 8192);
+				buffer.writeTo(compressed);
+				buffer = null;
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			// the buffered bytes are written only when the threshold is exceeded or when finished
+			if (compressed != null) {
+				compressed.flush();
+			}
+		}
+
+		/**
+		 * Write any buffered byte and complete the compression, if active.
+		 * @throws IOException If a stream write error occurred
+		 */
+		void finish() throws IOException {
+			if (compressed != null) {
+				compressed.finish();
+			} else if (buffer != null) {
+				buffer.writeTo(target);
+				buffer = null;
+			}
+			target.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			finish();
+			target.close();
+		}
+
+	}
+
+}
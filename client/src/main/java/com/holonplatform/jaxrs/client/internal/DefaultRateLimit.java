@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import com.holonplatform.jaxrs.client.RateLimit;
+
+/**
+ * Default {@link RateLimit} implementation.
+ *
+ * @since 6.0.1
+ */
+public class DefaultRateLimit implements RateLimit {
+
+	private double requestsPerSecond = 0;
+	private int burst = 1;
+	private int maxConcurrentRequests = 0;
+	private int maxQueueSize = 1000;
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.RateLimit#getRequestsPerSecond()
+	 */
+	@Override
+	public double getRequestsPerSecond() {
+		return requestsPerSecond;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.RateLimit#getBurst()
+	 */
+	@Override
+	public int getBurst() {
+		return burst;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.RateLimit#getMaxConcurrentRequests()
+	 */
+	@Override
+	public int getMaxConcurrentRequests() {
+		return maxConcurrentRequests;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.RateLimit#getMaxQueueSize()
+	 */
+	@Override
+	public int getMaxQueueSize() {
+		return maxQueueSize;
+	}
+
+	/**
+	 * Default {@link Builder} implementation.
+	 */
+	public static class DefaultBuilder implements Builder {
+
+		private final DefaultRateLimit instance = new DefaultRateLimit();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.RateLimit.Builder#rate(double)
+		 */
+		@Override
+		public Builder rate(double requestsPerSecond) {
+			return rate(requestsPerSecond, (int) Math.max(1, Math.ceil(requestsPerSecond)));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.RateLimit.Builder#rate(double, int)
+		 */
+		@Override
+		public Builder rate(double requestsPerSecond, int burst) {
+			if (requestsPerSecond <= 0) {
+				throw new IllegalArgumentException("The requests per second must be greater than 0");
+			}
+			if (burst < 1) {
+				throw new IllegalArgumentException("The burst must be greater than 0");
+			}
+			instance.requestsPerSecond = requestsPerSecond;
+			instance.burst = burst;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.RateLimit.Builder#maxConcurrentRequests(int)
+		 */
+		@Override
+		public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+			if (maxConcurrentRequests < 1) {
+				throw new IllegalArgumentException("The max concurrent requests must be greater than 0");
+			}
+			instance.maxConcurrentRequests = maxConcurrentRequests;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.RateLimit.Builder#maxQueueSize(int)
+		 */
+		@Override
+		public Builder maxQueueSize(int maxQueueSize) {
+			if (maxQueueSize < 0) {
+				throw new IllegalArgumentException("The max queue size must be not negative");
+			}
+			instance.maxQueueSize = maxQueueSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.RateLimit.Builder#build()
+		 */
+		@Override
+		public RateLimit build() {
+			return instance;
+		}
+
+	}
+
+}
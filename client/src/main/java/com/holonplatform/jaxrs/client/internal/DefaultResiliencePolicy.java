@@ -0,0 +1,352 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jaxrs.client.ResiliencePolicy;
+
+/**
+ * Default {@link ResiliencePolicy} implementation.
+ * <p>
+ * The policy owns the {@link ResilienceExecutor} which tracks the per-host circuit breaker state and latency
+ * statistics.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class DefaultResiliencePolicy implements ResiliencePolicy {
+
+	private int maxAttempts = 1;
+	private Duration initialBackoff = Duration.ofMillis(100);
+	private Duration maxBackoff = Duration.ofSeconds(2);
+	private double backoffMultiplier = 2;
+	private double backoffJitter = 0.5;
+	private Set<Integer> retryStatuses = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(502, 503, 504)));
+	private boolean retryNonIdempotent = false;
+	private double hedgingPercentile = 0;
+	private Duration hedgingMinDelay = Duration.ZERO;
+	private double circuitBreakerFailureRate = 0;
+	private int circuitBreakerWindowSize = 20;
+	private Duration circuitBreakerOpenDuration = Duration.ofSeconds(30);
+	private int circuitBreakerHalfOpenProbes = 1;
+
+	/**
+	 * Policy executor
+	 */
+	private final ResilienceExecutor executor = new ResilienceExecutor(this);
+
+	/**
+	 * Get a {@link DefaultResiliencePolicy} for given policy, copying its configuration if it is not a
+	 * {@link DefaultResiliencePolicy} instance.
+	 * @param policy The policy (not null)
+	 * @return The {@link DefaultResiliencePolicy}
+	 */
+	public static DefaultResiliencePolicy of(ResiliencePolicy policy) {
+		ObjectUtils.argumentNotNull(policy, "ResiliencePolicy must be not null");
+		if (policy instanceof DefaultResiliencePolicy) {
+			return (DefaultResiliencePolicy) policy;
+		}
+		final DefaultResiliencePolicy copy = new DefaultResiliencePolicy();
+		copy.maxAttempts = policy.getMaxAttempts();
+		copy.initialBackoff = policy.getInitialBackoff();
+		copy.maxBackoff = policy.getMaxBackoff();
+		copy.backoffMultiplier = policy.getBackoffMultiplier();
+		copy.backoffJitter = policy.getBackoffJitter();
+		copy.retryStatuses = policy.getRetryStatuses();
+		copy.retryNonIdempotent = policy.isRetryNonIdempotent();
+		copy.hedgingPercentile = policy.getHedgingPercentile();
+		copy.hedgingMinDelay = policy.getHedgingMinDelay();
+		copy.circuitBreakerFailureRate = policy.getCircuitBreakerFailureRate();
+		copy.circuitBreakerWindowSize = policy.getCircuitBreakerWindowSize();
+		copy.circuitBreakerOpenDuration = policy.getCircuitBreakerOpenDuration();
+		copy.circuitBreakerHalfOpenProbes = policy.getCircuitBreakerHalfOpenProbes();
+		return copy;
+	}
+
+	/**
+	 * Get the policy executor.
+	 * @return The policy executor
+	 */
+	public ResilienceExecutor getExecutor() {
+		return executor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getMaxAttempts()
+	 */
+	@Override
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getInitialBackoff()
+	 */
+	@Override
+	public Duration getInitialBackoff() {
+		return initialBackoff;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getMaxBackoff()
+	 */
+	@Override
+	public Duration getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getBackoffMultiplier()
+	 */
+	@Override
+	public double getBackoffMultiplier() {
+		return backoffMultiplier;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getBackoffJitter()
+	 */
+	@Override
+	public double getBackoffJitter() {
+		return backoffJitter;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getRetryStatuses()
+	 */
+	@Override
+	public Set<Integer> getRetryStatuses() {
+		return retryStatuses;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#isRetryNonIdempotent()
+	 */
+	@Override
+	public boolean isRetryNonIdempotent() {
+		return retryNonIdempotent;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getHedgingPercentile()
+	 */
+	@Override
+	public double getHedgingPercentile() {
+		return hedgingPercentile;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getHedgingMinDelay()
+	 */
+	@Override
+	public Duration getHedgingMinDelay() {
+		return hedgingMinDelay;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getCircuitBreakerFailureRate()
+	 */
+	@Override
+	public double getCircuitBreakerFailureRate() {
+		return circuitBreakerFailureRate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getCircuitBreakerWindowSize()
+	 */
+	@Override
+	public int getCircuitBreakerWindowSize() {
+		return circuitBreakerWindowSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getCircuitBreakerOpenDuration()
+	 */
+	@Override
+	public Duration getCircuitBreakerOpenDuration() {
+		return circuitBreakerOpenDuration;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.ResiliencePolicy#getCircuitBreakerHalfOpenProbes()
+	 */
+	@Override
+	public int getCircuitBreakerHalfOpenProbes() {
+		return circuitBreakerHalfOpenProbes;
+	}
+
+	/**
+	 * Default {@link Builder} implementation.
+	 */
+	public static class DefaultBuilder implements Builder {
+
+		private final DefaultResiliencePolicy instance = new DefaultResiliencePolicy();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.ResiliencePolicy.Builder#maxAttempts(int)
+		 */
+		@Override
+		public Builder maxAttempts(int maxAttempts) {
+			if (maxAttempts < 1) {
+				throw new IllegalArgumentException("The max attempts must be greater than 0");
+			}
+			instance.maxAttempts = maxAttempts;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.ResiliencePolicy.Builder#backoff(java.time.Duration, java.time.Duration)
+		 */
+		@Override
+		public Builder backoff(Duration initialBackoff, Duration maxBackoff) {
+			ObjectUtils.argumentNotNull(initialBackoff, "Initial backoff must be not null");
+			ObjectUtils.argumentNotNull(maxBackoff, "Max backoff must be not null");
+			instance.initialBackoff = initialBackoff;
+			instance.maxBackoff = maxBackoff;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.ResiliencePolicy.Builder#backoffMultiplier(double)
+		 */
+		@Override
+		public Builder backoffMultiplier(double multiplier) {
+			if (multiplier < 1) {
+				throw new IllegalArgumentException("The backoff multiplier must be at least 1");
+			}
+			instance.backoffMultiplier = multiplier;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.ResiliencePolicy.Builder#backoffJitter(double)
+		 */
+		@Override
+		public Builder backoffJitter(double jitter) {
+			instance.backoffJitter = fraction(jitter, "backoff jitter");
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.ResiliencePolicy.Builder#retryStatuses(int[])
+		 */
+		@Override
+		public Builder retryStatuses(int... statuses) {
+			final Set<Integer> values = new HashSet<>();
+			if (statuses != null) {
+				for (int status : statuses) {
+					values.add(status);
+				}
+			}
+			instance.retryStatuses = Collections.unmodifiableSet(values);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.ResiliencePolicy.Builder#retryNonIdempotent(boolean)
+		 */
+		@Override
+		public Builder retryNonIdempotent(boolean retryNonIdempotent) {
+			instance.retryNonIdempotent = retryNonIdempotent;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.ResiliencePolicy.Builder#hedging(double, java.time.Duration)
+		 */
+		@Override
+		public Builder hedging(double percentile, Duration minDelay) {
+			ObjectUtils.argumentNotNull(minDelay, "Hedging min delay must be not null");
+			instance.hedgingPercentile = fraction(percentile, "hedging percentile");
+			instance.hedgingMinDelay = minDelay;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.ResiliencePolicy.Builder#circuitBreaker(double, int,
+		 * java.time.Duration)
+		 */
+		@Override
+		public Builder circuitBreaker(double failureRate, int windowSize, Duration openDuration) {
+			ObjectUtils.argumentNotNull(openDuration, "Circuit breaker open duration must be not null");
+			if (windowSize < 1) {
+				throw new IllegalArgumentException("The circuit breaker window size must be greater than 0");
+			}
+			instance.circuitBreakerFailureRate = fraction(failureRate, "circuit breaker failure rate");
+			instance.circuitBreakerWindowSize = windowSize;
+			instance.circuitBreakerOpenDuration = openDuration;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.ResiliencePolicy.Builder#halfOpenProbes(int)
+		 */
+		@Override
+		public Builder halfOpenProbes(int probes) {
+			if (probes < 1) {
+				throw new IllegalArgumentException("The half-open probes must be greater than 0");
+			}
+			instance.circuitBreakerHalfOpenProbes = probes;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jaxrs.client.ResiliencePolicy.Builder#build()
+		 */
+		@Override
+		public ResiliencePolicy build() {
+			return instance;
+		}
+
+		private static double fraction(double value, String name) {
+			if (value < 0 || value > 1) {
+				throw new IllegalArgumentException("The " + name + " must be between 0 and 1");
+			}
+			return value;
+		}
+
+	}
+
+}
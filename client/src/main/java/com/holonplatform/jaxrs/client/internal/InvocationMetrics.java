@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.util.function.ObjLongConsumer;
+
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * Records the metrics of the <code>RestClient</code> invocations.
+ * <p>
+ * The invocation time is measured until the response status and headers are received, while the response entity read
+ * time is recorded separately, so that the entity deserialization cost can be told apart from the server latency.
+ * </p>
+ * <p>
+ * The implementations registered as JAX-RS client instances (for example a client feature) are looked up by the
+ * <code>RestClient</code> implementations.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public interface InvocationMetrics {
+
+	/**
+	 * Status value to use when no response was received.
+	 */
+	public static final int NO_STATUS = -1;
+
+	/**
+	 * Record an invocation.
+	 * @param method Request method
+	 * @param uri Request URI template
+	 * @param status Response status code, {@link #NO_STATUS} if the invocation failed without a response
+	 * @param error Invocation error, <code>null</code> if the invocation succeeded
+	 * @param duration Invocation duration, in nanoseconds
+	 */
+	void recordInvocation(HttpMethod method, String uri, int status, Throwable error, long duration);
+
+	/**
+	 * Record a response entity read.
+	 * @param method Request method
+	 * @param uri Request URI template
+	 * @param error Read error, <code>null</code> if the entity was successfully read
+	 * @param duration Read duration, in nanoseconds
+	 */
+	void recordEntityRead(HttpMethod method, String uri, Throwable error, long duration);
+
+	/**
+	 * Get a response entity read listener which records the read operations using this metrics.
+	 * @param method Request method
+	 * @param uri Request URI template
+	 * @return The read listener
+	 * @see JaxrsResponseEntity#setReadListener(ObjLongConsumer)
+	 */
+	default ObjLongConsumer<Throwable> readListener(HttpMethod method, String uri) {
+		return (error, duration) -> recordEntityRead(method, uri, error, duration);
+	}
+
+	/**
+	 * Get the URI template of given request, i.e. the request path before the template parameters are resolved and
+	 * without the base URI and the query parameters.
+	 * @param request Request configuration
+	 * @return The request URI template
+	 */
+	static String getUriTemplate(RequestConfiguration<?> request) {
+		final String path = request.getRequestPath().orElse("");
+		return path.startsWith("/") ? path : "/" + path;
+	}
+
+}
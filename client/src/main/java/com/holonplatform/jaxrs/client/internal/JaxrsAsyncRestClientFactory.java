@@ -16,7 +16,6 @@
 package com.holonplatform.jaxrs.client.internal;
 
 import jakarta.annotation.Priority;
-import jakarta.ws.rs.client.ClientBuilder;
 
 import com.holonplatform.async.http.AsyncRestClient;
 import com.holonplatform.async.http.AsyncRestClientFactory;
@@ -26,6 +25,9 @@ import com.holonplatform.jaxrs.client.JaxrsAsyncRestClient;
 /**
  * A {@link AsyncRestClientFactory} to provide JAX-RS {@link AsyncRestClient} implementations using
  * {@link JaxrsClientAsyncRestClient}.
+ * <p>
+ * The JAX-RS Client instances are shared and provided by the {@link SharedClientRegistry}.
+ * </p>
  * 
  * @since 5.2.0
  */
@@ -44,7 +46,7 @@ public class JaxrsAsyncRestClientFactory implements AsyncRestClientFactory {
 	@Override
 	public AsyncRestClient create(ClassLoader classLoader) throws RestClientCreationException {
 		try {
-			return new JaxrsClientAsyncRestClient(ClientBuilder.newClient());
+			return new JaxrsClientAsyncRestClient(SharedClientRegistry.getClient(classLoader));
 		} catch (Exception e) {
 			throw new RestClientCreationException("Failed to create a Jaxrs AsyncRestClient", e);
 		}
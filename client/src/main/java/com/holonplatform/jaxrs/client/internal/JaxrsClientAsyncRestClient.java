@@ -15,13 +15,21 @@
  */
 package com.holonplatform.jaxrs.client.internal;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
 
 import jakarta.ws.rs.client.AsyncInvoker;
 import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation.Builder;
-import jakarta.ws.rs.client.InvocationCallback;
+import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.Response;
 
 import com.holonplatform.async.http.AsyncRestClient;
@@ -35,6 +43,8 @@ import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.ResponseType;
 import com.holonplatform.jaxrs.client.JaxrsAsyncRestClient;
+import com.holonplatform.jaxrs.client.RateLimitFeature;
+import com.holonplatform.jaxrs.client.ResilienceFeature;
 
 /**
  * Default JAX-RS {@link AsyncRestClient} implementation.
@@ -48,6 +58,31 @@ public class JaxrsClientAsyncRestClient extends AbstractAsyncRestClient implemen
 	 */
 	private final Client client;
 
+	/**
+	 * Executor to use to complete the invocation results, if any
+	 */
+	private final Executor executor;
+
+	/**
+	 * Requests coalescer, if enabled
+	 */
+	private final RequestCoalescer coalescer;
+
+	/**
+	 * Resilience policies, if registered
+	 */
+	private final ResilienceFeature resilience;
+
+	/**
+	 * Rate limits, if registered
+	 */
+	private final RateLimitFeature rateLimit;
+
+	/**
+	 * Invocation metrics, if registered
+	 */
+	private final InvocationMetrics metrics;
+
 	/**
 	 * Constructor
 	 * @param client Jax-rs client
@@ -55,7 +90,30 @@ public class JaxrsClientAsyncRestClient extends AbstractAsyncRestClient implemen
 	public JaxrsClientAsyncRestClient(Client client) {
 		super();
 		ObjectUtils.argumentNotNull(client, "Client must be not null");
-		this.client = client;
+		this.client = JaxrsRestClientOperations.setup(client);
+		this.executor = null;
+		this.coalescer = RequestCoalescer.create(client);
+		this.resilience = JaxrsRestClientOperations.getResilienceFeature(client);
+		this.rateLimit = JaxrsRestClientOperations.getRateLimitFeature(client);
+		this.metrics = JaxrsRestClientOperations.getInvocationMetrics(client);
+	}
+
+	/**
+	 * Constructor
+	 * @param client Jax-rs client
+	 * @param executor Executor to use to complete the invocation results (not null)
+	 * @since 6.0.1
+	 */
+	public JaxrsClientAsyncRestClient(Client client, Executor executor) {
+		super();
+		ObjectUtils.argumentNotNull(client, "Client must be not null");
+		ObjectUtils.argumentNotNull(executor, "Executor must be not null");
+		this.client = JaxrsRestClientOperations.setup(client);
+		this.executor = executor;
+		this.coalescer = RequestCoalescer.create(client);
+		this.resilience = JaxrsRestClientOperations.getResilienceFeature(client);
+		this.rateLimit = JaxrsRestClientOperations.getRateLimitFeature(client);
+		this.metrics = JaxrsRestClientOperations.getInvocationMetrics(client);
 	}
 
 	/*
@@ -85,67 +143,203 @@ public class JaxrsClientAsyncRestClient extends AbstractAsyncRestClient implemen
 	@Override
 	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition, HttpMethod method,
 			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		return invoke(JaxrsRestClientOperations.configure(getClient(), requestDefinition), requestDefinition, method,
+				requestEntity, responseType, onlySuccessfulStatusCode);
+	}
 
-		// invocation builder
-		final Builder builder = JaxrsRestClientOperations.configure(getClient(), requestDefinition).request();
+	/**
+	 * Invoke the request using given target.
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 * @param target Request target
+	 * @param requestDefinition Request definition
+	 * @param method Request method
+	 * @param requestEntity Request entity
+	 * @param responseType Response type
+	 * @param onlySuccessfulStatusCode Whether to complete the operation exceptionally with an
+	 *        {@link UnsuccessfulResponseException} if the response status code is not a successful one
+	 * @return The response entity {@link CompletionStage}
+	 */
+	protected <T, R> CompletionStage<ResponseEntity<T>> invoke(WebTarget target,
+			AsyncRequestDefinition requestDefinition, HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
 
-		// headers
-		requestDefinition.getHeaders().forEach((n, v) -> builder.header(n, v));
+		final Optional<Entity<?>> entity = JaxrsRestClientOperations.buildRequestEntity(requestEntity);
+		final CompletableFuture<ResponseEntity<T>> operation = new CompletableFuture<>();
+		final ResilienceExecutor resilienceExecutor = JaxrsRestClientOperations.getResilienceExecutor(resilience,
+				requestDefinition);
+		final String uri = (metrics != null) ? InvocationMetrics.getUriTemplate(requestDefinition) : null;
+		final ObjLongConsumer<Throwable> readListener = (metrics != null) ? metrics.readListener(method, uri) : null;
+		final long start = System.nanoTime();
 
-		// invoker
-		final AsyncInvoker invoker = builder.async();
+		// coalesce concurrent identical requests
+		if (coalescer != null && RequestCoalescer.isCoalescible(method, entity)) {
+			final CompletableFuture<Response> shared = coalescer.execute(
+					coalescer.key(method, target.getUri(), requestDefinition.getHeaders(),
+							requestDefinition.getPropertySet()),
+					() -> invoke(resilienceExecutor, target, request(target, requestDefinition), method, null));
+			onCompletion(shared, (response, error) -> {
+				record(method, uri, response, error, start);
+				if (error != null) {
+					operation.completeExceptionally(error);
+				} else {
+					completeShared(operation, response, responseType, onlySuccessfulStatusCode, readListener);
+				}
+			});
+			return operation;
+		}
 
 		// invoke
-		return JaxrsRestClientOperations.buildRequestEntity(requestEntity).map(r -> {
-			final CompletableFuture<ResponseEntity<T>> operation = new CompletableFuture<>();
-			invoker.method(method.getMethodName(), r,
-					new ResponseInvocationCallback<>(operation, responseType, onlySuccessfulStatusCode));
-			return operation;
-		}).orElseGet(() -> {
-			final CompletableFuture<ResponseEntity<T>> operation = new CompletableFuture<>();
-			invoker.method(method.getMethodName(),
-					new ResponseInvocationCallback<>(operation, responseType, onlySuccessfulStatusCode));
-			return operation;
+		final CompletableFuture<Response> invocation = invoke(resilienceExecutor, target,
+				request(target, requestDefinition), method, entity.orElse(null));
+		onCompletion(invocation, (response, error) -> {
+			record(method, uri, response, error, start);
+			if (error != null) {
+				operation.completeExceptionally(error);
+			} else if (!complete(operation, response, responseType, onlySuccessfulStatusCode,
+					JaxrsRestClientOperations.isEntityBuffering(getClient()), readListener)) {
+				// the operation was already cancelled or timed out: release the connection
+				response.close();
+			}
 		});
-	}
 
-	private final class ResponseInvocationCallback<T> implements InvocationCallback<Response> {
+		// abort the in-flight request when the operation is cancelled or completed by a timeout
+		operation.whenComplete((r, e) -> {
+			if (e != null) {
+				invocation.cancel(true);
+			}
+		});
+		return operation;
+	}
 
-		private final CompletableFuture<ResponseEntity<T>> stage;
-		private final ResponseType<T> responseType;
-		private final boolean onlySuccessfulStatusCode;
+	/**
+	 * Record the metrics of a completed invocation, if the invocation metrics are available. Must be invoked before
+	 * completing the operation, so that the metrics are recorded when the operation result is available.
+	 * @param method Request method
+	 * @param uri Request URI template
+	 * @param response The invocation response, <code>null</code> if failed
+	 * @param error The invocation error, <code>null</code> if none
+	 * @param start Invocation start time, in nanoseconds
+	 */
+	private void record(HttpMethod method, String uri, Response response, Throwable error, long start) {
+		if (metrics != null) {
+			metrics.recordInvocation(method, uri,
+					(response != null) ? response.getStatus() : InvocationMetrics.NO_STATUS, error,
+					System.nanoTime() - start);
+		}
+	}
 
-		public ResponseInvocationCallback(CompletableFuture<ResponseEntity<T>> stage, ResponseType<T> responseType,
-				boolean onlySuccessfulStatusCode) {
-			super();
-			this.stage = stage;
-			this.responseType = responseType;
-			this.onlySuccessfulStatusCode = onlySuccessfulStatusCode;
+	/**
+	 * Perform the invocation, using given {@link ResilienceExecutor} if not <code>null</code>. Each attempt is queued,
+	 * without blocking, until the registered rate limits allow it.
+	 * @param resilienceExecutor The resilience executor, <code>null</code> if none
+	 * @param target Request target
+	 * @param builder Invocation builder
+	 * @param method Request method
+	 * @param entity Request entity, <code>null</code> if none
+	 * @return The invocation response
+	 */
+	private CompletableFuture<Response> invoke(ResilienceExecutor resilienceExecutor, WebTarget target,
+			Builder builder, HttpMethod method, Entity<?> entity) {
+		final List<RateLimiter> limiters = JaxrsRestClientOperations.getRateLimiters(rateLimit, target.getUri());
+		final Supplier<CompletableFuture<Response>> attempt = limiters.isEmpty() ? () -> invoke(builder, method, entity)
+				: () -> JaxrsRestClientOperations.invokeAsync(limiters, () -> invoke(builder, method, entity), true);
+		if (resilienceExecutor != null) {
+			return resilienceExecutor.execute(method, target.getUri(), attempt);
 		}
+		return attempt.get();
+	}
 
-		/*
-		 * (non-Javadoc)
-		 * @see jakarta.ws.rs.client.InvocationCallback#completed(java.lang.Object)
-		 */
-		@Override
-		public void completed(Response response) {
-			// check error status code
-			if (onlySuccessfulStatusCode && !HttpStatus.isSuccessStatusCode(response.getStatus())) {
-				stage.completeExceptionally(new UnsuccessfulResponseException(new JaxrsRawResponseEntity(response)));
-			} else {
-				stage.complete(new JaxrsResponseEntity<>(response, responseType));
-			}
+	/**
+	 * Perform the invocation using the JAX-RS {@link AsyncInvoker}.
+	 * <p>
+	 * If the returned {@link CompletableFuture} is cancelled or completed before the response is received, the
+	 * in-flight request is aborted and a response received afterwards is closed.
+	 * </p>
+	 * @param builder Invocation builder
+	 * @param method Request method
+	 * @param entity Request entity, <code>null</code> if none
+	 * @return The invocation response
+	 */
+	protected CompletableFuture<Response> invoke(Builder builder, HttpMethod method, Entity<?> entity) {
+		return JaxrsRestClientOperations.invokeAsync(builder, method, entity);
+	}
+
+	/**
+	 * Build the JAX-RS invocation builder for given target and request definition, including the request headers.
+	 * @param target Request target
+	 * @param requestDefinition Request definition
+	 * @return The invocation builder
+	 */
+	protected Builder request(WebTarget target, AsyncRequestDefinition requestDefinition) {
+		return JaxrsRestClientOperations.headers(JaxrsRestClientOperations.request(target, requestDefinition),
+				requestDefinition);
+	}
+
+	/**
+	 * Complete given operation using given invocation response.
+	 * @param <T> Response entity type
+	 * @param operation The operation to complete
+	 * @param response The invocation response
+	 * @param responseType The response entity type
+	 * @param onlySuccessfulStatusCode Whether to complete the operation exceptionally with an
+	 *        {@link UnsuccessfulResponseException} if the response status code is not a successful one
+	 * @param buffered Whether to buffer the response entity
+	 * @param readListener The response entity read listener, <code>null</code> if none
+	 * @return <code>false</code> if the operation was already completed, for example because it was cancelled or timed
+	 *         out
+	 */
+	protected <T> boolean complete(CompletableFuture<ResponseEntity<T>> operation, Response response,
+			ResponseType<T> responseType, boolean onlySuccessfulStatusCode, boolean buffered,
+			ObjLongConsumer<Throwable> readListener) {
+		if (onlySuccessfulStatusCode && !HttpStatus.isSuccessStatusCode(response.getStatus())) {
+			return operation
+					.completeExceptionally(new UnsuccessfulResponseException(new JaxrsRawResponseEntity(response)));
 		}
+		final JaxrsResponseEntity<T> responseEntity = new JaxrsResponseEntity<>(response, responseType, buffered);
+		responseEntity.setReadListener(readListener);
+		return operation.complete(responseEntity);
+	}
 
-		/*
-		 * (non-Javadoc)
-		 * @see jakarta.ws.rs.client.InvocationCallback#failed(java.lang.Throwable)
-		 */
-		@Override
-		public void failed(Throwable throwable) {
-			stage.completeExceptionally(throwable);
+	/**
+	 * Complete given operation using given shared invocation response, which must have a buffered entity.
+	 * @param <T> Response entity type
+	 * @param operation The operation to complete
+	 * @param response The shared invocation response
+	 * @param responseType The response entity type
+	 * @param onlySuccessfulStatusCode Whether to complete the operation exceptionally with an
+	 *        {@link UnsuccessfulResponseException} if the response status code is not a successful one
+	 * @param readListener The response entity read listener, <code>null</code> if none
+	 */
+	private static <T> void completeShared(CompletableFuture<ResponseEntity<T>> operation, Response response,
+			ResponseType<T> responseType, boolean onlySuccessfulStatusCode, ObjLongConsumer<Throwable> readListener) {
+		if (onlySuccessfulStatusCode && !HttpStatus.isSuccessStatusCode(response.getStatus())) {
+			operation.completeExceptionally(new UnsuccessfulResponseException(
+					new SharedResponseEntity<>(response, ResponseType.of(byte[].class))));
+		} else {
+			final SharedResponseEntity<T> responseEntity = new SharedResponseEntity<>(response, responseType);
+			responseEntity.setReadListener(readListener);
+			operation.complete(responseEntity);
 		}
+	}
 
+	/**
+	 * Execute given action when the invocation completes, using the completion {@link Executor} if available.
+	 * @param invocation The invocation
+	 * @param action The action to execute
+	 */
+	private void onCompletion(CompletableFuture<Response> invocation, BiConsumer<Response, Throwable> action) {
+		if (executor != null) {
+			invocation.whenCompleteAsync(action, task -> {
+				try {
+					executor.execute(task);
+				} catch (RejectedExecutionException e) {
+					task.run();
+				}
+			});
+		} else {
+			invocation.whenComplete(action);
+		}
 	}
 
 }
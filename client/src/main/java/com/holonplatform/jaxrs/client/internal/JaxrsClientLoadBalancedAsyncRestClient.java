@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.ws.rs.client.Client;
+
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.jaxrs.client.JaxrsAsyncRestClient;
+import com.holonplatform.jaxrs.client.LoadBalancingStrategy;
+import com.holonplatform.jaxrs.client.internal.LoadBalancer.Endpoint;
+
+/**
+ * A {@link JaxrsAsyncRestClient} which balances the invocations among a pool of base URIs using a
+ * {@link LoadBalancer}.
+ *
+ * @since 6.0.1
+ */
+public class JaxrsClientLoadBalancedAsyncRestClient extends JaxrsClientAsyncRestClient {
+
+	/**
+	 * Load balancer
+	 */
+	private final LoadBalancer loadBalancer;
+
+	/**
+	 * Constructor
+	 * @param client Jax-rs client
+	 * @param strategy Load balancing strategy (not null)
+	 * @param endpoints Endpoints base URIs (not empty)
+	 */
+	public JaxrsClientLoadBalancedAsyncRestClient(Client client, LoadBalancingStrategy strategy, URI... endpoints) {
+		super(client);
+		this.loadBalancer = new LoadBalancer(getClient(), strategy, endpoints);
+		defaultTarget(loadBalancer.getDefaultTarget());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.internal.JaxrsClientAsyncRestClient#invoke(com.holonplatform.async.http.
+	 * AsyncRestClient.AsyncRequestDefinition, com.holonplatform.http.HttpMethod,
+	 * com.holonplatform.http.rest.RequestEntity, com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		final Optional<Endpoint> endpoint = loadBalancer.select(requestDefinition);
+		if (!endpoint.isPresent()) {
+			return super.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+		}
+		final long start = endpoint.get().start();
+		final CompletionStage<ResponseEntity<T>> operation;
+		try {
+			operation = invoke(LoadBalancer.configure(getClient(), requestDefinition, endpoint.get()),
+					requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+		} catch (RuntimeException e) {
+			endpoint.get().complete(start, true);
+			throw e;
+		}
+		// complete the result only when the endpoint statistics are updated, so they are visible to the next calls
+		final CompletableFuture<ResponseEntity<T>> result = new CompletableFuture<>();
+		operation.whenComplete((r, e) -> {
+			if (e != null && (ResilienceExecutor.isCancellation(e) || ResilienceExecutor.isRejection(e))) {
+				endpoint.get().cancel();
+			} else {
+				endpoint.get().complete(start, LoadBalancer.isFailure(r, e));
+			}
+			if (e != null) {
+				result.completeExceptionally(e);
+			} else if (!result.complete(r)) {
+				r.close();
+			}
+		});
+		result.whenComplete((r, e) -> {
+			if (e != null) {
+				operation.toCompletableFuture().cancel(true);
+			}
+		});
+		return result;
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.net.URI;
+import java.util.Optional;
+
+import jakarta.ws.rs.client.Client;
+
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.jaxrs.client.JaxrsRestClient;
+import com.holonplatform.jaxrs.client.LoadBalancingStrategy;
+import com.holonplatform.jaxrs.client.internal.LoadBalancer.Endpoint;
+
+/**
+ * A {@link JaxrsRestClient} which balances the invocations among a pool of base URIs using a {@link LoadBalancer}.
+ *
+ * @since 6.0.1
+ */
+public class JaxrsClientLoadBalancedRestClient extends JaxrsClientRestClient {
+
+	/**
+	 * Load balancer
+	 */
+	private final LoadBalancer loadBalancer;
+
+	/**
+	 * Constructor
+	 * @param client Jax-rs client
+	 * @param strategy Load balancing strategy (not null)
+	 * @param endpoints Endpoints base URIs (not empty)
+	 */
+	public JaxrsClientLoadBalancedRestClient(Client client, LoadBalancingStrategy strategy, URI... endpoints) {
+		super(client);
+		this.loadBalancer = new LoadBalancer(getClient(), strategy, endpoints);
+		defaultTarget(loadBalancer.getDefaultTarget());
+	}
+
+	@Override
+	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		final Optional<Endpoint> endpoint = loadBalancer.select(requestDefinition);
+		if (!endpoint.isPresent()) {
+			return super.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+		}
+		final long start = endpoint.get().start();
+		ResponseEntity<T> response = null;
+		Throwable error = null;
+		try {
+			response = invoke(LoadBalancer.configure(getClient(), requestDefinition, endpoint.get()),
+					requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+			return response;
+		} catch (RuntimeException e) {
+			error = e;
+			throw e;
+		} finally {
+			if (error != null && ResilienceExecutor.isRejection(error)) {
+				endpoint.get().cancel();
+			} else {
+				endpoint.get().complete(start, LoadBalancer.isFailure(response, error));
+			}
+		}
+	}
+
+}
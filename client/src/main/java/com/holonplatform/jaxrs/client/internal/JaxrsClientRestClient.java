@@ -15,8 +15,14 @@
  */
 package com.holonplatform.jaxrs.client.internal;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
 import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation.Builder;
+import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.Response;
 
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -31,6 +37,8 @@ import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.ResponseType;
 import com.holonplatform.http.rest.RestClient;
 import com.holonplatform.jaxrs.client.JaxrsRestClient;
+import com.holonplatform.jaxrs.client.RateLimitFeature;
+import com.holonplatform.jaxrs.client.ResilienceFeature;
 
 /**
  * Default JAX-RS {@link RestClient} implementation.
@@ -44,6 +52,21 @@ public class JaxrsClientRestClient extends AbstractRestClient implements JaxrsRe
 	 */
 	private final Client client;
 
+	/**
+	 * Resilience policies, if registered
+	 */
+	private final ResilienceFeature resilience;
+
+	/**
+	 * Rate limits, if registered
+	 */
+	private final RateLimitFeature rateLimit;
+
+	/**
+	 * Invocation metrics, if registered
+	 */
+	private final InvocationMetrics metrics;
+
 	/**
 	 * Constructor
 	 * @param client Jax-rs client
@@ -51,7 +74,10 @@ public class JaxrsClientRestClient extends AbstractRestClient implements JaxrsRe
 	public JaxrsClientRestClient(Client client) {
 		super();
 		ObjectUtils.argumentNotNull(client, "Client must be not null");
-		this.client = client;
+		this.client = JaxrsRestClientOperations.setup(client);
+		this.resilience = JaxrsRestClientOperations.getResilienceFeature(client);
+		this.rateLimit = JaxrsRestClientOperations.getRateLimitFeature(client);
+		this.metrics = JaxrsRestClientOperations.getInvocationMetrics(client);
 	}
 
 	/*
@@ -72,30 +98,50 @@ public class JaxrsClientRestClient extends AbstractRestClient implements JaxrsRe
 		return new DefaultRequestDefinition(this);
 	}
 
-	@SuppressWarnings("resource")
 	@Override
 	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
 			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		return invoke(JaxrsRestClientOperations.configure(getClient(), requestDefinition), requestDefinition, method,
+				requestEntity, responseType, onlySuccessfulStatusCode);
+	}
 
-		// invocation builder
-		final Builder builder = JaxrsRestClientOperations.configure(getClient(), requestDefinition).request();
-		// headers
-		requestDefinition.getHeaders().forEach((n, v) -> builder.header(n, v));
+	/**
+	 * Invoke the request using given target.
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 * @param target Request target
+	 * @param requestDefinition Request definition
+	 * @param method Request method
+	 * @param requestEntity Request entity
+	 * @param responseType Response type
+	 * @param onlySuccessfulStatusCode Whether to throw an {@link UnsuccessfulResponseException} if the response status
+	 *        code is not a success one
+	 * @return The response entity
+	 */
+	@SuppressWarnings("resource")
+	protected <T, R> ResponseEntity<T> invoke(WebTarget target, RequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
 
-		// invocation
-		final jakarta.ws.rs.client.Invocation invocation = JaxrsRestClientOperations.buildRequestEntity(requestEntity)
-				.map(r -> builder.build(method.getMethodName(), r)).orElse(builder.build(method.getMethodName()));
+		// invocation builder
+		final Builder builder = JaxrsRestClientOperations
+				.headers(JaxrsRestClientOperations.request(target, requestDefinition), requestDefinition);
+		final Entity<?> entity = JaxrsRestClientOperations.buildRequestEntity(requestEntity).orElse(null);
 
 		// invoke
-		Response response = null;
+		final String uri = (metrics != null) ? InvocationMetrics.getUriTemplate(requestDefinition) : null;
+		final long start = System.nanoTime();
+		final Response response;
 		try {
-			response = invocation.invoke();
-		} catch (Exception e) {
-			throw new HttpClientInvocationException(e);
+			response = execute(target, requestDefinition, builder, method, entity);
+		} catch (RuntimeException e) {
+			if (metrics != null) {
+				metrics.recordInvocation(method, uri, InvocationMetrics.NO_STATUS, e, System.nanoTime() - start);
+			}
+			throw e;
 		}
-
-		if (response == null) {
-			throw new HttpClientInvocationException("Invocation returned a null Response");
+		if (metrics != null) {
+			metrics.recordInvocation(method, uri, response.getStatus(), null, System.nanoTime() - start);
 		}
 
 		// check error status code
@@ -103,7 +149,101 @@ public class JaxrsClientRestClient extends AbstractRestClient implements JaxrsRe
 			throw new UnsuccessfulResponseException(new JaxrsRawResponseEntity(response));
 		}
 
-		return new JaxrsResponseEntity<>(response, responseType);
+		final JaxrsResponseEntity<T> responseEntity = new JaxrsResponseEntity<>(response, responseType,
+				JaxrsRestClientOperations.isEntityBuffering(getClient()));
+		if (metrics != null) {
+			responseEntity.setReadListener(metrics.readListener(method, uri));
+		}
+		return responseEntity;
+	}
+
+	/**
+	 * Perform the invocation, applying the resilience policy and the rate limits which apply to the request, if any.
+	 * @param target Request target
+	 * @param requestDefinition Request definition
+	 * @param builder Invocation builder
+	 * @param method Request method
+	 * @param entity Request entity, <code>null</code> if none
+	 * @return The invocation response
+	 */
+	private Response execute(WebTarget target, RequestDefinition requestDefinition, Builder builder,
+			HttpMethod method, Entity<?> entity) {
+		final ResilienceExecutor resilienceExecutor = JaxrsRestClientOperations.getResilienceExecutor(resilience,
+				requestDefinition);
+		final List<RateLimiter> limiters = JaxrsRestClientOperations.getRateLimiters(rateLimit, target.getUri());
+		Response response = null;
+		if (resilienceExecutor != null) {
+			response = invoke(resilienceExecutor, limiters, target, builder, method, entity);
+		} else {
+			try {
+				response = JaxrsRestClientOperations.invoke(limiters, () -> invoke(builder, method, entity));
+			} catch (HttpClientInvocationException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new HttpClientInvocationException(e);
+			}
+		}
+
+		if (response == null) {
+			throw new HttpClientInvocationException("Invocation returned a null Response");
+		}
+		return response;
+	}
+
+	/**
+	 * Perform a synchronous invocation.
+	 * @param builder Invocation builder
+	 * @param method Request method
+	 * @param entity Request entity, <code>null</code> if none
+	 * @return The invocation response
+	 */
+	private static Response invoke(Builder builder, HttpMethod method, Entity<?> entity) {
+		return (entity != null) ? builder.method(method.getMethodName(), entity)
+				: builder.method(method.getMethodName());
+	}
+
+	/**
+	 * Perform the invocation using given {@link ResilienceExecutor}, waiting for the response.
+	 * <p>
+	 * The attempts and the retries are performed using the calling thread. When the policy sends hedged requests, the
+	 * attempts are performed using the JAX-RS asynchronous invoker, since more attempts can be in flight at the same
+	 * time.
+	 * </p>
+	 * @param resilienceExecutor The resilience executor
+	 * @param limiters The rate limiters to apply to each attempt
+	 * @param target Request target
+	 * @param builder Invocation builder
+	 * @param method Request method
+	 * @param entity Request entity, <code>null</code> if none
+	 * @return The invocation response
+	 */
+	private static Response invoke(ResilienceExecutor resilienceExecutor, List<RateLimiter> limiters,
+			WebTarget target, Builder builder, HttpMethod method, Entity<?> entity) {
+		if (!resilienceExecutor.isHedging()) {
+			try {
+				return resilienceExecutor.executeBlocking(method, target.getUri(),
+						() -> JaxrsRestClientOperations.invoke(limiters, () -> invoke(builder, method, entity)));
+			} catch (HttpClientInvocationException e) {
+				throw e;
+			} catch (RuntimeException e) {
+				throw new HttpClientInvocationException(e);
+			}
+		}
+		final CompletableFuture<Response> invocation = resilienceExecutor.execute(method, target.getUri(),
+				() -> JaxrsRestClientOperations.invokeAsync(limiters,
+						() -> JaxrsRestClientOperations.invokeAsync(builder, method, entity), false));
+		try {
+			return invocation.get();
+		} catch (InterruptedException e) {
+			invocation.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new HttpClientInvocationException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof HttpClientInvocationException) {
+				throw (HttpClientInvocationException) e.getCause();
+			}
+			throw new HttpClientInvocationException(e.getCause());
+		}
 	}
 
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.Invocation.Builder;
+import jakarta.ws.rs.core.Response;
+
+import com.holonplatform.async.http.AsyncRestClient;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+
+/**
+ * JAX-RS {@link AsyncRestClient} implementation which performs each invocation as a blocking JAX-RS
+ * {@link Invocation} in a dedicated virtual thread, instead of using the JAX-RS implementation asynchronous invoker
+ * thread pool.
+ * <p>
+ * The number of concurrent invocations is limited by a {@link Semaphore}: the invocations which exceed the limit wait
+ * for a permit in their virtual thread, without blocking the caller. A permit is held until the response entity is
+ * consumed or the response is closed, so the limit applies to the open connections too.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class JaxrsClientVirtualThreadAsyncRestClient extends JaxrsClientAsyncRestClient {
+
+	/**
+	 * Virtual thread per task executor, shared by all the client instances
+	 */
+	private static final ExecutorService EXECUTOR = Executors
+			.newThreadPerTaskExecutor(Thread.ofVirtual().name("holon-jaxrs-client-", 0).factory());
+
+	/**
+	 * Concurrent invocations limit
+	 */
+	private final Semaphore permits;
+
+	/**
+	 * Constructor
+	 * @param client Jax-rs client
+	 * @param maxConcurrentInvocations Max number of concurrent invocations (greater than 0)
+	 */
+	public JaxrsClientVirtualThreadAsyncRestClient(Client client, int maxConcurrentInvocations) {
+		super(client);
+		if (maxConcurrentInvocations < 1) {
+			throw new IllegalArgumentException("The max concurrent invocations number must be greater than 0");
+		}
+		this.permits = new Semaphore(maxConcurrentInvocations);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.jaxrs.client.internal.JaxrsClientAsyncRestClient#invoke(jakarta.ws.rs.client.Invocation.Builder,
+	 * com.holonplatform.http.HttpMethod, jakarta.ws.rs.client.Entity)
+	 */
+	@Override
+	protected CompletableFuture<Response> invoke(Builder builder, HttpMethod method, Entity<?> entity) {
+		final Invocation invocation = (entity != null) ? builder.build(method.getMethodName(), entity)
+				: builder.build(method.getMethodName());
+
+		final CompletableFuture<Response> result = new CompletableFuture<>();
+		final Future<?> task = EXECUTOR.submit(() -> {
+			try {
+				permits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				result.completeExceptionally(
+						new HttpClientInvocationException("Interrupted while waiting for an invocation permit", e));
+				return;
+			}
+			boolean held = true;
+			try {
+				if (!result.isDone()) {
+					// the permit is released when the response entity is consumed or the response is closed
+					final Response response = LimitedResponse.limit(invocation.invoke(), permits::release);
+					held = false;
+					if (!result.complete(response)) {
+						response.close();
+					}
+				}
+			} catch (Throwable t) {
+				result.completeExceptionally(t);
+			} finally {
+				if (held) {
+					permits.release();
+				}
+			}
+		});
+
+		// interrupt the invocation thread when the invocation is cancelled or completed by a timeout
+		result.whenComplete((r, e) -> {
+			if (e != null) {
+				task.cancel(true);
+			}
+		});
+		return result;
+	}
+
+}
@@ -48,10 +48,13 @@ public class JaxrsRawResponseEntity extends JaxrsResponseEntity<byte[]> {
 	@Override
 	public Optional<byte[]> getPayload() throws UnsupportedOperationException {
 		try {
-			getResponse().bufferEntity();
-			InputStream is = getResponse().readEntity(InputStream.class);
-			if (is != null) {
-				return Optional.ofNullable(ConversionUtils.convertInputStreamToBytes(is));
+			// serialize the reads of a shared response
+			synchronized (getResponse()) {
+				getResponse().bufferEntity();
+				InputStream is = getResponse().readEntity(InputStream.class);
+				if (is != null) {
+					return Optional.ofNullable(ConversionUtils.convertInputStreamToBytes(is));
+				}
 			}
 		} catch (Exception e) {
 			// check zero-lenght response content
@@ -16,9 +16,13 @@
 package com.holonplatform.jaxrs.client.internal;
 
 import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
 
 import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.core.GenericType;
@@ -50,16 +54,60 @@ public class JaxrsResponseEntity<T> implements ResponseEntity<T> {
 	private final ResponseType<T> type;
 
 	/**
-	 * Constructor
+	 * Whether to buffer the response entity to allow multiple reads
+	 */
+	private final boolean buffered;
+
+	/**
+	 * The type of the entity read in single-read mode, if any
+	 */
+	private ResponseType<?> readType;
+
+	/**
+	 * The entity read in single-read mode
+	 */
+	private Object readValue;
+
+	/**
+	 * Optional listener of the entity read operations, notified with the read error, if any, and the read duration in
+	 * nanoseconds
+	 */
+	private ObjLongConsumer<Throwable> readListener;
+
+	/**
+	 * Constructor, using entity buffering.
 	 * @param response JAX-RS Response (not null)
 	 * @param type Response type (not null)
 	 */
 	public JaxrsResponseEntity(Response response, ResponseType<T> type) {
+		this(response, type, true);
+	}
+
+	/**
+	 * Constructor
+	 * @param response JAX-RS Response (not null)
+	 * @param type Response type (not null)
+	 * @param buffered Whether to buffer the response entity to allow multiple reads. If <code>false</code>, the
+	 *        entity is read directly from the response stream and it can be read only once: any subsequent read of the
+	 *        same type returns the entity which was already read.
+	 */
+	public JaxrsResponseEntity(Response response, ResponseType<T> type, boolean buffered) {
 		super();
 		ObjectUtils.argumentNotNull(response, "JAX-RS Response must be not null");
 		ObjectUtils.argumentNotNull(type, "Response type must be not null");
 		this.response = response;
 		this.type = type;
+		this.buffered = buffered;
+	}
+
+	/**
+	 * Set the listener of the entity read operations, which is notified with the read error, if any, and the read
+	 * duration in nanoseconds.
+	 * @param readListener The read listener, <code>null</code> for none
+	 * @since 6.0.1
+	 */
+	public void setReadListener(ObjLongConsumer<Throwable> readListener) {
+		this.readListener = readListener;
 	}
 
 	/**
@@ -70,6 +118,14 @@ public class JaxrsResponseEntity<T> implements ResponseEntity<T> {
 		return response;
 	}
 
+	/**
+	 * Get whether the response entity is buffered to allow multiple reads.
+	 * @return <code>true</code> if the response entity is buffered, <code>false</code> if single-read mode is used
+	 */
+	protected boolean isBuffered() {
+		return buffered;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.http.HttpResponse#getStatusCode()
@@ -141,29 +197,78 @@ public class JaxrsResponseEntity<T> implements ResponseEntity<T> {
 
 	/**
 	 * Read the message entity as an instance of the type represented by given <code>type</code> {@link ResponseType}.
+	 * <p>
+	 * A {@link Stream} type is read directly from the response stream, without buffering. The response is closed when
+	 * the returned {@link Stream} is closed.
+	 * </p>
+	 * <p>
+	 * The read operations are serialized on the JAX-RS response, which may be shared by more than one response entity,
+	 * for example when concurrent requests are coalesced.
+	 * </p>
 	 * @param <E> Response entity type
 	 * @param type Response entity type to read
 	 * @return the message entity converted to given type, or an empty Optional for empty or zero-length responses
 	 * @throws HttpEntityProcessingException If a entity processing error occurred (e.g. no message body reader
 	 *         available for the requested type)
 	 */
-	@SuppressWarnings("unchecked")
 	protected <E> Optional<E> readAs(ResponseType<E> type) {
 		ObjectUtils.argumentNotNull(type, "Response type must be not null");
+		synchronized (response) {
+			if (readListener == null) {
+				return read(type);
+			}
+			final long start = System.nanoTime();
+			try {
+				final Optional<E> value = read(type);
+				readListener.accept(null, System.nanoTime() - start);
+				return value;
+			} catch (RuntimeException e) {
+				readListener.accept(e, System.nanoTime() - start);
+				throw e;
+			}
+		}
+	}
 
+	/**
+	 * Read the message entity as an instance of the type represented by given <code>type</code> {@link ResponseType}.
+	 * @param <E> Response entity type
+	 * @param type Response entity type to read
+	 * @return the message entity converted to given type, or an empty Optional for empty or zero-length responses
+	 */
+	@SuppressWarnings("unchecked")
+	private <E> Optional<E> read(ResponseType<E> type) {
 		try {
 			// check InputStream
 			if (InputStream.class == type.getType()) {
-				return (Optional<E>) Optional.ofNullable(response.readEntity(InputStream.class));
+				return (Optional<E>) Optional.ofNullable(readInputStream());
+			}
+
+			// check Stream
+			if (isStreamType(type.getType())) {
+				return (Optional<E>) Optional.ofNullable(readStream(type.getType()));
 			}
 
 			if (Void.class != type.getType()) {
 
-				// buffer entity to allow multiple reads
-				response.bufferEntity();
+				if (buffered) {
+					// buffer entity to allow multiple reads
+					response.bufferEntity();
+				} else if (readType != null) {
+					// single-read mode: the entity stream was already consumed
+					if (readType.getType().equals(type.getType())) {
+						return Optional.ofNullable((E) readValue);
+					}
+					throw new IllegalStateException("The response entity was already read as [" + readType
+							+ "] and entity buffering is disabled");
+				}
 
-				return Optional.ofNullable(type.isSimpleType() ? response.readEntity((Class<E>) type.getType())
-						: response.readEntity(new GenericType<E>(type.getType())));
+				final E value = type.isSimpleType() ? response.readEntity((Class<E>) type.getType())
+						: response.readEntity(new GenericType<E>(type.getType()));
+				if (!buffered) {
+					readType = type;
+					readValue = value;
+				}
+				return Optional.ofNullable(value);
 			}
 		} catch (Exception e) {
 			// check zero-lenght response content
@@ -176,6 +281,40 @@ public class JaxrsResponseEntity<T> implements ResponseEntity<T> {
 		return Optional.empty();
 	}
 
+	/**
+	 * Read the message entity as an {@link InputStream}.
+	 * @return The entity stream, <code>null</code> if none
+	 * @since 6.0.1
+	 */
+	protected InputStream readInputStream() {
+		return response.readEntity(InputStream.class);
+	}
+
+	/**
+	 * Read the message entity as a {@link Stream}, directly from the response stream. The response is closed when the
+	 * returned {@link Stream} is closed.
+	 * @param streamType The parameterized {@link Stream} type
+	 * @return The entity {@link Stream}, <code>null</code> if none
+	 * @since 6.0.1
+	 */
+	protected Stream<?> readStream(Type streamType) {
+		final Stream<?> stream = response.readEntity(new GenericType<Stream<?>>(streamType));
+		if (stream == null) {
+			response.close();
+			return null;
+		}
+		return stream.onClose(() -> response.close());
+	}
+
+	/**
+	 * Checks whether given type is a parameterized {@link Stream} type.
+	 * @param type The type to check
+	 * @return <code>true</code> if given type is a parameterized {@link Stream} type
+	 */
+	private static boolean isStreamType(Type type) {
+		return type instanceof ParameterizedType && Stream.class == ((ParameterizedType) type).getRawType();
+	}
+
 	/**
 	 * Checks whether given exception is a {@link ProcessingException} that wraps a message body reader
 	 * {@link NoContentException}.
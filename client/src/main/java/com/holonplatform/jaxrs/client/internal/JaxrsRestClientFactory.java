@@ -16,7 +16,6 @@
 package com.holonplatform.jaxrs.client.internal;
 
 import jakarta.annotation.Priority;
-import jakarta.ws.rs.client.ClientBuilder;
 
 import com.holonplatform.http.exceptions.RestClientCreationException;
 import com.holonplatform.http.rest.RestClient;
@@ -25,6 +24,9 @@ import com.holonplatform.jaxrs.client.JaxrsRestClient;
 
 /**
  * A {@link RestClientFactory} to provide JAX-RS {@link RestClient} implementations using {@link JaxrsClientRestClient}.
+ * <p>
+ * The JAX-RS Client instances are shared and provided by the {@link SharedClientRegistry}.
+ * </p>
  * 
  * @since 5.0.0
  */
@@ -47,7 +49,7 @@ public class JaxrsRestClientFactory implements RestClientFactory {
 	@Override
 	public RestClient create(ClassLoader classLoader) throws RestClientCreationException {
 		try {
-			return new JaxrsClientRestClient(ClientBuilder.newClient());
+			return new JaxrsClientRestClient(SharedClientRegistry.getClient(classLoader));
 		} catch (Exception e) {
 			throw new RestClientCreationException("Failed to create a JaxrsRestClient", e);
 		}
@@ -15,21 +15,39 @@
  */
 package com.holonplatform.jaxrs.client.internal;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
+import jakarta.ws.rs.client.AsyncInvoker;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.Invocation.Builder;
+import jakarta.ws.rs.client.InvocationCallback;
 import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.UriBuilder;
 
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.MediaType;
 import com.holonplatform.http.internal.HttpUtils;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+import com.holonplatform.jaxrs.client.JaxrsRestClient;
+import com.holonplatform.jaxrs.client.RateLimitExceededException;
+import com.holonplatform.jaxrs.client.RateLimitFeature;
+import com.holonplatform.jaxrs.client.ResilienceFeature;
+import com.holonplatform.jaxrs.client.ResiliencePolicy;
 
 /**
  * JAX-RS RestClient operations support.
@@ -44,25 +62,305 @@ public final class JaxrsRestClientOperations {
 	private JaxrsRestClientOperations() {
 	}
 
+	/**
+	 * Setup given JAX-RS client, registering the {@link PropertyBoxReaderInterceptor} and the
+	 * {@link StreamEntityReaderInterceptor} if not already registered.
+	 * @param client JAX-RS client
+	 * @return The client
+	 */
+	public static Client setup(Client client) {
+		synchronized (client) {
+			if (!client.getConfiguration().isRegistered(PropertyBoxReaderInterceptor.class)) {
+				client.register(PropertyBoxReaderInterceptor.class);
+			}
+			if (!client.getConfiguration().isRegistered(StreamEntityReaderInterceptor.class)) {
+				client.register(StreamEntityReaderInterceptor.class);
+			}
+		}
+		return client;
+	}
+
+	/**
+	 * Build a JAX-RS invocation {@link Builder} using given request configuration.
+	 * <p>
+	 * When a {@link PropertySet} is available from the request configuration, it is provided to the
+	 * {@link PropertyBoxReaderInterceptor} registered in the client using the
+	 * {@link PropertyBoxReaderInterceptor#PROPERTY_SET_PROPERTY_NAME} request property.
+	 * </p>
+	 * @param client JAX-RS client, which must be configured using {@link #setup(Client)}
+	 * @param request Request configuration
+	 * @return The invocation builder
+	 */
+	public static Builder request(Client client, RequestConfiguration<?> request) {
+		return request(configure(client, request), request);
+	}
+
+	/**
+	 * Build a JAX-RS invocation {@link Builder} for given <code>target</code>, which must be obtained using
+	 * {@link #configure(Client, RequestConfiguration)}.
+	 * @param target The request target
+	 * @param request Request configuration
+	 * @return The invocation builder
+	 * @see #request(Client, RequestConfiguration)
+	 */
+	public static Builder request(WebTarget target, RequestConfiguration<?> request) {
+		final Builder builder = target.request();
+		request.getPropertySet()
+				.ifPresent(ps -> builder.property(PropertyBoxReaderInterceptor.PROPERTY_SET_PROPERTY_NAME, ps));
+		return builder;
+	}
+
+	/**
+	 * Add the request headers of given request configuration to the invocation builder. The
+	 * {@link ResiliencePolicy#POLICY_HEADER} header is not sent.
+	 * @param builder The invocation builder
+	 * @param request Request configuration
+	 * @return The invocation builder
+	 */
+	public static Builder headers(Builder builder, RequestConfiguration<?> request) {
+		request.getHeaders().forEach((n, v) -> {
+			if (!ResiliencePolicy.POLICY_HEADER.equalsIgnoreCase(n)) {
+				builder.header(n, v);
+			}
+		});
+		return builder;
+	}
+
+	/**
+	 * Get the {@link ResilienceFeature} registered in given client, if any.
+	 * @param client JAX-RS client
+	 * @return The {@link ResilienceFeature}, <code>null</code> if not registered
+	 */
+	public static ResilienceFeature getResilienceFeature(Client client) {
+		for (Object instance : client.getConfiguration().getInstances()) {
+			if (instance instanceof ResilienceFeature) {
+				return (ResilienceFeature) instance;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Get the {@link ResilienceExecutor} to use for given request configuration: the policy named by the
+	 * {@link ResiliencePolicy#POLICY_HEADER} request header, if present, or the default policy.
+	 * @param feature The {@link ResilienceFeature}, <code>null</code> if not registered
+	 * @param request Request configuration
+	 * @return The {@link ResilienceExecutor}, <code>null</code> if no policy applies to the request
+	 */
+	public static ResilienceExecutor getResilienceExecutor(ResilienceFeature feature, RequestConfiguration<?> request) {
+		if (feature == null) {
+			return null;
+		}
+		String name = null;
+		for (Entry<String, String> header : request.getHeaders().entrySet()) {
+			if (ResiliencePolicy.POLICY_HEADER.equalsIgnoreCase(header.getKey())) {
+				name = header.getValue();
+			}
+		}
+		if (ResiliencePolicy.NONE.equals(name)) {
+			return null;
+		}
+		final Optional<ResiliencePolicy> policy = (name != null) ? feature.getPolicy(name)
+				: feature.getDefaultPolicy();
+		if (name != null && !policy.isPresent()) {
+			throw new IllegalArgumentException("No resilience policy registered with name [" + name + "]");
+		}
+		return policy.map(p -> ((DefaultResiliencePolicy) p).getExecutor()).orElse(null);
+	}
+
+	/**
+	 * Get the {@link RateLimitFeature} registered in given client, if any.
+	 * @param client JAX-RS client
+	 * @return The {@link RateLimitFeature}, <code>null</code> if not registered
+	 */
+	public static RateLimitFeature getRateLimitFeature(Client client) {
+		for (Object instance : client.getConfiguration().getInstances()) {
+			if (instance instanceof RateLimitFeature) {
+				return (RateLimitFeature) instance;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Get the {@link InvocationMetrics} registered in given client, if any.
+	 * @param client JAX-RS client
+	 * @return The {@link InvocationMetrics}, <code>null</code> if not registered
+	 */
+	public static InvocationMetrics getInvocationMetrics(Client client) {
+		for (Object instance : client.getConfiguration().getInstances()) {
+			if (instance instanceof InvocationMetrics) {
+				return (InvocationMetrics) instance;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Get the {@link RateLimiter}s which apply to an invocation to given URI: the URI host limiter and the client
+	 * limiter, if any, in the order the permits have to be acquired. The host permit is acquired first, so that an
+	 * invocation waiting for a busy host does not hold a client permit.
+	 * @param feature The {@link RateLimitFeature}, <code>null</code> if not registered
+	 * @param uri The request URI
+	 * @return The rate limiters, an empty list if none applies to the invocation
+	 */
+	public static List<RateLimiter> getRateLimiters(RateLimitFeature feature, URI uri) {
+		if (feature == null) {
+			return Collections.emptyList();
+		}
+		final List<RateLimiter> limiters = new ArrayList<>(2);
+		feature.getHostMetrics(uri).ifPresent(m -> limiters.add((RateLimiter) m));
+		feature.getClientMetrics().ifPresent(m -> limiters.add((RateLimiter) m));
+		return limiters;
+	}
+
+	/**
+	 * Perform a synchronous invocation, failing fast with a {@link RateLimitExceededException} if any of given
+	 * rate limiters does not allow it.
+	 * <p>
+	 * The permits are acquired in the limiters order and held until the response entity is consumed or the response
+	 * is closed.
+	 * </p>
+	 * @param limiters The rate limiters
+	 * @param invocation The invocation
+	 * @return The invocation response
+	 */
+	public static Response invoke(List<RateLimiter> limiters, Supplier<Response> invocation) {
+		Supplier<Response> limited = invocation;
+		for (int i = limiters.size() - 1; i >= 0; i--) {
+			final RateLimiter limiter = limiters.get(i);
+			final Supplier<Response> next = limited;
+			limited = () -> limiter.invoke(next);
+		}
+		return limited.get();
+	}
+
+	/**
+	 * Perform an asynchronous invocation when all the given rate limiters allow it.
+	 * <p>
+	 * The permits are acquired in the limiters order and held until the response entity is consumed or the response
+	 * is closed.
+	 * </p>
+	 * @param limiters The rate limiters
+	 * @param invocation The invocation
+	 * @param queue Whether to queue the invocation, without blocking, if the limits do not allow it, instead of failing
+	 *        fast with a {@link RateLimitExceededException}
+	 * @return The invocation response
+	 */
+	public static CompletableFuture<Response> invokeAsync(List<RateLimiter> limiters,
+			Supplier<CompletableFuture<Response>> invocation, boolean queue) {
+		Supplier<CompletableFuture<Response>> limited = invocation;
+		for (int i = limiters.size() - 1; i >= 0; i--) {
+			final RateLimiter limiter = limiters.get(i);
+			final Supplier<CompletableFuture<Response>> next = limited;
+			limited = () -> limiter.invokeAsync(next, queue);
+		}
+		return limited.get();
+	}
+
+	/**
+	 * Perform an invocation using the JAX-RS {@link AsyncInvoker}.
+	 * <p>
+	 * If the returned {@link CompletableFuture} is cancelled or completed before the response is received, the
+	 * in-flight request is aborted and a response received afterwards is closed.
+	 * </p>
+	 * @param builder Invocation builder
+	 * @param method Request method
+	 * @param entity Request entity, <code>null</code> if none
+	 * @return The invocation response
+	 */
+	public static CompletableFuture<Response> invokeAsync(Builder builder, HttpMethod method, Entity<?> entity) {
+		return invokeAsync(builder.async(), method, entity);
+	}
+
+	/**
+	 * Perform an invocation using given JAX-RS {@link AsyncInvoker}. The {@link Future} returned by the invoker is
+	 * cancelled when the returned {@link CompletableFuture} is cancelled or completed before the response is received.
+	 * @param invoker The asynchronous invoker
+	 * @param method Request method
+	 * @param entity Request entity, <code>null</code> if none
+	 * @return The invocation response
+	 * @see #invokeAsync(Builder, HttpMethod, Entity)
+	 */
+	public static CompletableFuture<Response> invokeAsync(AsyncInvoker invoker, HttpMethod method, Entity<?> entity) {
+		final CompletableFuture<Response> result = new CompletableFuture<>();
+		final InvocationCallback<Response> callback = new InvocationCallback<Response>() {
+
+			@Override
+			public void completed(Response response) {
+				if (!result.complete(response)) {
+					response.close();
+				}
+			}
+
+			@Override
+			public void failed(Throwable throwable) {
+				result.completeExceptionally(throwable);
+			}
+
+		};
+		final Future<Response> invocation = (entity != null)
+				? invoker.method(method.getMethodName(), entity, callback)
+				: invoker.method(method.getMethodName(), callback);
+		result.whenComplete((r, e) -> {
+			if (e != null) {
+				invocation.cancel(true);
+			}
+		});
+		return result;
+	}
+
 	/**
 	 * Configure a JAX-RS {@link WebTarget} using given request configuration.
+	 * <p>
+	 * The request URI template is parsed only once and cached, and the template and query parameter values are
+	 * resolved on a copy of the parsed template, building a single {@link WebTarget}.
+	 * </p>
 	 * @param client JAX-RS client
 	 * @param request Request configuration
 	 * @return Configured WebTarget
 	 */
 	public static WebTarget configure(Client client, RequestConfiguration<?> request) {
-		WebTarget target = client.target(request.getRequestURI());
+		return configure(client, request, request.getRequestURI());
+	}
+
+	/**
+	 * Configure a JAX-RS {@link WebTarget} using given request configuration and given request URI, which replaces
+	 * the request configuration one.
+	 * @param client JAX-RS client
+	 * @param request Request configuration
+	 * @param requestURI Request URI template
+	 * @return Configured WebTarget
+	 */
+	public static WebTarget configure(Client client, RequestConfiguration<?> request, String requestURI) {
+		final UriBuilder builder = UriTemplateCache.get(requestURI);
 		// template parameters
-		target = target.resolveTemplates(request.getTemplateParameters());
+		final Map<String, Object> templateParameters = request.getTemplateParameters();
+		if (!templateParameters.isEmpty()) {
+			builder.resolveTemplates(templateParameters);
+		}
 		// query parameters
 		for (Entry<String, Object[]> qp : request.getQueryParameters().entrySet()) {
-			target = target.queryParam(qp.getKey(), qp.getValue());
+			builder.queryParam(qp.getKey(), qp.getValue());
+		}
+		return client.target(builder);
+	}
+
+	/**
+	 * Checks whether the response entity buffering is enabled for given client, using the
+	 * {@link JaxrsRestClient#ENTITY_BUFFERING} configuration property.
+	 * @param client JAX-RS client
+	 * @return <code>true</code> if the response entity buffering is enabled (the default)
+	 */
+	public static boolean isEntityBuffering(Client client) {
+		final Object value = client.getConfiguration().getProperty(JaxrsRestClient.ENTITY_BUFFERING);
+		if (value instanceof Boolean) {
+			return ((Boolean) value).booleanValue();
+		}
+		if (value != null) {
+			return !"false".equalsIgnoreCase(value.toString().trim());
 		}
-		// property set
-		final WebTarget configuredTarget = target;
-		request.getPropertySet().ifPresent(ps -> configuredTarget.register(new PropertyBoxReaderInterceptor(ps)));
-		// done
-		return configuredTarget;
+		return true;
 	}
 
 	/**
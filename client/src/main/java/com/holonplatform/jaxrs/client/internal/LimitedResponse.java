@@ -0,0 +1,494 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.annotation.Annotation;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Cleaner.Cleanable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.GenericType;
+import jakarta.ws.rs.core.Link;
+import jakarta.ws.rs.core.Link.Builder;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.core.Response;
+
+import com.holonplatform.jaxrs.internal.media.EntityStreams;
+
+/**
+ * A {@link Response} which holds one or more {@link RateLimiter} permits until the response entity is consumed.
+ * <p>
+ * The permits are released when the response is closed, when the entity is buffered or read or, for an entity read
+ * as an {@link InputStream}, a {@link Reader} or a {@link Stream}, when the returned object is closed. As a safety
+ * net, the permits are released also when the response is no longer reachable.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+final class LimitedResponse extends Response {
+
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	/**
+	 * Concrete response
+	 */
+	private final Response response;
+
+	/**
+	 * Held permits
+	 */
+	private final Permits permits;
+
+	/**
+	 * Permits release action, runs at most once
+	 */
+	private final Cleanable cleanable;
+
+	/**
+	 * Constructor
+	 * @param response Concrete response
+	 * @param release Permit release action
+	 */
+	private LimitedResponse(Response response, Runnable release) {
+		super();
+		this.response = response;
+		this.permits = new Permits(release);
+		this.cleanable = CLEANER.register(this, permits);
+	}
+
+	/**
+	 * Bind a permit to given response, releasing it when the response entity is consumed or the response is closed.
+	 * <p>
+	 * If the response has no entity, the permit is released immediately.
+	 * </p>
+	 * @param response The response
+	 * @param release The permit release action
+	 * @return The response which holds the permit
+	 */
+	static Response limit(Response response, Runnable release) {
+		if (response instanceof LimitedResponse) {
+			((LimitedResponse) response).permits.add(release);
+			return response;
+		}
+		if (!hasEntity(response)) {
+			release.run();
+			return response;
+		}
+		return new LimitedResponse(response, release);
+	}
+
+	/**
+	 * Checks whether given response has an entity to consume.
+	 * @param response The response
+	 * @return <code>true</code> if the response has an entity which is not consumed yet
+	 */
+	private static boolean hasEntity(Response response) {
+		try {
+			return response.hasEntity();
+		} catch (RuntimeException e) {
+			// closed or not readable
+			return false;
+		}
+	}
+
+	/**
+	 * Release the held permits, if not already released.
+	 */
+	private void release() {
+		cleanable.clean();
+	}
+
+	/**
+	 * Bind the permits release to the read entity.
+	 * @param <T> Entity type
+	 * @param rawType Requested entity type
+	 * @param entity The read entity
+	 * @return The entity to return
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T consume(Class<?> rawType, T entity) {
+		if (entity instanceof InputStream && rawType == InputStream.class) {
+			return (T) new FilterInputStream((InputStream) entity) {
+
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						release();
+					}
+				}
+
+			};
+		}
+		if (entity instanceof Reader && rawType == Reader.class) {
+			return (T) new FilterReader((Reader) entity) {
+
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						release();
+					}
+				}
+
+			};
+		}
+		if (entity instanceof Stream && rawType == Stream.class) {
+			return (T) EntityStreams.closeable(((Stream<?>) entity).onClose(this::release));
+		}
+		release();
+		return entity;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#readEntity(java.lang.Class)
+	 */
+	@Override
+	public <T> T readEntity(Class<T> entityType) {
+		try {
+			return consume(entityType, response.readEntity(entityType));
+		} catch (RuntimeException e) {
+			release();
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#readEntity(jakarta.ws.rs.core.GenericType)
+	 */
+	@Override
+	public <T> T readEntity(GenericType<T> entityType) {
+		try {
+			return consume(entityType.getRawType(), response.readEntity(entityType));
+		} catch (RuntimeException e) {
+			release();
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#readEntity(java.lang.Class, java.lang.annotation.Annotation[])
+	 */
+	@Override
+	public <T> T readEntity(Class<T> entityType, Annotation[] annotations) {
+		try {
+			return consume(entityType, response.readEntity(entityType, annotations));
+		} catch (RuntimeException e) {
+			release();
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#readEntity(jakarta.ws.rs.core.GenericType,
+	 * java.lang.annotation.Annotation[])
+	 */
+	@Override
+	public <T> T readEntity(GenericType<T> entityType, Annotation[] annotations) {
+		try {
+			return consume(entityType.getRawType(), response.readEntity(entityType, annotations));
+		} catch (RuntimeException e) {
+			release();
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#bufferEntity()
+	 */
+	@Override
+	public boolean bufferEntity() {
+		try {
+			return response.bufferEntity();
+		} finally {
+			release();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#close()
+	 */
+	@Override
+	public void close() {
+		try {
+			response.close();
+		} finally {
+			release();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getStatus()
+	 */
+	@Override
+	public int getStatus() {
+		return response.getStatus();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getStatusInfo()
+	 */
+	@Override
+	public StatusType getStatusInfo() {
+		return response.getStatusInfo();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getEntity()
+	 */
+	@Override
+	public Object getEntity() {
+		return response.getEntity();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#hasEntity()
+	 */
+	@Override
+	public boolean hasEntity() {
+		return response.hasEntity();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getMediaType()
+	 */
+	@Override
+	public MediaType getMediaType() {
+		return response.getMediaType();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getLanguage()
+	 */
+	@Override
+	public Locale getLanguage() {
+		return response.getLanguage();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getLength()
+	 */
+	@Override
+	public int getLength() {
+		return response.getLength();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getAllowedMethods()
+	 */
+	@Override
+	public Set<String> getAllowedMethods() {
+		return response.getAllowedMethods();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getCookies()
+	 */
+	@Override
+	public Map<String, NewCookie> getCookies() {
+		return response.getCookies();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getEntityTag()
+	 */
+	@Override
+	public EntityTag getEntityTag() {
+		return response.getEntityTag();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getDate()
+	 */
+	@Override
+	public Date getDate() {
+		return response.getDate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getLastModified()
+	 */
+	@Override
+	public Date getLastModified() {
+		return response.getLastModified();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getLocation()
+	 */
+	@Override
+	public URI getLocation() {
+		return response.getLocation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getLinks()
+	 */
+	@Override
+	public Set<Link> getLinks() {
+		return response.getLinks();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#hasLink(java.lang.String)
+	 */
+	@Override
+	public boolean hasLink(String relation) {
+		return response.hasLink(relation);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getLink(java.lang.String)
+	 */
+	@Override
+	public Link getLink(String relation) {
+		return response.getLink(relation);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getLinkBuilder(java.lang.String)
+	 */
+	@Override
+	public Builder getLinkBuilder(String relation) {
+		return response.getLinkBuilder(relation);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getMetadata()
+	 */
+	@Override
+	public MultivaluedMap<String, Object> getMetadata() {
+		return response.getMetadata();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getStringHeaders()
+	 */
+	@Override
+	public MultivaluedMap<String, String> getStringHeaders() {
+		return response.getStringHeaders();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Response#getHeaderString(java.lang.String)
+	 */
+	@Override
+	public String getHeaderString(String name) {
+		return response.getHeaderString(name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return response.toString();
+	}
+
+	/**
+	 * The permits held by a response. Does not reference the response, to allow it to be released when the response
+	 * is no longer reachable.
+	 */
+	private static final class Permits implements Runnable {
+
+		private final List<Runnable> releases = new ArrayList<>(2);
+
+		private boolean released = false;
+
+		Permits(Runnable release) {
+			super();
+			releases.add(release);
+		}
+
+		/**
+		 * Add a permit, releasing it immediately if the permits were already released.
+		 * @param release Permit release action
+		 */
+		void add(Runnable release) {
+			synchronized (this) {
+				if (!released) {
+					releases.add(release);
+					return;
+				}
+			}
+			release.run();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			final List<Runnable> toRelease;
+			synchronized (this) {
+				if (released) {
+					return;
+				}
+				released = true;
+				toRelease = new ArrayList<>(releases);
+				releases.clear();
+			}
+			toRelease.forEach(Runnable::run);
+		}
+
+	}
+
+}
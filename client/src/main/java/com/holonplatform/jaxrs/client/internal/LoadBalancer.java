@@ -0,0 +1,330 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.WebTarget;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+import com.holonplatform.jaxrs.client.JaxrsRestClient;
+import com.holonplatform.jaxrs.client.LoadBalancingStrategy;
+import com.holonplatform.jaxrs.internal.JaxrsLogger;
+
+/**
+ * Selects the target endpoint of each invocation among a pool of base URIs of the same service.
+ * <p>
+ * The load balancer tracks the outstanding requests and the EWMA latency of each endpoint. The latency of a failed
+ * invocation is not measured: a penalty is recorded instead, twice the highest latency between the failed call and the
+ * slowest endpoint, so that an endpoint which fails fast is not preferred to the healthy ones. An endpoint which fails
+ * the number of consecutive invocations configured by the {@link JaxrsRestClient#LOAD_BALANCER_EJECTION_FAILURES}
+ * client property is ejected from the pool for the time configured by the
+ * {@link JaxrsRestClient#LOAD_BALANCER_EJECTION_TIME} client property. An invocation fails when the request cannot be
+ * performed or when the response status code is a server error one.
+ * </p>
+ * <p>
+ * Only the requests whose base URI is one of the pool endpoints (for example the client default target) are balanced.
+ * </p>
+ * <p>
+ * The endpoint is selected once for each invocation: the retries and the hedged requests sent according to a
+ * <code>ResiliencePolicy</code> are performed against the same endpoint, and only the final outcome of the invocation
+ * is recorded for the endpoint. A cancelled invocation is not recorded as a failure.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class LoadBalancer {
+
+	private static final Logger LOGGER = JaxrsLogger.create();
+
+	/**
+	 * Default number of consecutive failures which eject an endpoint
+	 */
+	public static final int DEFAULT_EJECTION_FAILURES = 3;
+
+	/**
+	 * Default ejection time, in milliseconds
+	 */
+	public static final long DEFAULT_EJECTION_TIME = 30000;
+
+	/**
+	 * EWMA latency smoothing factor
+	 */
+	private static final double EWMA_ALPHA = 0.3;
+
+	/**
+	 * Factor applied to the latency recorded for a failed invocation
+	 */
+	private static final double FAILURE_PENALTY = 2;
+
+	private final LoadBalancingStrategy strategy;
+	private final List<Endpoint> endpoints;
+	private final int ejectionFailures;
+	private final long ejectionTime;
+
+	/**
+	 * Constructor
+	 * @param client JAX-RS client, used to read the configuration properties
+	 * @param strategy Load balancing strategy (not null)
+	 * @param endpoints Endpoints base URIs (not empty)
+	 */
+	public LoadBalancer(Client client, LoadBalancingStrategy strategy, URI... endpoints) {
+		super();
+		ObjectUtils.argumentNotNull(strategy, "LoadBalancingStrategy must be not null");
+		if (endpoints == null || endpoints.length == 0) {
+			throw new IllegalArgumentException("At least one endpoint base URI is required");
+		}
+		this.strategy = strategy;
+		final List<Endpoint> list = new ArrayList<>(endpoints.length);
+		for (URI endpoint : endpoints) {
+			ObjectUtils.argumentNotNull(endpoint, "Endpoint base URI must be not null");
+			list.add(new Endpoint(endpoint));
+		}
+		this.endpoints = Collections.unmodifiableList(list);
+		this.ejectionFailures = (int) getLongProperty(client, JaxrsRestClient.LOAD_BALANCER_EJECTION_FAILURES,
+				DEFAULT_EJECTION_FAILURES);
+		this.ejectionTime = getLongProperty(client, JaxrsRestClient.LOAD_BALANCER_EJECTION_TIME,
+				DEFAULT_EJECTION_TIME);
+	}
+
+	/**
+	 * Get the base URI of the first endpoint, to be used as default client target.
+	 * @return The default endpoint base URI
+	 */
+	public URI getDefaultTarget() {
+		return endpoints.get(0).baseURI;
+	}
+
+	/**
+	 * Select the endpoint for given request.
+	 * @param request Request configuration
+	 * @return The selected endpoint, empty if the request base URI is not one of the pool endpoints
+	 */
+	public Optional<Endpoint> select(RequestConfiguration<?> request) {
+		final String base = request.getBaseRequestURI().map(u -> normalize(u.toString())).orElse(null);
+		if (base == null || endpoints.stream().noneMatch(e -> e.uri.equals(base))) {
+			return Optional.empty();
+		}
+		final long now = System.nanoTime();
+		List<Endpoint> available = new ArrayList<>(endpoints.size());
+		for (Endpoint endpoint : endpoints) {
+			if (!endpoint.isEjected(now)) {
+				available.add(endpoint);
+			}
+		}
+		if (available.isEmpty()) {
+			// all ejected: use the whole pool rather than failing
+			available = endpoints;
+		}
+		return Optional.of((strategy == LoadBalancingStrategy.POWER_OF_TWO_CHOICES) ? powerOfTwoChoices(available)
+				: leastOutstandingRequests(available));
+	}
+
+	/**
+	 * Configure the JAX-RS {@link WebTarget} for given request, using given endpoint as base URI.
+	 * @param client JAX-RS client
+	 * @param request Request configuration
+	 * @param endpoint The endpoint obtained using {@link #select(RequestConfiguration)}
+	 * @return Configured WebTarget
+	 */
+	public static WebTarget configure(Client client, RequestConfiguration<?> request, Endpoint endpoint) {
+		final String base = request.getBaseRequestURI().map(u -> u.toString()).orElse("");
+		final String uri = request.getRequestURI();
+		String path = uri.startsWith(base) ? uri.substring(base.length()) : "";
+		if (!path.isEmpty() && !path.startsWith("/") && !path.startsWith("?")) {
+			path = "/" + path;
+		}
+		return JaxrsRestClientOperations.configure(client, request, endpoint.uri + path);
+	}
+
+	/**
+	 * Checks whether an invocation failed, i.e. if an error occurred or the response status code is a server error one.
+	 * A cancellation, for example because the invocation was cancelled by the caller or completed by a timeout, and a
+	 * rejection by a rate limit are not failures.
+	 * @param response The invocation response entity, if any
+	 * @param error The invocation error, if any
+	 * @return <code>true</code> if the invocation failed
+	 */
+	public static boolean isFailure(ResponseEntity<?> response, Throwable error) {
+		if (error != null && (ResilienceExecutor.isCancellation(error) || ResilienceExecutor.isRejection(error))) {
+			return false;
+		}
+		Throwable cause = error;
+		while (cause instanceof CompletionException && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		if (cause instanceof UnsuccessfulResponseException) {
+			return ((UnsuccessfulResponseException) cause).getStatusCode() >= 500;
+		}
+		if (cause != null) {
+			return true;
+		}
+		return response != null && response.getStatusCode() >= 500;
+	}
+
+	/**
+	 * Get the highest EWMA latency among the pool endpoints.
+	 * @return The highest latency, in milliseconds
+	 */
+	private double getMaxLatency() {
+		double max = 0;
+		for (Endpoint endpoint : endpoints) {
+			max = Math.max(max, endpoint.latency);
+		}
+		return max;
+	}
+
+	private static Endpoint leastOutstandingRequests(List<Endpoint> available) {
+		Endpoint selected = null;
+		for (Endpoint endpoint : available) {
+			if (selected == null || endpoint.outstanding.get() < selected.outstanding.get()
+					|| (endpoint.outstanding.get() == selected.outstanding.get()
+							&& endpoint.latency < selected.latency)) {
+				selected = endpoint;
+			}
+		}
+		return selected;
+	}
+
+	private static Endpoint powerOfTwoChoices(List<Endpoint> available) {
+		if (available.size() == 1) {
+			return available.get(0);
+		}
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int first = random.nextInt(available.size());
+		int second = random.nextInt(available.size() - 1);
+		if (second >= first) {
+			second++;
+		}
+		final Endpoint a = available.get(first);
+		final Endpoint b = available.get(second);
+		return (a.cost() <= b.cost()) ? a : b;
+	}
+
+	private static String normalize(String uri) {
+		return uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri;
+	}
+
+	private static long getLongProperty(Client client, String name, long defaultValue) {
+		final Object value = client.getConfiguration().getProperty(name);
+		if (value instanceof Number) {
+			return ((Number) value).longValue();
+		}
+		if (value != null) {
+			try {
+				return Long.parseLong(value.toString().trim());
+			} catch (NumberFormatException e) {
+				LOGGER.warn("Invalid " + name + " property value: [" + value + "], using the default value");
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * A load balanced endpoint.
+	 */
+	public final class Endpoint {
+
+		private final URI baseURI;
+		private final String uri;
+		private final AtomicInteger outstanding = new AtomicInteger();
+
+		private volatile double latency = 0;
+		private int failures = 0;
+		private volatile long ejectedUntil = 0;
+
+		Endpoint(URI baseURI) {
+			super();
+			this.baseURI = baseURI;
+			this.uri = normalize(baseURI.toString());
+		}
+
+		/**
+		 * Get the endpoint base URI.
+		 * @return The endpoint base URI
+		 */
+		public URI getBaseURI() {
+			return baseURI;
+		}
+
+		/**
+		 * Notify that an invocation to this endpoint is started.
+		 * @return The invocation start time, to be provided to {@link #complete(long, boolean)}
+		 */
+		public long start() {
+			outstanding.incrementAndGet();
+			return System.nanoTime();
+		}
+
+		/**
+		 * Notify that an invocation to this endpoint is completed.
+		 * @param start The invocation start time, obtained using {@link #start()}
+		 * @param failed Whether the invocation failed
+		 */
+		public void complete(long start, boolean failed) {
+			outstanding.decrementAndGet();
+			final double elapsed = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / 1000d;
+			// a failure can be much faster than a successful call: record a penalty instead
+			final double sample = failed ? FAILURE_PENALTY * Math.max(elapsed, getMaxLatency()) : elapsed;
+			synchronized (this) {
+				latency = (latency == 0) ? sample : (EWMA_ALPHA * sample + (1 - EWMA_ALPHA) * latency);
+				if (!failed) {
+					failures = 0;
+				} else if (++failures >= ejectionFailures) {
+					failures = 0;
+					ejectedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ejectionTime);
+					LOGGER.debug(() -> "Endpoint [" + uri + "] ejected for [" + ejectionTime + "] ms");
+				}
+			}
+		}
+
+		/**
+		 * Notify that an invocation to this endpoint was cancelled or rejected by a rate limit, without recording its
+		 * latency and outcome.
+		 */
+		public void cancel() {
+			outstanding.decrementAndGet();
+		}
+
+		boolean isEjected(long now) {
+			return ejectedUntil != 0 && now - ejectedUntil < 0;
+		}
+
+		double cost() {
+			return latency * (outstanding.get() + 1);
+		}
+
+		@Override
+		public String toString() {
+			return uri;
+		}
+
+	}
+
+}
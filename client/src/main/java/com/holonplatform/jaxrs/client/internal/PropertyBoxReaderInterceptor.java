@@ -30,19 +30,35 @@ import com.holonplatform.core.property.PropertySet;
  * JAX-RS {@link ReaderInterceptor} to handle client REST requests which involve {@link PropertyBox} unmarshalling.
  * 
  * <p>
- * Every interceptor instance must know the {@link PropertySet} to use to deserialize PropertyBox instances, so the
- * property set is given at construction time.
+ * The {@link PropertySet} to use to deserialize PropertyBox instances can be given at construction time or, when the
+ * interceptor is registered in the JAX-RS client, provided for each request using the
+ * {@link #PROPERTY_SET_PROPERTY_NAME} request property.
  * </p>
  * 
  * @since 5.0.0
  */
 public class PropertyBoxReaderInterceptor implements ReaderInterceptor {
 
+	/**
+	 * Request property name to provide the {@link PropertySet} to use to deserialize PropertyBox instances
+	 */
+	public static final String PROPERTY_SET_PROPERTY_NAME = PropertyBoxReaderInterceptor.class.getName()
+			+ ".propertySet";
+
 	/**
 	 * PropertySet
 	 */
 	private final PropertySet<?> propertySet;
 
+	/**
+	 * Default constructor. The {@link PropertySet} to use is obtained from the {@link #PROPERTY_SET_PROPERTY_NAME}
+	 * request property.
+	 */
+	public PropertyBoxReaderInterceptor() {
+		super();
+		this.propertySet = null;
+	}
+
 	/**
 	 * Constructor
 	 * @param propertySet PropertySet to use to deserialize PropertyContext instances
@@ -59,7 +75,21 @@ public class PropertyBoxReaderInterceptor implements ReaderInterceptor {
 	 */
 	@Override
 	public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException {
-		return Context.get().executeThreadBound(PropertySet.CONTEXT_KEY, propertySet, () -> context.proceed());
+		final PropertySet<?> ps = (propertySet != null) ? propertySet : getPropertySet(context);
+		if (ps == null) {
+			return context.proceed();
+		}
+		return Context.get().executeThreadBound(PropertySet.CONTEXT_KEY, ps, () -> context.proceed());
+	}
+
+	/**
+	 * Get the {@link PropertySet} provided by the {@link #PROPERTY_SET_PROPERTY_NAME} request property, if any.
+	 * @param context Interceptor context
+	 * @return The {@link PropertySet}, <code>null</code> if not available
+	 */
+	private static PropertySet<?> getPropertySet(ReaderInterceptorContext context) {
+		final Object value = context.getProperty(PROPERTY_SET_PROPERTY_NAME);
+		return (value instanceof PropertySet) ? (PropertySet<?>) value : null;
 	}
 
 }
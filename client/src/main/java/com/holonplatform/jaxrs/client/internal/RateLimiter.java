@@ -0,0 +1,332 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import jakarta.ws.rs.core.Response;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jaxrs.client.RateLimit;
+import com.holonplatform.jaxrs.client.RateLimitExceededException;
+import com.holonplatform.jaxrs.client.RateLimitMetrics;
+import com.holonplatform.jaxrs.internal.JaxrsLogger;
+
+/**
+ * Applies a {@link RateLimit} to the invocations, using a token bucket for the rate and a counter of the active
+ * invocations for the concurrency. An invocation is active until its response entity is consumed or the response is
+ * closed.
+ * <p>
+ * The invocations which are not allowed can either fail fast or wait in a FIFO queue, without blocking: the queued
+ * invocations are started when an active invocation ends or, when the rate limit is exceeded, by a delayed task
+ * scheduled when the next token is available.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class RateLimiter implements RateLimitMetrics {
+
+	private static final Logger LOGGER = JaxrsLogger.create();
+
+	private final String name;
+	private final double permitsPerNanosecond;
+	private final int burst;
+	private final int maxConcurrentRequests;
+	private final int maxQueueSize;
+
+	/**
+	 * Queued invocations
+	 */
+	private final Deque<CompletableFuture<Void>> queue = new ArrayDeque<>();
+
+	/**
+	 * Rejected invocations count
+	 */
+	private final AtomicLong rejected = new AtomicLong();
+
+	private double tokens;
+	private long lastRefill;
+	private int active = 0;
+	private boolean drainScheduled = false;
+
+	/**
+	 * Constructor
+	 * @param name Limiter name, used in messages
+	 * @param limit The rate limit (not null)
+	 */
+	public RateLimiter(String name, RateLimit limit) {
+		super();
+		ObjectUtils.argumentNotNull(limit, "RateLimit must be not null");
+		this.name = name;
+		this.permitsPerNanosecond = limit.getRequestsPerSecond() / TimeUnit.SECONDS.toNanos(1);
+		this.burst = Math.max(1, limit.getBurst());
+		this.maxConcurrentRequests = limit.getMaxConcurrentRequests();
+		this.maxQueueSize = limit.getMaxQueueSize();
+		this.tokens = this.burst;
+		this.lastRefill = System.nanoTime();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.RateLimitMetrics#getQueueDepth()
+	 */
+	@Override
+	public synchronized int getQueueDepth() {
+		return queue.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.RateLimitMetrics#getActiveRequests()
+	 */
+	@Override
+	public synchronized int getActiveRequests() {
+		return active;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.RateLimitMetrics#getRejectedRequests()
+	 */
+	@Override
+	public long getRejectedRequests() {
+		return rejected.get();
+	}
+
+	/**
+	 * Perform a synchronous invocation, failing fast if the limit does not allow it.
+	 * <p>
+	 * The permit is held until the response entity is consumed or the response is closed.
+	 * </p>
+	 * @param invocation The invocation
+	 * @return The invocation response
+	 * @throws RateLimitExceededException If the limit does not allow the invocation
+	 */
+	public Response invoke(Supplier<Response> invocation) {
+		if (!tryAcquire()) {
+			throw rejection();
+		}
+		final Response response;
+		try {
+			response = invocation.get();
+		} catch (RuntimeException | Error e) {
+			release();
+			throw e;
+		}
+		return LimitedResponse.limit(response, this::release);
+	}
+
+	/**
+	 * Perform an asynchronous invocation, when the limit allows it.
+	 * <p>
+	 * If the returned {@link CompletableFuture} is cancelled or completed before the invocation is started, the
+	 * invocation is removed from the queue, otherwise the in-flight invocation is cancelled. The permit is held until
+	 * the response entity is consumed or the response is closed.
+	 * </p>
+	 * @param invocation The invocation
+	 * @param queue Whether to queue the invocation if the limit does not allow it, instead of failing fast
+	 * @return The invocation response
+	 */
+	public CompletableFuture<Response> invokeAsync(Supplier<CompletableFuture<Response>> invocation, boolean queue) {
+		final CompletableFuture<Response> result = new CompletableFuture<>();
+		final CompletableFuture<Void> permit = queue ? acquire()
+				: tryAcquire() ? CompletableFuture.completedFuture(null)
+						: CompletableFuture.failedFuture(rejection());
+		final AtomicReference<CompletableFuture<Response>> inflight = new AtomicReference<>();
+		permit.whenComplete((v, error) -> {
+			if (error != null) {
+				result.completeExceptionally(error);
+				return;
+			}
+			if (result.isDone()) {
+				release();
+				return;
+			}
+			final CompletableFuture<Response> call;
+			try {
+				call = invocation.get();
+			} catch (RuntimeException e) {
+				release();
+				result.completeExceptionally(e);
+				return;
+			}
+			inflight.set(call);
+			call.whenComplete((response, e) -> {
+				if (e != null) {
+					release();
+					result.completeExceptionally(e);
+					return;
+				}
+				final Response limited = LimitedResponse.limit(response, this::release);
+				if (!result.complete(limited)) {
+					limited.close();
+				}
+			});
+			if (result.isDone()) {
+				call.cancel(true);
+			}
+		});
+		result.whenComplete((r, e) -> {
+			if (e != null) {
+				permit.cancel(false);
+				final CompletableFuture<Response> call = inflight.get();
+				if (call != null) {
+					call.cancel(true);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Try to acquire a permit, without waiting.
+	 * @return <code>true</code> if the permit was acquired, <code>false</code> if the invocation was rejected
+	 */
+	private synchronized boolean tryAcquire() {
+		if (queue.isEmpty() && tryAcquirePermit() == 0) {
+			return true;
+		}
+		rejected.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * Acquire a permit, queueing the request if the permit is not available.
+	 * @return The permit, failed with an {@link RateLimitExceededException} if the queue is full
+	 */
+	private CompletableFuture<Void> acquire() {
+		final CompletableFuture<Void> permit;
+		synchronized (this) {
+			if (queue.isEmpty()) {
+				final long wait = tryAcquirePermit();
+				if (wait == 0) {
+					return CompletableFuture.completedFuture(null);
+				}
+				if (wait > 0) {
+					scheduleDrain(wait);
+				}
+			}
+			if (queue.size() >= maxQueueSize) {
+				rejected.incrementAndGet();
+				return CompletableFuture.failedFuture(rejection());
+			}
+			permit = new CompletableFuture<>();
+			queue.add(permit);
+		}
+		permit.whenComplete((v, e) -> {
+			if (permit.isCancelled()) {
+				synchronized (this) {
+					queue.remove(permit);
+				}
+			}
+		});
+		return permit;
+	}
+
+	/**
+	 * Release a permit and start the queued invocations which are allowed.
+	 */
+	private void release() {
+		synchronized (this) {
+			active--;
+		}
+		drain();
+	}
+
+	/**
+	 * Start the queued invocations which are allowed.
+	 */
+	private void drain() {
+		final List<CompletableFuture<Void>> granted = new ArrayList<>();
+		synchronized (this) {
+			while (!queue.isEmpty()) {
+				final CompletableFuture<Void> next = queue.peek();
+				if (next.isDone()) {
+					queue.poll();
+					continue;
+				}
+				final long wait = tryAcquirePermit();
+				if (wait != 0) {
+					if (wait > 0) {
+						scheduleDrain(wait);
+					}
+					break;
+				}
+				queue.poll();
+				granted.add(next);
+			}
+		}
+		for (CompletableFuture<Void> permit : granted) {
+			if (!permit.complete(null)) {
+				// cancelled in the meantime
+				release();
+			}
+		}
+	}
+
+	/**
+	 * Schedule a queue drain after given delay, if not already scheduled.
+	 * @param delay The delay in nanoseconds
+	 */
+	private void scheduleDrain(long delay) {
+		if (!drainScheduled) {
+			drainScheduled = true;
+			CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+				synchronized (this) {
+					drainScheduled = false;
+				}
+				drain();
+			});
+		}
+	}
+
+	/**
+	 * Try to acquire a permit. Must be invoked holding the limiter lock.
+	 * @return <code>0</code> if the permit was acquired, <code>-1</code> if the max concurrent requests are active, or
+	 *         the nanoseconds to wait for the next token
+	 */
+	private long tryAcquirePermit() {
+		if (maxConcurrentRequests > 0 && active >= maxConcurrentRequests) {
+			return -1;
+		}
+		if (permitsPerNanosecond > 0) {
+			final long now = System.nanoTime();
+			tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNanosecond);
+			lastRefill = now;
+			if (tokens < 1) {
+				return Math.max(1, (long) Math.ceil((1 - tokens) / permitsPerNanosecond));
+			}
+			tokens -= 1;
+		}
+		active++;
+		return 0;
+	}
+
+	private RateLimitExceededException rejection() {
+		LOGGER.debug(() -> "Rate limit exceeded for [" + name + "]: invocation rejected");
+		return new RateLimitExceededException("Rate limit exceeded for [" + name + "]");
+	}
+
+}
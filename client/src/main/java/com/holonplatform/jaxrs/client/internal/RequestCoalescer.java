@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.jaxrs.client.JaxrsAsyncRestClient;
+import com.holonplatform.jaxrs.internal.JaxrsLogger;
+
+/**
+ * Folds concurrent identical idempotent requests into a single in-flight invocation.
+ * <p>
+ * Two requests are identical when they have the same method, the same resolved URI (including the query parameters),
+ * the same values for the key headers and the same {@link PropertySet}. The key headers are the
+ * {@link #DEFAULT_KEY_HEADERS} and the ones listed by the {@link JaxrsAsyncRestClient#REQUEST_COALESCING_HEADERS}
+ * client property. Only <code>GET</code>, <code>HEAD</code> and <code>OPTIONS</code> requests without a request
+ * entity are coalesced.
+ * </p>
+ * <p>
+ * The entity of a shared response is buffered, so that each caller can read it independently.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class RequestCoalescer {
+
+	private static final Logger LOGGER = JaxrsLogger.create();
+
+	/**
+	 * Headers which are always part of the request key
+	 */
+	public static final Set<String> DEFAULT_KEY_HEADERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.AUTHORIZATION,
+			HttpHeaders.COOKIE)));
+
+	/**
+	 * Key headers, lower case
+	 */
+	private final Set<String> keyHeaders;
+
+	/**
+	 * In-flight invocations
+	 */
+	private final Map<Key, CompletableFuture<Response>> inflight = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor
+	 * @param keyHeaders Additional key headers
+	 */
+	public RequestCoalescer(Set<String> keyHeaders) {
+		super();
+		final Set<String> headers = new HashSet<>();
+		DEFAULT_KEY_HEADERS.forEach(h -> headers.add(h.toLowerCase(Locale.ROOT)));
+		if (keyHeaders != null) {
+			keyHeaders.forEach(h -> headers.add(h.trim().toLowerCase(Locale.ROOT)));
+		}
+		this.keyHeaders = headers;
+	}
+
+	/**
+	 * Create a {@link RequestCoalescer} for given client, if the requests coalescing is enabled using the
+	 * {@link JaxrsAsyncRestClient#REQUEST_COALESCING} client property.
+	 * @param client JAX-RS client
+	 * @return The {@link RequestCoalescer}, <code>null</code> if the requests coalescing is not enabled
+	 */
+	public static RequestCoalescer create(Client client) {
+		final Object enabled = client.getConfiguration().getProperty(JaxrsAsyncRestClient.REQUEST_COALESCING);
+		if (enabled == null || !Boolean.parseBoolean(enabled.toString().trim())) {
+			return null;
+		}
+		final Object headers = client.getConfiguration().getProperty(JaxrsAsyncRestClient.REQUEST_COALESCING_HEADERS);
+		final Set<String> keyHeaders = new HashSet<>();
+		if (headers != null) {
+			for (String header : headers.toString().split(",")) {
+				if (!header.trim().isEmpty()) {
+					keyHeaders.add(header);
+				}
+			}
+		}
+		return new RequestCoalescer(keyHeaders);
+	}
+
+	/**
+	 * Checks whether a request with given method and entity can be coalesced.
+	 * @param method Request method
+	 * @param entity Request entity
+	 * @return <code>true</code> if the request can be coalesced
+	 */
+	public static boolean isCoalescible(HttpMethod method, Optional<Entity<?>> entity) {
+		return !entity.isPresent()
+				&& (HttpMethod.GET == method || HttpMethod.HEAD == method || HttpMethod.OPTIONS == method);
+	}
+
+	/**
+	 * Build the key of a request.
+	 * @param method Request method
+	 * @param uri Resolved request URI
+	 * @param headers Request headers
+	 * @param propertySet Request property set, if any
+	 * @return The request key
+	 */
+	public Object key(HttpMethod method, URI uri, Map<String, String> headers, Optional<PropertySet<?>> propertySet) {
+		final Map<String, String> values = new TreeMap<>();
+		headers.forEach((n, v) -> {
+			final String name = n.toLowerCase(Locale.ROOT);
+			if (keyHeaders.contains(name)) {
+				values.put(name, v);
+			}
+		});
+		return new Key(method, uri.toString(), values, propertySet.orElse(null));
+	}
+
+	/**
+	 * Execute an invocation, sharing the in-flight invocation with the same key if available.
+	 * @param key Request key, obtained using {@link #key(HttpMethod, URI, Map, Optional)}
+	 * @param invocation Invocation supplier, used only if there is no in-flight invocation with the same key
+	 * @return The shared invocation response, with a buffered entity. The response must not be closed by the caller
+	 */
+	public CompletableFuture<Response> execute(Object key, Supplier<CompletableFuture<Response>> invocation) {
+		final CompletableFuture<Response> shared = new CompletableFuture<>();
+		final CompletableFuture<Response> existing = inflight.putIfAbsent((Key) key, shared);
+		if (existing != null) {
+			LOGGER.debug(() -> "Coalescing request [" + key + "] with an in-flight invocation");
+			return existing;
+		}
+		try {
+			invocation.get().whenComplete((response, error) -> {
+				inflight.remove(key, shared);
+				if (error != null) {
+					shared.completeExceptionally(error);
+				} else {
+					try {
+						response.bufferEntity();
+						shared.complete(response);
+					} catch (RuntimeException e) {
+						response.close();
+						shared.completeExceptionally(e);
+					}
+				}
+			});
+		} catch (RuntimeException e) {
+			inflight.remove(key, shared);
+			shared.completeExceptionally(e);
+		}
+		return shared;
+	}
+
+	/**
+	 * Request key.
+	 */
+	private static final class Key {
+
+		private final HttpMethod method;
+		private final String uri;
+		private final Map<String, String> headers;
+		private final PropertySet<?> propertySet;
+
+		Key(HttpMethod method, String uri, Map<String, String> headers, PropertySet<?> propertySet) {
+			super();
+			this.method = method;
+			this.uri = uri;
+			this.headers = headers;
+			this.propertySet = propertySet;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(method, uri, headers);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return method == other.method && uri.equals(other.uri) && headers.equals(other.headers)
+					&& Objects.equals(propertySet, other.propertySet);
+		}
+
+		@Override
+		public String toString() {
+			return method.getMethodName() + " " + uri;
+		}
+
+	}
+
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import jakarta.ws.rs.core.Response;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.jaxrs.client.RateLimitExceededException;
+import com.holonplatform.jaxrs.client.ResiliencePolicy;
+import com.holonplatform.jaxrs.internal.JaxrsLogger;
+
+/**
+ * Executes the invocations according to a {@link ResiliencePolicy}, tracking the per-host circuit breaker state and
+ * latency statistics.
+ *
+ * @since 6.0.1
+ */
+public class ResilienceExecutor {
+
+	private static final Logger LOGGER = JaxrsLogger.create();
+
+	/**
+	 * Min number of latency samples required to send hedged requests
+	 */
+	private static final int HEDGING_MIN_SAMPLES = 20;
+
+	/**
+	 * Number of latency samples tracked for each host
+	 */
+	private static final int LATENCY_SAMPLES = 128;
+
+	/**
+	 * Policy
+	 */
+	private final ResiliencePolicy policy;
+
+	/**
+	 * Circuit breakers, by host
+	 */
+	private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+	/**
+	 * Latency trackers, by host
+	 */
+	private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor
+	 * @param policy The policy
+	 */
+	public ResilienceExecutor(ResiliencePolicy policy) {
+		super();
+		this.policy = policy;
+	}
+
+	/**
+	 * Checks whether the policy sends hedged requests, so that more attempts can be in flight at the same time.
+	 * @return <code>true</code> if hedging is enabled
+	 */
+	public boolean isHedging() {
+		return policy.getHedgingPercentile() > 0;
+	}
+
+	/**
+	 * Execute an invocation.
+	 * <p>
+	 * The returned {@link CompletableFuture} is completed with the first accepted response or with the last failure. If
+	 * it is cancelled or completed before, the in-flight attempts are cancelled.
+	 * </p>
+	 * @param method Request method
+	 * @param uri Request URI
+	 * @param attempt Supplier of a new invocation attempt
+	 * @return The invocation response
+	 */
+	public CompletableFuture<Response> execute(HttpMethod method, URI uri,
+			Supplier<CompletableFuture<Response>> attempt) {
+		final Execution execution = new Execution(getHost(uri), attempt, isRetryable(method));
+		execution.attempt(1);
+		return execution.result;
+	}
+
+	/**
+	 * Execute a blocking invocation.
+	 * <p>
+	 * The attempts are performed using the calling thread, which sleeps for the backoff time before each retry. Hedged
+	 * requests are not sent, since they require more attempts to be in flight at the same time: use
+	 * {@link #execute(HttpMethod, URI, Supplier)} when the policy {@link #isHedging()}.
+	 * </p>
+	 * @param method Request method
+	 * @param uri Request URI
+	 * @param attempt Performs a new invocation attempt, blocking until the response is received
+	 * @return The first accepted response, or the response of the last attempt
+	 * @throws HttpClientInvocationException If the circuit breaker is open or the calling thread is interrupted
+	 *         while waiting for a retry
+	 * @throws RuntimeException The failure of the last attempt
+	 */
+	public Response executeBlocking(HttpMethod method, URI uri, Supplier<Response> attempt) {
+		final String host = getHost(uri);
+		final boolean idempotent = isRetryable(method);
+		final CircuitBreaker circuitBreaker = getCircuitBreaker(host);
+		final LatencyTracker latency = latencies.computeIfAbsent(host, h -> new LatencyTracker());
+		int number = 1;
+		while (true) {
+			if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+				throw new HttpClientInvocationException("Circuit breaker is open for host [" + host + "]");
+			}
+			final long start = System.nanoTime();
+			final Response response;
+			try {
+				response = attempt.get();
+			} catch (RuntimeException e) {
+				final boolean rejected = isRejection(e);
+				if (circuitBreaker != null) {
+					if (rejected) {
+						// not a host failure
+						circuitBreaker.release();
+					} else {
+						circuitBreaker.record(false);
+					}
+				}
+				if (rejected || !idempotent || number >= policy.getMaxAttempts()) {
+					throw e;
+				}
+				number = backoff(host, number);
+				continue;
+			}
+			latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			if (circuitBreaker != null) {
+				circuitBreaker.record(response.getStatus() < 500);
+			}
+			if (!idempotent || number >= policy.getMaxAttempts()
+					|| !policy.getRetryStatuses().contains(response.getStatus())) {
+				return response;
+			}
+			response.close();
+			number = backoff(host, number);
+		}
+	}
+
+	/**
+	 * Wait, using the calling thread, for the backoff time before the retry which follows given attempt.
+	 * @param host The invocation host
+	 * @param attempt The attempt number, starting from <code>1</code>
+	 * @return The next attempt number
+	 * @throws HttpClientInvocationException If the calling thread is interrupted while waiting
+	 */
+	private int backoff(String host, int attempt) {
+		final long backoff = getBackoff(attempt);
+		LOGGER.debug(() -> "Retrying invocation to [" + host + "] in [" + backoff + "] ms, attempt [" + (attempt + 1)
+				+ "]");
+		try {
+			Thread.sleep(backoff);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HttpClientInvocationException(e);
+		}
+		return attempt + 1;
+	}
+
+	/**
+	 * Checks whether given invocation failure is a cancellation, for example because the invocation was cancelled by
+	 * the caller or completed by a timeout. A cancellation is not a failure of the invoked host.
+	 * @param error The invocation failure
+	 * @return <code>true</code> if given failure is a cancellation
+	 */
+	static boolean isCancellation(Throwable error) {
+		return unwrap(error) instanceof CancellationException;
+	}
+
+	/**
+	 * Checks whether given invocation failure is a rejection by a rate limit, which prevented the invocation from being
+	 * sent. A rejection is not a failure of the invoked host and it is not retried.
+	 * @param error The invocation failure
+	 * @return <code>true</code> if given failure is a {@link RateLimitExceededException}
+	 */
+	static boolean isRejection(Throwable error) {
+		return unwrap(error) instanceof RateLimitExceededException;
+	}
+
+	/**
+	 * Unwrap the cause of given {@link CompletionException} or {@link ExecutionException}.
+	 * @param error The error
+	 * @return The unwrapped cause
+	 */
+	private static Throwable unwrap(Throwable error) {
+		Throwable cause = error;
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+				&& cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+
+	/**
+	 * Get the host of given URI, used to track the circuit breaker state and the latency statistics.
+	 * @param uri The URI
+	 * @return The host
+	 */
+	private static String getHost(URI uri) {
+		return uri.getScheme() + "://" + uri.getAuthority();
+	}
+
+	/**
+	 * Checks whether the invocations with given method can be retried.
+	 * @param method Request method
+	 * @return <code>true</code> if the method is idempotent or the policy allows to retry non idempotent methods
+	 */
+	private boolean isRetryable(HttpMethod method) {
+		return policy.isRetryNonIdempotent() || ResiliencePolicy.isIdempotent(method);
+	}
+
+	/**
+	 * Get the circuit breaker for given host, if the circuit breaker is enabled.
+	 * @param host The host
+	 * @return The circuit breaker, <code>null</code> if not enabled
+	 */
+	private CircuitBreaker getCircuitBreaker(String host) {
+		if (policy.getCircuitBreakerFailureRate() <= 0) {
+			return null;
+		}
+		return circuitBreakers.computeIfAbsent(host, h -> new CircuitBreaker(h));
+	}
+
+	/**
+	 * Compute the backoff before the retry which follows given attempt.
+	 * @param attempt The attempt number, starting from <code>1</code>
+	 * @return The backoff, in milliseconds
+	 */
+	private long getBackoff(int attempt) {
+		final double base = Math.min(policy.getMaxBackoff().toMillis(),
+				policy.getInitialBackoff().toMillis() * Math.pow(policy.getBackoffMultiplier(), attempt - 1));
+		return (long) (base * (1 - policy.getBackoffJitter() * ThreadLocalRandom.current().nextDouble()));
+	}
+
+	/**
+	 * A single invocation execution, which may include more attempts.
+	 */
+	private final class Execution {
+
+		final CompletableFuture<Response> result = new CompletableFuture<>();
+
+		private final String host;
+		private final Supplier<CompletableFuture<Response>> attempt;
+		private final boolean idempotent;
+		private final CircuitBreaker circuitBreaker;
+		private final LatencyTracker latency;
+		private final Set<CompletableFuture<Response>> inflight = ConcurrentHashMap.newKeySet();
+
+		Execution(String host, Supplier<CompletableFuture<Response>> attempt, boolean idempotent) {
+			super();
+			this.host = host;
+			this.attempt = attempt;
+			this.idempotent = idempotent;
+			this.circuitBreaker = getCircuitBreaker(host);
+			this.latency = latencies.computeIfAbsent(host, h -> new LatencyTracker());
+			// cancel the in-flight attempts when the execution is cancelled
+			result.whenComplete((r, e) -> {
+				if (e != null) {
+					inflight.forEach(f -> f.cancel(true));
+				}
+			});
+		}
+
+		/**
+		 * Perform an attempt.
+		 * @param number The attempt number, starting from <code>1</code>
+		 */
+		void attempt(int number) {
+			if (result.isDone()) {
+				return;
+			}
+			if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+				result.completeExceptionally(
+						new HttpClientInvocationException("Circuit breaker is open for host [" + host + "]"));
+				return;
+			}
+			hedged().whenComplete((response, error) -> {
+				// cancellations and rate limit rejections are neither host failures nor retried
+				final boolean ignored = error != null && (isCancellation(error) || isRejection(error));
+				if (circuitBreaker != null) {
+					if (ignored) {
+						circuitBreaker.release();
+					} else {
+						circuitBreaker.record(error == null && response.getStatus() < 500);
+					}
+				}
+				if (result.isDone()) {
+					if (response != null) {
+						response.close();
+					}
+					return;
+				}
+				final boolean retry = idempotent && number < policy.getMaxAttempts()
+						&& ((error != null) ? !ignored : policy.getRetryStatuses().contains(response.getStatus()));
+				if (retry) {
+					if (response != null) {
+						response.close();
+					}
+					final long backoff = getBackoff(number);
+					LOGGER.debug(() -> "Retrying invocation to [" + host + "] in [" + backoff + "] ms, attempt ["
+							+ (number + 1) + "]");
+					CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS)
+							.execute(() -> attempt(number + 1));
+				} else if (error != null) {
+					result.completeExceptionally(error);
+				} else if (!result.complete(response)) {
+					response.close();
+				}
+			});
+		}
+
+		/**
+		 * Perform an attempt, sending a hedged request if the response is not received within the configured latency
+		 * percentile.
+		 * @return The first received response, or the last failure
+		 */
+		private CompletableFuture<Response> hedged() {
+			final CompletableFuture<Response> primary = track();
+			final long delay = (idempotent && policy.getHedgingPercentile() > 0)
+					? latency.percentile(policy.getHedgingPercentile())
+					: -1;
+			if (delay < 0) {
+				return primary;
+			}
+			final CompletableFuture<Response> first = new CompletableFuture<>();
+			final AtomicInteger pending = new AtomicInteger(1);
+			final BiConsumer<Response, Throwable> completion = (response, error) -> {
+				if (error == null) {
+					if (!first.complete(response)) {
+						response.close();
+					}
+				} else if (pending.decrementAndGet() == 0) {
+					first.completeExceptionally(error);
+				}
+			};
+			primary.whenComplete(completion);
+			CompletableFuture
+					.delayedExecutor(Math.max(delay, policy.getHedgingMinDelay().toMillis()), TimeUnit.MILLISECONDS)
+					.execute(() -> {
+						if (!first.isDone() && !result.isDone() && pending.incrementAndGet() > 1) {
+							LOGGER.debug(() -> "Sending a hedged request to [" + host + "]");
+							final CompletableFuture<Response> hedge = track();
+							hedge.whenComplete(completion);
+							first.whenComplete((r, e) -> hedge.cancel(true));
+						}
+					});
+			first.whenComplete((r, e) -> primary.cancel(true));
+			return first;
+		}
+
+		/**
+		 * Perform a tracked attempt, recording its latency.
+		 * @return The attempt response
+		 */
+		private CompletableFuture<Response> track() {
+			final long start = System.nanoTime();
+			CompletableFuture<Response> future;
+			try {
+				future = attempt.get();
+			} catch (RuntimeException e) {
+				future = CompletableFuture.failedFuture(e);
+			}
+			final CompletableFuture<Response> tracked = future;
+			inflight.add(tracked);
+			tracked.whenComplete((r, e) -> {
+				inflight.remove(tracked);
+				if (e == null) {
+					latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				}
+			});
+			return tracked;
+		}
+
+	}
+
+	/**
+	 * Latency samples of a host, in milliseconds.
+	 */
+	private static final class LatencyTracker {
+
+		private final long[] samples = new long[LATENCY_SAMPLES];
+		private int count = 0;
+		private int next = 0;
+
+		synchronized void record(long latency) {
+			samples[next] = latency;
+			next = (next + 1) % samples.length;
+			if (count < samples.length) {
+				count++;
+			}
+		}
+
+		/**
+		 * Get the latency percentile.
+		 * @param percentile The percentile, from <code>0</code> to <code>1</code>
+		 * @return The latency percentile, <code>-1</code> if not enough samples are available
+		 */
+		long percentile(double percentile) {
+			final long[] values;
+			synchronized (this) {
+				if (count < HEDGING_MIN_SAMPLES) {
+					return -1;
+				}
+				values = Arrays.copyOf(samples, count);
+			}
+			Arrays.sort(values);
+			return values[Math.min(values.length - 1, (int) Math.ceil(percentile * values.length) - 1)];
+		}
+
+	}
+
+	/**
+	 * Circuit breaker of a host.
+	 */
+	private final class CircuitBreaker {
+
+		private final String host;
+		private final boolean[] outcomes = new boolean[policy.getCircuitBreakerWindowSize()];
+		private int count = 0;
+		private int next = 0;
+		private int failures = 0;
+
+		private boolean open = false;
+		private boolean halfOpen = false;
+		private long openedAt;
+		private int probes = 0;
+		private int probeSuccesses = 0;
+
+		CircuitBreaker(String host) {
+			super();
+			this.host = host;
+		}
+
+		/**
+		 * Checks whether an invocation is allowed, acquiring a probe permit if the circuit breaker is half-open.
+		 * @return <code>true</code> if the invocation is allowed
+		 */
+		synchronized boolean tryAcquire() {
+			if (open) {
+				if (System.nanoTime() - openedAt < policy.getCircuitBreakerOpenDuration().toNanos()) {
+					return false;
+				}
+				open = false;
+				halfOpen = true;
+				probes = 0;
+				probeSuccesses = 0;
+			}
+			if (halfOpen) {
+				if (probes >= policy.getCircuitBreakerHalfOpenProbes()) {
+					return false;
+				}
+				probes++;
+			}
+			return true;
+		}
+
+		/**
+		 * Release a permit acquired using {@link #tryAcquire()} without recording an outcome, for example when the
+		 * invocation was cancelled or rejected by a rate limit.
+		 */
+		synchronized void release() {
+			if (halfOpen && probes > 0) {
+				probes--;
+			}
+		}
+
+		/**
+		 * Record the outcome of an invocation.
+		 * @param success Whether the invocation succeeded
+		 */
+		synchronized void record(boolean success) {
+			if (open) {
+				return;
+			}
+			if (halfOpen) {
+				if (!success) {
+					trip();
+				} else if (++probeSuccesses >= policy.getCircuitBreakerHalfOpenProbes()) {
+					LOGGER.debug(() -> "Circuit breaker closed for host [" + host + "]");
+					halfOpen = false;
+					reset();
+				}
+				return;
+			}
+			if (count == outcomes.length) {
+				if (!outcomes[next]) {
+					failures--;
+				}
+			} else {
+				count++;
+			}
+			outcomes[next] = success;
+			next = (next + 1) % outcomes.length;
+			if (!success) {
+				failures++;
+			}
+			if (count == outcomes.length && failures >= policy.getCircuitBreakerFailureRate() * count) {
+				trip();
+			}
+		}
+
+		private void trip() {
+			LOGGER.debug(() -> "Circuit breaker opened for host [" + host + "]");
+			open = true;
+			halfOpen = false;
+			openedAt = System.nanoTime();
+			reset();
+		}
+
+		private void reset() {
+			count = 0;
+			next = 0;
+			failures = 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,506 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jaxrs.client.ResponseCacheFeature;
+import com.holonplatform.jaxrs.internal.JaxrsLogger;
+
+/**
+ * Client request and response filter which implements the HTTP response cache of the {@link ResponseCacheFeature}.
+ * <p>
+ * Only successful <code>GET</code> responses which are not marked as <code>no-store</code> and which provide a
+ * freshness lifetime or a validator (<code>ETag</code> or <code>Last-Modified</code>) are cached. A response with a
+ * <code>Vary: *</code> header is never cached. Any successful unsafe request invalidates the cache entry of its URI.
+ * </p>
+ * <p>
+ * Since the cache is shared by all the requests performed using the same client, a response to a request which
+ * carries an <code>Authorization</code> header is cached only when it is explicitly marked as shareable, using the
+ * <code>public</code>, <code>s-maxage</code> or <code>must-revalidate</code> directives (RFC 9111, section 3.5). The
+ * <code>Cookie</code> request header is part of the cache key, like the headers listed by a <code>Vary</code> response
+ * header. A request which carries its own conditional headers is not served from the cache nor revalidated, and its
+ * response is provided to the caller as is. For the same reason, a response marked as <code>private</code> is never
+ * cached.
+ * </p>
+ * <p>
+ * The freshness lifetime of a <code>max-age</code> response is reduced by the value of its <code>Age</code> header,
+ * i.e. by the time the response already spent in upstream caches.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+@Priority(Priorities.USER + 1000)
+public class ResponseCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+
+	private static final Logger LOGGER = JaxrsLogger.create();
+
+	/**
+	 * Request property to bind the cache entry to revalidate
+	 */
+	private static final String REVALIDATE_PROPERTY = ResponseCacheFilter.class.getName() + ".revalidate";
+
+	/**
+	 * Request property to mark a response provided by the cache
+	 */
+	private static final String CACHED_PROPERTY = ResponseCacheFilter.class.getName() + ".cached";
+
+	/**
+	 * Conditional request headers
+	 */
+	private static final String[] CONDITIONAL_HEADERS = { HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE,
+			HttpHeaders.IF_MATCH, HttpHeaders.IF_UNMODIFIED_SINCE, "If-Range" };
+
+	/**
+	 * Age response header
+	 */
+	private static final String AGE = "Age";
+
+	/**
+	 * Cache entries by URI, in access order
+	 */
+	private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Cache max size
+	 */
+	private final long maxSize;
+
+	/**
+	 * Current cache size
+	 */
+	private long size = 0;
+
+	/**
+	 * Constructor
+	 * @param maxSize The max size, in bytes, of the cached response entities
+	 */
+	public ResponseCacheFilter(long maxSize) {
+		super();
+		this.maxSize = maxSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.ClientRequestFilter#filter(jakarta.ws.rs.client.ClientRequestContext)
+	 */
+	@Override
+	public void filter(ClientRequestContext requestContext) throws IOException {
+		if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+			return;
+		}
+		final CacheDirectives directives = CacheDirectives
+				.parse(requestContext.getHeaderString(HttpHeaders.CACHE_CONTROL));
+		if (directives.noStore || isConditional(requestContext)) {
+			return;
+		}
+		final CacheEntry entry = get(requestContext.getUri().toString());
+		if (entry == null || !entry.matches(requestContext.getStringHeaders())) {
+			return;
+		}
+		if (!directives.noCache && entry.isFresh()) {
+			// serve from cache
+			LOGGER.debug(() -> "Serving [" + requestContext.getUri() + "] from the response cache");
+			requestContext.setProperty(CACHED_PROPERTY, Boolean.TRUE);
+			requestContext.abortWith(entry.toResponse());
+			return;
+		}
+		// conditional revalidation
+		if (entry.hasValidators()) {
+			if (entry.etag != null) {
+				requestContext.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, entry.etag);
+			}
+			if (entry.lastModified != null) {
+				requestContext.getHeaders().putSingle(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified);
+			}
+			requestContext.setProperty(REVALIDATE_PROPERTY, entry);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.ClientResponseFilter#filter(jakarta.ws.rs.client.ClientRequestContext,
+	 * jakarta.ws.rs.client.ClientResponseContext)
+	 */
+	@Override
+	public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+		if (requestContext.getProperty(CACHED_PROPERTY) != null) {
+			return;
+		}
+		final String uri = requestContext.getUri().toString();
+		final int status = responseContext.getStatus();
+
+		if (!HttpMethod.GET.equals(requestContext.getMethod()) && !HttpMethod.HEAD.equals(requestContext.getMethod())
+				&& !HttpMethod.OPTIONS.equals(requestContext.getMethod())) {
+			// unsafe method: invalidate
+			if (status >= 200 && status < 400) {
+				remove(uri);
+			}
+			return;
+		}
+		if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+			return;
+		}
+
+		final Object revalidate = requestContext.getProperty(REVALIDATE_PROPERTY);
+		if (revalidate instanceof CacheEntry && status == Response.Status.NOT_MODIFIED.getStatusCode()) {
+			// not modified: refresh the cached entry and use the cached entity
+			final CacheEntry entry = ((CacheEntry) revalidate).revalidated(responseContext.getHeaders());
+			put(uri, entry);
+			responseContext.setStatus(entry.status);
+			responseContext.getHeaders().clear();
+			responseContext.getHeaders().putAll(entry.copyHeaders());
+			responseContext.setEntityStream(new ByteArrayInputStream(entry.entity));
+			LOGGER.debug(() -> "Revalidated cached response for [" + uri + "]");
+			return;
+		}
+
+		if (status != Response.Status.OK.getStatusCode() || !responseContext.hasEntity()) {
+			return;
+		}
+		final CacheDirectives directives = CacheDirectives
+				.parse(responseContext.getHeaderString(HttpHeaders.CACHE_CONTROL));
+		final String vary = responseContext.getHeaderString(HttpHeaders.VARY);
+		final String etag = responseContext.getHeaderString(HttpHeaders.ETAG);
+		final String lastModified = responseContext.getHeaderString(HttpHeaders.LAST_MODIFIED);
+		final long lifetime = CacheEntry.lifetime(directives, responseContext.getHeaderString(HttpHeaders.EXPIRES),
+				responseContext.getHeaderString(AGE));
+		if (directives.noStore || directives.privateResponse || (vary != null && vary.trim().equals("*"))
+				|| (lifetime <= 0 && etag == null && lastModified == null)) {
+			return;
+		}
+		if (requestContext.getHeaderString(HttpHeaders.AUTHORIZATION) != null && !directives.shareable) {
+			// authorized responses are cached only when explicitly allowed (RFC 9111, 3.5)
+			return;
+		}
+
+		// read the entity, up to the cache max size
+		final InputStream stream = responseContext.getEntityStream();
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final byte[] chunk = new byte[8192];
+		int read;
+		while ((read = stream.read(chunk)) != -1) {
+			buffer.write(chunk, 0, read);
+			if (buffer.size() > maxSize) {
+				// too large to be cached
+				responseContext.setEntityStream(
+						new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), stream));
+				return;
+			}
+		}
+		stream.close();
+		final byte[] entity = buffer.toByteArray();
+		responseContext.setEntityStream(new ByteArrayInputStream(entity));
+
+		put(uri, new CacheEntry(status, responseContext.getHeaders(), entity, etag, lastModified,
+				directives.noCache ? 0 : lifetime, CacheEntry.varyHeaders(vary, requestContext.getStringHeaders())));
+	}
+
+	/**
+	 * Checks whether given request carries any conditional request header.
+	 * @param requestContext Request context
+	 * @return <code>true</code> if the request is a conditional request
+	 */
+	private static boolean isConditional(ClientRequestContext requestContext) {
+		for (String header : CONDITIONAL_HEADERS) {
+			if (requestContext.getHeaderString(header) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private synchronized CacheEntry get(String uri) {
+		return entries.get(uri);
+	}
+
+	private synchronized void remove(String uri) {
+		final CacheEntry removed = entries.remove(uri);
+		if (removed != null) {
+			size -= removed.entity.length;
+		}
+	}
+
+	private synchronized void put(String uri, CacheEntry entry) {
+		if (entry.entity.length > maxSize) {
+			return;
+		}
+		final CacheEntry previous = entries.put(uri, entry);
+		if (previous != null) {
+			size -= previous.entity.length;
+		}
+		size += entry.entity.length;
+		// evict the least recently used entries
+		final Iterator<CacheEntry> iterator = entries.values().iterator();
+		while (size > maxSize && iterator.hasNext()) {
+			size -= iterator.next().entity.length;
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Cached response.
+	 */
+	private static final class CacheEntry {
+
+		final int status;
+		final MultivaluedMap<String, String> headers;
+		final byte[] entity;
+		final String etag;
+		final String lastModified;
+		final long expires;
+		final Map<String, String> vary;
+
+		CacheEntry(int status, MultivaluedMap<String, String> headers, byte[] entity, String etag, String lastModified,
+				long lifetime, Map<String, String> vary) {
+			super();
+			this.status = status;
+			this.headers = new MultivaluedHashMap<>();
+			headers.forEach((n, v) -> this.headers.put(n, new ArrayList<>(v)));
+			this.entity = entity;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.expires = System.currentTimeMillis() + lifetime;
+			this.vary = vary;
+		}
+
+		boolean isFresh() {
+			return System.currentTimeMillis() < expires;
+		}
+
+		boolean hasValidators() {
+			return etag != null || lastModified != null;
+		}
+
+		/**
+		 * Checks whether the values of the request headers listed by the <code>Vary</code> response header match.
+		 * @param requestHeaders Request headers
+		 * @return <code>true</code> if matches
+		 */
+		boolean matches(MultivaluedMap<String, String> requestHeaders) {
+			for (Entry<String, String> v : vary.entrySet()) {
+				if (!Objects.equals(v.getValue(), joinHeader(requestHeaders, v.getKey()))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		MultivaluedMap<String, String> copyHeaders() {
+			final MultivaluedMap<String, String> copy = new MultivaluedHashMap<>();
+			headers.forEach((n, v) -> copy.put(n, new ArrayList<>(v)));
+			return copy;
+		}
+
+		Response toResponse() {
+			final ResponseBuilder builder = Response.status(status);
+			headers.forEach((n, v) -> {
+				if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(n)) {
+					v.forEach(value -> builder.header(n, value));
+				}
+			});
+			return builder.entity(entity).build();
+		}
+
+		/**
+		 * Build a new entry updating the cached headers with the headers of a <code>304</code> response.
+		 * @param notModifiedHeaders The <code>304</code> response headers
+		 * @return The refreshed entry
+		 */
+		CacheEntry revalidated(MultivaluedMap<String, String> notModifiedHeaders) {
+			final MultivaluedMap<String, String> updated = copyHeaders();
+			notModifiedHeaders.forEach((n, v) -> {
+				if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(n) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(n)) {
+					// replace using the cached header name case
+					final String name = updated.keySet().stream().filter(k -> k.equalsIgnoreCase(n)).findFirst()
+							.orElse(n);
+					updated.put(name, new ArrayList<>(v));
+				}
+			});
+			final CacheDirectives directives = CacheDirectives.parse(first(updated, HttpHeaders.CACHE_CONTROL));
+			final String newEtag = first(updated, HttpHeaders.ETAG);
+			final String newLastModified = first(updated, HttpHeaders.LAST_MODIFIED);
+			return new CacheEntry(status, updated, entity, (newEtag != null) ? newEtag : etag,
+					(newLastModified != null) ? newLastModified : lastModified,
+					directives.noCache ? 0
+							: lifetime(directives, first(updated, HttpHeaders.EXPIRES), first(updated, AGE)),
+					vary);
+		}
+
+		/**
+		 * Get the freshness lifetime, in milliseconds.
+		 * @param directives Response cache control
+		 * @param expires <code>Expires</code> header value
+		 * @param age <code>Age</code> header value, subtracted from the <code>max-age</code> lifetime
+		 * @return The freshness lifetime
+		 */
+		static long lifetime(CacheDirectives directives, String expires, String age) {
+			if (directives.maxAge >= 0) {
+				return Math.max(0, directives.maxAge - age(age)) * 1000L;
+			}
+			if (expires != null) {
+				try {
+					return ZonedDateTime
+							.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant()
+							.toEpochMilli() - System.currentTimeMillis();
+				} catch (DateTimeParseException e) {
+					// invalid dates represent a time in the past
+					return 0;
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * Parse an <code>Age</code> header value.
+		 * @param age The header value
+		 * @return The age in seconds, <code>0</code> if missing or invalid
+		 */
+		private static long age(String age) {
+			if (age != null) {
+				try {
+					return Math.max(0, Long.parseLong(age.trim()));
+				} catch (NumberFormatException e) {
+					// ignore invalid values (RFC 9111, 5.1)
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * Get the request header values for the header names listed by a <code>Vary</code> response header. The
+		 * <code>Cookie</code> request header is always included, to never share a response among different cookies.
+		 * @param vary The <code>Vary</code> header value
+		 * @param requestHeaders The request headers
+		 * @return The request header values by name
+		 */
+		static Map<String, String> varyHeaders(String vary, MultivaluedMap<String, String> requestHeaders) {
+			final Map<String, String> values = new HashMap<>();
+			values.put(HttpHeaders.COOKIE, joinHeader(requestHeaders, HttpHeaders.COOKIE));
+			if (vary == null || vary.trim().isEmpty()) {
+				return values;
+			}
+			for (String name : vary.split(",")) {
+				if (!name.trim().isEmpty()) {
+					values.put(name.trim(), joinHeader(requestHeaders, name.trim()));
+				}
+			}
+			return values;
+		}
+
+		private static String joinHeader(MultivaluedMap<String, String> headers, String name) {
+			for (Entry<String, List<String>> header : headers.entrySet()) {
+				if (header.getKey().equalsIgnoreCase(name)) {
+					return String.join(",", header.getValue());
+				}
+			}
+			return null;
+		}
+
+		private static String first(MultivaluedMap<String, String> headers, String name) {
+			final String value = joinHeader(headers, name);
+			return (value != null && !value.isEmpty()) ? value : null;
+		}
+
+	}
+
+	/**
+	 * Parsed <code>Cache-Control</code> header directives.
+	 */
+	private static final class CacheDirectives {
+
+		private static final CacheDirectives NONE = new CacheDirectives(false, false, -1, false, false);
+
+		final boolean noStore;
+		final boolean noCache;
+		final long maxAge;
+		// public, s-maxage or must-revalidate: an authorized response can be stored
+		final boolean shareable;
+		// private: the response is intended for a single user and cannot be stored by a shared cache
+		final boolean privateResponse;
+
+		CacheDirectives(boolean noStore, boolean noCache, long maxAge, boolean shareable, boolean privateResponse) {
+			super();
+			this.noStore = noStore;
+			this.noCache = noCache;
+			this.maxAge = maxAge;
+			this.shareable = shareable;
+			this.privateResponse = privateResponse;
+		}
+
+		static CacheDirectives parse(String value) {
+			if (value == null || value.trim().isEmpty()) {
+				return NONE;
+			}
+			boolean noStore = false;
+			boolean noCache = false;
+			long maxAge = -1;
+			boolean shareable = false;
+			boolean privateResponse = false;
+			for (String directive : value.split(",")) {
+				final String d = directive.trim().toLowerCase(Locale.ROOT);
+				if (d.equals("no-store")) {
+					noStore = true;
+				} else if (d.equals("no-cache") || d.startsWith("no-cache=")) {
+					noCache = true;
+				} else if (d.equals("public") || d.equals("must-revalidate") || d.startsWith("s-maxage=")) {
+					shareable = true;
+				} else if (d.equals("private") || d.startsWith("private=")) {
+					privateResponse = true;
+				} else if (d.startsWith("max-age=")) {
+					try {
+						maxAge = Long.parseLong(d.substring(8).replace("\"", "").trim());
+					} catch (NumberFormatException e) {
+						noCache = true;
+					}
+				}
+			}
+			return new CacheDirectives(noStore, noCache, maxAge, shareable, privateResponse);
+		}
+
+	}
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.net.URI;
+import java.util.Map;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Invocation.Builder;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Configuration;
+import jakarta.ws.rs.core.Link;
+import jakarta.ws.rs.core.UriBuilder;
+
+/**
+ * A view of a JAX-RS {@link Client} shared by more than one <code>RestClient</code>, provided by the
+ * {@link SharedClientRegistry}.
+ * <p>
+ * The view cannot be closed nor configured: the {@link #close()}, <code>property</code> and <code>register</code>
+ * methods throw an {@link UnsupportedOperationException}, since they would affect every other <code>RestClient</code>
+ * bound to the same client. The {@link WebTarget}s obtained from the view can be configured as usual.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+final class SharedClient implements Client {
+
+	/**
+	 * Shared client
+	 */
+	private final Client client;
+
+	/**
+	 * Constructor
+	 * @param client The shared client
+	 */
+	SharedClient(Client client) {
+		super();
+		this.client = client;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.Client#close()
+	 */
+	@Override
+	public void close() {
+		throw unsupported("closed");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.Client#target(java.lang.String)
+	 */
+	@Override
+	public WebTarget target(String uri) {
+		return client.target(uri);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.Client#target(java.net.URI)
+	 */
+	@Override
+	public WebTarget target(URI uri) {
+		return client.target(uri);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.Client#target(jakarta.ws.rs.core.UriBuilder)
+	 */
+	@Override
+	public WebTarget target(UriBuilder uriBuilder) {
+		return client.target(uriBuilder);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.Client#target(jakarta.ws.rs.core.Link)
+	 */
+	@Override
+	public WebTarget target(Link link) {
+		return client.target(link);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.Client#invocation(jakarta.ws.rs.core.Link)
+	 */
+	@Override
+	public Builder invocation(Link link) {
+		return client.invocation(link);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.Client#getSslContext()
+	 */
+	@Override
+	public SSLContext getSslContext() {
+		return client.getSslContext();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.client.Client#getHostnameVerifier()
+	 */
+	@Override
+	public HostnameVerifier getHostnameVerifier() {
+		return client.getHostnameVerifier();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Configurable#getConfiguration()
+	 */
+	@Override
+	public Configuration getConfiguration() {
+		return client.getConfiguration();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Configurable#property(java.lang.String, java.lang.Object)
+	 */
+	@Override
+	public Client property(String name, Object value) {
+		throw unsupported("configured");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Configurable#register(java.lang.Class)
+	 */
+	@Override
+	public Client register(Class<?> componentClass) {
+		throw unsupported("configured");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Configurable#register(java.lang.Class, int)
+	 */
+	@Override
+	public Client register(Class<?> componentClass, int priority) {
+		throw unsupported("configured");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Configurable#register(java.lang.Class, java.lang.Class[])
+	 */
+	@Override
+	public Client register(Class<?> componentClass, Class<?>... contracts) {
+		throw unsupported("configured");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Configurable#register(java.lang.Class, java.util.Map)
+	 */
+	@Override
+	public Client register(Class<?> componentClass, Map<Class<?>, Integer> contracts) {
+		throw unsupported("configured");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Configurable#register(java.lang.Object)
+	 */
+	@Override
+	public Client register(Object component) {
+		throw unsupported("configured");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Configurable#register(java.lang.Object, int)
+	 */
+	@Override
+	public Client register(Object component, int priority) {
+		throw unsupported("configured");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Configurable#register(java.lang.Object, java.lang.Class[])
+	 */
+	@Override
+	public Client register(Object component, Class<?>... contracts) {
+		throw unsupported("configured");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Configurable#register(java.lang.Object, java.util.Map)
+	 */
+	@Override
+	public Client register(Object component, Map<Class<?>, Integer> contracts) {
+		throw unsupported("configured");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "SharedClient [" + client + "]";
+	}
+
+	private static UnsupportedOperationException unsupported(String operation) {
+		return new UnsupportedOperationException("A shared JAX-RS Client cannot be " + operation
+				+ ": build the RestClient using a dedicated JAX-RS Client instance to customize it");
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jaxrs.client.JaxrsRestClient;
+import com.holonplatform.jaxrs.internal.JaxrsLogger;
+
+/**
+ * Registry of the JAX-RS {@link Client} instances shared by the JAX-RS <code>RestClient</code> factories.
+ * <p>
+ * For each {@link ClassLoader}, a pool of {@link Client} instances is lazily built and the pooled instances are
+ * provided using a round-robin strategy. The pool size can be configured using the
+ * {@link JaxrsRestClient#SHARED_CLIENT_POOL_SIZE} system property and defaults to <code>1</code>. The pooled
+ * instances are provided as {@link SharedClient} views, which cannot be closed nor configured.
+ * </p>
+ * <p>
+ * The pools are strongly referenced, since the responses and the in-flight invocations reference only the pooled
+ * clients, and are closed only when the JVM shuts down, when {@link #closeAll()} is invoked or, for a single
+ * ClassLoader, when {@link #close(ClassLoader)} is invoked, for example when an application is undeployed. A new pool
+ * is built at the next request after the shared clients are closed.
+ * </p>
+ * <p>
+ * The client sharing can be disabled setting the {@link JaxrsRestClient#SHARED_CLIENT} system property to
+ * <code>false</code>: in this case a new, configurable client is built for each <code>RestClient</code>.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public final class SharedClientRegistry {
+
+	private static final Logger LOGGER = JaxrsLogger.create();
+
+	/**
+	 * Shared clients by ClassLoader
+	 */
+	private static final Map<ClassLoader, ClientPool> POOLS = new HashMap<>();
+
+	/**
+	 * Whether the JVM shutdown hook was registered
+	 */
+	private static boolean shutdownHookRegistered = false;
+
+	private SharedClientRegistry() {
+	}
+
+	/**
+	 * Get a shared JAX-RS {@link Client} for given <code>classLoader</code>.
+	 * <p>
+	 * The returned client is a {@link SharedClient} view, which cannot be configured nor closed by the caller. If the
+	 * client sharing is disabled, a new dedicated client is returned.
+	 * </p>
+	 * @param classLoader The ClassLoader to use to build the client (if null, the default ClassLoader is used)
+	 * @return A shared JAX-RS {@link Client}
+	 */
+	public static Client getClient(ClassLoader classLoader) {
+		if (!isSharingEnabled()) {
+			return ClientBuilder.newClient();
+		}
+		final ClassLoader cl = (classLoader != null) ? classLoader : getDefaultClassLoader();
+		final ClientPool pool;
+		synchronized (POOLS) {
+			if (!shutdownHookRegistered) {
+				Runtime.getRuntime().addShutdownHook(
+						new Thread(SharedClientRegistry::closeAll, "holon-jaxrs-shared-client-shutdown"));
+				shutdownHookRegistered = true;
+			}
+			pool = POOLS.computeIfAbsent(cl, c -> new ClientPool(c, getPoolSize()));
+		}
+		return pool.next();
+	}
+
+	/**
+	 * Close and remove all the shared clients.
+	 */
+	public static void closeAll() {
+		final List<ClientPool> pools;
+		synchronized (POOLS) {
+			pools = new ArrayList<>(POOLS.values());
+			POOLS.clear();
+		}
+		pools.forEach(p -> p.close());
+	}
+
+	/**
+	 * Close and remove the shared clients bound to given <code>classLoader</code>, if any.
+	 * @param classLoader The ClassLoader (if null, the default ClassLoader is used)
+	 */
+	public static void close(ClassLoader classLoader) {
+		final ClassLoader cl = (classLoader != null) ? classLoader : getDefaultClassLoader();
+		final ClientPool pool;
+		synchronized (POOLS) {
+			pool = POOLS.remove(cl);
+		}
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
+	/**
+	 * Checks whether the client sharing is enabled.
+	 * @return <code>true</code> unless the {@link JaxrsRestClient#SHARED_CLIENT} system property is <code>false</code>
+	 */
+	private static boolean isSharingEnabled() {
+		final String value = System.getProperty(JaxrsRestClient.SHARED_CLIENT);
+		return value == null || !"false".equalsIgnoreCase(value.trim());
+	}
+
+	/**
+	 * Get the configured pool size.
+	 * @return The pool size, at least <code>1</code>
+	 */
+	private static int getPoolSize() {
+		final String value = System.getProperty(JaxrsRestClient.SHARED_CLIENT_POOL_SIZE);
+		if (value != null && !value.trim().isEmpty()) {
+			try {
+				return Math.max(1, Integer.parseInt(value.trim()));
+			} catch (NumberFormatException e) {
+				LOGGER.warn("Invalid " + JaxrsRestClient.SHARED_CLIENT_POOL_SIZE + " system property value: ["
+						+ value + "], using the default pool size");
+			}
+		}
+		return 1;
+	}
+
+	private static ClassLoader getDefaultClassLoader() {
+		final ClassLoader cl = Thread.currentThread().getContextClassLoader();
+		return (cl != null) ? cl : SharedClientRegistry.class.getClassLoader();
+	}
+
+	/**
+	 * A pool of JAX-RS clients bound to a ClassLoader.
+	 */
+	private static final class ClientPool {
+
+		private final Client[] pooled;
+
+		private final SharedClient[] clients;
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		ClientPool(ClassLoader classLoader, int size) {
+			super();
+			this.pooled = new Client[size];
+			this.clients = new SharedClient[size];
+			for (int i = 0; i < size; i++) {
+				pooled[i] = buildClient(classLoader);
+				clients[i] = new SharedClient(pooled[i]);
+			}
+			LOGGER.debug(() -> "Built a pool of " + size + " shared JAX-RS Client instances for ClassLoader ["
+					+ classLoader + "]");
+		}
+
+		/**
+		 * Get the next client of the pool.
+		 * @return The next client
+		 */
+		SharedClient next() {
+			if (clients.length == 1) {
+				return clients[0];
+			}
+			return clients[Math.floorMod(counter.getAndIncrement(), clients.length)];
+		}
+
+		/**
+		 * Close all the pooled clients.
+		 */
+		void close() {
+			for (Client client : pooled) {
+				try {
+					client.close();
+				} catch (Exception e) {
+					LOGGER.warn("Failed to close a shared JAX-RS Client", e);
+				}
+			}
+		}
+
+		/**
+		 * Build a new client, using given ClassLoader as context ClassLoader to discover the JAX-RS implementation.
+		 * The client is set up for the RestClient invocations, since the shared clients cannot be configured.
+		 * @param classLoader The ClassLoader to use
+		 * @return A new client
+		 */
+		private static Client buildClient(ClassLoader classLoader) {
+			final Thread thread = Thread.currentThread();
+			final ClassLoader current = thread.getContextClassLoader();
+			try {
+				thread.setContextClassLoader(classLoader);
+				return JaxrsRestClientOperations.setup(ClientBuilder.newClient());
+			} finally {
+				thread.setContextClassLoader(current);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.ws.rs.core.GenericType;
+import jakarta.ws.rs.core.Response;
+
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+/**
+ * A {@link ResponseEntity} bound to a JAX-RS {@link Response} shared with other response entities, for example by
+ * coalesced requests.
+ * <p>
+ * The response entity must be already buffered, so the response is no longer bound to a connection: the
+ * {@link #close()} method has no effect, to allow the other response entities to read the shared entity.
+ * </p>
+ * <p>
+ * Since the buffered entity cannot be consumed concurrently, an entity read as an {@link InputStream} is a copy of the
+ * buffered bytes and an entity read as a {@link Stream} is decoded when it is read. Closing them never closes the
+ * shared response.
+ * </p>
+ *
+ * @param <T> Response entity type
+ *
+ * @since 6.0.1
+ */
+public class SharedResponseEntity<T> extends JaxrsResponseEntity<T> {
+
+	/**
+	 * Constructor
+	 * @param response JAX-RS Response, with a buffered entity (not null)
+	 * @param type Response type (not null)
+	 */
+	public SharedResponseEntity(Response response, ResponseType<T> type) {
+		super(response, type, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.internal.JaxrsResponseEntity#readInputStream()
+	 */
+	@Override
+	protected InputStream readInputStream() {
+		final byte[] bytes = getResponse().readEntity(byte[].class);
+		return (bytes != null) ? new ByteArrayInputStream(bytes) : null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.internal.JaxrsResponseEntity#readStream(java.lang.reflect.Type)
+	 */
+	@Override
+	protected Stream<?> readStream(Type streamType) {
+		try (Stream<?> stream = getResponse().readEntity(new GenericType<Stream<?>>(streamType))) {
+			return (stream != null) ? stream.collect(Collectors.toList()).stream() : null;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.client.internal.JaxrsResponseEntity#close()
+	 */
+	@Override
+	public void close() {
+		// the shared response is released when no longer referenced
+	}
+
+}
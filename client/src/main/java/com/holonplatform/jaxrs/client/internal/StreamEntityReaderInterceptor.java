@@ -0,0 +1,242 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.Providers;
+import jakarta.ws.rs.ext.ReaderInterceptor;
+import jakarta.ws.rs.ext.ReaderInterceptorContext;
+
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.jaxrs.internal.media.EntityStreams;
+import com.holonplatform.jaxrs.internal.media.PropertyBoxCollectionFormDataProvider;
+
+/**
+ * JAX-RS {@link ReaderInterceptor} to read a response entity as a {@link Stream} of elements.
+ * <p>
+ * When the response media type is handled by a message body reader which natively supports the {@link Stream} type,
+ * such as the {@link PropertyBoxCollectionFormDataProvider}, the entity is read by such reader, which decodes the
+ * elements lazily. Otherwise, the entity is read as a {@link List} of the same element type and the list elements are
+ * returned as a {@link Stream}.
+ * </p>
+ * <p>
+ * A {@link #APPLICATION_NDJSON} (newline delimited JSON) entity is always read lazily: each line is decoded as a JSON
+ * element only when the {@link Stream} is advanced, so the elements are pulled from the response stream on demand.
+ * A JSON array entity (<code>application/json</code>) is read as a {@link List} instead, since the JSON array elements
+ * can only be split by a full JSON parser: the {@link #APPLICATION_NDJSON} media type should be used to stream large
+ * JSON collections.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class StreamEntityReaderInterceptor implements ReaderInterceptor {
+
+	/**
+	 * Newline delimited JSON media type
+	 */
+	public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+	/**
+	 * Newline delimited JSON media type
+	 */
+	public static final MediaType APPLICATION_NDJSON_TYPE = MediaType.valueOf(APPLICATION_NDJSON);
+
+
+	@Context
+	private Providers providers;
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.ext.ReaderInterceptor#aroundReadFrom(jakarta.ws.rs.ext.ReaderInterceptorContext)
+	 */
+	@Override
+	public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException {
+		if (Stream.class == context.getType() && providers != null) {
+			final Class<?> elementType = getElementType(context.getGenericType());
+			if (elementType != null && APPLICATION_NDJSON_TYPE.isCompatible(context.getMediaType())) {
+				return readNdjson(context, elementType);
+			}
+			final Type listType = getListType(context.getGenericType());
+			if (listType != null && !isStreamReader(providers.getMessageBodyReader(Stream.class,
+					context.getGenericType(), context.getAnnotations(), context.getMediaType()))) {
+				// read as list
+				context.setType(List.class);
+				context.setGenericType(listType);
+				final Object list = context.proceed();
+				return (list != null) ? ((List<?>) list).stream() : Stream.empty();
+			}
+		}
+		return context.proceed();
+	}
+
+	/**
+	 * Read a newline delimited JSON entity as a lazy {@link Stream} of given element type.
+	 * @param <E> Element type
+	 * @param context Interceptor context
+	 * @param elementType Element type
+	 * @return The lazy {@link Stream}
+	 * @throws IOException If no JSON message body reader is available for the element type
+	 */
+	private <E> Stream<E> readNdjson(ReaderInterceptorContext context, Class<E> elementType) throws IOException {
+		final MessageBodyReader<E> reader = providers.getMessageBodyReader(elementType, elementType,
+				context.getAnnotations(), MediaType.APPLICATION_JSON_TYPE);
+		if (reader == null) {
+			throw new IOException("No JSON message body reader available for type [" + elementType.getName() + "]");
+		}
+		final MultivaluedMap<String, String> headers = getElementHeaders(context.getHeaders());
+		final InputStream entityStream = context.getInputStream();
+		final BufferedReader lines = new BufferedReader(
+				new InputStreamReader(entityStream, getCharset(context.getMediaType())));
+		return EntityStreams.lazy(() -> {
+			String line;
+			while ((line = lines.readLine()) != null) {
+				if (!line.trim().isEmpty()) {
+					return decodeElement(reader, elementType, context, headers, line);
+				}
+			}
+			return null;
+		}, entityStream);
+	}
+
+	/**
+	 * Decode a JSON element using given reader. If a {@link PropertySet} is provided by the
+	 * {@link PropertyBoxReaderInterceptor#PROPERTY_SET_PROPERTY_NAME} property, it is bound to the current thread
+	 * during the read operation.
+	 * @param <E> Element type
+	 * @param reader Message body reader
+	 * @param elementType Element type
+	 * @param context Interceptor context
+	 * @param headers Element headers
+	 * @param element Element content
+	 * @return The element
+	 */
+	private static <E> E decodeElement(MessageBodyReader<E> reader, Class<E> elementType,
+			ReaderInterceptorContext context, MultivaluedMap<String, String> headers, String element) {
+		final Object propertySet = context.getProperty(PropertyBoxReaderInterceptor.PROPERTY_SET_PROPERTY_NAME);
+		if (propertySet instanceof PropertySet) {
+			return com.holonplatform.core.Context.get().executeThreadBound(PropertySet.CONTEXT_KEY,
+					(PropertySet<?>) propertySet, () -> readElement(reader, elementType, context, headers, element));
+		}
+		return readElement(reader, elementType, context, headers, element);
+	}
+
+	/**
+	 * Read a JSON element using given reader.
+	 * @param <E> Element type
+	 * @param reader Message body reader
+	 * @param elementType Element type
+	 * @param context Interceptor context
+	 * @param headers Element headers
+	 * @param element Element content
+	 * @return The element
+	 */
+	private static <E> E readElement(MessageBodyReader<E> reader, Class<E> elementType,
+			ReaderInterceptorContext context, MultivaluedMap<String, String> headers, String element) {
+		try {
+			return reader.readFrom(elementType, elementType, context.getAnnotations(), MediaType.APPLICATION_JSON_TYPE,
+					headers, new ByteArrayInputStream(element.getBytes(StandardCharsets.UTF_8)));
+		} catch (IOException e) {
+			throw new ProcessingException("Failed to decode a [" + context.getMediaType() + "] element as ["
+					+ elementType.getName() + "]", e);
+		}
+	}
+
+	/**
+	 * Get the headers to provide to the message body reader when decoding a single element: the entity headers which
+	 * do not apply to the element, such as the <code>Content-Length</code>, are removed and the
+	 * <code>Content-Type</code> is replaced by the UTF-8 JSON media type.
+	 * @param entityHeaders The entity headers
+	 * @return The element headers
+	 */
+	private static MultivaluedMap<String, String> getElementHeaders(MultivaluedMap<String, String> entityHeaders) {
+		final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+		entityHeaders.forEach((name, values) -> {
+			if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+					&& !HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+				headers.put(name, new ArrayList<>(values));
+			}
+		});
+		headers.putSingle(HttpHeaders.CONTENT_TYPE,
+				MediaType.APPLICATION_JSON_TYPE.withCharset(StandardCharsets.UTF_8.name()).toString());
+		return headers;
+	}
+
+	/**
+	 * Get the charset declared by given media type.
+	 * @param mediaType The media type
+	 * @return The declared charset, UTF-8 if none
+	 */
+	private static Charset getCharset(MediaType mediaType) {
+		final String charset = (mediaType != null) ? mediaType.getParameters().get(MediaType.CHARSET_PARAMETER) : null;
+		return (charset != null) ? Charset.forName(charset) : StandardCharsets.UTF_8;
+	}
+
+	/**
+	 * Checks whether given reader natively supports the {@link Stream} type.
+	 * @param reader The reader to check
+	 * @return <code>true</code> if given reader natively supports the {@link Stream} type
+	 */
+	private static boolean isStreamReader(MessageBodyReader<?> reader) {
+		return reader instanceof PropertyBoxCollectionFormDataProvider;
+	}
+
+	/**
+	 * Get the {@link List} type with the same element type of given {@link Stream} type.
+	 * @param streamType The {@link Stream} type
+	 * @return The {@link List} type, <code>null</code> if the element type is not a class
+	 */
+	private static Type getListType(Type streamType) {
+		final Class<?> elementType = getElementType(streamType);
+		return (elementType != null) ? ResponseType.of(elementType, List.class).getType() : null;
+	}
+
+	/**
+	 * Get the element type of given {@link Stream} type.
+	 * @param streamType The {@link Stream} type
+	 * @return The element type, <code>null</code> if the element type is not a class
+	 */
+	private static Class<?> getElementType(Type streamType) {
+		if (streamType instanceof ParameterizedType) {
+			final Type[] arguments = ((ParameterizedType) streamType).getActualTypeArguments();
+			if (arguments.length == 1 && arguments[0] instanceof Class) {
+				return (Class<?>) arguments[0];
+			}
+		}
+		return null;
+	}
+
+}
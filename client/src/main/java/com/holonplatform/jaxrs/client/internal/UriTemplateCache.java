@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.client.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.ws.rs.core.UriBuilder;
+
+/**
+ * Cache of the parsed request URI templates, shared by all the JAX-RS <code>RestClient</code>s.
+ * <p>
+ * Only the URIs which contain template variables (for example <code>users/{id}</code>) are cached, since an already
+ * expanded URI is unlikely to be requested again. The cache evicts the least recently used templates when the max
+ * size is exceeded.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public final class UriTemplateCache {
+
+	/**
+	 * Max number of cached URI templates
+	 */
+	public static final int MAX_SIZE = 512;
+
+	/**
+	 * Parsed URI templates, by request URI, in access order
+	 */
+	private static final LinkedHashMap<String, UriBuilder> TEMPLATES = new LinkedHashMap<String, UriBuilder>(16,
+			0.75f, true) {
+
+		private static final long serialVersionUID = -3404578618347404395L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, UriBuilder> eldest) {
+			return size() > MAX_SIZE;
+		}
+
+	};
+
+	private UriTemplateCache() {
+	}
+
+	/**
+	 * Get a {@link UriBuilder} for given request URI, using the cached template if available.
+	 * @param requestURI The request URI, which may contain template variables
+	 * @return A new {@link UriBuilder} instance, which can be modified by the caller
+	 */
+	public static UriBuilder get(String requestURI) {
+		if (!isTemplate(requestURI)) {
+			return UriBuilder.fromUri(requestURI);
+		}
+		UriBuilder template;
+		synchronized (TEMPLATES) {
+			template = TEMPLATES.get(requestURI);
+		}
+		if (template == null) {
+			template = UriBuilder.fromUri(requestURI);
+			synchronized (TEMPLATES) {
+				TEMPLATES.putIfAbsent(requestURI, template);
+			}
+		}
+		return template.clone();
+	}
+
+	/**
+	 * Checks whether the template of given request URI is cached.
+	 * @param requestURI The request URI
+	 * @return <code>true</code> if the template is cached
+	 */
+	public static boolean isCached(String requestURI) {
+		synchronized (TEMPLATES) {
+			return TEMPLATES.containsKey(requestURI);
+		}
+	}
+
+	/**
+	 * Get the number of cached templates.
+	 * @return The cached templates count, at most {@link #MAX_SIZE}
+	 */
+	public static int size() {
+		synchronized (TEMPLATES) {
+			return TEMPLATES.size();
+		}
+	}
+
+	/**
+	 * Checks whether given request URI contains template variables.
+	 * @param requestURI The request URI
+	 * @return <code>true</code> if the URI contains template variables
+	 */
+	private static boolean isTemplate(String requestURI) {
+		return requestURI.indexOf('{') >= 0;
+	}
+
+}
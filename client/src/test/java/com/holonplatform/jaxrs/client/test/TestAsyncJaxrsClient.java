@@ -16,7 +16,10 @@
 package com.holonplatform.jaxrs.client.test;
 
 import static com.holonplatform.core.property.PathProperty.create;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -24,15 +27,28 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.FormParam;
@@ -44,6 +60,11 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.client.AsyncInvoker;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.Invocation.Builder;
 import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Application;
@@ -51,6 +72,7 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriBuilder;
 
 import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.logging.LoggingFeature;
@@ -65,14 +87,32 @@ import com.holonplatform.core.property.PathProperty;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.core.property.PropertySetRef;
+import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.HttpStatus;
 import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
 import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
 import com.holonplatform.jaxrs.client.JaxrsAsyncRestClient;
+import com.holonplatform.jaxrs.client.JaxrsRestClient;
+import com.holonplatform.jaxrs.client.LoadBalancingStrategy;
+import com.holonplatform.jaxrs.client.MicrometerMetricsFeature;
+import com.holonplatform.jaxrs.client.RateLimit;
+import com.holonplatform.jaxrs.client.RateLimitExceededException;
+import com.holonplatform.jaxrs.client.RateLimitFeature;
+import com.holonplatform.jaxrs.client.RateLimitMetrics;
+import com.holonplatform.jaxrs.client.ResilienceFeature;
+import com.holonplatform.jaxrs.client.ResiliencePolicy;
+import com.holonplatform.jaxrs.client.internal.JaxrsClientAsyncRestClient;
+import com.holonplatform.jaxrs.client.internal.JaxrsRestClientOperations;
+import com.holonplatform.jaxrs.client.internal.LoadBalancer;
 import com.holonplatform.jaxrs.client.test.TestJaxrsClient.ApiError;
 import com.holonplatform.jaxrs.client.test.TestJaxrsClient.TestData;
 import com.holonplatform.test.JerseyTest5;
 
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 public class TestAsyncJaxrsClient extends JerseyTest5 {
 
 	private static ExecutorService executorService;
@@ -82,6 +122,11 @@ public class TestAsyncJaxrsClient extends JerseyTest5 {
 
 	public static final PropertySet<?> PROPERTIES = PropertySet.of(CODE, VALUE);
 
+	static final AtomicInteger RUNNING = new AtomicInteger();
+	static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+	static final AtomicInteger HITS = new AtomicInteger();
+	static final AtomicInteger FAILURES = new AtomicInteger();
+
 	public TestAsyncJaxrsClient() {
 		super();
 		SLF4JBridgeHandler.removeHandlersForRootLogger();
@@ -105,6 +150,80 @@ public class TestAsyncJaxrsClient extends JerseyTest5 {
 			});
 		}
 
+		@GET
+		@Path("concurrent")
+		@Produces(MediaType.TEXT_PLAIN)
+		public String concurrent() throws InterruptedException {
+			final int current = RUNNING.incrementAndGet();
+			MAX_RUNNING.accumulateAndGet(current, Math::max);
+			try {
+				Thread.sleep(20);
+				return String.valueOf(current);
+			} finally {
+				RUNNING.decrementAndGet();
+			}
+		}
+
+		@GET
+		@Path("counted")
+		@Produces(MediaType.TEXT_PLAIN)
+		public String counted() throws InterruptedException {
+			final int hit = HITS.incrementAndGet();
+			Thread.sleep(300);
+			return "hit" + hit;
+		}
+
+		@GET
+		@Path("counted/ndjson")
+		@Produces("application/x-ndjson")
+		public StreamingOutput countedNdjson() throws InterruptedException {
+			HITS.incrementAndGet();
+			Thread.sleep(300);
+			return new StreamingOutput() {
+				@Override
+				public void write(OutputStream output) throws IOException, WebApplicationException {
+					for (int i = 1; i <= 100; i++) {
+						output.write(("{\"code\":" + i + ",\"value\":\"value" + i + "\"}\n")
+								.getBytes(StandardCharsets.UTF_8));
+					}
+				}
+			};
+		}
+
+		@GET
+		@Path("lb")
+		@Produces(MediaType.TEXT_PLAIN)
+		public String balanced() throws InterruptedException {
+			Thread.sleep(100);
+			return "balanced";
+		}
+
+		@GET
+		@Path("lb/failing/test/lb")
+		@Produces(MediaType.TEXT_PLAIN)
+		public Response balancedFailing() {
+			return Response.status(Status.INTERNAL_SERVER_ERROR).build();
+		}
+
+		@GET
+		@Path("unavailable")
+		@Produces(MediaType.TEXT_PLAIN)
+		public Response unavailable() {
+			final int hit = HITS.incrementAndGet();
+			if (FAILURES.getAndDecrement() > 0) {
+				return Response.status(Status.SERVICE_UNAVAILABLE).build();
+			}
+			return Response.ok("hit" + hit).build();
+		}
+
+		@GET
+		@Path("hang")
+		@Produces(MediaType.TEXT_PLAIN)
+		public void hang(@Suspended AsyncResponse ar) {
+			// never resumed, expires after the timeout
+			ar.setTimeout(5, TimeUnit.SECONDS);
+		}
+
 		@GET
 		@Path("data/{id}")
 		@Produces(MediaType.APPLICATION_JSON)
@@ -294,6 +413,382 @@ public class TestAsyncJaxrsClient extends JerseyTest5 {
 
 	}
 
+	@Test
+	public void testCancellation() throws InterruptedException, ExecutionException {
+
+		// record the futures returned by the JAX-RS AsyncInvoker
+		final List<Future<?>> invocations = new CopyOnWriteArrayList<>();
+		final AsyncRestClient client = new JaxrsClientAsyncRestClient(getClient()) {
+
+			@Override
+			protected CompletableFuture<Response> invoke(Builder builder, HttpMethod method, Entity<?> entity) {
+				final AsyncInvoker invoker = builder.async();
+				return JaxrsRestClientOperations.invokeAsync((AsyncInvoker) Proxy.newProxyInstance(
+						getClass().getClassLoader(), new Class<?>[] { AsyncInvoker.class }, (proxy, m, args) -> {
+							final Object result = m.invoke(invoker, args);
+							if (result instanceof Future) {
+								invocations.add((Future<?>) result);
+							}
+							return result;
+						}), method, entity);
+			}
+
+		}.defaultTarget(getBaseUri());
+
+		final CompletableFuture<?> timed = client.request().path("test").path("hang").get(String.class)
+				.toCompletableFuture().orTimeout(200, TimeUnit.MILLISECONDS);
+		final CompletionException ce = assertThrows(CompletionException.class, () -> timed.join());
+		assertTrue(ce.getCause() instanceof TimeoutException);
+		assertEquals(1, invocations.size());
+		// the timeout aborts the in-flight request
+		assertTrue(invocations.get(0).isCancelled());
+
+		final CompletableFuture<?> cancelled = client.request().path("test").path("hang").get(String.class)
+				.toCompletableFuture();
+		assertEquals(2, invocations.size());
+		assertFalse(invocations.get(1).isDone());
+		assertTrue(cancelled.cancel(true));
+		// the cancellation aborts the in-flight request
+		assertTrue(invocations.get(1).isCancelled());
+
+		// the client is still usable
+		assertEquals("PONG", client.request().path("test").path("ping").get(String.class).toCompletableFuture()
+				.get().getPayload().orElse(null));
+	}
+
+	@Test
+	public void testCompletionExecutor() {
+		final ExecutorService completion = Executors.newSingleThreadExecutor(r -> new Thread(r, "test-completion"));
+		try {
+			final AsyncRestClient client = JaxrsAsyncRestClient.create(getClient(), completion)
+					.defaultTarget(getBaseUri());
+
+			final String thread = client.request().path("test").path("ping").get(String.class)
+					.thenApply(r -> Thread.currentThread().getName()).toCompletableFuture().join();
+			assertEquals("test-completion", thread);
+		} finally {
+			completion.shutdown();
+		}
+
+		try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+			final AsyncRestClient client = JaxrsAsyncRestClient.create(getClient(), virtual)
+					.defaultTarget(getBaseUri());
+			assertTrue(client.request().path("test").path("ping").get(String.class)
+					.thenApply(r -> Thread.currentThread().isVirtual()).toCompletableFuture().join());
+		}
+	}
+
+	@Test
+	public void testVirtualThreads() {
+		final AsyncRestClient client = JaxrsAsyncRestClient.createWithVirtualThreads(getClient(), 4)
+				.defaultTarget(getBaseUri());
+
+		assertEquals("PONG", client.request().path("test").path("ping").get(String.class)
+				.thenApply(r -> Thread.currentThread().isVirtual() ? r.getPayload().orElse(null) : null)
+				.toCompletableFuture().join());
+
+		MAX_RUNNING.set(0);
+		final List<CompletableFuture<String>> operations = IntStream.range(0, 40)
+				.mapToObj(i -> client.request().path("test").path("concurrent").getForEntity(String.class)
+						.thenApply(r -> r.orElse(null)).toCompletableFuture())
+				.collect(Collectors.toList());
+		operations.forEach(o -> assertNotNull(o.join()));
+		assertTrue(MAX_RUNNING.get() > 0);
+		assertTrue(MAX_RUNNING.get() <= 4);
+
+		// the permit is held until the response entity is consumed
+		final AsyncRestClient single = JaxrsAsyncRestClient.createWithVirtualThreads(getClient(), 1)
+				.defaultTarget(getBaseUri());
+		final InputStream stream = single.request().path("test").path("ping").getForStream().toCompletableFuture()
+				.join();
+		final CompletableFuture<String> next = single.request().path("test").path("ping").getForEntity(String.class)
+				.thenApply(r -> r.orElse(null)).toCompletableFuture();
+		assertThrows(TimeoutException.class, () -> next.get(500, TimeUnit.MILLISECONDS));
+		try {
+			stream.close();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		assertEquals("PONG", next.join());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> JaxrsAsyncRestClient.createWithVirtualThreads(getClient(), 0));
+	}
+
+	@Test
+	public void testRequestCoalescing() {
+		final Client jaxrsClient = ClientBuilder.newBuilder()
+				.property(JaxrsAsyncRestClient.REQUEST_COALESCING, Boolean.TRUE).build();
+		try {
+			final AsyncRestClient client = JaxrsAsyncRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			HITS.set(0);
+			final List<CompletableFuture<String>> operations = IntStream.range(0, 20)
+					.mapToObj(i -> client.request().path("test").path("counted").getForEntity(String.class)
+							.thenApply(r -> r.orElse(null)).toCompletableFuture())
+					.collect(Collectors.toList());
+			final CompletableFuture<String> other = client.request().path("test").path("counted")
+					.authorizationBearer("token").getForEntity(String.class).thenApply(r -> r.orElse(null))
+					.toCompletableFuture();
+
+			final String first = operations.get(0).join();
+			assertNotNull(first);
+			operations.forEach(o -> assertEquals(first, o.join()));
+			assertNotEquals(first, other.join());
+			assertEquals(2, HITS.get());
+
+			// completed requests are not shared
+			assertEquals("hit3", client.request().path("test").path("counted").getForEntity(String.class)
+					.toCompletableFuture().join().orElse(null));
+
+			// each caller reads its own copy of the shared entity stream
+			HITS.set(0);
+			final List<CompletableFuture<InputStream>> streams = IntStream.range(0, 5)
+					.mapToObj(i -> client.request().path("test").path("counted/ndjson").getForStream()
+							.toCompletableFuture())
+					.collect(Collectors.toList());
+			final List<byte[]> contents = streams.parallelStream().map(f -> {
+				try (InputStream stream = f.join()) {
+					return ConversionUtils.convertInputStreamToBytes(stream);
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}).collect(Collectors.toList());
+			assertEquals(1, HITS.get());
+			contents.forEach(c -> assertArrayEquals(contents.get(0), c));
+			assertTrue(new String(contents.get(0), StandardCharsets.UTF_8).endsWith("\"value100\"}\n"));
+
+			// closing a shared entity stream does not close the shared response
+			HITS.set(0);
+			final ResponseType<Stream<TestData>> dataType = ResponseType.of(TestData.class, Stream.class);
+			final List<CompletableFuture<ResponseEntity<Stream<TestData>>>> entities = IntStream.range(0, 5)
+					.mapToObj(i -> client.request().path("test").path("counted/ndjson").get(dataType)
+							.toCompletableFuture())
+					.collect(Collectors.toList());
+			for (CompletableFuture<ResponseEntity<Stream<TestData>>> entity : entities) {
+				try (Stream<TestData> data = entity.join().getPayload().orElse(null)) {
+					assertNotNull(data);
+					assertEquals(5050, data.mapToInt(d -> d.getCode()).sum());
+				}
+			}
+			assertEquals(1, HITS.get());
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testRetry() {
+		final ResiliencePolicy policy = ResiliencePolicy.builder().maxAttempts(3)
+				.backoff(Duration.ofMillis(10), Duration.ofMillis(50)).build();
+		final Client jaxrsClient = ClientBuilder.newClient().register(new ResilienceFeature(policy));
+		try {
+			final AsyncRestClient client = JaxrsAsyncRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			HITS.set(0);
+			FAILURES.set(2);
+			assertEquals("hit3", client.request().path("test").path("unavailable").getForEntity(String.class)
+					.toCompletableFuture().join().orElse(null));
+
+			// cancellation stops the retries
+			HITS.set(0);
+			FAILURES.set(0);
+			final CompletableFuture<?> hang = client.request().path("test").path("hang").getForEntity(String.class)
+					.toCompletableFuture();
+			hang.cancel(true);
+			assertTrue(hang.isCancelled());
+		} finally {
+			jaxrsClient.close();
+		}
+
+		// cancellations are not recorded as circuit breaker failures
+		final Client cbClient = ClientBuilder.newClient().register(new ResilienceFeature(
+				ResiliencePolicy.builder().maxAttempts(1).circuitBreaker(0.5, 2, Duration.ofSeconds(10)).build()));
+		try {
+			final AsyncRestClient client = JaxrsAsyncRestClient.create(cbClient).defaultTarget(getBaseUri());
+			for (int i = 0; i < 2; i++) {
+				final CompletableFuture<?> hang = client.request().path("test").path("hang")
+						.getForEntity(String.class).toCompletableFuture();
+				assertTrue(hang.cancel(true));
+			}
+			assertEquals("PONG", client.request().path("test").path("ping").getForEntity(String.class)
+					.toCompletableFuture().join().orElse(null));
+		} finally {
+			cbClient.close();
+		}
+	}
+
+	@Test
+	public void testMetrics() {
+		final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		final Client jaxrsClient = ClientBuilder.newClient().register(new MicrometerMetricsFeature(registry));
+		try {
+			final AsyncRestClient client = JaxrsAsyncRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			assertEquals("PONG", client.request().path("test").path("ping").getForEntity(String.class)
+					.toCompletableFuture().join().orElse(null));
+
+			final Timer requests = registry.find(MicrometerMetricsFeature.REQUESTS_METRIC).tag("method", "GET")
+					.tag("uri", "/test/ping").tag("status", "2xx").tag("outcome", "SUCCESS").timer();
+			assertNotNull(requests);
+			assertEquals(1, requests.count());
+			final Timer reads = registry.find(MicrometerMetricsFeature.ENTITY_READ_METRIC).tag("uri", "/test/ping")
+					.timer();
+			assertNotNull(reads);
+			assertEquals(1, reads.count());
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testRateLimit() {
+		final RateLimitFeature feature = new RateLimitFeature(RateLimit.builder().rate(2, 1).maxQueueSize(2).build());
+		final Client jaxrsClient = ClientBuilder.newClient().register(feature);
+		try {
+			final AsyncRestClient client = JaxrsAsyncRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			final List<CompletableFuture<Optional<String>>> futures = IntStream.range(0, 4)
+					.mapToObj(i -> client.request().path("test").path("ping").getForEntity(String.class)
+							.toCompletableFuture())
+					.collect(Collectors.toList());
+			final RateLimitMetrics metrics = feature.getClientMetrics().orElse(null);
+			assertNotNull(metrics);
+			assertEquals(2, metrics.getQueueDepth());
+			assertEquals(1, metrics.getRejectedRequests());
+
+			// queued without blocking
+			assertThrows(CompletionException.class, () -> futures.get(3).join());
+			for (int i = 0; i < 3; i++) {
+				assertEquals("PONG", futures.get(i).join().orElse(null));
+			}
+			assertEquals(0, metrics.getQueueDepth());
+		} finally {
+			jaxrsClient.close();
+		}
+
+		// the host permit is acquired before the client permit, which are held until the entity is consumed
+		final RateLimitFeature bulkhead = new RateLimitFeature(RateLimit.builder().maxConcurrentRequests(2).build())
+				.withHostLimit("localhost", RateLimit.builder().maxConcurrentRequests(1).build());
+		final Client bulkheadClient = ClientBuilder.newClient().register(bulkhead);
+		try {
+			final AsyncRestClient client = JaxrsAsyncRestClient.create(bulkheadClient).defaultTarget(getBaseUri());
+			final RateLimitMetrics clientMetrics = bulkhead.getClientMetrics().orElse(null);
+			final RateLimitMetrics hostMetrics = bulkhead.getHostMetrics("localhost").orElse(null);
+			assertNotNull(clientMetrics);
+			assertNotNull(hostMetrics);
+
+			final ResponseEntity<String> response = client.request().path("test").path("ping").get(String.class)
+					.toCompletableFuture().join();
+			assertEquals(1, hostMetrics.getActiveRequests());
+			assertEquals(1, clientMetrics.getActiveRequests());
+
+			final CompletableFuture<Optional<String>> queued = client.request().path("test").path("ping")
+					.getForEntity(String.class).toCompletableFuture();
+			assertEquals(1, hostMetrics.getQueueDepth());
+			assertEquals(1, clientMetrics.getActiveRequests());
+
+			final URI loopback = UriBuilder.fromUri(getBaseUri()).host("127.0.0.1").build();
+			assertEquals("PONG", client.request().target(loopback).path("test").path("ping")
+					.getForEntity(String.class).toCompletableFuture().join().orElse(null));
+			assertFalse(queued.isDone());
+
+			assertEquals("PONG", response.getPayload().orElse(null));
+			assertEquals("PONG", queued.join().orElse(null));
+			assertEquals(0, hostMetrics.getActiveRequests());
+			assertEquals(0, clientMetrics.getActiveRequests());
+		} finally {
+			bulkheadClient.close();
+		}
+
+		// the rejections are neither retried nor counted as host or endpoint failures
+		final RateLimitFeature rejecting = new RateLimitFeature(
+				RateLimit.builder().maxConcurrentRequests(1).maxQueueSize(0).build());
+		final ResiliencePolicy policy = ResiliencePolicy.builder().maxAttempts(3)
+				.backoff(Duration.ofMillis(10), Duration.ofMillis(50)).circuitBreaker(0.5, 2, Duration.ofSeconds(10))
+				.build();
+		final Client resilientClient = ClientBuilder.newClient().register(rejecting)
+				.register(new ResilienceFeature(policy)).property(JaxrsRestClient.LOAD_BALANCER_EJECTION_FAILURES, 1);
+		try {
+			final AsyncRestClient client = JaxrsAsyncRestClient.createLoadBalanced(resilientClient,
+					LoadBalancingStrategy.LEAST_OUTSTANDING_REQUESTS, getBaseUri());
+			final RateLimitMetrics metrics = rejecting.getClientMetrics().orElse(null);
+			assertNotNull(metrics);
+
+			HITS.set(0);
+			final ResponseEntity<String> response = client.request().path("test").path("counted").get(String.class)
+					.toCompletableFuture().join();
+			for (int i = 0; i < 3; i++) {
+				final CompletableFuture<?> rejected = client.request().path("test").path("counted")
+						.getForEntity(String.class).toCompletableFuture();
+				final CompletionException error = assertThrows(CompletionException.class, () -> rejected.join());
+				assertTrue(error.getCause() instanceof RateLimitExceededException);
+			}
+			assertEquals(3, metrics.getRejectedRequests());
+			assertEquals(1, HITS.get());
+			response.close();
+
+			// neither the circuit breaker is open nor the endpoint ejected
+			assertEquals("hit2", client.request().path("test").path("counted").getForEntity(String.class)
+					.toCompletableFuture().join().orElse(null));
+			assertFalse(LoadBalancer.isFailure(null, new CompletionException(new RateLimitExceededException("test"))));
+		} finally {
+			resilientClient.close();
+		}
+	}
+
+	@Test
+	public void testLoadBalancing() {
+		final URI unavailable = UriBuilder.fromUri(getBaseUri()).port(1).build();
+		final Client jaxrsClient = ClientBuilder.newClient().property(JaxrsRestClient.LOAD_BALANCER_EJECTION_FAILURES,
+				1);
+		try {
+			final AsyncRestClient client = JaxrsAsyncRestClient.createLoadBalanced(jaxrsClient,
+					LoadBalancingStrategy.LEAST_OUTSTANDING_REQUESTS, unavailable, getBaseUri());
+
+			final CompletableFuture<?> failed = client.request().path("test").path("ping").getForEntity(String.class)
+					.toCompletableFuture();
+			assertThrows(CompletionException.class, () -> failed.join());
+
+			final List<CompletableFuture<Optional<String>>> futures = IntStream.range(0, 10)
+					.mapToObj(i -> client.request().path("test").path("ping").getForEntity(String.class)
+							.toCompletableFuture())
+					.collect(Collectors.toList());
+			futures.forEach(f -> assertEquals("PONG", f.join().orElse(null)));
+
+			// cancellations are not endpoint failures
+			assertFalse(LoadBalancer.isFailure(null, new CancellationException()));
+			assertFalse(LoadBalancer.isFailure(null, new CompletionException(new CancellationException())));
+			assertTrue(LoadBalancer.isFailure(null, new CompletionException(new IOException("test"))));
+		} finally {
+			jaxrsClient.close();
+		}
+
+		// an endpoint which fails fast is not preferred to a slower healthy one
+		final URI failing = UriBuilder.fromUri(getBaseUri()).path("test/lb/failing/").build();
+		final Client penaltyClient = ClientBuilder.newClient()
+				.property(JaxrsRestClient.LOAD_BALANCER_EJECTION_FAILURES, 1000);
+		try {
+			// warm up the client, so that the failures are faster than the successful calls
+			JaxrsAsyncRestClient.create(penaltyClient).defaultTarget(failing).request().path("test").path("lb")
+					.get(String.class).toCompletableFuture().join().close();
+			final AsyncRestClient client = JaxrsAsyncRestClient.createLoadBalanced(penaltyClient,
+					LoadBalancingStrategy.LEAST_OUTSTANDING_REQUESTS, failing, getBaseUri());
+			int successes = 0;
+			for (int i = 0; i < 20; i++) {
+				final ResponseEntity<String> response = client.request().path("test").path("lb").get(String.class)
+						.toCompletableFuture().join();
+				if (response.getStatusCode() == 200) {
+					successes++;
+				}
+				response.close();
+			}
+			assertTrue(successes >= 10, "Successful invocations: " + successes);
+		} finally {
+			penaltyClient.close();
+		}
+	}
+
 	@Test
 	public void testClient() {
 
@@ -17,21 +17,40 @@ package com.holonplatform.jaxrs.client.test;
 
 import static com.holonplatform.core.property.PathProperty.create;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.FormParam;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
@@ -39,11 +58,22 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.ext.MessageBodyReader;
 
 import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.logging.LoggingFeature;
@@ -58,13 +88,30 @@ import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.core.property.PropertySetRef;
 import com.holonplatform.http.HttpResponse;
 import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.exceptions.HttpEntityProcessingException;
 import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
 import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.jaxrs.client.CompressionFeature;
 import com.holonplatform.jaxrs.client.JaxrsRestClient;
+import com.holonplatform.jaxrs.client.LoadBalancingStrategy;
+import com.holonplatform.jaxrs.client.MicrometerMetricsFeature;
+import com.holonplatform.jaxrs.client.RateLimit;
+import com.holonplatform.jaxrs.client.RateLimitExceededException;
+import com.holonplatform.jaxrs.client.RateLimitFeature;
+import com.holonplatform.jaxrs.client.RateLimitMetrics;
+import com.holonplatform.jaxrs.client.ResilienceFeature;
+import com.holonplatform.jaxrs.client.ResiliencePolicy;
+import com.holonplatform.jaxrs.client.ResponseCacheFeature;
+import com.holonplatform.jaxrs.client.internal.UriTemplateCache;
 import com.holonplatform.test.JerseyTest5;
 
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 public class TestJaxrsClient extends JerseyTest5 {
 
 	public TestJaxrsClient() {
@@ -78,6 +125,12 @@ public class TestJaxrsClient extends JerseyTest5 {
 
 	public static final PropertySet<?> PROPERTIES = PropertySet.of(CODE, VALUE);
 
+	static final AtomicInteger CACHE_HITS = new AtomicInteger();
+	static final AtomicInteger CACHE_REVALIDATIONS = new AtomicInteger();
+	static final AtomicInteger FLAKY_HITS = new AtomicInteger();
+	static final AtomicInteger FLAKY_FAILURES = new AtomicInteger();
+	static final AtomicInteger SLOW_REQUESTS = new AtomicInteger();
+
 	@Path("test")
 	public static class TestResource {
 
@@ -116,6 +169,156 @@ public class TestJaxrsClient extends JerseyTest5 {
 			return boxes;
 		}
 
+		@GET
+		@Path("boxes/form/{count}")
+		@Produces(MediaType.APPLICATION_FORM_URLENCODED)
+		public Stream<PropertyBox> getFormBoxes(@PathParam("count") int count) {
+			return IntStream.rangeClosed(1, count)
+					.mapToObj(i -> PropertyBox.builder(PROPERTIES).set(CODE, i).set(VALUE, "value" + i).build());
+		}
+
+		@GET
+		@Path("boxes/ndjson/{count}")
+		@Produces("application/x-ndjson")
+		public StreamingOutput getNdjsonBoxes(@PathParam("count") int count) {
+			return new StreamingOutput() {
+				@Override
+				public void write(OutputStream output) throws IOException, WebApplicationException {
+					for (int i = 1; i <= count; i++) {
+						output.write(("{\"code\":" + i + ",\"value\":\"value" + i + "\"}\n")
+								.getBytes(StandardCharsets.UTF_8));
+					}
+				}
+			};
+		}
+
+		@GET
+		@Path("boxes/ndjson/fixed")
+		@Produces("application/x-ndjson")
+		public String getFixedNdjsonBoxes() {
+			return "{\"code\":1,\"value\":\"value1\"}\n{\"code\":2,\"value\":\"value2\"}\n";
+		}
+
+		@GET
+		@Path("boxes/json/{count}")
+		@Produces(MediaType.APPLICATION_JSON)
+		public StreamingOutput getJsonBoxes(@PathParam("count") int count) {
+			return new StreamingOutput() {
+				@Override
+				public void write(OutputStream output) throws IOException, WebApplicationException {
+					output.write(" [\n".getBytes(StandardCharsets.UTF_8));
+					for (int i = 1; i <= count; i++) {
+						output.write(((i > 1) ? "," : "").getBytes(StandardCharsets.UTF_8));
+						output.write(("{\"code\":" + i + ",\"value\":\"v,]}\\\"" + i + "\"}")
+								.getBytes(StandardCharsets.UTF_8));
+					}
+					output.write("]".getBytes(StandardCharsets.UTF_8));
+				}
+			};
+		}
+
+		@GET
+		@Path("cache/fresh")
+		@Produces(MediaType.TEXT_PLAIN)
+		public Response getFresh() {
+			return Response.ok("fresh" + CACHE_HITS.incrementAndGet()).header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+					.build();
+		}
+
+		@GET
+		@Path("cache/etag")
+		@Produces(MediaType.TEXT_PLAIN)
+		public Response getEtag(@Context Request request) {
+			final EntityTag etag = new EntityTag("v1");
+			final Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+			if (notModified != null) {
+				CACHE_REVALIDATIONS.incrementAndGet();
+				return notModified.build();
+			}
+			CACHE_HITS.incrementAndGet();
+			return Response.ok("etag").tag(etag).header(HttpHeaders.CACHE_CONTROL, "no-cache").build();
+		}
+
+		@GET
+		@Path("cache/private")
+		@Produces(MediaType.TEXT_PLAIN)
+		public Response getPrivate() {
+			return Response.ok("private" + CACHE_HITS.incrementAndGet())
+					.header(HttpHeaders.CACHE_CONTROL, "private, max-age=60").build();
+		}
+
+		@GET
+		@Path("cache/aged")
+		@Produces(MediaType.TEXT_PLAIN)
+		public Response getAged() {
+			return Response.ok("aged" + CACHE_HITS.incrementAndGet()).header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+					.header("Age", "60").build();
+		}
+
+		@PUT
+		@Path("cache/fresh")
+		@Consumes(MediaType.TEXT_PLAIN)
+		public void putFresh(String value) {
+		}
+
+		@GET
+		@Path("flaky")
+		@Produces(MediaType.TEXT_PLAIN)
+		public Response getFlaky() {
+			FLAKY_HITS.incrementAndGet();
+			if (FLAKY_FAILURES.getAndDecrement() > 0) {
+				return Response.status(Status.SERVICE_UNAVAILABLE).build();
+			}
+			return Response.ok("ok").build();
+		}
+
+		@POST
+		@Path("flaky")
+		@Produces(MediaType.TEXT_PLAIN)
+		public Response postFlaky() {
+			return getFlaky();
+		}
+
+		@GET
+		@Path("host")
+		@Produces(MediaType.TEXT_PLAIN)
+		public String getHost(@HeaderParam(HttpHeaders.HOST) String host) {
+			return host;
+		}
+
+		@GET
+		@Path("slow")
+		@Produces(MediaType.TEXT_PLAIN)
+		public String getSlow() throws InterruptedException {
+			if (SLOW_REQUESTS.getAndDecrement() > 0) {
+				Thread.sleep(3000);
+				return "slow";
+			}
+			return "fast";
+		}
+
+		@GET
+		@Path("compressed")
+		@Produces(MediaType.TEXT_PLAIN)
+		public Response getCompressed(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding)
+				throws IOException {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+				gzip.write(("compressed:" + acceptEncoding).getBytes(StandardCharsets.UTF_8));
+			}
+			return Response.ok(bytes.toByteArray()).header(HttpHeaders.CONTENT_ENCODING, "gzip").build();
+		}
+
+		@POST
+		@Path("compressed")
+		@Consumes(MediaType.TEXT_PLAIN)
+		@Produces(MediaType.TEXT_PLAIN)
+		public String postCompressed(@HeaderParam(HttpHeaders.CONTENT_ENCODING) String contentEncoding,
+				InputStream entity) throws IOException {
+			final InputStream stream = "gzip".equals(contentEncoding) ? new GZIPInputStream(entity) : entity;
+			return contentEncoding + ":" + new String(stream.readAllBytes(), StandardCharsets.UTF_8).length();
+		}
+
 		@GET
 		@Path("stream")
 		@Produces(MediaType.APPLICATION_OCTET_STREAM)
@@ -316,6 +519,543 @@ public class TestJaxrsClient extends JerseyTest5 {
 
 	}
 
+	@Test
+	public void testStreamPropertyBoxes() {
+		final RestClient client = JaxrsRestClient.create(getClient()).defaultTarget(getBaseUri());
+
+		final ResponseType<Stream<PropertyBox>> type = ResponseType.of(PropertyBox.class, Stream.class);
+
+		// JSON array
+		try (Stream<PropertyBox> boxes = client.request().path("test").path("boxes").propertySet(PROPERTIES)
+				.get(type).getPayload().orElse(null)) {
+			assertNotNull(boxes);
+			assertEquals(Arrays.asList(1, 2), boxes.map(b -> b.getValue(CODE)).collect(Collectors.toList()));
+		}
+
+		// lazy decoding
+		try (Stream<PropertyBox> boxes = client.request().path("test").path("boxes/form/{count}")
+				.resolve("count", 1000).propertySet(PROPERTIES).get(type).getPayload().orElse(null)) {
+			assertNotNull(boxes);
+			assertEquals(500500, boxes.mapToInt(b -> b.getValue(CODE)).sum());
+		}
+
+		try (Stream<PropertyBox> boxes = client.request().path("test").path("boxes/form/{count}")
+				.resolve("count", 1000).propertySet(PROPERTIES).get(type).getPayload().orElse(null)) {
+			assertNotNull(boxes);
+			assertEquals("value1", boxes.findFirst().map(b -> b.getValue(VALUE)).orElse(null));
+		}
+
+		// newline delimited JSON
+		try (Stream<PropertyBox> boxes = client.request().path("test").path("boxes/ndjson/{count}")
+				.resolve("count", 1000).propertySet(PROPERTIES).get(type).getPayload().orElse(null)) {
+			assertNotNull(boxes);
+			assertEquals(500500, boxes.mapToInt(b -> b.getValue(CODE)).sum());
+		}
+
+		final ResponseType<Stream<TestData>> dataType = ResponseType.of(TestData.class, Stream.class);
+		try (Stream<TestData> data = client.request().path("test").path("boxes/ndjson/{count}")
+				.resolve("count", 1000).get(dataType).getPayload().orElse(null)) {
+			assertNotNull(data);
+			assertEquals("value3", data.skip(2).findFirst().map(d -> d.getValue()).orElse(null));
+		}
+
+		// JSON array, read as a list
+		try (Stream<TestData> data = client.request().path("test").path("boxes/json/{count}")
+				.resolve("count", 1000).get(dataType).getPayload().orElse(null)) {
+			assertNotNull(data);
+			final List<TestData> elements = data.collect(Collectors.toList());
+			assertEquals(1000, elements.size());
+			assertEquals(500500, elements.stream().mapToInt(d -> d.getCode()).sum());
+			assertEquals("v,]}\"3", elements.get(2).getValue());
+		}
+
+		try (Stream<TestData> data = client.request().path("test").path("boxes/json/{count}")
+				.resolve("count", 0).get(dataType).getPayload().orElse(null)) {
+			assertNotNull(data);
+			assertEquals(0, data.count());
+		}
+
+		// element headers
+		final List<String> lengths = new LinkedList<>();
+		final Client jaxrsClient = ClientBuilder.newClient().register(new MessageBodyReader<TestData>() {
+
+			@Override
+			public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations,
+					MediaType mediaType) {
+				return TestData.class == type;
+			}
+
+			@Override
+			public TestData readFrom(Class<TestData> type, Type genericType,
+					Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, String> httpHeaders,
+					InputStream entityStream) throws IOException, WebApplicationException {
+				lengths.add(httpHeaders.getFirst(HttpHeaders.CONTENT_LENGTH));
+				final String json = new String(ConversionUtils.convertInputStreamToBytes(entityStream),
+						StandardCharsets.UTF_8);
+				final int code = Integer.parseInt(json.substring(json.indexOf(':') + 1, json.indexOf(',')));
+				return new TestData(code, "value" + code);
+			}
+
+		});
+		try (Stream<TestData> data = JaxrsRestClient.create(jaxrsClient).defaultTarget(getBaseUri()).request()
+				.path("test").path("boxes/ndjson/fixed").get(dataType).getPayload().orElse(null)) {
+			assertNotNull(data);
+			assertEquals(Arrays.asList(1, 2), data.map(d -> d.getCode()).collect(Collectors.toList()));
+			assertEquals(Arrays.asList(null, null), lengths);
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testResponseCache() {
+		final Client jaxrsClient = ClientBuilder.newClient().register(ResponseCacheFeature.class);
+		try {
+			final RestClient client = JaxrsRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			// fresh responses
+			CACHE_HITS.set(0);
+			assertEquals("fresh1", client.request().path("test").path("cache/fresh").getForEntity(String.class)
+					.orElse(null));
+			assertEquals("fresh1", client.request().path("test").path("cache/fresh").getForEntity(String.class)
+					.orElse(null));
+			assertEquals(1, CACHE_HITS.get());
+
+			// request cache control
+			assertEquals("fresh2", client.request().path("test").path("cache/fresh")
+					.header(HttpHeaders.CACHE_CONTROL, "no-store").getForEntity(String.class).orElse(null));
+
+			// invalidation
+			client.request().path("test").path("cache/fresh").put(RequestEntity.text("value"));
+			assertEquals("fresh3", client.request().path("test").path("cache/fresh").getForEntity(String.class)
+					.orElse(null));
+
+			// revalidation
+			CACHE_HITS.set(0);
+			CACHE_REVALIDATIONS.set(0);
+			for (int i = 0; i < 3; i++) {
+				ResponseEntity<String> response = client.request().path("test").path("cache/etag").get(String.class);
+				assertEquals(HttpStatus.OK, response.getStatus());
+				assertEquals("etag", response.getPayload().orElse(null));
+			}
+			assertEquals(1, CACHE_HITS.get());
+			assertEquals(2, CACHE_REVALIDATIONS.get());
+
+			// caller conditional headers
+			ResponseEntity<String> conditional = client.request().path("test").path("cache/etag")
+					.header(HttpHeaders.IF_NONE_MATCH, "\"v1\"").get(String.class);
+			assertEquals(HttpStatus.NOT_MODIFIED, conditional.getStatus());
+			assertEquals(3, CACHE_REVALIDATIONS.get());
+
+			// authorized requests
+			client.request().path("test").path("cache/fresh").put(RequestEntity.text("value"));
+			CACHE_HITS.set(0);
+			assertEquals("fresh1", client.request().path("test").path("cache/fresh")
+					.header(HttpHeaders.AUTHORIZATION, "Bearer test").getForEntity(String.class).orElse(null));
+			assertEquals("fresh2", client.request().path("test").path("cache/fresh")
+					.header(HttpHeaders.AUTHORIZATION, "Bearer test").getForEntity(String.class).orElse(null));
+
+			// cookies
+			assertEquals("fresh3", client.request().path("test").path("cache/fresh").header(HttpHeaders.COOKIE, "c=1")
+					.getForEntity(String.class).orElse(null));
+			assertEquals("fresh3", client.request().path("test").path("cache/fresh").header(HttpHeaders.COOKIE, "c=1")
+					.getForEntity(String.class).orElse(null));
+			assertEquals("fresh4", client.request().path("test").path("cache/fresh").header(HttpHeaders.COOKIE, "c=2")
+					.getForEntity(String.class).orElse(null));
+			assertEquals("fresh5", client.request().path("test").path("cache/fresh").getForEntity(String.class)
+					.orElse(null));
+
+			// private responses
+			CACHE_HITS.set(0);
+			assertEquals("private1", client.request().path("test").path("cache/private").getForEntity(String.class)
+					.orElse(null));
+			assertEquals("private2", client.request().path("test").path("cache/private").getForEntity(String.class)
+					.orElse(null));
+
+			// age exceeding max-age
+			CACHE_HITS.set(0);
+			assertEquals("aged1", client.request().path("test").path("cache/aged").getForEntity(String.class)
+					.orElse(null));
+			assertEquals("aged2", client.request().path("test").path("cache/aged").getForEntity(String.class)
+					.orElse(null));
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testCompression() {
+		final Client jaxrsClient = ClientBuilder.newClient().register(new CompressionFeature(16));
+		try {
+			final RestClient client = JaxrsRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			assertEquals("compressed:gzip, deflate",
+					client.request().path("test").path("compressed").getForEntity(String.class).orElse(null));
+
+			assertEquals("null:5", client.request().path("test").path("compressed")
+					.post(RequestEntity.text("small"), String.class).getPayload().orElse(null));
+
+			final String large = IntStream.range(0, 100).mapToObj(i -> "value").collect(Collectors.joining());
+			assertEquals("gzip:500", client.request().path("test").path("compressed")
+					.post(RequestEntity.text(large), String.class).getPayload().orElse(null));
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testRetry() {
+		final ResiliencePolicy policy = ResiliencePolicy.builder().maxAttempts(3)
+				.backoff(Duration.ofMillis(10), Duration.ofMillis(50)).build();
+		// record the threads which perform the attempts
+		final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		final Client jaxrsClient = ClientBuilder.newClient().register(new ResilienceFeature(policy))
+				.register((ClientRequestFilter) rc -> threads.add(Thread.currentThread()));
+		try {
+			final RestClient client = JaxrsRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			FLAKY_HITS.set(0);
+			FLAKY_FAILURES.set(2);
+			assertEquals("ok", client.request().path("test").path("flaky").getForEntity(String.class).orElse(null));
+			assertEquals(3, FLAKY_HITS.get());
+			// the retries are performed by the calling thread
+			assertEquals(Collections.singleton(Thread.currentThread()), threads);
+
+			// max attempts
+			FLAKY_HITS.set(0);
+			FLAKY_FAILURES.set(5);
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+					client.request().path("test").path("flaky").get(String.class).getStatus());
+			assertEquals(3, FLAKY_HITS.get());
+
+			// non idempotent
+			FLAKY_HITS.set(0);
+			FLAKY_FAILURES.set(1);
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE, client.request().path("test").path("flaky")
+					.post(RequestEntity.EMPTY, String.class).getStatus());
+			assertEquals(1, FLAKY_HITS.get());
+
+			// disabled for the request
+			FLAKY_HITS.set(0);
+			FLAKY_FAILURES.set(1);
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE, client.request().path("test").path("flaky")
+					.header(ResiliencePolicy.POLICY_HEADER, ResiliencePolicy.NONE).get(String.class).getStatus());
+			assertEquals(1, FLAKY_HITS.get());
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testCircuitBreaker() throws InterruptedException {
+		final ResiliencePolicy policy = ResiliencePolicy.builder()
+				.circuitBreaker(0.5, 4, Duration.ofMillis(300)).build();
+		final Client jaxrsClient = ClientBuilder.newClient().register(new ResilienceFeature().withPolicy("cb", policy));
+		try {
+			final RestClient client = JaxrsRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			FLAKY_HITS.set(0);
+			FLAKY_FAILURES.set(4);
+			for (int i = 0; i < 4; i++) {
+				assertEquals(HttpStatus.SERVICE_UNAVAILABLE, client.request().path("test").path("flaky")
+						.header(ResiliencePolicy.POLICY_HEADER, "cb").get(String.class).getStatus());
+			}
+			// open
+			assertThrows(HttpClientInvocationException.class, () -> client.request().path("test").path("flaky")
+					.header(ResiliencePolicy.POLICY_HEADER, "cb").get(String.class));
+			assertEquals(4, FLAKY_HITS.get());
+
+			// the default policy is not registered
+			assertEquals("ok", client.request().path("test").path("flaky").getForEntity(String.class).orElse(null));
+
+			// half-open probe
+			Thread.sleep(400);
+			assertEquals("ok", client.request().path("test").path("flaky").header(ResiliencePolicy.POLICY_HEADER, "cb")
+					.getForEntity(String.class).orElse(null));
+			assertEquals("ok", client.request().path("test").path("flaky").header(ResiliencePolicy.POLICY_HEADER, "cb")
+					.getForEntity(String.class).orElse(null));
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testHedging() {
+		final ResiliencePolicy policy = ResiliencePolicy.builder().hedging(0.95, Duration.ofMillis(50)).build();
+		final Client jaxrsClient = ClientBuilder.newClient().register(new ResilienceFeature(policy));
+		try {
+			final RestClient client = JaxrsRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			SLOW_REQUESTS.set(0);
+			for (int i = 0; i < 20; i++) {
+				assertEquals("fast", client.request().path("test").path("slow").getForEntity(String.class)
+						.orElse(null));
+			}
+
+			SLOW_REQUESTS.set(1);
+			final long start = System.currentTimeMillis();
+			assertEquals("fast", client.request().path("test").path("slow").getForEntity(String.class).orElse(null));
+			assertTrue(System.currentTimeMillis() - start < 2000);
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testMetrics() {
+		final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		final Client jaxrsClient = ClientBuilder.newClient().register(new MicrometerMetricsFeature(registry));
+		try {
+			final RestClient client = JaxrsRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			final ResponseEntity<TestData> response = client.request().path("test").path("data/{id}").resolve("id", 1)
+					.get(TestData.class);
+			assertEquals(1, response.getPayload().map(TestData::getCode).orElse(-1));
+			client.request().path("test").path("data/{id}").resolve("id", 2).get(TestData.class).getPayload();
+			assertThrows(UnsuccessfulResponseException.class,
+					() -> client.request().path("test").path("status/500").getForEntity(String.class));
+
+			final Timer requests = registry.find(MicrometerMetricsFeature.REQUESTS_METRIC).tag("method", "GET")
+					.tag("uri", "/test/data/{id}").tag("status", "2xx").tag("outcome", "SUCCESS").timer();
+			assertNotNull(requests);
+			assertEquals(2, requests.count());
+			assertNotNull(registry.find(MicrometerMetricsFeature.REQUESTS_METRIC).tag("uri", "/test/status/500")
+					.tag("status", "5xx").tag("outcome", "SERVER_ERROR").timer());
+
+			final Timer reads = registry.find(MicrometerMetricsFeature.ENTITY_READ_METRIC)
+					.tag("uri", "/test/data/{id}").tag("outcome", "SUCCESS").timer();
+			assertNotNull(reads);
+			assertEquals(2, reads.count());
+
+			// failed without a response
+			final URI unavailable = UriBuilder.fromUri(getBaseUri()).port(1).build();
+			assertThrows(HttpClientInvocationException.class,
+					() -> client.request().target(unavailable).path("test").path("flaky").getForEntity(String.class));
+			assertNotNull(registry.find(MicrometerMetricsFeature.REQUESTS_METRIC).tag("uri", "/test/flaky")
+					.tag("status", "NONE").tag("outcome", "ERROR").timer());
+			assertEquals(1, registry.find(MicrometerMetricsFeature.ERRORS_METRIC).tag("uri", "/test/flaky").counter()
+					.count());
+
+			// the cached meters are registered again when removed from the registry
+			registry.clear();
+			client.request().path("test").path("data/{id}").resolve("id", 3).get(TestData.class).getPayload();
+			final Timer registered = registry.find(MicrometerMetricsFeature.REQUESTS_METRIC)
+					.tag("uri", "/test/data/{id}").tag("outcome", "SUCCESS").timer();
+			assertNotNull(registered);
+			assertEquals(1, registered.count());
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testRateLimit() throws IOException {
+		final RateLimitFeature feature = new RateLimitFeature().withHostLimit("localhost",
+				RateLimit.builder().rate(0.5, 2).build());
+		final Client jaxrsClient = ClientBuilder.newClient().register(feature);
+		try {
+			final RestClient client = JaxrsRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			assertEquals("ok", client.request().path("test").path("flaky").getForEntity(String.class).orElse(null));
+			assertEquals("ok", client.request().path("test").path("flaky").getForEntity(String.class).orElse(null));
+			// fail fast
+			assertThrows(HttpClientInvocationException.class,
+					() -> client.request().path("test").path("flaky").getForEntity(String.class));
+
+			final RateLimitMetrics metrics = feature.getHostMetrics("localhost").orElse(null);
+			assertNotNull(metrics);
+			assertEquals(1, metrics.getRejectedRequests());
+			assertEquals(0, metrics.getActiveRequests());
+			assertEquals(0, metrics.getQueueDepth());
+			assertFalse(feature.getClientMetrics().isPresent());
+
+			// other hosts are not limited
+			final URI loopback = UriBuilder.fromUri(getBaseUri()).host("127.0.0.1").build();
+			for (int i = 0; i < 3; i++) {
+				assertEquals("ok", client.request().target(loopback).path("test").path("flaky")
+						.getForEntity(String.class).orElse(null));
+			}
+		} finally {
+			jaxrsClient.close();
+		}
+
+		// the concurrency permit is held until the response entity is consumed
+		final RateLimitFeature bulkhead = new RateLimitFeature(RateLimit.builder().maxConcurrentRequests(1).build());
+		final Client bulkheadClient = ClientBuilder.newClient().register(bulkhead);
+		try {
+			final RestClient client = JaxrsRestClient.create(bulkheadClient).defaultTarget(getBaseUri());
+			final RateLimitMetrics metrics = bulkhead.getClientMetrics().orElse(null);
+			assertNotNull(metrics);
+
+			ResponseEntity<String> response = client.request().path("test").path("flaky").get(String.class);
+			assertEquals(1, metrics.getActiveRequests());
+			assertThrows(RateLimitExceededException.class,
+					() -> client.request().path("test").path("flaky").getForEntity(String.class));
+			assertEquals("ok", response.getPayload().orElse(null));
+			assertEquals(0, metrics.getActiveRequests());
+
+			response = client.request().path("test").path("flaky").get(String.class);
+			assertEquals(1, metrics.getActiveRequests());
+			response.close();
+			assertEquals(0, metrics.getActiveRequests());
+
+			try (InputStream stream = client.request().path("test").path("flaky").getForStream()) {
+				assertNotNull(stream);
+				assertEquals(1, metrics.getActiveRequests());
+			}
+			assertEquals(0, metrics.getActiveRequests());
+		} finally {
+			bulkheadClient.close();
+		}
+
+		// the rejections are neither retried nor counted as host failures
+		final ResiliencePolicy policy = ResiliencePolicy.builder().maxAttempts(3)
+				.backoff(Duration.ofMillis(10), Duration.ofMillis(50)).circuitBreaker(0.5, 2, Duration.ofSeconds(10))
+				.build();
+		final Client resilientClient = ClientBuilder.newClient().register(bulkhead)
+				.register(new ResilienceFeature(policy));
+		try {
+			final RestClient client = JaxrsRestClient.create(resilientClient).defaultTarget(getBaseUri());
+			final RateLimitMetrics metrics = bulkhead.getClientMetrics().orElse(null);
+			assertNotNull(metrics);
+			final long rejected = metrics.getRejectedRequests();
+
+			FLAKY_FAILURES.set(0);
+			final ResponseEntity<String> response = client.request().path("test").path("flaky").get(String.class);
+			FLAKY_HITS.set(0);
+			for (int i = 0; i < 3; i++) {
+				assertThrows(RateLimitExceededException.class,
+						() -> client.request().path("test").path("flaky").getForEntity(String.class));
+			}
+			assertEquals(rejected + 3, metrics.getRejectedRequests());
+			assertEquals(0, FLAKY_HITS.get());
+			response.close();
+
+			// the circuit breaker is not open
+			assertEquals("ok", client.request().path("test").path("flaky").getForEntity(String.class).orElse(null));
+		} finally {
+			resilientClient.close();
+		}
+	}
+
+	@Test
+	public void testLoadBalancing() {
+		final URI localhost = getBaseUri();
+		final URI loopback = UriBuilder.fromUri(localhost).host("127.0.0.1").build();
+		for (LoadBalancingStrategy strategy : LoadBalancingStrategy.values()) {
+			final RestClient client = JaxrsRestClient.createLoadBalanced(getClient(), strategy, localhost, loopback);
+			final Set<String> hosts = new HashSet<>();
+			for (int i = 0; i < 10; i++) {
+				hosts.add(client.request().path("test").path("host").getForEntity(String.class).orElse(null));
+			}
+			assertEquals(2, hosts.size());
+		}
+
+		// ejection
+		final URI unavailable = UriBuilder.fromUri(localhost).port(1).build();
+		final Client jaxrsClient = ClientBuilder.newClient().property(JaxrsRestClient.LOAD_BALANCER_EJECTION_FAILURES,
+				1);
+		try {
+			final RestClient client = JaxrsRestClient.createLoadBalanced(jaxrsClient,
+					LoadBalancingStrategy.LEAST_OUTSTANDING_REQUESTS, unavailable, localhost);
+			int failures = 0;
+			for (int i = 0; i < 10; i++) {
+				try {
+					assertEquals(localhost.getAuthority(),
+							client.request().path("test").path("host").getForEntity(String.class).orElse(null));
+				} catch (HttpClientInvocationException e) {
+					failures++;
+				}
+			}
+			assertEquals(1, failures);
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
+	@Test
+	public void testUriTemplates() {
+		final RestClient client = JaxrsRestClient.create(getClient()).defaultTarget(getBaseUri());
+
+		for (int i = 1; i <= 3; i++) {
+			TestData td = client.request().path("test").path("data/{id}").resolve("id", i)
+					.getForEntity(TestData.class).orElse(null);
+			assertNotNull(td);
+			assertEquals(i, td.getCode());
+
+			td = client.request().path("test").path("postdata").queryParameter("id", i)
+					.post(RequestEntity.EMPTY, TestData.class).getPayload().orElse(null);
+			assertNotNull(td);
+			assertEquals(i, td.getCode());
+		}
+
+		// expanded URIs are not cached
+		final int size = UriTemplateCache.size();
+		for (int i = 1; i <= 3; i++) {
+			assertEquals(i, client.request().path("test").path("data/" + i).getForEntity(TestData.class)
+					.map(d -> d.getCode()).orElse(null));
+		}
+		assertEquals(size, UriTemplateCache.size());
+
+		// the least recently used templates are evicted
+		final String template = "http://localhost/test/data/{id}";
+		assertEquals("http://localhost/test/data/1", UriTemplateCache.get(template).build(1).toString());
+		assertTrue(UriTemplateCache.isCached(template));
+		for (int i = 0; i < UriTemplateCache.MAX_SIZE; i++) {
+			UriTemplateCache.get("http://localhost/test/" + i + "/{id}");
+		}
+		assertEquals(UriTemplateCache.MAX_SIZE, UriTemplateCache.size());
+		assertFalse(UriTemplateCache.isCached(template));
+		UriTemplateCache.get(template);
+		assertTrue(UriTemplateCache.isCached(template));
+		assertEquals(UriTemplateCache.MAX_SIZE, UriTemplateCache.size());
+	}
+
+	@Test
+	public void testSharedClient() {
+		final JaxrsRestClient client1 = (JaxrsRestClient) RestClient.create(JaxrsRestClient.class.getName());
+		final JaxrsRestClient client2 = (JaxrsRestClient) RestClient.create(JaxrsRestClient.class.getName());
+		assertSame(client1.getClient(), client2.getClient());
+
+		assertThrows(UnsupportedOperationException.class, () -> client1.getClient().close());
+		assertThrows(UnsupportedOperationException.class, () -> client1.getClient().register(String.class));
+		assertThrows(UnsupportedOperationException.class, () -> client1.getClient().property("test", "test"));
+
+		JaxrsRestClient.closeSharedClients();
+
+		final JaxrsRestClient client3 = (JaxrsRestClient) RestClient.create(JaxrsRestClient.class.getName());
+		assertNotSame(client1.getClient(), client3.getClient());
+
+		HttpResponse<?> rsp = client3.request().target(getBaseUri()).path("test").path("data/save")
+				.put(RequestEntity.json(new TestData(7, "testPost")));
+		assertEquals(HttpStatus.ACCEPTED, rsp.getStatus());
+
+		// the shared clients are not closed when the RestClients are no longer reachable
+		final WebTarget target = ((JaxrsRestClient) RestClient.create(JaxrsRestClient.class.getName())).getClient()
+				.target(getBaseUri()).path("test").path("data/1");
+		System.gc();
+		try (Response response = target.request().get()) {
+			assertEquals(200, response.getStatus());
+		}
+
+		// close by ClassLoader
+		final Client shared = ((JaxrsRestClient) RestClient.create(JaxrsRestClient.class.getName())).getClient();
+		JaxrsRestClient.closeSharedClients(Thread.currentThread().getContextClassLoader());
+		assertNotSame(shared, ((JaxrsRestClient) RestClient.create(JaxrsRestClient.class.getName())).getClient());
+
+		// opt-out
+		System.setProperty(JaxrsRestClient.SHARED_CLIENT, "false");
+		try {
+			final JaxrsRestClient dedicated = (JaxrsRestClient) RestClient.create(JaxrsRestClient.class.getName());
+			assertNotSame(dedicated.getClient(),
+					((JaxrsRestClient) RestClient.create(JaxrsRestClient.class.getName())).getClient());
+			dedicated.getClient().property("test", "test");
+			dedicated.getClient().close();
+		} finally {
+			System.clearProperty(JaxrsRestClient.SHARED_CLIENT);
+		}
+	}
+
 	@Test
 	public void testStream() throws IOException {
 
@@ -349,6 +1089,28 @@ public class TestJaxrsClient extends JerseyTest5 {
 
 	}
 
+	@Test
+	public void testSingleRead() {
+		final Client jaxrsClient = ClientBuilder.newClient().property(JaxrsRestClient.ENTITY_BUFFERING, false);
+		try {
+			final RestClient client = JaxrsRestClient.create(jaxrsClient).defaultTarget(getBaseUri());
+
+			ResponseEntity<TestData> res = client.request().path("test").path("data2/{id}").resolve("id", 1)
+					.get(TestData.class);
+			assertNotNull(res);
+
+			TestData td = res.getPayload().orElse(null);
+			assertNotNull(td);
+			assertEquals(1, td.getCode());
+
+			assertSame(td, res.as(TestData.class).orElse(null));
+
+			assertThrows(HttpEntityProcessingException.class, () -> res.as(String.class));
+		} finally {
+			jaxrsClient.close();
+		}
+	}
+
 	@Test
 	public void testErrors() {
 		final RestClient client = JaxrsRestClient.create(getClient()).defaultTarget(getBaseUri());
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.internal.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Configuration;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.ext.ContextResolver;
+import jakarta.ws.rs.ext.Providers;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.internal.property.PropertySetRefIntrospector;
+import com.holonplatform.core.internal.property.PropertySetRefIntrospector.PropertySetIntrospectionException;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.Property.PropertyAccessException;
+import com.holonplatform.core.property.Property.PropertyReadException;
+import com.holonplatform.core.property.Property.PropertyWriteException;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.PropertySetRef;
+import com.holonplatform.jaxrs.internal.media.FormDataPropertySetIndex.IndexedProperty;
+import com.holonplatform.jaxrs.media.FormDataPropertyBoxFeature;
+import com.holonplatform.jaxrs.media.FormDataPropertyValueDeserializer;
+import com.holonplatform.jaxrs.media.FormDataPropertyValueSerializer;
+
+/**
+ * Base class for {@link PropertyBox} <code>application/x-www-form-urlencoded</code> media type providers.
+ * <p>
+ * Provides the {@link PropertySet} resolution and the {@link PropertyBox} encoding and decoding operations, using the
+ * cached {@link FormDataPropertySetIndex} and {@link FormDataPropertyCodec}s.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public abstract class AbstractFormDataProvider {
+
+	protected static final Charset CHARSET = StandardCharsets.UTF_8;
+
+	@Context
+	private Providers providers;
+
+	@Context
+	private Configuration configuration;
+
+	private Long _maxBodySize;
+
+	private FormDataPropertyValueSerializer _serializer;
+
+	private FormDataPropertyValueDeserializer _deserializer;
+
+	private PropertySetRefIntrospector _propertySetRefIntrospector;
+
+	/**
+	 * Get the {@link PropertySetRefIntrospector} instance to use.
+	 * @return The {@link PropertySetRefIntrospector} instance to use, from {@link ContextResolver} if available or the
+	 *         default one
+	 */
+	protected PropertySetRefIntrospector getPropertySetRefIntrospector() {
+		if (_propertySetRefIntrospector == null) {
+			// init using a contextresolver, if available
+			ContextResolver<PropertySetRefIntrospector> contextResolver = providers
+					.getContextResolver(PropertySetRefIntrospector.class, MediaType.APPLICATION_FORM_URLENCODED_TYPE);
+			if (contextResolver != null) {
+				_propertySetRefIntrospector = contextResolver.getContext(PropertySetRefIntrospector.class);
+			}
+			if (_propertySetRefIntrospector == null) {
+				// use default
+				_propertySetRefIntrospector = PropertySetRefIntrospector.getDefault();
+			}
+		}
+		return _propertySetRefIntrospector;
+	}
+
+	/**
+	 * Get the maximum form data body size to read, using the {@link FormDataPropertyBoxFeature#MAX_BODY_SIZE}
+	 * configuration property.
+	 * @return The maximum form data body size in bytes, a negative value means no limit
+	 */
+	protected long getMaxBodySize() {
+		if (_maxBodySize == null) {
+			long maxBodySize = -1;
+			final Object value = (configuration != null)
+					? configuration.getProperty(FormDataPropertyBoxFeature.MAX_BODY_SIZE)
+					: null;
+			if (value instanceof Number) {
+				maxBodySize = ((Number) value).longValue();
+			} else if (value != null) {
+				try {
+					maxBodySize = Long.parseLong(value.toString().trim());
+				} catch (NumberFormatException e) {
+					throw new WebApplicationException("Invalid " + FormDataPropertyBoxFeature.MAX_BODY_SIZE
+							+ " configuration property value: [" + value + "]", e, Status.INTERNAL_SERVER_ERROR);
+				}
+			}
+			_maxBodySize = maxBodySize;
+		}
+		return _maxBodySize;
+	}
+
+	/**
+	 * Get the {@link FormDataPropertyValueSerializer} instance to use.
+	 * @return The {@link FormDataPropertyValueSerializer} instance to use, from {@link ContextResolver} if available or
+	 *         the default one
+	 */
+	protected FormDataPropertyValueSerializer getSerializer() {
+		if (_serializer == null) {
+			// init using a contextresolver, if available
+			ContextResolver<FormDataPropertyValueSerializer> contextResolver = providers.getContextResolver(
+					FormDataPropertyValueSerializer.class, MediaType.APPLICATION_FORM_URLENCODED_TYPE);
+			if (contextResolver != null) {
+				_serializer = contextResolver.getContext(FormDataPropertyValueSerializer.class);
+			}
+			if (_serializer == null) {
+				// use default
+				_serializer = FormDataPropertyValueSerializer.getDefault();
+			}
+		}
+		return _serializer;
+	}
+
+	/**
+	 * Get the {@link FormDataPropertyValueDeserializer} instance to use.
+	 * @return The {@link FormDataPropertyValueDeserializer} instance to use, from {@link ContextResolver} if available
+	 *         or the default one
+	 */
+	protected FormDataPropertyValueDeserializer getDeserializer() {
+		if (_deserializer == null) {
+			// init using a contextresolver, if available
+			ContextResolver<FormDataPropertyValueDeserializer> contextResolver = providers.getContextResolver(
+					FormDataPropertyValueDeserializer.class, MediaType.APPLICATION_FORM_URLENCODED_TYPE);
+			if (contextResolver != null) {
+				_deserializer = contextResolver.getContext(FormDataPropertyValueDeserializer.class);
+			}
+			if (_deserializer == null) {
+				// use default
+				_deserializer = FormDataPropertyValueDeserializer.getDefault();
+			}
+		}
+		return _deserializer;
+	}
+
+	/**
+	 * Get the {@link PropertySet} to use to deserialize a {@link PropertyBox}, either from the current
+	 * {@link com.holonplatform.core.Context} or from the {@link PropertySetRef} annotation, if present.
+	 * @param annotations The annotations of the entity to read
+	 * @return The {@link PropertySet}, <code>null</code> if not available
+	 * @throws WebApplicationException If the {@link PropertySetRef} annotation cannot be resolved
+	 */
+	protected PropertySet<?> getPropertySet(Annotation[] annotations) throws WebApplicationException {
+		final PropertySet<?> propertySet = com.holonplatform.core.Context.get()
+				.resource(PropertySet.CONTEXT_KEY, PropertySet.class).orElse(null);
+		if (propertySet != null) {
+			return propertySet;
+		}
+		PropertySetRef propertySetRef = PropertySetRefIntrospector.getPropertySetRef(annotations).orElse(null);
+		if (propertySetRef != null) {
+			try {
+				return getPropertySetRefIntrospector().getPropertySet(propertySetRef);
+			} catch (PropertySetIntrospectionException e) {
+				throw new WebApplicationException(e.getMessage(), e, Status.INTERNAL_SERVER_ERROR);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Create a new {@link FormDataDecoder} for given stream, using the configured maximum body size.
+	 * @param entityStream The stream to read
+	 * @return A new {@link FormDataDecoder}
+	 */
+	protected FormDataDecoder createDecoder(InputStream entityStream) {
+		return new FormDataDecoder(entityStream, CHARSET, getMaxBodySize());
+	}
+
+	/**
+	 * Decode a {@link PropertyBox} using given decoder.
+	 * <p>
+	 * Each decoded value is set into the {@link PropertyBox} builder as soon as it is available.
+	 * </p>
+	 * @param decoder The decoder to use
+	 * @param propertySet The {@link PropertySet} to use (may be null)
+	 * @param record Whether to decode only the next line-delimited form record, rather than the whole stream
+	 * @return The decoded {@link PropertyBox}, <code>null</code> if no content is available
+	 * @throws IOException If the {@link PropertySet} is missing or a stream read error occurred
+	 * @throws WebApplicationException If a property read error occurred
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	protected PropertyBox decode(FormDataDecoder decoder, PropertySet<?> propertySet, boolean record)
+			throws IOException, WebApplicationException {
+		try {
+			final PropertyBox.Builder builder = (propertySet != null)
+					? PropertyBox.builder((PropertySet) propertySet).invalidAllowed(true)
+					: null;
+			final FormDataPropertySetIndex index = (propertySet != null) ? FormDataPropertySetIndex.of(propertySet)
+					: null;
+
+			final FormDataDecoder.FieldHandler handler = (name, value) -> {
+				if (builder == null) {
+					throw missingPropertySet();
+				}
+				final IndexedProperty property = index.get(name);
+				if (property != null) {
+					builder.set(property.getProperty(), deserialize(property, value));
+				}
+			};
+
+			final boolean content = record ? decoder.decodeRecord(handler) : decoder.decode(handler);
+			if (!content) {
+				return null;
+			}
+			if (builder == null) {
+				throw missingPropertySet();
+			}
+			return builder.build();
+
+		} catch (PropertyAccessException e) {
+			throw new WebApplicationException(e.getMessage(), e, Status.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * Encode the {@link Path} property values of given {@link PropertyBox} using given encoder.
+	 * <p>
+	 * When a {@link FormDataPropertySetIndex} is provided, the property codecs are obtained from the index properties
+	 * array, as long as the {@link PropertyBox} properties match the indexed ones, in the same order. Otherwise, the
+	 * cached codec of each property is used.
+	 * </p>
+	 * @param encoder The encoder to use
+	 * @param propertyBox The {@link PropertyBox} to encode
+	 * @param index The index of the {@link PropertyBox} property set, <code>null</code> if not available
+	 * @throws IOException If a stream write error occurred
+	 * @throws PropertyWriteException If a property write error occurred
+	 */
+	protected void encode(FormDataEncoder encoder, PropertyBox propertyBox, FormDataPropertySetIndex index)
+			throws IOException {
+		final IndexedProperty[] properties = (index != null) ? index.getProperties() : null;
+		int position = 0;
+		for (Property<?> property : propertyBox) {
+			if (property instanceof Path) {
+				final FormDataPropertyCodec codec;
+				if (properties != null && position < properties.length
+						&& properties[position].getProperty() == property) {
+					codec = properties[position++].getCodec();
+				} else {
+					codec = FormDataPropertyCodec.of(property);
+				}
+				final Object value = propertyBox.getValue(property);
+				if (value != null) {
+					encoder.field(codec.getEncodedName(), serialize(property, codec, value));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Serialize given property <code>value</code> to <code>application/x-www-form-urlencoded</code> media type.
+	 * <p>
+	 * When the default {@link FormDataPropertyValueSerializer} is in use, the given property <code>codec</code> is
+	 * used to perform the serialization.
+	 * </p>
+	 * @param property Property to serialize
+	 * @param codec Property codec
+	 * @param value Value to serialize
+	 * @return Serialized value
+	 * @throws PropertyWriteException If an error occurred
+	 */
+	private String serialize(final Property<?> property, final FormDataPropertyCodec codec, final Object value)
+			throws PropertyWriteException {
+		if (value != null) {
+			final FormDataPropertyValueSerializer serializer = getSerializer();
+			if (serializer == DefaultFormDataPropertyValueSerializer.INSTANCE) {
+				return codec.serialize(property, value);
+			}
+			return serializer.serialize(property, value);
+		}
+		return null;
+	}
+
+	/**
+	 * Deserialize given property <code>value</code> from <code>application/x-www-form-urlencoded</code> media type.
+	 * <p>
+	 * When the default {@link FormDataPropertyValueDeserializer} is in use, the property codec is used to perform the
+	 * deserialization.
+	 * </p>
+	 * @param property Indexed property to deserialize
+	 * @param value Value to deserialize
+	 * @return Deserialized value
+	 * @throws PropertyReadException If an error occurred
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T deserialize(final IndexedProperty property, final String value) throws PropertyReadException {
+		if (value != null) {
+			final FormDataPropertyValueDeserializer deserializer = getDeserializer();
+			if (deserializer == DefaultFormDataPropertyValueDeserializer.INSTANCE) {
+				return (T) property.getCodec().deserialize(property.getProperty(), value);
+			}
+			return (T) deserializer.deserialize(property.getProperty(), value);
+		}
+		return null;
+	}
+
+	/**
+	 * Build the exception to throw when a {@link PropertySet} is not available to perform the {@link PropertyBox}
+	 * deserialization.
+	 * @return The exception to throw
+	 */
+	protected static IOException missingPropertySet() {
+		return new IOException("Missing PropertySet instance to build a PropertyBox. "
+				+ "A PropertySet instance must be available as context resource to perform PropertyBox deserialization.");
+	}
+
+	/**
+	 * Checks whether given <code>type</code> is a {@link PropertyBox} type.
+	 * @param type Type to check
+	 * @return <code>true</code> if given <code>type</code> is a {@link PropertyBox} type
+	 */
+	protected static boolean isPropertyBoxType(Type type) {
+		if (type != null) {
+			if (PropertyBox.class == type) {
+				return true;
+			}
+			if (type instanceof Class && PropertyBox.class.isAssignableFrom((Class<?>) type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
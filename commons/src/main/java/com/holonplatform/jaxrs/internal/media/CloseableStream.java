@@ -0,0 +1,466 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.internal.media;
+
+import java.io.Closeable;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Stream} which implements {@link Closeable} too, delegating all the operations to a concrete {@link Stream}.
+ * <p>
+ * The {@link #onClose(Runnable)} operation returns this stream, so that the close handlers can be registered without
+ * losing the {@link Closeable} type.
+ * </p>
+ * @param <T> Element type
+ *
+ * @since 6.0.1
+ */
+final class CloseableStream<T> implements Stream<T>, Closeable {
+
+	/**
+	 * Concrete stream
+	 */
+	private final Stream<T> stream;
+
+	/**
+	 * Constructor
+	 * @param stream Concrete stream
+	 */
+	CloseableStream(Stream<T> stream) {
+		super();
+		this.stream = stream;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.BaseStream#iterator()
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return stream.iterator();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.BaseStream#spliterator()
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return stream.spliterator();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.BaseStream#isParallel()
+	 */
+	@Override
+	public boolean isParallel() {
+		return stream.isParallel();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.BaseStream#sequential()
+	 */
+	@Override
+	public Stream<T> sequential() {
+		return stream.sequential();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.BaseStream#parallel()
+	 */
+	@Override
+	public Stream<T> parallel() {
+		return stream.parallel();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.BaseStream#unordered()
+	 */
+	@Override
+	public Stream<T> unordered() {
+		return stream.unordered();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.BaseStream#onClose(java.lang.Runnable)
+	 */
+	@Override
+	public Stream<T> onClose(Runnable closeHandler) {
+		stream.onClose(closeHandler);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.BaseStream#close()
+	 */
+	@Override
+	public void close() {
+		stream.close();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#filter(java.util.function.Predicate)
+	 */
+	@Override
+	public Stream<T> filter(Predicate<? super T> predicate) {
+		return stream.filter(predicate);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#map(java.util.function.Function)
+	 */
+	@Override
+	public <R> Stream<R> map(Function<? super T, ? extends R> mapper) {
+		return stream.map(mapper);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#mapToInt(java.util.function.ToIntFunction)
+	 */
+	@Override
+	public IntStream mapToInt(ToIntFunction<? super T> mapper) {
+		return stream.mapToInt(mapper);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#mapToLong(java.util.function.ToLongFunction)
+	 */
+	@Override
+	public LongStream mapToLong(ToLongFunction<? super T> mapper) {
+		return stream.mapToLong(mapper);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#mapToDouble(java.util.function.ToDoubleFunction)
+	 */
+	@Override
+	public DoubleStream mapToDouble(ToDoubleFunction<? super T> mapper) {
+		return stream.mapToDouble(mapper);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#flatMap(java.util.function.Function)
+	 */
+	@Override
+	public <R> Stream<R> flatMap(Function<? super T, ? extends Stream<? extends R>> mapper) {
+		return stream.flatMap(mapper);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#flatMapToInt(java.util.function.Function)
+	 */
+	@Override
+	public IntStream flatMapToInt(Function<? super T, ? extends IntStream> mapper) {
+		return stream.flatMapToInt(mapper);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#flatMapToLong(java.util.function.Function)
+	 */
+	@Override
+	public LongStream flatMapToLong(Function<? super T, ? extends LongStream> mapper) {
+		return stream.flatMapToLong(mapper);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#flatMapToDouble(java.util.function.Function)
+	 */
+	@Override
+	public DoubleStream flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper) {
+		return stream.flatMapToDouble(mapper);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#distinct()
+	 */
+	@Override
+	public Stream<T> distinct() {
+		return stream.distinct();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#sorted()
+	 */
+	@Override
+	public Stream<T> sorted() {
+		return stream.sorted();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#sorted(java.util.Comparator)
+	 */
+	@Override
+	public Stream<T> sorted(Comparator<? super T> comparator) {
+		return stream.sorted(comparator);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#peek(java.util.function.Consumer)
+	 */
+	@Override
+	public Stream<T> peek(Consumer<? super T> action) {
+		return stream.peek(action);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#limit(long)
+	 */
+	@Override
+	public Stream<T> limit(long maxSize) {
+		return stream.limit(maxSize);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#skip(long)
+	 */
+	@Override
+	public Stream<T> skip(long n) {
+		return stream.skip(n);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#takeWhile(java.util.function.Predicate)
+	 */
+	@Override
+	public Stream<T> takeWhile(Predicate<? super T> predicate) {
+		return stream.takeWhile(predicate);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#dropWhile(java.util.function.Predicate)
+	 */
+	@Override
+	public Stream<T> dropWhile(Predicate<? super T> predicate) {
+		return stream.dropWhile(predicate);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#forEach(java.util.function.Consumer)
+	 */
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		stream.forEach(action);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#forEachOrdered(java.util.function.Consumer)
+	 */
+	@Override
+	public void forEachOrdered(Consumer<? super T> action) {
+		stream.forEachOrdered(action);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#toArray()
+	 */
+	@Override
+	public Object[] toArray() {
+		return stream.toArray();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#toArray(java.util.function.IntFunction)
+	 */
+	@Override
+	public <A> A[] toArray(IntFunction<A[]> generator) {
+		return stream.toArray(generator);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#reduce(java.lang.Object, java.util.function.BinaryOperator)
+	 */
+	@Override
+	public T reduce(T identity, BinaryOperator<T> accumulator) {
+		return stream.reduce(identity, accumulator);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#reduce(java.util.function.BinaryOperator)
+	 */
+	@Override
+	public Optional<T> reduce(BinaryOperator<T> accumulator) {
+		return stream.reduce(accumulator);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#reduce(java.lang.Object, java.util.function.BiFunction,
+	 * java.util.function.BinaryOperator)
+	 */
+	@Override
+	public <U> U reduce(U identity, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner) {
+		return stream.reduce(identity, accumulator, combiner);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#collect(java.util.function.Supplier, java.util.function.BiConsumer,
+	 * java.util.function.BiConsumer)
+	 */
+	@Override
+	public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator, BiConsumer<R, R> combiner) {
+		return stream.collect(supplier, accumulator, combiner);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#collect(java.util.stream.Collector)
+	 */
+	@Override
+	public <R, A> R collect(Collector<? super T, A, R> collector) {
+		return stream.collect(collector);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#toList()
+	 */
+	@Override
+	public List<T> toList() {
+		return stream.toList();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#min(java.util.Comparator)
+	 */
+	@Override
+	public Optional<T> min(Comparator<? super T> comparator) {
+		return stream.min(comparator);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#max(java.util.Comparator)
+	 */
+	@Override
+	public Optional<T> max(Comparator<? super T> comparator) {
+		return stream.max(comparator);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#count()
+	 */
+	@Override
+	public long count() {
+		return stream.count();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#anyMatch(java.util.function.Predicate)
+	 */
+	@Override
+	public boolean anyMatch(Predicate<? super T> predicate) {
+		return stream.anyMatch(predicate);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#allMatch(java.util.function.Predicate)
+	 */
+	@Override
+	public boolean allMatch(Predicate<? super T> predicate) {
+		return stream.allMatch(predicate);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#noneMatch(java.util.function.Predicate)
+	 */
+	@Override
+	public boolean noneMatch(Predicate<? super T> predicate) {
+		return stream.noneMatch(predicate);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#findFirst()
+	 */
+	@Override
+	public Optional<T> findFirst() {
+		return stream.findFirst();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.stream.Stream#findAny()
+	 */
+	@Override
+	public Optional<T> findAny() {
+		return stream.findAny();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return stream.toString();
+	}
+
+}
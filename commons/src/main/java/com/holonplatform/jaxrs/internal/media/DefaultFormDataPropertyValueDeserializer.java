@@ -15,7 +15,6 @@
  */
 package com.holonplatform.jaxrs.internal.media;
 
-import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -60,7 +59,7 @@ public enum DefaultFormDataPropertyValueDeserializer implements FormDataProperty
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private static Object deserialize(Property<?> property, Class<?> targetType, String value) throws ParseException {
+	private static Object deserialize(Property<?> property, Class<?> targetType, String value) {
 
 		// string
 		if (TypeUtils.isString(targetType)) {
@@ -86,12 +85,10 @@ public enum DefaultFormDataPropertyValueDeserializer implements FormDataProperty
 
 		// number
 		if (TypeUtils.isIntegerNumber(targetType)) {
-			Number parsed = FormDataFormats.INTEGER_FORMAT.parse(value);
-			return ConversionUtils.convertNumberToTargetClass(parsed, (Class<Number>) targetType);
+			return FormDataFormats.parseInteger(value, (Class<Number>) targetType);
 		}
 		if (TypeUtils.isDecimalNumber(targetType)) {
-			Number parsed = FormDataFormats.DECIMAL_FORMAT.parse(value);
-			return ConversionUtils.convertNumberToTargetClass(parsed, (Class<Number>) targetType);
+			return FormDataFormats.parseDecimal(value, (Class<Number>) targetType);
 		}
 
 		// date and times
@@ -119,50 +116,12 @@ public enum DefaultFormDataPropertyValueDeserializer implements FormDataProperty
 	}
 
 	private static java.util.Date parseDateValue(Property<?> property, String value) {
-		if (property.getConfiguration().getTemporalType().isPresent()) {
-			switch (property.getConfiguration().getTemporalType().get()) {
-			case DATE:
-				try {
-					return FormDataFormats.getDateFormat().parse(value);
-				} catch (@SuppressWarnings("unused") ParseException e) {
-					// ignore
-				}
-				break;
-			case DATE_TIME:
-				try {
-					return FormDataFormats.getDateTimeFormat().parse(value);
-				} catch (@SuppressWarnings("unused") ParseException e) {
-					// ignore
-				}
-				break;
-			case TIME:
-				try {
-					return FormDataFormats.getTimeFormat().parse(value);
-				} catch (@SuppressWarnings("unused") ParseException e) {
-					// ignore
-				}
-				break;
-			default:
-				break;
-			}
-		}
-
-		try {
-			return FormDataFormats.getDateTimeFormat().parse(value);
-		} catch (@SuppressWarnings("unused") ParseException e) {
-			// try date only
-			try {
-				return FormDataFormats.getDateFormat().parse(value);
-			} catch (@SuppressWarnings("unused") ParseException e1) {
-				// try time only
-				try {
-					return FormDataFormats.getTimeFormat().parse(value);
-				} catch (@SuppressWarnings("unused") ParseException e2) {
-					// ignore
-				}
-			}
+		final Date date = FormDataFormats.parseDate(value,
+				property.getConfiguration().getTemporalType().orElse(null));
+		if (date == null) {
+			throw new PropertyReadException(property, "Failed to parse value [" + value + "] as valid Date value");
 		}
-		throw new PropertyReadException(property, "Failed to parse value [" + value + "] as valid Date value");
+		return date;
 	}
 
 }
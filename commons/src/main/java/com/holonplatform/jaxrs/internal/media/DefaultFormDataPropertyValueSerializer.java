@@ -67,10 +67,7 @@ public enum DefaultFormDataPropertyValueSerializer implements FormDataPropertyVa
 
 				// Number
 				if (TypeUtils.isNumber(value.getClass())) {
-					if (TypeUtils.isDecimalNumber(value.getClass())) {
-						return FormDataFormats.DECIMAL_FORMAT.format(value);
-					}
-					return FormDataFormats.INTEGER_FORMAT.format(value);
+					return FormDataFormats.formatNumber((Number) value);
 				}
 
 				// Enum (by default, ordinal value is used)
@@ -105,25 +102,7 @@ public enum DefaultFormDataPropertyValueSerializer implements FormDataPropertyVa
 				temporalType = (property != null)
 						? property.getConfiguration().getTemporalType().orElse(TemporalType.DATE_TIME)
 						: TemporalType.DATE_TIME;
-
-				LocalDate datePart = null;
-				LocalTime timePart = null;
-
-				switch (temporalType) {
-				case DATE_TIME:
-					datePart = ConversionUtils.toLocalDate(date);
-					timePart = ConversionUtils.toLocalTime(date);
-					break;
-				case TIME:
-					timePart = ConversionUtils.toLocalTime(date);
-					break;
-				case DATE:
-				default:
-					datePart = ConversionUtils.toLocalDate(date);
-					break;
-				}
-
-				return Optional.of(serializeDateTimeValue(datePart, timePart, null));
+				return Optional.of(serializeDate(date, temporalType));
 			}
 
 			if (TemporalAccessor.class.isAssignableFrom(value.getClass())) {
@@ -177,6 +156,33 @@ public enum DefaultFormDataPropertyValueSerializer implements FormDataPropertyVa
 		return Optional.empty();
 	}
 
+	/**
+	 * Serialize a {@link Date} value, using given temporal type to select the date and/or time parts to serialize.
+	 * @param date The date to serialize
+	 * @param temporalType The temporal type
+	 * @return Serialized date/time value
+	 */
+	static String serializeDate(Date date, TemporalType temporalType) {
+		LocalDate datePart = null;
+		LocalTime timePart = null;
+
+		switch (temporalType) {
+		case DATE_TIME:
+			datePart = ConversionUtils.toLocalDate(date);
+			timePart = ConversionUtils.toLocalTime(date);
+			break;
+		case TIME:
+			timePart = ConversionUtils.toLocalTime(date);
+			break;
+		case DATE:
+		default:
+			datePart = ConversionUtils.toLocalDate(date);
+			break;
+		}
+
+		return serializeDateTimeValue(datePart, timePart, null);
+	}
+
 	/**
 	 * Serialize a date/time value using given {@link LocalDate} part, {@link LocalTime} part and zone offset.
 	 * @param datePart Date part
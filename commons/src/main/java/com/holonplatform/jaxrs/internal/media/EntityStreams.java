@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.internal.media;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Utility methods to build {@link Stream}s which are lazily populated from a message entity stream.
+ *
+ * @since 6.0.1
+ */
+public final class EntityStreams {
+
+	private EntityStreams() {
+	}
+
+	/**
+	 * Element decoder.
+	 * @param <T> Element type
+	 */
+	@FunctionalInterface
+	public interface ElementDecoder<T> {
+
+		/**
+		 * Decode the next element.
+		 * @return The decoded element, <code>null</code> if there are no more elements
+		 * @throws IOException If a stream read error occurred
+		 */
+		T next() throws IOException;
+
+	}
+
+	/**
+	 * Build a lazy {@link Stream} which decodes an element at each advance, using given <code>decoder</code>. The
+	 * <code>entityStream</code> is closed when the decoder returns <code>null</code> or when the {@link Stream} is
+	 * closed.
+	 * <p>
+	 * The returned {@link Stream} implements {@link Closeable} too, to inform the JAX-RS runtime that the entity stream
+	 * must not be closed when the read operation returns.
+	 * </p>
+	 * @param <T> Element type
+	 * @param decoder The element decoder (not null)
+	 * @param entityStream The entity stream (not null)
+	 * @return The lazy {@link Stream}
+	 */
+	public static <T> Stream<T> lazy(ElementDecoder<T> decoder, InputStream entityStream) {
+		final Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+				Spliterator.ORDERED | Spliterator.NONNULL) {
+
+			private boolean completed = false;
+
+			@Override
+			public boolean tryAdvance(Consumer<? super T> action) {
+				if (completed) {
+					return false;
+				}
+				try {
+					final T element = decoder.next();
+					if (element == null) {
+						completed = true;
+						entityStream.close();
+						return false;
+					}
+					action.accept(element);
+					return true;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+
+		};
+		return closeable(StreamSupport.stream(spliterator, false).onClose(() -> {
+			try {
+				entityStream.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}));
+	}
+
+	/**
+	 * Wrap given {@link Stream} into a {@link Stream} which implements {@link Closeable} too.
+	 * @param <T> Element type
+	 * @param stream The stream to wrap (not null)
+	 * @return A {@link Closeable} {@link Stream} which delegates to given stream
+	 */
+	public static <T> Stream<T> closeable(Stream<T> stream) {
+		if (stream instanceof Closeable) {
+			return stream;
+		}
+		return new CloseableStream<>(stream);
+	}
+
+}
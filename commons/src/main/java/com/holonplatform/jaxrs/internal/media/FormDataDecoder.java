@@ -0,0 +1,266 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.internal.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response.Status;
+
+/**
+ * Streaming <code>application/x-www-form-urlencoded</code> decoder.
+ * <p>
+ * The form data is read from an {@link InputStream} in a single pass: percent-escapes and <code>+</code> characters
+ * are decoded on the fly into a reusable token buffer, and each decoded name/value pair is notified to a
+ * {@link FieldHandler} as soon as it is complete.
+ * </p>
+ * <p>
+ * The stream content can be decoded either as a single form or as a sequence of line-delimited form records.
+ * </p>
+ * <p>
+ * Pairs without a name or with an empty value are skipped. A decoder instance is not thread-safe.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public final class FormDataDecoder {
+
+	private static final int READ_BUFFER_SIZE = 4096;
+
+	private static final int INITIAL_TOKEN_SIZE = 64;
+
+	/**
+	 * Decoded form field handler.
+	 */
+	@FunctionalInterface
+	public interface FieldHandler {
+
+		/**
+		 * Handle a decoded form field.
+		 * @param name Field name (never null nor empty)
+		 * @param value Field value (never null nor empty)
+		 * @throws IOException If an error occurred
+		 */
+		void field(String name, String value) throws IOException;
+
+	}
+
+	private final InputStream stream;
+
+	private final Charset charset;
+
+	private final long maxBodySize;
+
+	private final byte[] buffer = new byte[READ_BUFFER_SIZE];
+
+	private int position;
+
+	private int limit;
+
+	private long total;
+
+	private boolean eof;
+
+	private byte[] token = new byte[INITIAL_TOKEN_SIZE];
+
+	private int length;
+
+	/**
+	 * Constructor.
+	 * @param stream Form data stream (not null)
+	 * @param charset Charset to use to decode the percent-decoded bytes (not null)
+	 * @param maxBodySize Maximum number of bytes which can be read, a negative value means no limit
+	 */
+	public FormDataDecoder(InputStream stream, Charset charset, long maxBodySize) {
+		super();
+		this.stream = stream;
+		this.charset = charset;
+		this.maxBodySize = maxBodySize;
+	}
+
+	/**
+	 * Decode the whole stream content as a single form.
+	 * @param handler Decoded fields handler
+	 * @return <code>true</code> if the stream provided any non-blank content, <code>false</code> otherwise
+	 * @throws IOException If a stream read error occurred
+	 * @throws WebApplicationException If the form data is malformed or the maximum body size was exceeded
+	 */
+	public boolean decode(FieldHandler handler) throws IOException, WebApplicationException {
+		return decode(handler, false);
+	}
+
+	/**
+	 * Decode the next form record, where records are delimited by line breaks (<code>\n</code> or
+	 * <code>\r\n</code>). Blank lines are skipped, while a record without fields, such as the empty record marker
+	 * written by {@link FormDataEncoder#endRecord()}, is decoded as an empty record.
+	 * @param handler Decoded fields handler
+	 * @return <code>true</code> if a record was decoded, <code>false</code> if the end of the stream was reached
+	 * @throws IOException If a stream read error occurred
+	 * @throws WebApplicationException If the form data is malformed or the maximum body size was exceeded
+	 */
+	public boolean decodeRecord(FieldHandler handler) throws IOException, WebApplicationException {
+		return decode(handler, true);
+	}
+
+	/**
+	 * Decode the stream content, up to the next line break if <code>delimited</code> is <code>true</code>.
+	 * @param handler Decoded fields handler
+	 * @param delimited Whether line breaks delimit records
+	 * @return <code>true</code> if any non-blank content was decoded
+	 * @throws IOException If a stream read error occurred
+	 * @throws WebApplicationException If the form data is malformed or the maximum body size was exceeded
+	 */
+	private boolean decode(FieldHandler handler, boolean delimited) throws IOException, WebApplicationException {
+		boolean content = false;
+		String name = null;
+		int escape = 0;
+		int escaped = 0;
+
+		length = 0;
+
+		while (position < limit || fill()) {
+			final byte b = buffer[position++];
+			// record delimiter
+			if (delimited && escape == 0 && (b == '\n' || b == '\r')) {
+				if (content) {
+					break;
+				}
+				// blank line
+				name = null;
+				length = 0;
+				continue;
+			}
+			if (b > ' ') {
+				content = true;
+			}
+			// percent-escape
+			if (escape > 0) {
+				final int digit = Character.digit(b, 16);
+				if (digit < 0) {
+					throw malformed();
+				}
+				escaped = (escaped << 4) | digit;
+				if (--escape == 0) {
+					append((byte) escaped);
+				}
+				continue;
+			}
+			switch (b) {
+			case '&':
+				field(name, handler);
+				name = null;
+				break;
+			case '=':
+				if (name == null) {
+					name = take();
+				} else {
+					append(b);
+				}
+				break;
+			case '+':
+				append((byte) ' ');
+				break;
+			case '%':
+				escape = 2;
+				escaped = 0;
+				break;
+			default:
+				append(b);
+				break;
+			}
+		}
+
+		if (escape > 0) {
+			throw malformed();
+		}
+		field(name, handler);
+
+		return content;
+	}
+
+	/**
+	 * Read the next chunk of bytes from the stream into the read buffer.
+	 * @return <code>false</code> if the end of the stream was reached
+	 * @throws IOException If a stream read error occurred
+	 * @throws WebApplicationException If the maximum body size was exceeded
+	 */
+	private boolean fill() throws IOException, WebApplicationException {
+		if (eof) {
+			return false;
+		}
+		int read;
+		do {
+			read = stream.read(buffer);
+		} while (read == 0);
+		if (read < 0) {
+			eof = true;
+			return false;
+		}
+		total += read;
+		if (maxBodySize >= 0 && total > maxBodySize) {
+			throw new WebApplicationException(
+					"The form data body exceeds the maximum allowed size of " + maxBodySize + " bytes",
+					Status.REQUEST_ENTITY_TOO_LARGE);
+		}
+		position = 0;
+		limit = read;
+		return true;
+	}
+
+	/**
+	 * Notify the current field to given handler, if the field name and value are available, and reset the token
+	 * buffer.
+	 * @param name Field name
+	 * @param handler Handler
+	 * @throws IOException If an error occurred
+	 */
+	private void field(String name, FieldHandler handler) throws IOException {
+		if (name != null && !name.isEmpty() && length > 0) {
+			handler.field(name, take());
+		} else {
+			length = 0;
+		}
+	}
+
+	/**
+	 * Append a decoded byte to the token buffer, growing it if required.
+	 * @param b The byte to append
+	 */
+	private void append(byte b) {
+		if (length == token.length) {
+			token = Arrays.copyOf(token, length << 1);
+		}
+		token[length++] = b;
+	}
+
+	/**
+	 * Get the current token as a String and reset the token buffer.
+	 * @return The current token
+	 */
+	private String take() {
+		final String value = new String(token, 0, length, charset);
+		length = 0;
+		return value;
+	}
+
+	private static WebApplicationException malformed() {
+		return new WebApplicationException("Malformed percent-encoded form data", Status.BAD_REQUEST);
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.internal.media;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streaming UTF-8 <code>application/x-www-form-urlencoded</code> encoder.
+ * <p>
+ * Names and values are percent-encoded directly into a fixed size byte buffer, which is flushed to the target
+ * {@link OutputStream} only when full or when {@link #flush()} is invoked. The encoding rules are the same of the
+ * {@link java.net.URLEncoder} class.
+ * </p>
+ * <p>
+ * Field names are expected to be already encoded, see {@link FormDataPropertyCodec#getEncodedName()}. An encoder
+ * instance is not thread-safe.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public final class FormDataEncoder {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final byte[] HEX = "0123456789ABCDEF".getBytes();
+
+	private final OutputStream stream;
+
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	private int position;
+
+	private long flushed;
+
+	private boolean empty = true;
+
+	/**
+	 * Constructor.
+	 * @param stream The stream to write to (not null)
+	 */
+	public FormDataEncoder(OutputStream stream) {
+		super();
+		this.stream = stream;
+	}
+
+	/**
+	 * Write a form field.
+	 * @param name The field name, already encoded (not null)
+	 * @param value The field value, not encoded
+	 * @throws IOException If a stream write error occurred
+	 */
+	public void field(byte[] name, CharSequence value) throws IOException {
+		if (!empty) {
+			write((byte) '&');
+		}
+		empty = false;
+		for (byte b : name) {
+			write(b);
+		}
+		write((byte) '=');
+		if (value != null) {
+			percentEncode(value);
+		}
+	}
+
+	/**
+	 * Start a new form record, writing a line break as records separator.
+	 * @throws IOException If a stream write error occurred
+	 */
+	public void nextRecord() throws IOException {
+		write((byte) '\n');
+		empty = true;
+	}
+
+	/**
+	 * Complete the current form record, writing the empty record marker (a single <code>&amp;</code> character) if no
+	 * field was written, so that an empty record is not decoded as a blank line.
+	 * @throws IOException If a stream write error occurred
+	 */
+	public void endRecord() throws IOException {
+		if (empty) {
+			write((byte) '&');
+		}
+	}
+
+	/**
+	 * Get whether any byte was already flushed to the target stream.
+	 * @return <code>true</code> if any byte was already flushed to the target stream
+	 */
+	public boolean isFlushed() {
+		return flushed > 0;
+	}
+
+	/**
+	 * Get the total number of encoded bytes, including the ones not yet flushed.
+	 * @return The total number of encoded bytes
+	 */
+	public long size() {
+		return flushed + position;
+	}
+
+	/**
+	 * Write any buffered byte to the target stream.
+	 * @throws IOException If a stream write error occurred
+	 */
+	public void flush() throws IOException {
+		if (position > 0) {
+			stream.write(buffer, 0, position);
+			flushed += position;
+			position = 0;
+		}
+	}
+
+	/**
+	 * Percent-encode given characters using the UTF-8 charset.
+	 * @param value The characters to encode
+	 * @throws IOException If a stream write error occurred
+	 */
+	private void percentEncode(CharSequence value) throws IOException {
+		final int length = value.length();
+		for (int i = 0; i < length; i++) {
+			final char c = value.charAt(i);
+			if (isUnreserved(c)) {
+				write((byte) c);
+			} else if (c == ' ') {
+				write((byte) '+');
+			} else if (c < 0x80) {
+				escape(c);
+			} else if (c < 0x800) {
+				escape(0xC0 | (c >> 6));
+				escape(0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < length
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				final int cp = Character.toCodePoint(c, value.charAt(++i));
+				escape(0xF0 | (cp >> 18));
+				escape(0x80 | ((cp >> 12) & 0x3F));
+				escape(0x80 | ((cp >> 6) & 0x3F));
+				escape(0x80 | (cp & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				// unpaired surrogate: replacement char, as URLEncoder does
+				escape('?');
+			} else {
+				escape(0xE0 | (c >> 12));
+				escape(0x80 | ((c >> 6) & 0x3F));
+				escape(0x80 | (c & 0x3F));
+			}
+		}
+	}
+
+	private void escape(int b) throws IOException {
+		write((byte) '%');
+		write(HEX[(b >> 4) & 0x0F]);
+		write(HEX[b & 0x0F]);
+	}
+
+	private void write(byte b) throws IOException {
+		if (position == buffer.length) {
+			flush();
+		}
+		buffer[position++] = b;
+	}
+
+	/**
+	 * Percent-encode given value into a new byte array.
+	 * @param value The value to encode (not null)
+	 * @return The encoded bytes
+	 */
+	public static byte[] encode(String value) {
+		final ByteArrayOutputStream os = new ByteArrayOutputStream(value.length() * 3);
+		final FormDataEncoder encoder = new FormDataEncoder(os);
+		try {
+			encoder.percentEncode(value);
+			encoder.flush();
+		} catch (IOException e) {
+			// never happens using a ByteArrayOutputStream
+			throw new IllegalStateException(e);
+		}
+		return os.toByteArray();
+	}
+
+	/**
+	 * Checks whether given character can be written without encoding.
+	 * @param c The character to check
+	 * @return <code>true</code> if given character can be written without encoding
+	 */
+	private static boolean isUnreserved(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '-'
+				|| c == '*' || c == '_';
+	}
+
+}
@@ -16,15 +16,29 @@
 package com.holonplatform.jaxrs.internal.media;
 
 import java.io.Serializable;
-import java.text.DateFormat;
-import java.text.NumberFormat;
-import java.text.SimpleDateFormat;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
 import java.util.Locale;
 
+import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.core.temporal.TemporalType;
+
 /**
  * Utility class to manage data formats using <code>application/x-www-form-urlencoded</code> media type.
+ * <p>
+ * All the formats are immutable and can be safely shared across concurrent requests.
+ * </p>
  * 
  * @since 5.0.0
  */
@@ -43,28 +57,225 @@ public final class FormDataFormats implements Serializable {
 	public static final DateTimeFormatter ANSI_OFFSET_ID_FORMATTER = new DateTimeFormatterBuilder()
 			.parseCaseInsensitive().appendOffsetId().toFormatter();
 
-	public static final NumberFormat INTEGER_FORMAT = NumberFormat.getIntegerInstance(Locale.US);
-	public static final NumberFormat DECIMAL_FORMAT = NumberFormat.getNumberInstance(Locale.US);
+	private FormDataFormats() {
+	}
 
-	static {
-		INTEGER_FORMAT.setGroupingUsed(false);
-		INTEGER_FORMAT.setParseIntegerOnly(true);
-		DECIMAL_FORMAT.setGroupingUsed(false);
+	/**
+	 * Parse given value as a {@link Date}, using the system default time zone.
+	 * <p>
+	 * If a {@link TemporalType} is specified, the corresponding format is tried first. Then, the date and time, the
+	 * date only and the time only formats are tried, in this order. As for the <code>java.text</code> date formats,
+	 * any trailing text after a valid value is ignored.
+	 * </p>
+	 * @param value The value to parse (not null)
+	 * @param temporalType The expected temporal type (may be null)
+	 * @return The parsed date, or <code>null</code> if given value cannot be parsed using any of the supported formats
+	 */
+	public static Date parseDate(String value, TemporalType temporalType) {
+		Date date = null;
+		if (temporalType != null) {
+			date = parseDate(value, getFormatter(temporalType), temporalType);
+		}
+		if (date == null && temporalType != TemporalType.DATE_TIME) {
+			date = parseDate(value, DATETIME_FORMATTER, TemporalType.DATE_TIME);
+		}
+		if (date == null && temporalType != TemporalType.DATE) {
+			date = parseDate(value, DATE_FORMATTER, TemporalType.DATE);
+		}
+		if (date == null && temporalType != TemporalType.TIME) {
+			date = parseDate(value, TIME_FORMATTER, TemporalType.TIME);
+		}
+		return date;
 	}
 
-	private FormDataFormats() {
+	/**
+	 * Parse given value as a {@link Date} using given formatter, without throwing parse exceptions.
+	 * @param value The value to parse
+	 * @param formatter The formatter to use
+	 * @param temporalType The temporal type which corresponds to the formatter
+	 * @return The parsed date, or <code>null</code> if the value cannot be parsed
+	 */
+	private static Date parseDate(String value, DateTimeFormatter formatter, TemporalType temporalType) {
+		final TemporalAccessor parsed = formatter.parseUnresolved(value, new ParsePosition(0));
+		if (parsed == null) {
+			return null;
+		}
+		try {
+			final LocalDate date = (temporalType == TemporalType.TIME) ? LocalDate.of(1970, 1, 1)
+					: LocalDate.of((int) parsed.getLong(ChronoField.YEAR_OF_ERA),
+							(int) parsed.getLong(ChronoField.MONTH_OF_YEAR),
+							(int) parsed.getLong(ChronoField.DAY_OF_MONTH));
+			final LocalTime time = (temporalType == TemporalType.DATE) ? LocalTime.MIDNIGHT
+					: LocalTime.of((int) parsed.getLong(ChronoField.HOUR_OF_DAY),
+							(int) parsed.getLong(ChronoField.MINUTE_OF_HOUR),
+							(int) parsed.getLong(ChronoField.SECOND_OF_MINUTE));
+			return Date.from(LocalDateTime.of(date, time).atZone(ZoneId.systemDefault()).toInstant());
+		} catch (@SuppressWarnings("unused") DateTimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Get the formatter which corresponds to given temporal type.
+	 * @param temporalType Temporal type (not null)
+	 * @return The formatter
+	 */
+	private static DateTimeFormatter getFormatter(TemporalType temporalType) {
+		switch (temporalType) {
+		case DATE:
+			return DATE_FORMATTER;
+		case TIME:
+			return TIME_FORMATTER;
+		case DATE_TIME:
+		default:
+			return DATETIME_FORMATTER;
+		}
+	}
+
+	/**
+	 * Parse given value as a <code>long</code> integer number, without allocating any object.
+	 * <p>
+	 * An optional leading sign is allowed. Any fractional part (a <code>.</code> followed by digits only) is
+	 * truncated.
+	 * </p>
+	 * @param value The value to parse (not null)
+	 * @return The parsed number
+	 * @throws NumberFormatException If given value is not a valid integer number or it overflows a <code>long</code>
+	 */
+	public static long parseLong(CharSequence value) throws NumberFormatException {
+		final int length = value.length();
+		int i = 0;
+		boolean negative = false;
+		if (length > 0) {
+			final char first = value.charAt(0);
+			if (first == '-' || first == '+') {
+				negative = first == '-';
+				i++;
+			}
+		}
+		if (i == length) {
+			throw invalidNumber(value);
+		}
+		// accumulate negatively to handle Long.MIN_VALUE
+		long result = 0;
+		boolean fraction = false;
+		for (; i < length; i++) {
+			final char c = value.charAt(i);
+			if (c == '.' && !fraction) {
+				fraction = true;
+				continue;
+			}
+			if (c < '0' || c > '9') {
+				throw invalidNumber(value);
+			}
+			if (!fraction) {
+				if (result < (Long.MIN_VALUE / 10)) {
+					throw invalidNumber(value);
+				}
+				result *= 10;
+				final int digit = c - '0';
+				if (result < Long.MIN_VALUE + digit) {
+					throw invalidNumber(value);
+				}
+				result -= digit;
+			}
+		}
+		if (!negative) {
+			if (result == Long.MIN_VALUE) {
+				throw invalidNumber(value);
+			}
+			return -result;
+		}
+		return result;
+	}
+
+	/**
+	 * Parse given value as a number of given integer type.
+	 * @param <N> Number type
+	 * @param value The value to parse (not null)
+	 * @param type The integer number type (not null)
+	 * @return The parsed number
+	 * @throws NumberFormatException If given value is not a valid number
+	 * @throws IllegalArgumentException If the parsed number overflows the target type
+	 */
+	@SuppressWarnings("unchecked")
+	public static <N extends Number> N parseInteger(String value, Class<N> type)
+			throws NumberFormatException, IllegalArgumentException {
+		if (BigInteger.class == type) {
+			final int dot = value.indexOf('.');
+			return (N) new BigInteger((dot > -1) ? value.substring(0, dot) : value);
+		}
+		final long parsed = parseLong(value);
+		if (Long.class == type || long.class == type) {
+			return (N) Long.valueOf(parsed);
+		}
+		if (Integer.class == type || int.class == type) {
+			return (N) Integer.valueOf(Math.toIntExact(parsed));
+		}
+		if (Short.class == type || short.class == type) {
+			if (parsed < Short.MIN_VALUE || parsed > Short.MAX_VALUE) {
+				throw new IllegalArgumentException("Value [" + value + "] overflows the short type");
+			}
+			return (N) Short.valueOf((short) parsed);
+		}
+		if (Byte.class == type || byte.class == type) {
+			if (parsed < Byte.MIN_VALUE || parsed > Byte.MAX_VALUE) {
+				throw new IllegalArgumentException("Value [" + value + "] overflows the byte type");
+			}
+			return (N) Byte.valueOf((byte) parsed);
+		}
+		return ConversionUtils.convertNumberToTargetClass(Long.valueOf(parsed), type);
 	}
 
-	public static DateFormat getDateFormat() {
-		return new SimpleDateFormat(DATE_FORMAT_PATTERN, Locale.US);
+	/**
+	 * Parse given value as a number of given decimal type.
+	 * @param <N> Number type
+	 * @param value The value to parse (not null)
+	 * @param type The decimal number type (not null)
+	 * @return The parsed number
+	 * @throws NumberFormatException If given value is not a valid number
+	 */
+	@SuppressWarnings("unchecked")
+	public static <N extends Number> N parseDecimal(String value, Class<N> type) throws NumberFormatException {
+		if (BigDecimal.class == type) {
+			return (N) new BigDecimal(value);
+		}
+		if (Float.class == type || float.class == type) {
+			return (N) Float.valueOf(Float.parseFloat(value));
+		}
+		if (Double.class == type || double.class == type) {
+			return (N) Double.valueOf(Double.parseDouble(value));
+		}
+		return ConversionUtils.convertNumberToTargetClass(Double.valueOf(Double.parseDouble(value)), type);
 	}
 
-	public static DateFormat getTimeFormat() {
-		return new SimpleDateFormat(TIME_FORMAT_PATTERN, Locale.US);
+	/**
+	 * Format given number, using the plain notation (no grouping and no exponent).
+	 * @param value The number to format (not null)
+	 * @return The formatted number
+	 */
+	public static String formatNumber(Number value) {
+		if (value instanceof Double || value instanceof Float) {
+			final double d = value.doubleValue();
+			if (Double.isNaN(d) || Double.isInfinite(d)) {
+				return value.toString();
+			}
+			final double abs = Math.abs(d);
+			if (abs == 0d || (abs >= 1e-3 && abs < 1e7)) {
+				// plain notation
+				return (value instanceof Float) ? Float.toString(value.floatValue()) : Double.toString(d);
+			}
+			return ((value instanceof Float) ? new BigDecimal(Float.toString(value.floatValue()))
+					: BigDecimal.valueOf(d)).stripTrailingZeros().toPlainString();
+		}
+		if (value instanceof BigDecimal) {
+			return ((BigDecimal) value).toPlainString();
+		}
+		return value.toString();
 	}
 
-	public static DateFormat getDateTimeFormat() {
-		return new SimpleDateFormat(DATE_FORMAT_PATTERN + "'T'" + TIME_FORMAT_PATTERN, Locale.US);
+	private static NumberFormatException invalidNumber(CharSequence value) {
+		return new NumberFormatException("Invalid integer number: [" + value + "]");
 	}
 
 }
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.internal.media;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.Date;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.Property.PropertyReadException;
+import com.holonplatform.core.property.Property.PropertyWriteException;
+import com.holonplatform.core.temporal.TemporalType;
+import com.holonplatform.jaxrs.media.FormDataPropertyValueDeserializer;
+import com.holonplatform.jaxrs.media.FormDataPropertyValueSerializer;
+
+/**
+ * A {@link Property} value codec for the <code>application/x-www-form-urlencoded</code> media type.
+ * <p>
+ * A codec is resolved only once for each {@link Property}, according to the property type and configuration, and
+ * provides the encoded property name and a specialized value serialization and deserialization strategy, consistent
+ * with the default {@link FormDataPropertyValueSerializer} and {@link FormDataPropertyValueDeserializer}. The codec
+ * instances are cached per {@link Property} instance, using weak identity keys, and are usually obtained through a
+ * {@link FormDataPropertySetIndex}.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public abstract class FormDataPropertyCodec {
+
+	/**
+	 * Cache
+	 */
+	private final static WeakIdentityCache<Property<?>, FormDataPropertyCodec> CACHE = new WeakIdentityCache<>();
+
+	/**
+	 * Encoded property name
+	 */
+	private final byte[] encodedName;
+
+	/**
+	 * Constructor.
+	 * @param name The property name
+	 */
+	FormDataPropertyCodec(String name) {
+		super();
+		this.encodedName = FormDataEncoder.encode(name);
+	}
+
+	/**
+	 * Get the <code>application/x-www-form-urlencoded</code> encoded property name.
+	 * @return The encoded property name bytes
+	 */
+	public byte[] getEncodedName() {
+		return encodedName;
+	}
+
+	/**
+	 * Serialize given property value.
+	 * @param property The property (not null)
+	 * @param value The value to serialize (not null)
+	 * @return Serialized value
+	 * @throws PropertyWriteException If an error occurred
+	 */
+	public String serialize(Property<?> property, Object value) throws PropertyWriteException {
+		try {
+			return doSerialize(property, value);
+		} catch (PropertyWriteException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new PropertyWriteException(property, e);
+		}
+	}
+
+	/**
+	 * Deserialize given property value.
+	 * @param property The property (not null)
+	 * @param value The value to deserialize (not null)
+	 * @return Deserialized value
+	 * @throws PropertyReadException If an error occurred
+	 */
+	public Object deserialize(Property<?> property, String value) throws PropertyReadException {
+		try {
+			return doDeserialize(property, value);
+		} catch (PropertyReadException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new PropertyReadException(property, e);
+		}
+	}
+
+	/**
+	 * Serialize given property value.
+	 * @param property The property
+	 * @param value The value to serialize
+	 * @return Serialized value
+	 * @throws Exception If an error occurred
+	 */
+	abstract String doSerialize(Property<?> property, Object value) throws Exception;
+
+	/**
+	 * Deserialize given property value.
+	 * @param property The property
+	 * @param value The value to deserialize
+	 * @return Deserialized value
+	 * @throws Exception If an error occurred
+	 */
+	abstract Object doDeserialize(Property<?> property, String value) throws Exception;
+
+	/**
+	 * Get the codec for given {@link Property}.
+	 * @param property The property, which must be a {@link Path} (not null)
+	 * @return The property codec, resolved and cached at first access
+	 */
+	public static FormDataPropertyCodec of(Property<?> property) {
+		ObjectUtils.argumentNotNull(property, "Property must be not null");
+		return CACHE.get(property, p -> resolve(p));
+	}
+
+	/**
+	 * Resolve the codec for given property. The returned codec must not hold any reference to the property itself.
+	 * @param property The property
+	 * @return The property codec
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static FormDataPropertyCodec resolve(Property<?> property) {
+		final String name = ((Path<?>) property).getName();
+		final Class<?> type = property.getType();
+
+		if (TypeUtils.isString(type)) {
+			return new StringCodec(name);
+		}
+		if (TypeUtils.isBoolean(type)) {
+			return new BooleanCodec(name);
+		}
+		if (TypeUtils.isEnum(type)) {
+			return new EnumCodec(name, (Class<Enum>) type);
+		}
+		if (TypeUtils.isIntegerNumber(type)) {
+			return new IntegerCodec(name, (Class<Number>) type);
+		}
+		if (TypeUtils.isDecimalNumber(type)) {
+			return new DecimalCodec(name, (Class<Number>) type);
+		}
+		if (TypeUtils.isDate(type) || TypeUtils.isCalendar(type)) {
+			return new DateCodec(name, property.getConfiguration().getTemporalType().orElse(null),
+					TypeUtils.isCalendar(type));
+		}
+		if (LocalDate.class == type) {
+			return new LocalDateCodec(name);
+		}
+		if (LocalDateTime.class == type) {
+			return new LocalDateTimeCodec(name);
+		}
+		if (LocalTime.class == type) {
+			return new LocalTimeCodec(name);
+		}
+		return new DefaultCodec(name);
+	}
+
+	// ------- Codecs
+
+	private static final class StringCodec extends FormDataPropertyCodec {
+
+		StringCodec(String name) {
+			super(name);
+		}
+
+		@Override
+		String doSerialize(Property<?> property, Object value) {
+			return value.toString();
+		}
+
+		@Override
+		Object doDeserialize(Property<?> property, String value) {
+			return value;
+		}
+
+	}
+
+	private static final class BooleanCodec extends FormDataPropertyCodec {
+
+		BooleanCodec(String name) {
+			super(name);
+		}
+
+		@Override
+		String doSerialize(Property<?> property, Object value) {
+			return ((Boolean) value).booleanValue() ? "true" : "false";
+		}
+
+		@Override
+		Object doDeserialize(Property<?> property, String value) {
+			return Boolean.valueOf(Boolean.parseBoolean(value));
+		}
+
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static final class EnumCodec extends FormDataPropertyCodec {
+
+		private final Class<Enum> type;
+		private final Enum[] constants;
+		private final String[] ordinals;
+
+		EnumCodec(String name, Class<Enum> type) {
+			super(name);
+			this.type = type;
+			this.constants = type.getEnumConstants();
+			this.ordinals = new String[constants.length];
+			for (int i = 0; i < constants.length; i++) {
+				ordinals[i] = String.valueOf(i);
+			}
+		}
+
+		@Override
+		String doSerialize(Property<?> property, Object value) {
+			// by default, ordinal value is used
+			return ordinals[((Enum<?>) value).ordinal()];
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		Object doDeserialize(Property<?> property, String value) {
+			// try by ordinal
+			if (isDigits(value)) {
+				final long ordinal = FormDataFormats.parseLong(value);
+				if (ordinal >= constants.length) {
+					throw new PropertyReadException(property,
+							"Invalid ordinal value [" + value + "] for enum type [" + type.getName() + "]");
+				}
+				return constants[(int) ordinal];
+			}
+			return ConversionUtils.convertEnumValue(type, value);
+		}
+
+		private static boolean isDigits(String value) {
+			final int length = value.length();
+			if (length == 0 || length > 9) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				final char c = value.charAt(i);
+				if (c < '0' || c > '9') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	private static final class IntegerCodec extends FormDataPropertyCodec {
+
+		private final Class<Number> type;
+
+		IntegerCodec(String name, Class<Number> type) {
+			super(name);
+			this.type = type;
+		}
+
+		@Override
+		String doSerialize(Property<?> property, Object value) {
+			return FormDataFormats.formatNumber((Number) value);
+		}
+
+		@Override
+		Object doDeserialize(Property<?> property, String value) {
+			return FormDataFormats.parseInteger(value, type);
+		}
+
+	}
+
+	private static final class DecimalCodec extends FormDataPropertyCodec {
+
+		private final Class<Number> type;
+
+		DecimalCodec(String name, Class<Number> type) {
+			super(name);
+			this.type = type;
+		}
+
+		@Override
+		String doSerialize(Property<?> property, Object value) {
+			return FormDataFormats.formatNumber((Number) value);
+		}
+
+		@Override
+		Object doDeserialize(Property<?> property, String value) {
+			return FormDataFormats.parseDecimal(value, type);
+		}
+
+	}
+
+	private static final class DateCodec extends FormDataPropertyCodec {
+
+		private final TemporalType temporalType;
+		private final boolean calendar;
+
+		DateCodec(String name, TemporalType temporalType, boolean calendar) {
+			super(name);
+			this.temporalType = temporalType;
+			this.calendar = calendar;
+		}
+
+		@Override
+		String doSerialize(Property<?> property, Object value) {
+			final Date date = (value instanceof Calendar) ? ((Calendar) value).getTime() : (Date) value;
+			return DefaultFormDataPropertyValueSerializer.serializeDate(date,
+					(temporalType != null) ? temporalType : TemporalType.DATE_TIME);
+		}
+
+		@Override
+		Object doDeserialize(Property<?> property, String value) {
+			final Date date = FormDataFormats.parseDate(value, temporalType);
+			if (date == null) {
+				throw new PropertyReadException(property, "Failed to parse value [" + value + "] as valid Date value");
+			}
+			if (calendar) {
+				final Calendar c = Calendar.getInstance();
+				c.setTime(date);
+				return c;
+			}
+			return date;
+		}
+
+	}
+
+	private static final class LocalDateCodec extends FormDataPropertyCodec {
+
+		LocalDateCodec(String name) {
+			super(name);
+		}
+
+		@Override
+		String doSerialize(Property<?> property, Object value) {
+			return FormDataFormats.DATE_FORMATTER.format((LocalDate) value);
+		}
+
+		@Override
+		Object doDeserialize(Property<?> property, String value) {
+			return LocalDate.parse(value, FormDataFormats.DATE_FORMATTER);
+		}
+
+	}
+
+	private static final class LocalDateTimeCodec extends FormDataPropertyCodec {
+
+		LocalDateTimeCodec(String name) {
+			super(name);
+		}
+
+		@Override
+		String doSerialize(Property<?> property, Object value) {
+			return FormDataFormats.DATETIME_FORMATTER.format((LocalDateTime) value);
+		}
+
+		@Override
+		Object doDeserialize(Property<?> property, String value) {
+			return LocalDateTime.parse(value, FormDataFormats.DATETIME_FORMATTER);
+		}
+
+	}
+
+	private static final class LocalTimeCodec extends FormDataPropertyCodec {
+
+		LocalTimeCodec(String name) {
+			super(name);
+		}
+
+		@Override
+		String doSerialize(Property<?> property, Object value) {
+			return FormDataFormats.TIME_FORMATTER.format((LocalTime) value);
+		}
+
+		@Override
+		Object doDeserialize(Property<?> property, String value) {
+			return LocalTime.parse(value, FormDataFormats.TIME_FORMATTER);
+		}
+
+	}
+
+	/**
+	 * Codec which delegates to the default serializer and deserializer.
+	 */
+	private static final class DefaultCodec extends FormDataPropertyCodec {
+
+		DefaultCodec(String name) {
+			super(name);
+		}
+
+		@Override
+		String doSerialize(Property<?> property, Object value) {
+			return DefaultFormDataPropertyValueSerializer.INSTANCE.serialize(property, value);
+		}
+
+		@Override
+		Object doDeserialize(Property<?> property, String value) {
+			return DefaultFormDataPropertyValueDeserializer.INSTANCE.deserialize(property, value);
+		}
+
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.internal.media;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * A {@link PropertySet} index which maps the {@link Path} name of each set property to the property itself and to its
+ * {@link FormDataPropertyCodec}, used to perform <code>application/x-www-form-urlencoded</code> data
+ * serialization and deserialization.
+ * <p>
+ * The index instances are cached per {@link PropertySet} instance, using weak identity keys, so that a lookup neither
+ * acquires a global lock nor hashes the property set contents.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public final class FormDataPropertySetIndex {
+
+	/**
+	 * Cache
+	 */
+	private final static WeakIdentityCache<PropertySet<?>, FormDataPropertySetIndex> CACHE = new WeakIdentityCache<>();
+
+	/**
+	 * Indexed properties, in property set order
+	 */
+	private final IndexedProperty[] properties;
+
+	/**
+	 * Indexed properties by name
+	 */
+	private final Map<String, IndexedProperty> names;
+
+	/**
+	 * Constructor.
+	 * @param propertySet The property set to index
+	 */
+	private FormDataPropertySetIndex(PropertySet<?> propertySet) {
+		super();
+		final Map<String, IndexedProperty> names = new LinkedHashMap<>(Math.max(16, propertySet.size() * 2));
+		for (Property<?> property : propertySet) {
+			if (property instanceof Path) {
+				names.computeIfAbsent(((Path<?>) property).getName(),
+						n -> new IndexedProperty(property, FormDataPropertyCodec.of(property)));
+			}
+		}
+		this.names = names;
+		this.properties = names.values().toArray(new IndexedProperty[names.size()]);
+	}
+
+	/**
+	 * Get the {@link Property} which corresponds to given <code>name</code>.
+	 * @param name Property name
+	 * @return The {@link Property} which corresponds to given <code>name</code>, if available
+	 */
+	public Optional<Property<?>> getProperty(String name) {
+		final IndexedProperty property = get(name);
+		return (property != null) ? Optional.of(property.getProperty()) : Optional.empty();
+	}
+
+	/**
+	 * Get the indexed property which corresponds to given <code>name</code>.
+	 * @param name Property name
+	 * @return The indexed property which corresponds to given <code>name</code>, <code>null</code> if none
+	 */
+	public IndexedProperty get(String name) {
+		return (name != null) ? names.get(name) : null;
+	}
+
+	/**
+	 * Get all the indexed properties.
+	 * @return The indexed properties array, which must not be modified
+	 */
+	public IndexedProperty[] getProperties() {
+		return properties;
+	}
+
+	/**
+	 * Get the index of given {@link PropertySet}.
+	 * @param propertySet The property set (not null)
+	 * @return The property set index, built and cached at first access
+	 */
+	public static FormDataPropertySetIndex of(PropertySet<?> propertySet) {
+		ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
+		return CACHE.get(propertySet, ps -> new FormDataPropertySetIndex(ps));
+	}
+
+	/**
+	 * Build a new index of given {@link PropertySet}, without caching it.
+	 * <p>
+	 * This is useful for transient property sets, for example a {@link com.holonplatform.core.property.PropertyBox}
+	 * whose property set is not otherwise available.
+	 * </p>
+	 * @param propertySet The property set (not null)
+	 * @return A new property set index
+	 */
+	public static FormDataPropertySetIndex build(PropertySet<?> propertySet) {
+		ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
+		return new FormDataPropertySetIndex(propertySet);
+	}
+
+	/**
+	 * An indexed {@link Property}, bound to its {@link FormDataPropertyCodec}.
+	 */
+	public static final class IndexedProperty {
+
+		private final Property<?> property;
+		private final FormDataPropertyCodec codec;
+
+		IndexedProperty(Property<?> property, FormDataPropertyCodec codec) {
+			super();
+			this.property = property;
+			this.codec = codec;
+		}
+
+		/**
+		 * Get the property.
+		 * @return the property
+		 */
+		public Property<?> getProperty() {
+			return property;
+		}
+
+		/**
+		 * Get the property codec.
+		 * @return the property codec
+		 */
+		public FormDataPropertyCodec getCodec() {
+			return codec;
+		}
+
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.internal.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+
+import com.holonplatform.core.property.Property.PropertyAccessException;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * A {@link MessageBodyReader} and {@link MessageBodyWriter} to handle {@link PropertyBox} {@link List},
+ * {@link Collection} and {@link Stream} types using <code>application/x-www-form-urlencoded</code> media type.
+ * <p>
+ * Each {@link PropertyBox} is encoded as a form record and records are separated by line breaks. A
+ * {@link PropertyBox} without any non-null value is encoded as an empty record marker, so that it is decoded as an
+ * empty {@link PropertyBox}, while <code>null</code> elements are not written at all. When reading, the
+ * records are decoded one at a time: a {@link Stream} type is populated lazily, reading the entity stream only as the
+ * {@link Stream} is consumed. Such a {@link Stream} must be closed to release the entity stream if it is not fully
+ * consumed.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+@Produces(MediaType.APPLICATION_FORM_URLENCODED)
+@Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+public class PropertyBoxCollectionFormDataProvider extends AbstractFormDataProvider
+		implements MessageBodyWriter<Object>, MessageBodyReader<Object> {
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.ext.MessageBodyReader#isReadable(java.lang.Class, java.lang.reflect.Type,
+	 * java.lang.annotation.Annotation[], jakarta.ws.rs.core.MediaType)
+	 */
+	@Override
+	public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return (List.class == type || Collection.class == type || Stream.class == type)
+				&& isPropertyBoxElementType(genericType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.ext.MessageBodyReader#readFrom(java.lang.Class, java.lang.reflect.Type,
+	 * java.lang.annotation.Annotation[], jakarta.ws.rs.core.MediaType, jakarta.ws.rs.core.MultivaluedMap,
+	 * java.io.InputStream)
+	 */
+	@Override
+	public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+			MultivaluedMap<String, String> httpHeaders, InputStream entityStream)
+			throws IOException, WebApplicationException {
+		final PropertySet<?> propertySet = getPropertySet(annotations);
+		final FormDataDecoder decoder = createDecoder(entityStream);
+
+		if (Stream.class.equals(type)) {
+			return EntityStreams.lazy(() -> decode(decoder, propertySet, true), entityStream);
+		}
+
+		final List<PropertyBox> boxes = new ArrayList<>();
+		PropertyBox box;
+		while ((box = decode(decoder, propertySet, true)) != null) {
+			boxes.add(box);
+		}
+		return boxes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.ext.MessageBodyWriter#isWriteable(java.lang.Class, java.lang.reflect.Type,
+	 * java.lang.annotation.Annotation[], jakarta.ws.rs.core.MediaType)
+	 */
+	@Override
+	public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return (Collection.class.isAssignableFrom(type) || Stream.class.isAssignableFrom(type))
+				&& isPropertyBoxElementType(genericType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.ext.MessageBodyWriter#getSize(java.lang.Object, java.lang.Class, java.lang.reflect.Type,
+	 * java.lang.annotation.Annotation[], jakarta.ws.rs.core.MediaType)
+	 */
+	@Override
+	public long getSize(Object t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		// ignored by the JAX-RS runtime: the Content-Length header is set by writeTo, when the length is known
+		return -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.ext.MessageBodyWriter#writeTo(java.lang.Object, java.lang.Class, java.lang.reflect.Type,
+	 * java.lang.annotation.Annotation[], jakarta.ws.rs.core.MediaType, jakarta.ws.rs.core.MultivaluedMap,
+	 * java.io.OutputStream)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void writeTo(Object t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+			MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+			throws IOException, WebApplicationException {
+		if (t == null) {
+			return;
+		}
+		try {
+			final FormDataEncoder encoder = new FormDataEncoder(entityStream);
+			if (t instanceof Stream) {
+				try (Stream<PropertyBox> stream = (Stream<PropertyBox>) t) {
+					encodeRecords(encoder, stream.iterator());
+				}
+			} else {
+				encodeRecords(encoder, ((Collection<PropertyBox>) t).iterator());
+			}
+			// when the whole content was buffered, the length is known
+			if (!encoder.isFlushed()) {
+				httpHeaders.putSingle(HttpHeaders.CONTENT_LENGTH, encoder.size());
+			}
+			encoder.flush();
+		} catch (PropertyAccessException e) {
+			throw new WebApplicationException(e.getMessage(), e, Status.BAD_REQUEST);
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException(
+					"Failed to encode given PropertyBox collection as " + MediaType.APPLICATION_FORM_URLENCODED, e);
+		}
+	}
+
+	/**
+	 * Encode given {@link PropertyBox}es as form records, skipping <code>null</code> elements.
+	 * <p>
+	 * The property set of the first {@link PropertyBox} is indexed once and the index is used to encode all the
+	 * records, since the collection elements usually share the same properties.
+	 * </p>
+	 * @param encoder The encoder to use
+	 * @param boxes The {@link PropertyBox}es to encode
+	 * @throws IOException If a stream write error occurred
+	 */
+	private void encodeRecords(FormDataEncoder encoder, Iterator<PropertyBox> boxes) throws IOException {
+		FormDataPropertySetIndex index = null;
+		while (boxes.hasNext()) {
+			final PropertyBox box = boxes.next();
+			if (box != null) {
+				if (encoder.size() > 0) {
+					encoder.nextRecord();
+				}
+				if (index == null) {
+					index = FormDataPropertySetIndex.build(box);
+				}
+				encode(encoder, box, index);
+				encoder.endRecord();
+			}
+		}
+	}
+
+	/**
+	 * Checks whether given <code>genericType</code> is a parameterized type with a {@link PropertyBox} type argument.
+	 * @param genericType Type to check
+	 * @return <code>true</code> if given <code>type</code> has a {@link PropertyBox} element type
+	 */
+	private static boolean isPropertyBoxElementType(Type genericType) {
+		if (genericType instanceof ParameterizedType) {
+			final Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+			return arguments.length == 1 && isPropertyBoxType(arguments[0]);
+		}
+		return false;
+	}
+
+}
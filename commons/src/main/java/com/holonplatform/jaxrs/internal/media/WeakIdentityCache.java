@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.internal.media;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache which holds its keys using weak references and compares them by identity.
+ * <p>
+ * The lookups do not acquire any global lock and do not depend on the key <code>hashCode</code> and
+ * <code>equals</code> implementations. The cached values must not hold a strong reference to their keys, otherwise
+ * the entries are never removed.
+ * </p>
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ *
+ * @since 6.0.1
+ */
+final class WeakIdentityCache<K, V> {
+
+	private final ConcurrentHashMap<IdentityKey<K>, V> map = new ConcurrentHashMap<>();
+	private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+	/**
+	 * Get the value bound to given key, computing it using given function if not available.
+	 * <p>
+	 * The function may be invoked more than once for the same key by concurrent threads, and only one of the computed
+	 * values is cached.
+	 * </p>
+	 * @param key The key (not null)
+	 * @param function The function to use to compute the value
+	 * @return The cached value
+	 */
+	V get(K key, Function<? super K, ? extends V> function) {
+		expunge();
+		final V value = map.get(new IdentityKey<>(key, null));
+		if (value != null) {
+			return value;
+		}
+		final V computed = function.apply(key);
+		final V previous = map.putIfAbsent(new IdentityKey<>(key, queue), computed);
+		return (previous != null) ? previous : computed;
+	}
+
+	/**
+	 * Remove the entries whose keys have been garbage collected.
+	 */
+	private void expunge() {
+		Reference<? extends K> reference;
+		while ((reference = queue.poll()) != null) {
+			map.remove(reference);
+		}
+	}
+
+	/**
+	 * A weak reference to a key which uses the key identity.
+	 * @param <K> Key type
+	 */
+	private static final class IdentityKey<K> extends WeakReference<K> {
+
+		private final int hash;
+
+		IdentityKey(K key, ReferenceQueue<K> queue) {
+			super(key, queue);
+			this.hash = System.identityHashCode(key);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj instanceof IdentityKey) {
+				final Object key = get();
+				return key != null && key == ((IdentityKey<?>) obj).get();
+			}
+			return false;
+		}
+
+	}
+
+}
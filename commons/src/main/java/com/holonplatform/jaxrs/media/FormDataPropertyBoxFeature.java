@@ -22,11 +22,12 @@ import jakarta.ws.rs.ext.Provider;
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.jaxrs.internal.JaxrsLogger;
+import com.holonplatform.jaxrs.internal.media.PropertyBoxCollectionFormDataProvider;
 import com.holonplatform.jaxrs.internal.media.PropertyBoxFormDataProvider;
 
 /**
- * JAX-RS feature to register a {@link Provider} to handle {@link PropertyBox} data type using
- * <code>application/x-www-form-urlencoded</code> media type.
+ * JAX-RS feature to register the {@link Provider}s to handle {@link PropertyBox} data type, and {@link PropertyBox}
+ * lists and streams, using <code>application/x-www-form-urlencoded</code> media type.
  * 
  * @since 5.0.0
  */
@@ -34,6 +35,14 @@ public class FormDataPropertyBoxFeature implements Feature {
 
 	private final static Logger LOGGER = JaxrsLogger.create();
 
+	/**
+	 * JAX-RS configuration property name which can be used to limit the size, in bytes, of the
+	 * <code>application/x-www-form-urlencoded</code> bodies which are read as {@link PropertyBox}. A missing or
+	 * negative value means no limit. When the limit is exceeded, a <code>413 - Request Entity Too Large</code> error is
+	 * raised.
+	 */
+	public static final String MAX_BODY_SIZE = "holon.jaxrs.form-data.max-body-size";
+
 	/*
 	 * (non-Javadoc)
 	 * @see jakarta.ws.rs.core.Feature#configure(jakarta.ws.rs.core.FeatureContext)
@@ -45,6 +54,11 @@ public class FormDataPropertyBoxFeature implements Feature {
 					+ PropertyBoxFormDataProvider.class.getName() + "]");
 			context.register(PropertyBoxFormDataProvider.class);
 		}
+		if (!context.getConfiguration().isRegistered(PropertyBoxCollectionFormDataProvider.class)) {
+			LOGGER.debug(() -> "<Runtime: " + context.getConfiguration().getRuntimeType() + "> Registering provider ["
+					+ PropertyBoxCollectionFormDataProvider.class.getName() + "]");
+			context.register(PropertyBoxCollectionFormDataProvider.class);
+		}
 		return false;
 	}
 
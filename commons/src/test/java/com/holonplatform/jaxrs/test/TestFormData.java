@@ -16,11 +16,27 @@
 package com.holonplatform.jaxrs.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
@@ -30,6 +46,8 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.GenericEntity;
+import jakarta.ws.rs.core.GenericType;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -41,11 +59,17 @@ import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.property.PathProperty;
 import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.Property.PropertyReadException;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.core.property.PropertySetRef;
 import com.holonplatform.core.temporal.TemporalType;
 import com.holonplatform.jaxrs.LogConfig;
+import com.holonplatform.jaxrs.internal.media.FormDataEncoder;
+import com.holonplatform.jaxrs.internal.media.FormDataFormats;
+import com.holonplatform.jaxrs.internal.media.FormDataPropertyCodec;
+import com.holonplatform.jaxrs.internal.media.FormDataPropertySetIndex;
+import com.holonplatform.jaxrs.media.FormDataPropertyBoxFeature;
 import com.holonplatform.test.JerseyTest5;
 
 public class TestFormData extends JerseyTest5 {
@@ -87,11 +111,39 @@ public class TestFormData extends JerseyTest5 {
 			return Response.ok().entity(box).build();
 		}
 
+		@POST
+		@Path("list")
+		@Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+		@Produces(MediaType.APPLICATION_FORM_URLENCODED)
+		public Response postBoxes(@PropertySetRef(TestFormData.class) List<PropertyBox> boxes) {
+			return Response.ok().entity(new GenericEntity<List<PropertyBox>>(boxes) {
+			}).build();
+		}
+
+		@GET
+		@Path("stream/{count}")
+		@Produces(MediaType.APPLICATION_FORM_URLENCODED)
+		public Stream<PropertyBox> getBoxes(@PathParam("count") int count) {
+			return IntStream.rangeClosed(1, count)
+					.mapToObj(i -> PropertyBox.builder(SET).set(INT, i).set(STR1, "v " + i).build());
+		}
+
+		@POST
+		@Path("stream")
+		@Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+		@Produces(MediaType.TEXT_PLAIN)
+		public String postStream(@PropertySetRef(TestFormData.class) Stream<PropertyBox> boxes) {
+			try (Stream<PropertyBox> s = boxes) {
+				return s.map(b -> b.getValue(STR1)).collect(Collectors.joining(","));
+			}
+		}
+
 	}
 
 	@Override
 	protected Application configure() {
-		return new ResourceConfig().register(LoggingFeature.class).register(TestResource.class);
+		return new ResourceConfig().register(LoggingFeature.class).register(TestResource.class)
+				.property(FormDataPropertyBoxFeature.MAX_BODY_SIZE, 1024);
 		// .register(FormDataPropertyBoxFeature.class); // using auto-config
 	}
 
@@ -165,4 +217,263 @@ public class TestFormData extends JerseyTest5 {
 
 	}
 
+	@Test
+	public void testEncoding() {
+
+		final String value = "a&b=c+d %25\nline2\r\n\u00e8\u20ac";
+
+		PropertyBox box = PropertyBox.builder(SET).set(INT, 3).set(STR1, value).build();
+
+		try (Response response = target("/test/post").request()
+				.post(Entity.entity(box, MediaType.APPLICATION_FORM_URLENCODED))) {
+			assertEquals(200, response.getStatus());
+
+			box = SET.execute(() -> response.readEntity(PropertyBox.class));
+			assertEquals(Integer.valueOf(3), box.getValue(INT));
+			assertEquals(value, box.getValue(STR1));
+		}
+
+		try (Response response = target("/test/post").request()
+				.post(Entity.entity("itg=5&unknown=x&str=&&=7&str=a%2Bb", MediaType.APPLICATION_FORM_URLENCODED))) {
+			assertEquals(200, response.getStatus());
+
+			box = SET.execute(() -> response.readEntity(PropertyBox.class));
+			assertEquals(Integer.valueOf(5), box.getValue(INT));
+			assertEquals("a+b", box.getValue(STR1));
+		}
+
+		try (Response response = target("/test/post").request()
+				.post(Entity.entity("str=%2", MediaType.APPLICATION_FORM_URLENCODED))) {
+			assertEquals(400, response.getStatus());
+		}
+
+	}
+
+	@Test
+	public void testCollections() {
+
+		final List<PropertyBox> boxes = new ArrayList<>();
+		for (int i = 1; i <= 500; i++) {
+			boxes.add(PropertyBox.builder(SET).set(INT, i).set(STR1, "v&" + i).set(DBL, i + 0.5).build());
+		}
+
+		try (Response response = target("/test/list")
+				.request().post(Entity.entity(new GenericEntity<List<PropertyBox>>(boxes) {
+				}, MediaType.APPLICATION_FORM_URLENCODED))) {
+			assertEquals(413, response.getStatus());
+		}
+
+		final List<PropertyBox> small = boxes.subList(0, 10);
+		try (Response response = target("/test/list").request().post(
+				Entity.entity(new GenericEntity<List<PropertyBox>>(small) {
+				}, MediaType.APPLICATION_FORM_URLENCODED))) {
+			assertEquals(200, response.getStatus());
+			final List<PropertyBox> read = SET
+					.execute(() -> response.readEntity(new GenericType<List<PropertyBox>>() {
+					}));
+			assertEquals(10, read.size());
+			for (int i = 0; i < 10; i++) {
+				assertEquals(Integer.valueOf(i + 1), read.get(i).getValue(INT));
+				assertEquals("v&" + (i + 1), read.get(i).getValue(STR1));
+				assertEquals(Double.valueOf(i + 1.5), read.get(i).getValue(DBL));
+			}
+		}
+
+		// elements with different property sets
+		final List<PropertyBox> mixed = new ArrayList<>();
+		mixed.add(PropertyBox.builder(SET).set(INT, 1).set(STR1, "a").build());
+		mixed.add(PropertyBox.builder(DBL, STR1, INT).set(INT, 2).set(STR1, "b").set(DBL, 2.5).build());
+		try (Response response = target("/test/list").request().post(
+				Entity.entity(new GenericEntity<List<PropertyBox>>(mixed) {
+				}, MediaType.APPLICATION_FORM_URLENCODED))) {
+			assertEquals(200, response.getStatus());
+			final List<PropertyBox> read = SET
+					.execute(() -> response.readEntity(new GenericType<List<PropertyBox>>() {
+					}));
+			assertEquals(2, read.size());
+			assertEquals("a", read.get(0).getValue(STR1));
+			assertNull(read.get(0).getValue(DBL));
+			assertEquals(Integer.valueOf(2), read.get(1).getValue(INT));
+			assertEquals("b", read.get(1).getValue(STR1));
+			assertEquals(Double.valueOf(2.5), read.get(1).getValue(DBL));
+		}
+
+		// empty and null elements
+		final List<PropertyBox> sparse = new ArrayList<>();
+		sparse.add(PropertyBox.builder(SET).build());
+		sparse.add(PropertyBox.builder(SET).set(INT, 1).build());
+		sparse.add(null);
+		sparse.add(PropertyBox.builder(SET).build());
+		try (Response response = target("/test/list").request().post(
+				Entity.entity(new GenericEntity<List<PropertyBox>>(sparse) {
+				}, MediaType.APPLICATION_FORM_URLENCODED))) {
+			assertEquals(200, response.getStatus());
+			final List<PropertyBox> read = SET
+					.execute(() -> response.readEntity(new GenericType<List<PropertyBox>>() {
+					}));
+			// null elements are not written, empty elements are preserved
+			assertEquals(3, read.size());
+			assertNull(read.get(0).getValue(INT));
+			assertEquals(Integer.valueOf(1), read.get(1).getValue(INT));
+			assertNull(read.get(2).getValue(INT));
+		}
+
+		try (Response response = target("/test/stream/3").request().get()) {
+			assertEquals(200, response.getStatus());
+			final Stream<PropertyBox> stream = SET
+					.execute(() -> response.readEntity(new GenericType<Stream<PropertyBox>>() {
+					}));
+			try (Stream<PropertyBox> s = stream) {
+				assertEquals("v 1,v 2,v 3", s.map(b -> b.getValue(STR1)).collect(Collectors.joining(",")));
+			}
+		}
+
+		try (Response response = target("/test/stream").request()
+				.post(Entity.entity(new GenericEntity<Stream<PropertyBox>>(small.stream()) {
+				}, MediaType.APPLICATION_FORM_URLENCODED))) {
+			assertEquals(200, response.getStatus());
+			assertEquals(small.stream().map(b -> b.getValue(STR1)).collect(Collectors.joining(",")),
+					response.readEntity(String.class));
+		}
+
+	}
+
+	@Test
+	public void testMaxBodySize() {
+
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 2048; i++) {
+			sb.append('x');
+		}
+
+		PropertyBox box = PropertyBox.builder(SET).set(INT, 1).set(STR1, sb.toString()).build();
+
+		try (Response response = target("/test/post").request()
+				.post(Entity.entity(box, MediaType.APPLICATION_FORM_URLENCODED))) {
+			assertEquals(413, response.getStatus());
+		}
+
+	}
+
+	@Test
+	public void testPropertySetIndex() {
+
+		final FormDataPropertySetIndex index = FormDataPropertySetIndex.of(SET);
+		assertSame(index, FormDataPropertySetIndex.of(SET));
+		// cached by identity
+		assertNotSame(index, FormDataPropertySetIndex.of(PropertySet.builderOf(SET).build()));
+
+		assertEquals(STR1, index.getProperty("str").orElse(null));
+		assertEquals(DAT2, index.getProperty("dat2").orElse(null));
+		assertFalse(index.getProperty("xxx").isPresent());
+		assertFalse(index.getProperty(null).isPresent());
+
+	}
+
+	@Test
+	public void testEncoder() throws IOException {
+
+		final String value = "a&b=c+d %25\nline2\u00e8\u20ac\ud83d\ude00*._-~";
+
+		final StringBuilder large = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			large.append("\u00e8&");
+		}
+
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		final FormDataEncoder encoder = new FormDataEncoder(os);
+		encoder.field(FormDataPropertyCodec.of(STR1).getEncodedName(), value);
+		encoder.field(FormDataPropertyCodec.of(INT).getEncodedName(), "1");
+		assertFalse(encoder.isFlushed());
+		encoder.field(FormDataPropertyCodec.of(STR1).getEncodedName(), large);
+		assertTrue(encoder.isFlushed());
+		encoder.flush();
+
+		final String expected = "str=" + URLEncoder.encode(value, StandardCharsets.UTF_8) + "&itg=1&str="
+				+ URLEncoder.encode(large.toString(), StandardCharsets.UTF_8);
+		assertEquals(expected, new String(os.toByteArray(), StandardCharsets.US_ASCII));
+		assertEquals(expected.length(), encoder.size());
+
+	}
+
+	@Test
+	public void testFormats() {
+
+		assertEquals(0L, FormDataFormats.parseLong("0"));
+		assertEquals(-123L, FormDataFormats.parseLong("-123"));
+		assertEquals(123L, FormDataFormats.parseLong("+123.75"));
+		assertEquals(Long.MAX_VALUE, FormDataFormats.parseLong(String.valueOf(Long.MAX_VALUE)));
+		assertEquals(Long.MIN_VALUE, FormDataFormats.parseLong(String.valueOf(Long.MIN_VALUE)));
+		assertThrows(NumberFormatException.class, () -> FormDataFormats.parseLong("9223372036854775808"));
+		assertThrows(NumberFormatException.class, () -> FormDataFormats.parseLong("12a"));
+		assertThrows(NumberFormatException.class, () -> FormDataFormats.parseLong("-"));
+		assertThrows(NumberFormatException.class, () -> FormDataFormats.parseLong(""));
+
+		assertEquals(Integer.valueOf(7), FormDataFormats.parseInteger("7", Integer.class));
+		assertEquals(Integer.valueOf(7), FormDataFormats.parseInteger("7", int.class));
+		assertThrows(ArithmeticException.class, () -> FormDataFormats.parseInteger("4294967296", Integer.class));
+		assertEquals(new BigDecimal("1.25"), FormDataFormats.parseDecimal("1.25", BigDecimal.class));
+		assertEquals(Double.valueOf(1.5), FormDataFormats.parseDecimal("1.5", Double.class));
+
+		assertEquals("7", FormDataFormats.formatNumber(7));
+		assertEquals("7.5", FormDataFormats.formatNumber(7.5d));
+		assertEquals("0.123456789", FormDataFormats.formatNumber(0.123456789d));
+		assertEquals("12345678900", FormDataFormats.formatNumber(1.23456789E10d));
+		assertEquals("0.00001", FormDataFormats.formatNumber(1.0E-5d));
+
+		Calendar c = Calendar.getInstance();
+		c.setTime(FormDataFormats.parseDate("2020-03-03T18:30:15", null));
+		assertEquals(2020, c.get(Calendar.YEAR));
+		assertEquals(2, c.get(Calendar.MONTH));
+		assertEquals(3, c.get(Calendar.DAY_OF_MONTH));
+		assertEquals(18, c.get(Calendar.HOUR_OF_DAY));
+		assertEquals(30, c.get(Calendar.MINUTE));
+		assertEquals(15, c.get(Calendar.SECOND));
+
+		c.setTime(FormDataFormats.parseDate("2020-03-03T18:30:15", TemporalType.DATE));
+		assertEquals(3, c.get(Calendar.DAY_OF_MONTH));
+		assertEquals(0, c.get(Calendar.HOUR_OF_DAY));
+
+		c.setTime(FormDataFormats.parseDate("2020-03-04", null));
+		assertEquals(4, c.get(Calendar.DAY_OF_MONTH));
+		assertEquals(0, c.get(Calendar.HOUR_OF_DAY));
+
+		c.setTime(FormDataFormats.parseDate("18:30:15", TemporalType.TIME));
+		assertEquals(1970, c.get(Calendar.YEAR));
+		assertEquals(18, c.get(Calendar.HOUR_OF_DAY));
+
+		assertNull(FormDataFormats.parseDate("xxx", null));
+		assertNull(FormDataFormats.parseDate("2020-13-45", null));
+
+	}
+
+	@Test
+	public void testCodecs() {
+
+		assertSame(FormDataPropertyCodec.of(ENM), FormDataPropertyCodec.of(ENM));
+
+		assertEquals("1", FormDataPropertyCodec.of(ENM).serialize(ENM, TestEnum.B));
+		assertEquals(TestEnum.B, FormDataPropertyCodec.of(ENM).deserialize(ENM, "1"));
+		assertEquals(TestEnum.A, FormDataPropertyCodec.of(ENM).deserialize(ENM, "A"));
+		assertThrows(PropertyReadException.class, () -> FormDataPropertyCodec.of(ENM).deserialize(ENM, "2"));
+
+		assertEquals("true", FormDataPropertyCodec.of(BLN).serialize(BLN, Boolean.TRUE));
+		assertEquals(Boolean.FALSE, FormDataPropertyCodec.of(BLN).deserialize(BLN, "false"));
+
+		assertEquals("7.5", FormDataPropertyCodec.of(DBL).serialize(DBL, 7.5d));
+		assertEquals(Double.valueOf(7.5), FormDataPropertyCodec.of(DBL).deserialize(DBL, "7.5"));
+		assertEquals(Integer.valueOf(3), FormDataPropertyCodec.of(INT).deserialize(INT, "3"));
+		assertThrows(PropertyReadException.class, () -> FormDataPropertyCodec.of(INT).deserialize(INT, "x"));
+
+		final Property<LocalDate> LDT = PathProperty.create("ldt", LocalDate.class);
+		assertEquals("2020-03-03", FormDataPropertyCodec.of(LDT).serialize(LDT, LocalDate.of(2020, 3, 3)));
+		assertEquals(LocalDate.of(2020, 3, 3), FormDataPropertyCodec.of(LDT).deserialize(LDT, "2020-03-03"));
+
+		final Calendar c = Calendar.getInstance();
+		c.set(2020, 2, 3, 18, 30, 0);
+		assertEquals("2020-03-03", FormDataPropertyCodec.of(DAT2).serialize(DAT2, c.getTime()));
+		assertEquals("2020-03-03T18:30:00", FormDataPropertyCodec.of(DAT1).serialize(DAT1, c.getTime()));
+
+	}
+
 }
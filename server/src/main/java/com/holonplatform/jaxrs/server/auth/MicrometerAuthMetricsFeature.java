@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.server.auth;
+
+import jakarta.ws.rs.RuntimeType;
+import jakarta.ws.rs.core.Feature;
+import jakarta.ws.rs.core.FeatureContext;
+import jakarta.ws.rs.ext.ContextResolver;
+
+import com.holonplatform.auth.AuthContext;
+import com.holonplatform.auth.Realm;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jaxrs.internal.JaxrsLogger;
+import com.holonplatform.jaxrs.server.internal.auth.AuthMetrics;
+import com.holonplatform.jaxrs.server.internal.auth.MicrometerAuthMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A JAX-RS server {@link Feature} to record the {@link AuthenticationFeature} filters metrics using a Micrometer
+ * {@link MeterRegistry}.
+ * <p>
+ * The following meters are registered:
+ * <ul>
+ * <li>{@link #REALM_LOOKUP_METRIC}: a timer of the {@link Realm} lookups, tagged by <code>filter</code>.</li>
+ * <li>{@link #AUTH_CONTEXT_METRIC}: a timer of the {@link AuthContext} creations, tagged by
+ * <code>filter</code>.</li>
+ * <li>{@link #AUTHENTICATE_METRIC}: a timer of the request authentications, tagged by authentication
+ * <code>scheme</code> and <code>outcome</code>.</li>
+ * <li>{@link #REJECTED_METRIC}: a counter of the {@link com.holonplatform.auth.annotations.Authenticate} protected
+ * requests rejected with a <code>401 - Unauthorized</code> or <code>403 - Forbidden</code> status, tagged by
+ * <code>status</code> and authentication <code>scheme</code>.</li>
+ * </ul>
+ * The meters are registered once for each tag combination and then reused.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class MicrometerAuthMetricsFeature implements Feature {
+
+	private final static Logger LOGGER = JaxrsLogger.create();
+
+	/**
+	 * Realm lookups timer name
+	 */
+	public static final String REALM_LOOKUP_METRIC = "holon.jaxrs.server.auth.realm.lookup";
+
+	/**
+	 * AuthContext creations timer name
+	 */
+	public static final String AUTH_CONTEXT_METRIC = "holon.jaxrs.server.auth.context.creation";
+
+	/**
+	 * Authentications timer name
+	 */
+	public static final String AUTHENTICATE_METRIC = "holon.jaxrs.server.auth.authenticate";
+
+	/**
+	 * Rejected requests counter name
+	 */
+	public static final String REJECTED_METRIC = "holon.jaxrs.server.auth.rejected";
+
+	/**
+	 * Meter registry
+	 */
+	private final MeterRegistry registry;
+
+	/**
+	 * Metrics recorder
+	 */
+	private final AuthMetrics metrics;
+
+	/**
+	 * Constructor
+	 * @param registry The meter registry to use (not null)
+	 */
+	public MicrometerAuthMetricsFeature(MeterRegistry registry) {
+		super();
+		ObjectUtils.argumentNotNull(registry, "MeterRegistry must be not null");
+		this.registry = registry;
+		this.metrics = new MicrometerAuthMetrics(registry);
+	}
+
+	/**
+	 * Get the meter registry.
+	 * @return The meter registry
+	 */
+	public MeterRegistry getRegistry() {
+		return registry;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.core.Feature#configure(jakarta.ws.rs.core.FeatureContext)
+	 */
+	@Override
+	public boolean configure(FeatureContext context) {
+		if (RuntimeType.SERVER != context.getConfiguration().getRuntimeType()) {
+			return false;
+		}
+		context.register(new ContextResolver<AuthMetrics>() {
+
+			@Override
+			public AuthMetrics getContext(Class<?> type) {
+				return metrics;
+			}
+		});
+		LOGGER.debug(() -> "Registered the authentication metrics using [" + registry + "]");
+		return true;
+	}
+
+}
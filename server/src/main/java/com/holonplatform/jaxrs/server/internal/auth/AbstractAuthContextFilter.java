@@ -37,6 +37,11 @@ import com.holonplatform.jaxrs.server.auth.AuthenticationFeature;
  * Base filter to replace the request {@link SecurityContext} with an {@link AuthContext} compatible implementation,
  * using a {@link Realm} obtained either from a registered {@link ContextResolver} of {@link Realm} type, if available,
  * or as a {@link com.holonplatform.core.Context} resource using {@link Realm#getCurrent()}.
+ * <p>
+ * When an {@link AuthMetrics} is available from a registered {@link ContextResolver}, the {@link Realm} lookup and the
+ * {@link AuthContext} creation times are recorded. The {@link AuthMetrics} resolver is looked up only once, at the
+ * first filtered request.
+ * </p>
  *
  * @since 5.1.0
  */
@@ -49,6 +54,16 @@ public abstract class AbstractAuthContextFilter implements ContainerRequestFilte
 
 	private final boolean realmRequired;
 
+	/**
+	 * The resolved metrics, if available
+	 */
+	private volatile AuthMetrics metrics;
+
+	/**
+	 * Whether the metrics were already resolved
+	 */
+	private volatile boolean metricsResolved = false;
+
 	/**
 	 * Constructor.
 	 * @param realmRequired Whether to fail if a {@link Realm} is not available
@@ -65,6 +80,18 @@ public abstract class AbstractAuthContextFilter implements ContainerRequestFilte
 	 */
 	protected abstract AuthContext getAuthContext(Realm realm);
 
+	/**
+	 * Get the {@link AuthMetrics} to use, resolving it from the registered {@link ContextResolver}s only once.
+	 * @return The {@link AuthMetrics}, <code>null</code> if not available
+	 */
+	private AuthMetrics getMetrics() {
+		if (!metricsResolved) {
+			metrics = AuthMetrics.lookup(getClass(), providers);
+			metricsResolved = true;
+		}
+		return metrics;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see jakarta.ws.rs.container.ContainerRequestFilter#filter(jakarta.ws.rs.container.ContainerRequestContext)
@@ -72,10 +99,19 @@ public abstract class AbstractAuthContextFilter implements ContainerRequestFilte
 	@Override
 	public void filter(ContainerRequestContext requestContext) throws IOException {
 
+		final AuthMetrics metrics = getMetrics();
+		if (metrics != null) {
+			requestContext.setProperty(AuthMetrics.AUTH_METRICS_PROPERTY_NAME, metrics);
+		}
+
 		if (checkRequestAuthContext(requestContext) == null) {
 
 			// Get realm
+			long start = System.nanoTime();
 			Optional<Realm> realm = ResourceUtils.lookupResource(getClass(), Realm.class, providers);
+			if (metrics != null) {
+				metrics.recordRealmLookup(getClass(), System.nanoTime() - start);
+			}
 
 			if (!realm.isPresent() && realmRequired) {
 				throw new IOException(
@@ -83,7 +119,11 @@ public abstract class AbstractAuthContextFilter implements ContainerRequestFilte
 			}
 
 			// get AuthContext
+			start = System.nanoTime();
 			final AuthContext authContext = getAuthContext(realm.orElse(null));
+			if (metrics != null) {
+				metrics.recordAuthContextCreation(getClass(), System.nanoTime() - start);
+			}
 
 			// replace SecurityContext
 			requestContext.setSecurityContext(new AuthSecurityContext(authContext,
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.server.internal.auth;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.ext.ContextResolver;
+import jakarta.ws.rs.ext.Providers;
+
+import com.holonplatform.auth.AuthContext;
+import com.holonplatform.auth.Realm;
+
+/**
+ * Records the metrics of the authentication filters.
+ * <p>
+ * The implementations are looked up by the {@link AuthContext} setup filters using a registered
+ * {@link ContextResolver} of {@link AuthMetrics} type, if available, and made available to the other authentication
+ * filters as the {@link #AUTH_METRICS_PROPERTY_NAME} request property.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public interface AuthMetrics {
+
+	/**
+	 * Scheme value to use when the authentication scheme is not known.
+	 */
+	public static final String UNKNOWN_SCHEME = "UNKNOWN";
+
+	/**
+	 * Current request {@link AuthMetrics} reference property name
+	 */
+	public static final String AUTH_METRICS_PROPERTY_NAME = AuthMetrics.class.getName();
+
+	/**
+	 * Record a {@link Realm} lookup.
+	 * @param filter The filter class
+	 * @param duration Lookup duration, in nanoseconds
+	 */
+	void recordRealmLookup(Class<?> filter, long duration);
+
+	/**
+	 * Record an {@link AuthContext} creation.
+	 * @param filter The filter class
+	 * @param duration Creation duration, in nanoseconds
+	 */
+	void recordAuthContextCreation(Class<?> filter, long duration);
+
+	/**
+	 * Record an authentication attempt.
+	 * @param scheme Authentication scheme, {@link #UNKNOWN_SCHEME} if not known
+	 * @param authenticated Whether the authentication succeeded
+	 * @param duration Authentication duration, in nanoseconds
+	 */
+	void recordAuthentication(String scheme, boolean authenticated, long duration);
+
+	/**
+	 * Record a request rejected with a <code>401 - Unauthorized</code> or <code>403 - Forbidden</code> status.
+	 * @param scheme Authentication scheme, {@link #UNKNOWN_SCHEME} if not known
+	 * @param status Response status code
+	 */
+	void recordRejection(String scheme, int status);
+
+	/**
+	 * Lookup the {@link AuthMetrics} to use, using a registered {@link ContextResolver} of {@link AuthMetrics} type.
+	 * @param caller Caller class
+	 * @param providers JAX-RS {@link Providers}, if available
+	 * @return The {@link AuthMetrics}, <code>null</code> if not available
+	 */
+	static AuthMetrics lookup(Class<?> caller, Providers providers) {
+		if (providers != null) {
+			final ContextResolver<AuthMetrics> resolver = providers.getContextResolver(AuthMetrics.class, null);
+			if (resolver != null) {
+				return resolver.getContext(caller);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Get the {@link AuthMetrics} available from given request, using the {@link #AUTH_METRICS_PROPERTY_NAME} property
+	 * name.
+	 * @param requestContext Request context
+	 * @return The {@link AuthMetrics}, <code>null</code> if not available
+	 */
+	static AuthMetrics lookup(ContainerRequestContext requestContext) {
+		final Object value = requestContext.getProperty(AUTH_METRICS_PROPERTY_NAME);
+		return (value instanceof AuthMetrics) ? (AuthMetrics) value : null;
+	}
+
+}
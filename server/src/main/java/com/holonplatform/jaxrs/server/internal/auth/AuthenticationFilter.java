@@ -21,10 +21,13 @@ import jakarta.annotation.Priority;
 import jakarta.ws.rs.Priorities;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.ext.Providers;
 
 import com.holonplatform.auth.AuthContext;
+import com.holonplatform.auth.Authentication;
 import com.holonplatform.auth.exceptions.AuthenticationException;
 import com.holonplatform.auth.exceptions.UnsupportedMessageException;
 import com.holonplatform.core.internal.Logger;
@@ -36,11 +39,15 @@ import com.holonplatform.jaxrs.server.internal.ResponseUtils;
 /**
  * Filter to check if current {@link AuthContext} security context is authenticated, and if not, perform authentication
  * using current request message and optional allowed authentication schemes.
+ * <p>
+ * When an {@link AuthMetrics} is available from the request, the authentication time and the responses with a
+ * <code>401 - Unauthorized</code> or <code>403 - Forbidden</code> status are recorded.
+ * </p>
  * 
  * @since 5.0.0
  */
 @Priority(Priorities.AUTHENTICATION)
-public class AuthenticationFilter implements ContainerRequestFilter {
+public class AuthenticationFilter implements ContainerRequestFilter, ContainerResponseFilter {
 
 	private final static Logger LOGGER = JaxrsLogger.create();
 
@@ -80,16 +87,30 @@ public class AuthenticationFilter implements ContainerRequestFilter {
 
 			LOGGER.debug(() -> "Authenticate request using AuthContext");
 
+			final AuthMetrics metrics = AuthMetrics.lookup(requestContext);
+			final long start = System.nanoTime();
+
 			// authenticate
 			try {
-				authContext.authenticate(new JaxrsContainerHttpRequest(requestContext), schemes);
+				final Authentication authentication = authContext
+						.authenticate(new JaxrsContainerHttpRequest(requestContext), schemes);
+				if (metrics != null) {
+					metrics.recordAuthentication(getScheme(authentication.getScheme().orElse(null)), true,
+							System.nanoTime() - start);
+				}
 			} catch (UnsupportedMessageException e) {
+				if (metrics != null) {
+					metrics.recordAuthentication(getScheme(null), false, System.nanoTime() - start);
+				}
 
 				LOGGER.debug(() -> "Authentication error: aborting request", e);
 
 				requestContext.abortWith(ResponseUtils.buildAuthenticationErrorResponse(schemes, null, null,
 						HttpStatus.UNAUTHORIZED.getCode(), null));
 			} catch (AuthenticationException e) {
+				if (metrics != null) {
+					metrics.recordAuthentication(getScheme(e.getScheme()), false, System.nanoTime() - start);
+				}
 
 				LOGGER.debug(() -> "Authentication error: aborting request", e);
 
@@ -99,4 +120,41 @@ public class AuthenticationFilter implements ContainerRequestFilter {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see jakarta.ws.rs.container.ContainerResponseFilter#filter(jakarta.ws.rs.container.ContainerRequestContext,
+	 * jakarta.ws.rs.container.ContainerResponseContext)
+	 */
+	@Override
+	public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+			throws IOException {
+		final AuthMetrics metrics = AuthMetrics.lookup(requestContext);
+		if (metrics != null) {
+			final int status = responseContext.getStatus();
+			if (status == HttpStatus.UNAUTHORIZED.getCode() || status == HttpStatus.FORBIDDEN.getCode()) {
+				String scheme = null;
+				if (requestContext.getSecurityContext() instanceof AuthContext) {
+					scheme = ((AuthContext) requestContext.getSecurityContext()).getAuthentication()
+							.flatMap(Authentication::getScheme).orElse(null);
+				}
+				metrics.recordRejection(getScheme(scheme), status);
+			}
+		}
+	}
+
+	/**
+	 * Get the authentication scheme to record, using the single allowed scheme, if any, when the scheme is not known.
+	 * @param scheme The authentication scheme, <code>null</code> if not known
+	 * @return The authentication scheme, or {@link AuthMetrics#UNKNOWN_SCHEME}
+	 */
+	private String getScheme(String scheme) {
+		if (scheme != null) {
+			return scheme;
+		}
+		if (schemes != null && schemes.length == 1 && schemes[0] != null) {
+			return schemes[0];
+		}
+		return AuthMetrics.UNKNOWN_SCHEME;
+	}
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.server.internal.auth;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jaxrs.server.auth.MicrometerAuthMetricsFeature;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link AuthMetrics} implementation which records the metrics using a Micrometer {@link MeterRegistry}.
+ * <p>
+ * The meters are registered at first use for each tag combination and then cached, so that the registry is not
+ * queried at each request. A cached meter is discarded when it is removed from the registry.
+ * </p>
+ *
+ * @since 6.0.1
+ * @see MicrometerAuthMetricsFeature
+ */
+public class MicrometerAuthMetrics implements AuthMetrics {
+
+	private static final String TAG_FILTER = "filter";
+	private static final String TAG_SCHEME = "scheme";
+	private static final String TAG_OUTCOME = "outcome";
+	private static final String TAG_STATUS = "status";
+
+	/**
+	 * Meter registry
+	 */
+	private final MeterRegistry registry;
+
+	/**
+	 * Registered meters, by meter id
+	 */
+	private final Map<Meter.Id, Meter> meters = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor
+	 * @param registry The meter registry to use (not null)
+	 */
+	public MicrometerAuthMetrics(MeterRegistry registry) {
+		super();
+		ObjectUtils.argumentNotNull(registry, "MeterRegistry must be not null");
+		this.registry = registry;
+		// the meter id may have been changed by the registry filters
+		registry.config().onMeterRemoved(meter -> meters.values().remove(meter));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.server.internal.auth.AuthMetrics#recordRealmLookup(java.lang.Class, long)
+	 */
+	@Override
+	public void recordRealmLookup(Class<?> filter, long duration) {
+		timer(MicrometerAuthMetricsFeature.REALM_LOOKUP_METRIC, "JAX-RS authentication Realm lookups",
+				Tags.of(TAG_FILTER, filter.getSimpleName())).record(duration, TimeUnit.NANOSECONDS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.server.internal.auth.AuthMetrics#recordAuthContextCreation(java.lang.Class, long)
+	 */
+	@Override
+	public void recordAuthContextCreation(Class<?> filter, long duration) {
+		timer(MicrometerAuthMetricsFeature.AUTH_CONTEXT_METRIC, "JAX-RS AuthContext creations",
+				Tags.of(TAG_FILTER, filter.getSimpleName())).record(duration, TimeUnit.NANOSECONDS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.server.internal.auth.AuthMetrics#recordAuthentication(java.lang.String, boolean,
+	 * long)
+	 */
+	@Override
+	public void recordAuthentication(String scheme, boolean authenticated, long duration) {
+		timer(MicrometerAuthMetricsFeature.AUTHENTICATE_METRIC, "JAX-RS request authentications",
+				Tags.of(TAG_SCHEME, scheme, TAG_OUTCOME, authenticated ? "SUCCESS" : "FAILURE")).record(duration,
+						TimeUnit.NANOSECONDS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.server.internal.auth.AuthMetrics#recordRejection(java.lang.String, int)
+	 */
+	@Override
+	public void recordRejection(String scheme, int status) {
+		final Meter.Id id = new Meter.Id(MicrometerAuthMetricsFeature.REJECTED_METRIC,
+				Tags.of(TAG_STATUS, String.valueOf(status), TAG_SCHEME, scheme), null, null, Meter.Type.COUNTER);
+		((Counter) meters.computeIfAbsent(id,
+				i -> Counter.builder(i.getName())
+						.description("JAX-RS protected requests rejected with a 401 or 403 status").tags(i.getTags())
+						.register(registry))).increment();
+	}
+
+	/**
+	 * Get the timer with given name and tags, registering it at first use.
+	 * @param name Timer name
+	 * @param description Timer description
+	 * @param tags Timer tags
+	 * @return The timer
+	 */
+	private Timer timer(String name, String description, Tags tags) {
+		final Meter.Id id = new Meter.Id(name, tags, null, null, Meter.Type.TIMER);
+		return (Timer) meters.computeIfAbsent(id,
+				i -> Timer.builder(i.getName()).description(description).tags(i.getTags()).register(registry));
+	}
+
+}
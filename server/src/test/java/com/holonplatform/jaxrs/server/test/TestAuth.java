@@ -17,6 +17,7 @@ package com.holonplatform.jaxrs.server.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.io.UnsupportedEncodingException;
 import java.util.Base64;
@@ -51,12 +52,18 @@ import com.holonplatform.auth.Realm;
 import com.holonplatform.auth.annotations.Authenticate;
 import com.holonplatform.http.HttpHeaders;
 import com.holonplatform.jaxrs.LogConfig;
+import com.holonplatform.jaxrs.server.auth.MicrometerAuthMetricsFeature;
 import com.holonplatform.test.JerseyTest5;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 public class TestAuth extends JerseyTest5 {
 
 	private static Client client;
 
+	private static final MeterRegistry registry = new SimpleMeterRegistry();
+
 	@BeforeAll
 	static void setup() {
 		LogConfig.setupLogging();
@@ -184,8 +191,8 @@ public class TestAuth extends JerseyTest5 {
 					public Realm getContext(Class<?> type) {
 						return realm;
 					}
-				}).register(ProtectedResource.class).register(SemiProtectedResource.class)
-				.register(PublicResource.class);
+				}).register(new MicrometerAuthMetricsFeature(registry)).register(ProtectedResource.class)
+				.register(SemiProtectedResource.class).register(PublicResource.class);
 	}
 
 	// Avoid conflict with Resteasy in classpath
@@ -254,6 +261,54 @@ public class TestAuth extends JerseyTest5 {
 		assertEquals("r3", value);
 	}
 
+	@SuppressWarnings("resource")
+	@Test
+	public void testMetrics() {
+
+		registry.clear();
+
+		String value = target("/public/test").request().get(String.class);
+		assertEquals("test", value);
+		assertNull(registry.find(MicrometerAuthMetricsFeature.REALM_LOOKUP_METRIC).timer());
+
+		Response response = target("/protected/pub").request().buildGet().invoke();
+		assertEquals(401, response.getStatus());
+
+		response = target("/protected/pub").request().header(HttpHeaders.AUTHORIZATION, buildBasicAuth("a1", "wrong"))
+				.buildGet().invoke();
+		assertEquals(401, response.getStatus());
+
+		value = target("/protected/pub").request().header(HttpHeaders.AUTHORIZATION, buildBasicAuth("a1", "p1"))
+				.get(String.class);
+		assertEquals("pub", value);
+
+		response = target("/protected/r3").request().header(HttpHeaders.AUTHORIZATION, buildBasicAuth("a1", "p1"))
+				.buildGet().invoke();
+		assertEquals(403, response.getStatus());
+
+		assertEquals(4, registry.get(MicrometerAuthMetricsFeature.REALM_LOOKUP_METRIC)
+				.tag("filter", "AuthContextFilter").timer().count());
+		assertEquals(4, registry.get(MicrometerAuthMetricsFeature.AUTH_CONTEXT_METRIC)
+				.tag("filter", "AuthContextFilter").timer().count());
+		assertEquals(2, registry.get(MicrometerAuthMetricsFeature.AUTHENTICATE_METRIC)
+				.tags("scheme", HttpHeaders.SCHEME_BASIC, "outcome", "SUCCESS").timer().count());
+		assertEquals(2, registry.get(MicrometerAuthMetricsFeature.AUTHENTICATE_METRIC)
+				.tags("scheme", HttpHeaders.SCHEME_BASIC, "outcome", "FAILURE").timer().count());
+		assertEquals(2, registry.get(MicrometerAuthMetricsFeature.REJECTED_METRIC)
+				.tags("status", "401", "scheme", HttpHeaders.SCHEME_BASIC).counter().count());
+		assertEquals(1, registry.get(MicrometerAuthMetricsFeature.REJECTED_METRIC)
+				.tags("status", "403", "scheme", HttpHeaders.SCHEME_BASIC).counter().count());
+
+		// meters removed from the registry are registered again
+		registry.clear();
+		response = target("/protected/pub").request().buildGet().invoke();
+		assertEquals(401, response.getStatus());
+		assertEquals(1, registry.get(MicrometerAuthMetricsFeature.REALM_LOOKUP_METRIC)
+				.tag("filter", "AuthContextFilter").timer().count());
+		assertEquals(1, registry.get(MicrometerAuthMetricsFeature.REJECTED_METRIC)
+				.tags("status", "401", "scheme", HttpHeaders.SCHEME_BASIC).counter().count());
+	}
+
 	private static String buildBasicAuth(String username, String password) {
 		try {
 			return HttpHeaders.SCHEME_BASIC + " " + Base64.getEncoder()
@@ -16,19 +16,34 @@
 package com.holonplatform.jaxrs.spring.boot;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
 
+import org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jaxrs.client.CompressionFeature;
+import com.holonplatform.jaxrs.client.MicrometerMetricsFeature;
 import com.holonplatform.jaxrs.spring.boot.internal.DefaultJaxrsClientBuilder;
+import com.holonplatform.jaxrs.spring.boot.internal.JerseyConnectionPoolCustomizer;
+import com.holonplatform.jaxrs.spring.boot.internal.ResteasyConnectionPoolCustomizer;
+import com.holonplatform.spring.internal.SpringLogger;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Auto configuration class for {@link JaxrsClientBuilder}.
@@ -48,11 +63,33 @@ import com.holonplatform.jaxrs.spring.boot.internal.DefaultJaxrsClientBuilder;
  * lookup strategy (i.e. {@link ClientBuilder#newBuilder()} with a custom one.
  * </p>
  * 
+ * <p>
+ * The <code>holon.jaxrs.client.connect-timeout</code> and <code>holon.jaxrs.client.read-timeout</code> properties
+ * can be used to configure the client timeouts. When the <code>holon.jaxrs.client.pool.enabled</code> property is
+ * <code>true</code>, a pooled connector is configured according to the <code>holon.jaxrs.client.pool.*</code>
+ * properties: the Apache HttpClient 5 connector for Jersey (if <code>jersey-apache5-connector</code> is available,
+ * otherwise a warning is logged) and the Apache HttpClient engine connection pool for RESTEasy.
+ * </p>
+ * 
+ * <p>
+ * When the <code>holon.jaxrs.client.compression.enabled</code> property is <code>true</code>, a
+ * {@link JaxrsClientCustomizer} which registers the {@link CompressionFeature} is configured.
+ * </p>
+ * 
+ * <p>
+ * When a Micrometer <code>MeterRegistry</code> bean is available, a {@link JaxrsClientCustomizer} which registers the
+ * {@link MicrometerMetricsFeature} is configured, unless the <code>holon.jaxrs.client.metrics.enabled</code> property
+ * is <code>false</code>.
+ * </p>
+ * 
  * @since 5.0.0
  */
 @AutoConfiguration
+@EnableConfigurationProperties(JaxrsClientConfigurationProperties.class)
 public class JaxrsClientBuilderAutoConfiguration {
 
+	private static final Logger LOGGER = SpringLogger.create();
+
 	@Configuration
 	@ConditionalOnClass(ClientBuilder.class)
 	public static class ClientBuilderConfiguration {
@@ -85,4 +122,109 @@ public class JaxrsClientBuilderAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnClass(ClientBuilder.class)
+	public static class TimeoutConfiguration {
+
+		private final JaxrsClientConfigurationProperties properties;
+
+		public TimeoutConfiguration(JaxrsClientConfigurationProperties properties) {
+			super();
+			this.properties = properties;
+		}
+
+		@Bean
+		public JaxrsClientCustomizer timeoutJaxrsClientCustomizer() {
+			return cb -> {
+				if (properties.getConnectTimeout() != null) {
+					cb.connectTimeout(properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS);
+				}
+				if (properties.getReadTimeout() != null) {
+					cb.readTimeout(properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS);
+				}
+			};
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass({ JerseyClientBuilder.class, Apache5ConnectorProvider.class })
+	@ConditionalOnProperty(prefix = "holon.jaxrs.client.pool", name = "enabled", havingValue = "true")
+	public static class JerseyConnectionPoolConfiguration {
+
+		@Bean
+		public JerseyConnectionPoolCustomizer jerseyConnectionPoolCustomizer(
+				JaxrsClientConfigurationProperties properties) {
+			return new JerseyConnectionPoolCustomizer(properties.getPool());
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(JerseyClientBuilder.class)
+	@ConditionalOnMissingClass("org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider")
+	@ConditionalOnProperty(prefix = "holon.jaxrs.client.pool", name = "enabled", havingValue = "true")
+	public static class JerseyMissingConnectionPoolConfiguration {
+
+		public JerseyMissingConnectionPoolConfiguration() {
+			super();
+			LOGGER.warn("The holon.jaxrs.client.pool.enabled property is true but the Jersey Apache HttpClient 5 "
+					+ "connector is not available (jersey-apache5-connector artifact missing from classpath): "
+					+ "no connection pool will be configured for the Jersey clients");
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(ResteasyClientBuilder.class)
+	@ConditionalOnProperty(prefix = "holon.jaxrs.client.pool", name = "enabled", havingValue = "true")
+	public static class ResteasyConnectionPoolConfiguration {
+
+		@Bean
+		public ResteasyConnectionPoolCustomizer resteasyConnectionPoolCustomizer(
+				JaxrsClientConfigurationProperties properties) {
+			return new ResteasyConnectionPoolCustomizer(properties.getPool());
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(ClientBuilder.class)
+	@ConditionalOnProperty(prefix = "holon.jaxrs.client.compression", name = "enabled", havingValue = "true")
+	public static class CompressionConfiguration {
+
+		private final JaxrsClientConfigurationProperties properties;
+
+		public CompressionConfiguration(JaxrsClientConfigurationProperties properties) {
+			super();
+			this.properties = properties;
+		}
+
+		@Bean
+		public JaxrsClientCustomizer compressionJaxrsClientCustomizer() {
+			final long requestThreshold = properties.getCompression().getRequestThreshold();
+			return cb -> cb.register(new CompressionFeature(requestThreshold));
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass({ ClientBuilder.class, MeterRegistry.class })
+	@ConditionalOnProperty(prefix = "holon.jaxrs.client.metrics", name = "enabled", matchIfMissing = true)
+	public static class MetricsConfiguration {
+
+		private final ObjectProvider<MeterRegistry> registry;
+
+		public MetricsConfiguration(ObjectProvider<MeterRegistry> registry) {
+			super();
+			this.registry = registry;
+		}
+
+		@Bean
+		public JaxrsClientCustomizer metricsJaxrsClientCustomizer() {
+			return cb -> registry.ifAvailable(r -> cb.register(new MicrometerMetricsFeature(r)));
+		}
+
+	}
+
 }
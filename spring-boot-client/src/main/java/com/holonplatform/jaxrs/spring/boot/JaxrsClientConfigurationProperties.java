@@ -0,0 +1,270 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.spring.boot;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.holonplatform.jaxrs.client.CompressionFeature;
+import com.holonplatform.jaxrs.client.MicrometerMetricsFeature;
+
+/**
+ * Configuration properties for the JAX-RS client auto configuration.
+ *
+ * @since 6.0.1
+ */
+@ConfigurationProperties(prefix = "holon.jaxrs.client")
+public class JaxrsClientConfigurationProperties {
+
+	private Duration connectTimeout;
+
+	private Duration readTimeout;
+
+	private final Pool pool = new Pool();
+
+	private final Compression compression = new Compression();
+
+	private final Metrics metrics = new Metrics();
+
+	/**
+	 * Get the connect timeout. If <code>null</code>, the JAX-RS implementation default is used.
+	 * @return the connect timeout
+	 */
+	public Duration getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * Set the connect timeout.
+	 * @param connectTimeout the connect timeout to set
+	 */
+	public void setConnectTimeout(Duration connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+
+	/**
+	 * Get the read timeout. If <code>null</code>, the JAX-RS implementation default is used.
+	 * @return the read timeout
+	 */
+	public Duration getReadTimeout() {
+		return readTimeout;
+	}
+
+	/**
+	 * Set the read timeout.
+	 * @param readTimeout the read timeout to set
+	 */
+	public void setReadTimeout(Duration readTimeout) {
+		this.readTimeout = readTimeout;
+	}
+
+	/**
+	 * Get the connection pool configuration.
+	 * @return the connection pool configuration
+	 */
+	public Pool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Get the content compression configuration.
+	 * @return the content compression configuration
+	 */
+	public Compression getCompression() {
+		return compression;
+	}
+
+	/**
+	 * Get the invocation metrics configuration.
+	 * @return the invocation metrics configuration
+	 */
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Connection pool configuration.
+	 */
+	public static class Pool {
+
+		private boolean enabled;
+
+		private int maxConnections = 200;
+
+		private int maxConnectionsPerRoute = 20;
+
+		private Duration timeToLive;
+
+		private Duration keepAlive;
+
+		/**
+		 * Get whether a pooled connector is configured for the JAX-RS clients.
+		 * @return whether the connection pool is enabled
+		 */
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		/**
+		 * Set whether a pooled connector is configured for the JAX-RS clients.
+		 * @param enabled whether the connection pool is enabled
+		 */
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		/**
+		 * Get the max number of pooled connections.
+		 * @return the max number of pooled connections
+		 */
+		public int getMaxConnections() {
+			return maxConnections;
+		}
+
+		/**
+		 * Set the max number of pooled connections.
+		 * @param maxConnections the max number of pooled connections to set
+		 */
+		public void setMaxConnections(int maxConnections) {
+			this.maxConnections = maxConnections;
+		}
+
+		/**
+		 * Get the max number of pooled connections for each route (i.e. target host).
+		 * @return the max number of pooled connections per route
+		 */
+		public int getMaxConnectionsPerRoute() {
+			return maxConnectionsPerRoute;
+		}
+
+		/**
+		 * Set the max number of pooled connections for each route (i.e. target host).
+		 * @param maxConnectionsPerRoute the max number of pooled connections per route to set
+		 */
+		public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		}
+
+		/**
+		 * Get the max lifetime of a pooled connection. If <code>null</code>, the connections never expire.
+		 * @return the connection time to live
+		 */
+		public Duration getTimeToLive() {
+			return timeToLive;
+		}
+
+		/**
+		 * Set the max lifetime of a pooled connection.
+		 * @param timeToLive the connection time to live to set
+		 */
+		public void setTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		/**
+		 * Get how long an idle connection is kept alive when the server does not provide a <code>Keep-Alive</code>
+		 * timeout. If <code>null</code>, the connector default is used.
+		 * @return the keep-alive duration
+		 */
+		public Duration getKeepAlive() {
+			return keepAlive;
+		}
+
+		/**
+		 * Set how long an idle connection is kept alive when the server does not provide a <code>Keep-Alive</code>
+		 * timeout.
+		 * @param keepAlive the keep-alive duration to set
+		 */
+		public void setKeepAlive(Duration keepAlive) {
+			this.keepAlive = keepAlive;
+		}
+
+	}
+
+	/**
+	 * Content compression configuration.
+	 */
+	public static class Compression {
+
+		private boolean enabled;
+
+		private long requestThreshold = -1;
+
+		/**
+		 * Get whether the {@link CompressionFeature} is registered in the JAX-RS clients.
+		 * @return whether the content compression is enabled
+		 */
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		/**
+		 * Set whether the {@link CompressionFeature} is registered in the JAX-RS clients.
+		 * @param enabled whether the content compression is enabled
+		 */
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		/**
+		 * Get the size threshold, in bytes, above which the request entities are compressed. A negative value (the
+		 * default) disables the request compression.
+		 * @return the request compression threshold
+		 */
+		public long getRequestThreshold() {
+			return requestThreshold;
+		}
+
+		/**
+		 * Set the size threshold, in bytes, above which the request entities are compressed. A negative value disables
+		 * the request compression.
+		 * @param requestThreshold the request compression threshold to set
+		 */
+		public void setRequestThreshold(long requestThreshold) {
+			this.requestThreshold = requestThreshold;
+		}
+
+	}
+
+	/**
+	 * Invocation metrics configuration.
+	 */
+	public static class Metrics {
+
+		private boolean enabled = true;
+
+		/**
+		 * Get whether the {@link MicrometerMetricsFeature} is registered in the JAX-RS clients when a Micrometer
+		 * <code>MeterRegistry</code> is available.
+		 * @return whether the invocation metrics are enabled
+		 */
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		/**
+		 * Set whether the {@link MicrometerMetricsFeature} is registered in the JAX-RS clients when a Micrometer
+		 * <code>MeterRegistry</code> is available.
+		 * @param enabled whether the invocation metrics are enabled
+		 */
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.spring.boot.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.client.ClientBuilder;
+
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.glassfish.jersey.apache5.connector.Apache5ClientProperties;
+import org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+
+import com.holonplatform.jaxrs.spring.boot.JaxrsClientConfigurationProperties.Pool;
+import com.holonplatform.jaxrs.spring.boot.JaxrsClientCustomizer;
+
+/**
+ * {@link JaxrsClientCustomizer} which configures the Jersey Apache HttpClient 5 connector, using a pooled connection
+ * manager.
+ * <p>
+ * The connection manager is shared by all the clients built using the customized {@link ClientBuilder} and it is
+ * closed when this customizer is closed.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class JerseyConnectionPoolCustomizer implements JaxrsClientCustomizer, AutoCloseable {
+
+	private final Pool pool;
+
+	private PoolingHttpClientConnectionManager connectionManager;
+
+	/**
+	 * Constructor
+	 * @param pool Connection pool configuration
+	 */
+	public JerseyConnectionPoolCustomizer(Pool pool) {
+		super();
+		this.pool = pool;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.spring.boot.JaxrsClientCustomizer#customize(jakarta.ws.rs.client.ClientBuilder)
+	 */
+	@Override
+	public void customize(ClientBuilder clientBuilder) {
+		if (clientBuilder instanceof JerseyClientBuilder) {
+			clientBuilder.property(ClientProperties.CONNECTOR_PROVIDER, Apache5ConnectorProvider.class.getName());
+			clientBuilder.property(Apache5ClientProperties.CONNECTION_MANAGER, getConnectionManager());
+			clientBuilder.property(Apache5ClientProperties.CONNECTION_MANAGER_SHARED, Boolean.TRUE);
+			if (pool.getKeepAlive() != null) {
+				final TimeValue keepAlive = TimeValue.ofMilliseconds(pool.getKeepAlive().toMillis());
+				clientBuilder.property(Apache5ClientProperties.KEEPALIVE_STRATEGY,
+						(ConnectionKeepAliveStrategy) (response, context) -> keepAlive);
+			}
+		}
+	}
+
+	/**
+	 * Get the shared connection manager, creating it if not available.
+	 * @return The connection manager
+	 */
+	private synchronized PoolingHttpClientConnectionManager getConnectionManager() {
+		if (connectionManager == null) {
+			final ConnectionConfig.Builder config = ConnectionConfig.custom();
+			if (pool.getTimeToLive() != null) {
+				config.setTimeToLive(pool.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+			}
+			connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+					.setMaxConnTotal(pool.getMaxConnections()).setMaxConnPerRoute(pool.getMaxConnectionsPerRoute())
+					.setDefaultConnectionConfig(config.build()).build();
+		}
+		return connectionManager;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public synchronized void close() {
+		if (connectionManager != null) {
+			connectionManager.close();
+			connectionManager = null;
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jaxrs.spring.boot.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.client.ClientBuilder;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jaxrs.spring.boot.JaxrsClientConfigurationProperties.Pool;
+import com.holonplatform.jaxrs.spring.boot.JaxrsClientCustomizer;
+import com.holonplatform.spring.internal.SpringLogger;
+
+/**
+ * {@link JaxrsClientCustomizer} which configures the connection pool of the RESTEasy Apache HttpClient engine.
+ * <p>
+ * Each client built using the customized {@link ClientBuilder} owns its connection pool. The
+ * <code>holon.jaxrs.client.pool.keep-alive</code> property is not supported by the RESTEasy client builder: when set,
+ * a warning is logged and the property is ignored.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class ResteasyConnectionPoolCustomizer implements JaxrsClientCustomizer {
+
+	private static final Logger LOGGER = SpringLogger.create();
+
+	private final Pool pool;
+
+	/**
+	 * Constructor
+	 * @param pool Connection pool configuration
+	 */
+	public ResteasyConnectionPoolCustomizer(Pool pool) {
+		super();
+		this.pool = pool;
+		if (pool.getKeepAlive() != null) {
+			LOGGER.warn("The holon.jaxrs.client.pool.keep-alive property is not supported by the RESTEasy client "
+					+ "connection pool and it will be ignored");
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jaxrs.spring.boot.JaxrsClientCustomizer#customize(jakarta.ws.rs.client.ClientBuilder)
+	 */
+	@Override
+	public void customize(ClientBuilder clientBuilder) {
+		if (clientBuilder instanceof ResteasyClientBuilder) {
+			final ResteasyClientBuilder builder = (ResteasyClientBuilder) clientBuilder;
+			builder.connectionPoolSize(pool.getMaxConnections()).maxPooledPerRoute(pool.getMaxConnectionsPerRoute());
+			if (pool.getTimeToLive() != null) {
+				builder.connectionTTL(pool.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+}
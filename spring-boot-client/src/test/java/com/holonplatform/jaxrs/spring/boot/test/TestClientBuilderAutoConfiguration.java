@@ -19,6 +19,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.net.URI;
+
+import org.glassfish.jersey.apache5.connector.Apache5ConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,9 +35,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.jaxrs.client.CompressionFeature;
 import com.holonplatform.jaxrs.client.JaxrsRestClient;
+import com.holonplatform.jaxrs.client.MicrometerMetricsFeature;
 import com.holonplatform.jaxrs.spring.boot.JaxrsClientBuilder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
@@ -40,7 +50,11 @@ import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.MediaType;
 
-@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"holon.jaxrs.client.compression.enabled=true", "holon.jaxrs.client.compression.request-threshold=1024",
+		"holon.jaxrs.client.connect-timeout=5s", "holon.jaxrs.client.read-timeout=10s",
+		"holon.jaxrs.client.pool.enabled=true", "holon.jaxrs.client.pool.max-connections=10",
+		"holon.jaxrs.client.pool.time-to-live=1m", "holon.jaxrs.client.pool.keep-alive=30s" })
 public class TestClientBuilderAutoConfiguration {
 
 	@LocalServerPort
@@ -69,16 +83,57 @@ public class TestClientBuilderAutoConfiguration {
 			return cfg;
 		}
 
+		@Bean
+		public MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
 	}
 
 	@Autowired
 	private JaxrsClientBuilder clientBuilder;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	@Test
 	public void testConfig() {
 		assertNotNull(clientBuilder);
 	}
 
+	@Test
+	public void testConnectionPool() {
+		Client client = clientBuilder.build();
+		assertEquals(5000, client.getConfiguration().getProperty(ClientProperties.CONNECT_TIMEOUT));
+		assertEquals(10000, client.getConfiguration().getProperty(ClientProperties.READ_TIMEOUT));
+		assertTrue(((ClientConfig) client.getConfiguration()).getConnectorProvider() instanceof Apache5ConnectorProvider);
+
+		WebTarget target = client.target("http://localhost:" + port + "/test").path("ping");
+		for (int i = 0; i < 3; i++) {
+			assertEquals("pong", target.request().get(String.class));
+		}
+	}
+
+	@Test
+	public void testCompression() {
+		Client client = clientBuilder.build();
+		assertTrue(client.getConfiguration().isRegistered(CompressionFeature.class));
+
+		WebTarget target = client.target("http://localhost:" + port + "/test").path("ping");
+		assertEquals("pong", target.request().get(String.class));
+	}
+
+	@Test
+	public void testMetrics() {
+		Client client = clientBuilder.build();
+		assertTrue(client.getConfiguration().isRegistered(MicrometerMetricsFeature.class));
+
+		RestClient restClient = JaxrsRestClient.create(client).defaultTarget(URI.create("http://localhost:" + port));
+		assertEquals("pong", restClient.request().path("test").path("ping").getForEntity(String.class).orElse(null));
+		assertNotNull(meterRegistry.find(MicrometerMetricsFeature.REQUESTS_METRIC).tag("uri", "/test/ping")
+				.tag("outcome", "SUCCESS").timer());
+	}
+
 	@Test
 	public void testFactory() {
 		RestClient rc = RestClient.create();
@@ -17,16 +17,21 @@ package com.holonplatform.jaxrs.spring.boot.jersey;
 
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.filter.RolesAllowedDynamicFeature;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jersey.JerseyAutoConfiguration;
 import org.springframework.boot.autoconfigure.jersey.ResourceConfigCustomizer;
 import org.springframework.context.annotation.Configuration;
 
 import com.holonplatform.auth.Realm;
 import com.holonplatform.jaxrs.server.auth.AuthenticationFeature;
+import com.holonplatform.jaxrs.server.auth.MicrometerAuthMetricsFeature;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.ws.rs.ext.ContextResolver;
 
 /**
@@ -40,6 +45,8 @@ import jakarta.ws.rs.ext.ContextResolver;
  * <li>The {@link AuthenticationFeature} is registered</li>
  * <li>The Jersey {@link RolesAllowedDynamicFeature} is registered</li>
  * </ul>
+ * When a Micrometer <code>MeterRegistry</code> bean is available, the {@link MicrometerAuthMetricsFeature} is
+ * registered too, unless the <code>holon.jaxrs.server.auth.metrics.enabled</code> property is <code>false</code>.
  * 
  * @since 5.0.0
  */
@@ -82,4 +89,29 @@ public class JerseyAuthAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnBean(Realm.class)
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnProperty(prefix = "holon.jaxrs.server.auth.metrics", name = "enabled", matchIfMissing = true)
+	static class MetricsConfiguration implements ResourceConfigCustomizer {
+
+		private final ObjectProvider<MeterRegistry> registry;
+
+		public MetricsConfiguration(ObjectProvider<MeterRegistry> registry) {
+			this.registry = registry;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * org.springframework.boot.autoconfigure.jersey.ResourceConfigCustomizer#customize(org.glassfish.
+		 * jersey.server. ResourceConfig)
+		 */
+		@Override
+		public void customize(ResourceConfig config) {
+			registry.ifAvailable(r -> config.register(new MicrometerAuthMetricsFeature(r)));
+		}
+
+	}
+
 }
@@ -16,6 +16,7 @@
 package com.holonplatform.jaxrs.spring.boot.jersey.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.UnsupportedEncodingException;
 import java.util.Base64;
@@ -26,6 +27,7 @@ import jakarta.ws.rs.client.ClientBuilder;
 import jakarta.ws.rs.client.WebTarget;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
@@ -39,14 +41,21 @@ import com.holonplatform.auth.AuthenticationToken;
 import com.holonplatform.auth.Credentials;
 import com.holonplatform.auth.Realm;
 import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.jaxrs.server.auth.MicrometerAuthMetricsFeature;
 import com.holonplatform.jaxrs.spring.boot.jersey.test.authresources.TestAuthEndpoint;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
 public class TestJerseyAuthAutoConfiguration {
 
 	@LocalServerPort
 	private int port;
 
+	@Autowired
+	private MeterRegistry registry;
+
 	@Configuration
 	@EnableAutoConfiguration
 	@ComponentScan(basePackageClasses = TestAuthEndpoint.class)
@@ -69,6 +78,11 @@ public class TestJerseyAuthAutoConfiguration {
 					.withDefaultAuthorizer().build();
 		}
 
+		@Bean
+		public MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
 	}
 
 	@Test
@@ -83,4 +97,23 @@ public class TestJerseyAuthAutoConfiguration {
 		assertEquals("pong", response);
 	}
 
+	@Test
+	public void testMetrics() throws UnsupportedEncodingException {
+		Client client = ClientBuilder.newClient();
+		WebTarget target = client.target("http://localhost:" + port + "/testauth").path("ping");
+		assertEquals(401, target.request().get().getStatus());
+		String response = target.request()
+				.header(HttpHeaders.AUTHORIZATION,
+						HttpHeaders.SCHEME_BASIC + " "
+								+ Base64.getEncoder().encodeToString(new String("test:test").getBytes("ISO-8859-1")))
+				.get(String.class);
+		assertEquals("pong", response);
+
+		assertTrue(registry.get(MicrometerAuthMetricsFeature.REALM_LOOKUP_METRIC).timer().count() >= 2);
+		assertTrue(registry.get(MicrometerAuthMetricsFeature.AUTHENTICATE_METRIC).tag("outcome", "SUCCESS").timer()
+				.count() >= 1);
+		assertTrue(registry.get(MicrometerAuthMetricsFeature.REJECTED_METRIC).tag("status", "401").counter()
+				.count() >= 1);
+	}
+
 }
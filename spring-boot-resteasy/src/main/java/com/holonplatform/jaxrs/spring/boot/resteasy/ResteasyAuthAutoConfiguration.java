@@ -15,16 +15,21 @@
  */
 package com.holonplatform.jaxrs.spring.boot.resteasy;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.holonplatform.auth.Realm;
 import com.holonplatform.jaxrs.server.auth.AuthenticationFeature;
+import com.holonplatform.jaxrs.server.auth.MicrometerAuthMetricsFeature;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
 import jakarta.ws.rs.ext.ContextResolver;
@@ -39,6 +44,8 @@ import jakarta.ws.rs.ext.ContextResolver;
  * registered</li>
  * <li>The {@link AuthenticationFeature} is registered</li>
  * </ul>
+ * When a Micrometer <code>MeterRegistry</code> bean is available, the {@link MicrometerAuthMetricsFeature} is
+ * registered too, unless the <code>holon.jaxrs.server.auth.metrics.enabled</code> property is <code>false</code>.
  * 
  * @since 5.0.0
  */
@@ -69,4 +76,17 @@ public class ResteasyAuthAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnBean(Realm.class)
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnProperty(prefix = "holon.jaxrs.server.auth.metrics", name = "enabled", matchIfMissing = true)
+	static class MetricsConfiguration {
+
+		public MetricsConfiguration(ResteasyConfig config, ObjectProvider<MeterRegistry> registry) {
+			// Authentication metrics
+			registry.ifAvailable(r -> config.register(new MicrometerAuthMetricsFeature(r)));
+		}
+
+	}
+
 }